@@ -23,6 +23,12 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    @Value("${spring.kafka.producer.compression-type:none}")
+    private String compressionType;
+
+    @Value("${kafka.producer.idempotence:true}")
+    private boolean idempotence;
+
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         log.info("🔧 Initializing Kafka Producer Factory with bootstrap servers: {}", bootstrapServers);
@@ -40,6 +46,14 @@ public class KafkaProducerConfig {
         configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, 16384);
         configProps.put(ProducerConfig.LINGER_MS_CONFIG, 1);
         configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 33554432);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+
+        // Idempotent producer: the broker drops duplicates caused by our own retries, per partition and session.
+        // Requires acks=all and at most 5 in-flight requests to keep ordering.
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, idempotence);
+        if (idempotence) {
+            configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        }
 
         return new DefaultKafkaProducerFactory<>(configProps);
     }
@@ -0,0 +1,219 @@
+package com.midlane.project_management_tool_user_service.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midlane.project_management_tool_user_service.exception.ErrorResponse;
+import com.midlane.project_management_tool_user_service.util.AdaptiveConcurrencyLimit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds load before it reaches Spring Security or the controllers.
+ * <p>
+ * Requests are split into three classes with independent adaptive limits, so a login storm (BCrypt-bound)
+ * is shed on its own while cheap reads keep flowing. Requests over the limit get an immediate 503 with
+ * {@code Retry-After} instead of queueing until Tomcat and Hikari time out.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "load-shedding.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    enum EndpointClass {
+        AUTH, READ, WRITE
+    }
+
+    private static final String AUTH_PATH_PREFIX = "/api/auth/initial/";
+
+    // Streams that run for minutes: a slot held that long, and its duration taken as one latency sample,
+    // would skew the limit for every request after it. Both are occasional admin and sync calls.
+    private static final Set<String> STREAMING_PATHS = Set.of(
+            "/api/auth/admin/users/import",
+            "/api/users/changes/snapshot");
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Value("${load-shedding.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    @Value("${load-shedding.auth.initial-limit:20}")
+    private int authInitialLimit;
+
+    @Value("${load-shedding.auth.min-limit:4}")
+    private int authMinLimit;
+
+    @Value("${load-shedding.auth.max-limit:100}")
+    private int authMaxLimit;
+
+    @Value("${load-shedding.read.initial-limit:100}")
+    private int readInitialLimit;
+
+    @Value("${load-shedding.read.min-limit:20}")
+    private int readMinLimit;
+
+    @Value("${load-shedding.read.max-limit:500}")
+    private int readMaxLimit;
+
+    @Value("${load-shedding.write.initial-limit:50}")
+    private int writeInitialLimit;
+
+    @Value("${load-shedding.write.min-limit:10}")
+    private int writeMinLimit;
+
+    @Value("${load-shedding.write.max-limit:200}")
+    private int writeMaxLimit;
+
+    private final Map<EndpointClass, AdaptiveConcurrencyLimit> limits = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejected = new EnumMap<>(EndpointClass.class);
+
+    @PostConstruct
+    void init() {
+        limits.put(EndpointClass.AUTH, new AdaptiveConcurrencyLimit(authInitialLimit, authMinLimit, authMaxLimit));
+        limits.put(EndpointClass.READ, new AdaptiveConcurrencyLimit(readInitialLimit, readMinLimit, readMaxLimit));
+        limits.put(EndpointClass.WRITE, new AdaptiveConcurrencyLimit(writeInitialLimit, writeMinLimit, writeMaxLimit));
+
+        limits.forEach((endpointClass, limit) -> {
+            String tag = endpointClass.name().toLowerCase();
+            Gauge.builder("http.server.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("http.server.concurrency.inflight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .description("Requests currently admitted")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            rejected.put(endpointClass, Counter.builder("http.server.concurrency.rejected")
+                    .description("Requests shed with 503 because the limit was reached")
+                    .tag("class", tag)
+                    .register(meterRegistry));
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.startsWith("/actuator") || path.startsWith("/swagger-ui") || path.startsWith("/v3/api-docs")
+                || STREAMING_PATHS.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request);
+        AdaptiveConcurrencyLimit limit = limits.get(endpointClass);
+
+        if (!limit.tryAcquire()) {
+            rejected.get(endpointClass).increment();
+            log.debug("Shedding {} request {} {}: limit={}", endpointClass, request.getMethod(),
+                    request.getRequestURI(), limit.getLimit());
+            reject(response);
+            return;
+        }
+
+        long started = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                // Reactive/async endpoints hold their slot until the response is actually written
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(limit, started, released));
+            } else {
+                release(limit, started, released, failed || isDropped(response));
+            }
+        }
+    }
+
+    EndpointClass classify(HttpServletRequest request) {
+        if (request.getRequestURI().startsWith(AUTH_PATH_PREFIX)) {
+            return EndpointClass.AUTH;
+        }
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            return EndpointClass.READ;
+        }
+        return EndpointClass.WRITE;
+    }
+
+    AdaptiveConcurrencyLimit limitFor(EndpointClass endpointClass) {
+        return limits.get(endpointClass);
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse("OVERLOADED", "Service is overloaded, please retry later"));
+    }
+
+    // A 503 from downstream (e.g. an open circuit) means we are already over capacity
+    private static boolean isDropped(HttpServletResponse response) {
+        return response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value();
+    }
+
+    private static void release(AdaptiveConcurrencyLimit limit, long started, AtomicBoolean released, boolean dropped) {
+        if (released.compareAndSet(false, true)) {
+            limit.release(System.nanoTime() - started, dropped);
+        }
+    }
+
+    private record ReleaseOnCompletion(AdaptiveConcurrencyLimit limit, long started, AtomicBoolean released)
+            implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            release(limit, started, released, response != null && isDropped(response));
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(limit, started, released, true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(limit, started, released, true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Re-register for the next async cycle if the request is dispatched async again
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
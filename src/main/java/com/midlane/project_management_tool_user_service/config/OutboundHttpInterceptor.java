@@ -0,0 +1,137 @@
+package com.midlane.project_management_tool_user_service.config;
+
+import com.midlane.project_management_tool_user_service.exception.OutboundCallRejectedException;
+import com.midlane.project_management_tool_user_service.util.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guards every outbound RestTemplate call with a per-host bulkhead and circuit breaker.
+ * <p>
+ * The bulkhead caps how many request threads can be parked on one provider at a time, so a slow
+ * Google or Facebook endpoint fails fast with {@link OutboundCallRejectedException} instead of
+ * tying up the whole servlet pool. The breaker opens after consecutive 5xx responses or I/O errors
+ * and refuses calls until a trial request succeeds.
+ */
+@Slf4j
+public class OutboundHttpInterceptor implements ClientHttpRequestInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final int maxConcurrentPerHost;
+    private final long bulkheadWaitMs;
+    private final int failureThreshold;
+    private final long openMs;
+
+    private final Map<String, HostGuard> guards = new ConcurrentHashMap<>();
+
+    public OutboundHttpInterceptor(MeterRegistry meterRegistry, int maxConcurrentPerHost, long bulkheadWaitMs,
+                                   int failureThreshold, long openMs) {
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrentPerHost = maxConcurrentPerHost;
+        this.bulkheadWaitMs = bulkheadWaitMs;
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String host = request.getURI().getHost();
+        HostGuard guard = guards.computeIfAbsent(host, this::newGuard);
+
+        if (!acquirePermit(guard)) {
+            rejected(host, "bulkhead_full").increment();
+            throw new OutboundCallRejectedException("Too many concurrent calls to " + host);
+        }
+        try {
+            if (!guard.circuitBreaker.tryAcquire()) {
+                rejected(host, "circuit_open").increment();
+                throw new OutboundCallRejectedException("Circuit open for " + host);
+            }
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                ClientHttpResponse response = execution.execute(request, body);
+                if (response.getStatusCode().is5xxServerError()) {
+                    guard.circuitBreaker.onFailure();
+                    sample.stop(timer(host, "SERVER_ERROR"));
+                } else {
+                    guard.circuitBreaker.onSuccess();
+                    sample.stop(timer(host, response.getStatusCode().is4xxClientError() ? "CLIENT_ERROR" : "SUCCESS"));
+                }
+                return response;
+            } catch (IOException | RuntimeException e) {
+                guard.circuitBreaker.onFailure();
+                sample.stop(timer(host, "IO_ERROR"));
+                log.warn("Outbound call to {} failed: {}", host, e.getMessage());
+                throw e;
+            }
+        } finally {
+            guard.bulkhead.release();
+        }
+    }
+
+    CircuitBreaker.State circuitState(String host) {
+        HostGuard guard = guards.get(host);
+        return guard != null ? guard.circuitBreaker.getState() : CircuitBreaker.State.CLOSED;
+    }
+
+    private boolean acquirePermit(HostGuard guard) {
+        try {
+            return guard.bulkhead.tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private HostGuard newGuard(String host) {
+        HostGuard guard = new HostGuard(new Semaphore(maxConcurrentPerHost),
+                new CircuitBreaker(failureThreshold, openMs));
+
+        Gauge.builder("http.client.outbound.active", guard.bulkhead,
+                        bulkhead -> maxConcurrentPerHost - bulkhead.availablePermits())
+                .description("Outbound calls currently holding a bulkhead permit")
+                .tag("host", host)
+                .register(meterRegistry);
+        Gauge.builder("http.client.outbound.circuit.state", guard.circuitBreaker,
+                        breaker -> breaker.getState().ordinal())
+                .description("Circuit state per host: 0=closed, 1=open, 2=half-open")
+                .tag("host", host)
+                .register(meterRegistry);
+        return guard;
+    }
+
+    private Timer timer(String host, String outcome) {
+        return Timer.builder("http.client.outbound.requests")
+                .description("Latency of outbound HTTP calls per host and outcome")
+                .tag("host", host)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private Counter rejected(String host, String reason) {
+        return Counter.builder("http.client.outbound.rejected")
+                .description("Outbound calls refused locally before reaching the network")
+                .tag("host", host)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private record HostGuard(Semaphore bulkhead, CircuitBreaker circuitBreaker) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.midlane.project_management_tool_user_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class ReactiveReadConfig {
+
+    // Matches the Hikari pool by default: more threads than connections would only queue inside the pool
+    @Value("${reactive.read.max-threads:10}")
+    private int maxThreads;
+
+    // Lookups beyond this backlog are rejected instead of queueing without bound
+    @Value("${reactive.read.max-queued-tasks:1000}")
+    private int maxQueuedTasks;
+
+    /**
+     * Bounded bridge between the reactive read endpoints and blocking JPA. Requests wait here without
+     * holding a servlet thread; at most {@code max-threads} of them hold a JDBC connection at once.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcReadScheduler() {
+        return Schedulers.newBoundedElastic(maxThreads, maxQueuedTasks, "jdbc-read");
+    }
+}
@@ -0,0 +1,16 @@
+package com.midlane.project_management_tool_user_service.config;
+
+import com.midlane.project_management_tool_user_service.service.RefreshTokenPartitionManager;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RefreshTokenPartitioningConfig {
+
+    // Hibernate's ddl-auto update must find the partitioned refresh_tokens table instead of creating a plain one
+    @Bean
+    static EntityManagerFactoryDependsOnPostProcessor refreshTokenPartitionsBeforeJpa() {
+        return new EntityManagerFactoryDependsOnPostProcessor(RefreshTokenPartitionManager.class);
+    }
+}
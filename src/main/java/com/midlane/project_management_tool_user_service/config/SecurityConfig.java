@@ -1,7 +1,9 @@
 package com.midlane.project_management_tool_user_service.config;
 
+import com.midlane.project_management_tool_user_service.security.BoundedPasswordEncoder;
 import com.midlane.project_management_tool_user_service.security.JwtAuthFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -28,6 +30,9 @@ public class SecurityConfig {
     private final JwtAuthFilter jwtAuthFilter;
     private final UserDetailsService userDetailsService;
 
+    @Value("${security.bcrypt.max-concurrent:0}")
+    private int bcryptMaxConcurrent;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -74,6 +79,8 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // 0 means one hash per core, so hashing never occupies more carriers than the CPU can run
+        int maxConcurrent = bcryptMaxConcurrent > 0 ? bcryptMaxConcurrent : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), maxConcurrent);
     }
 }
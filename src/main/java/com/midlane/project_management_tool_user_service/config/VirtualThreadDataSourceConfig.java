@@ -0,0 +1,33 @@
+package com.midlane.project_management_tool_user_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadDataSourceConfig {
+
+    /**
+     * With virtual threads the pool, not the request thread count, bounds DB concurrency, so requests queue
+     * on Hikari instead of Tomcat. Fail those waits fast rather than holding them for Hikari's 30s default;
+     * platform-thread deployments keep the default.
+     */
+    @Bean
+    static BeanPostProcessor virtualThreadConnectionTimeout(
+            @Value("${db.pool.virtual-threads.connection-timeout-ms:5000}") long connectionTimeoutMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    dataSource.setConnectionTimeout(connectionTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+}
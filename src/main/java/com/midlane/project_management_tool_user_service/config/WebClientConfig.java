@@ -1,20 +1,95 @@
 package com.midlane.project_management_tool_user_service.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.reactive.function.client.WebClient;
 
 @Configuration
 public class WebClientConfig {
 
+    @Value("${outbound.http.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${outbound.http.max-connections-per-host:20}")
+    private int maxConnectionsPerHost;
+
+    @Value("${outbound.http.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${outbound.http.read-timeout-ms:5000}")
+    private long readTimeoutMs;
+
+    @Value("${outbound.http.pool-acquire-timeout-ms:1000}")
+    private long poolAcquireTimeoutMs;
+
+    @Value("${outbound.http.idle-eviction-seconds:30}")
+    private long idleEvictionSeconds;
+
+    @Value("${outbound.http.bulkhead.max-concurrent-per-host:10}")
+    private int bulkheadMaxConcurrent;
+
+    @Value("${outbound.http.bulkhead.max-wait-ms:100}")
+    private long bulkheadMaxWaitMs;
+
+    @Value("${outbound.http.circuit-breaker.failure-threshold:5}")
+    private int circuitFailureThreshold;
+
+    @Value("${outbound.http.circuit-breaker.open-ms:30000}")
+    private long circuitOpenMs;
+
     @Bean
     public WebClient.Builder webClientBuilder() {
         return WebClient.builder();
     }
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public PoolingHttpClientConnectionManager outboundConnectionManager(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerHost)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .build();
+
+        // Exposes leased/available/pending connections per pool as httpcomponents.httpclient.pool.*
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "outbound").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient outboundHttpClient(PoolingHttpClientConnectionManager outboundConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(outboundConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // Waiting for a pooled connection is bounded too, so a saturated pool fails fast
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient outboundHttpClient, MeterRegistry meterRegistry) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(outboundHttpClient));
+        restTemplate.getInterceptors().add(new OutboundHttpInterceptor(meterRegistry,
+                bulkheadMaxConcurrent, bulkheadMaxWaitMs, circuitFailureThreshold, circuitOpenMs));
+        return restTemplate;
     }
 }
@@ -1,14 +1,22 @@
 package com.midlane.project_management_tool_user_service.controller;
 
 import com.midlane.project_management_tool_user_service.dto.UserDTO;
+import com.midlane.project_management_tool_user_service.model.JobRun;
 import com.midlane.project_management_tool_user_service.model.Role;
+import com.midlane.project_management_tool_user_service.service.BulkUserImportService;
+import com.midlane.project_management_tool_user_service.service.JobLeaseService;
 import com.midlane.project_management_tool_user_service.service.UserService;
 import com.midlane.project_management_tool_user_service.exception.ErrorResponse;
+import com.midlane.project_management_tool_user_service.util.AsyncRequestTimeouts;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -18,6 +26,11 @@ import java.util.List;
 public class AdminController {
 
     private final UserService userService;
+    private final JobLeaseService jobLeaseService;
+    private final BulkUserImportService bulkUserImportService;
+
+    @Value("${users.import.request-timeout-ms:1800000}")
+    private long importRequestTimeoutMs;
 
     @GetMapping("/all-users")
     @PreAuthorize("hasRole('ADMIN')")
@@ -52,4 +65,29 @@ public class AdminController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
         }
     }
+
+    @GetMapping("/jobs/{jobName}/runs")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<JobRun>> getRecentJobRuns(@PathVariable String jobName) {
+        return ResponseEntity.ok(jobLeaseService.recentRuns(jobName));
+    }
+
+    // Bulk onboarding: a CSV (with header row) or NDJSON upload is streamed through in chunks and
+    // answered with one NDJSON result line per input row, then a SUMMARY line
+    @PostMapping(value = "/users/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> importUsers(
+            HttpServletRequest request,
+            @RequestParam(required = false) Long organizationId,
+            @RequestParam(defaultValue = "true") boolean sendWelcome) {
+        BulkUserImportService.Format format = BulkUserImportService.Format.fromContentType(request.getContentType());
+        bulkUserImportService.validateOrganization(organizationId);
+        AsyncRequestTimeouts.set(request, importRequestTimeoutMs);
+
+        StreamingResponseBody body = out -> bulkUserImportService.importUsers(
+                request.getInputStream(), format, organizationId, sendWelcome, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
 }
@@ -2,12 +2,15 @@ package com.midlane.project_management_tool_user_service.controller;
 
 import com.midlane.project_management_tool_user_service.dto.*;
 import com.midlane.project_management_tool_user_service.exception.ErrorResponse;
+import com.midlane.project_management_tool_user_service.exception.LoginThrottledException;
 import com.midlane.project_management_tool_user_service.exception.OAuth2AuthenticationProcessingException;
+import com.midlane.project_management_tool_user_service.service.LoginThrottleService;
 import com.midlane.project_management_tool_user_service.service.RefreshTokenService;
 import com.midlane.project_management_tool_user_service.service.UserService;
 import com.midlane.project_management_tool_user_service.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -24,6 +27,7 @@ public class AuthController {
     private final UserService userService;
     private final RefreshTokenService refreshTokenService;
     private final JwtUtil jwtUtil;
+    private final LoginThrottleService loginThrottleService;
 
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@RequestBody RegisterRequest request, HttpServletRequest httpRequest) {
@@ -34,8 +38,17 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
         try {
+            // Reject throttled emails/IPs before any password hashing
+            loginThrottleService.checkLoginAllowed(request.getEmail(), httpRequest.getRemoteAddr());
             String deviceInfo = extractDeviceInfo(httpRequest);
-            return ResponseEntity.ok(userService.loginUser(request, deviceInfo));
+            AuthResponse response = userService.loginUser(request, deviceInfo);
+            loginThrottleService.onLoginSucceeded(request.getEmail());
+            return ResponseEntity.ok(response);
+        } catch (LoginThrottledException ex) {
+            ErrorResponse error = new ErrorResponse("TOO_MANY_ATTEMPTS", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                    .body(error);
         } catch (BadCredentialsException ex) {
             ErrorResponse error = new ErrorResponse("INVALID_CREDENTIALS", "Invalid email or password");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
@@ -0,0 +1,67 @@
+package com.midlane.project_management_tool_user_service.controller;
+
+import com.midlane.project_management_tool_user_service.service.KafkaHealthService;
+import com.midlane.project_management_tool_user_service.service.KafkaProducerMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/kafkaproducer}) summarising producer health: broker reachability,
+ * buffer pressure, batching/compression efficiency and per-topic latency and errors.
+ */
+@Component
+@Endpoint(id = "kafkaproducer")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class KafkaProducerEndpoint {
+
+    private final KafkaProducerMetrics producerMetrics;
+    private final KafkaHealthService kafkaHealthService;
+
+    @ReadOperation
+    public Map<String, Object> summary() {
+        Boolean reachable = kafkaHealthService.getBrokerReachable();
+        boolean bufferAlarm = producerMetrics.isBufferAlarm();
+
+        String status;
+        if (Boolean.FALSE.equals(reachable)) {
+            status = "DOWN";
+        } else if (bufferAlarm) {
+            status = "DEGRADED";
+        } else if (reachable == null) {
+            status = "UNKNOWN";
+        } else {
+            status = "UP";
+        }
+
+        Map<String, Object> broker = new LinkedHashMap<>();
+        broker.put("reachable", reachable);
+        broker.put("lastCheckedAt", kafkaHealthService.getLastCheckedAt());
+        broker.put("lastError", kafkaHealthService.getLastError());
+
+        Map<String, Object> buffer = new LinkedHashMap<>();
+        buffer.put("utilization", producerMetrics.bufferUtilization());
+        buffer.put("waitingThreads", producerMetrics.producerMetric("waiting-threads"));
+        buffer.put("alarm", bufferAlarm);
+
+        Map<String, Object> batching = new LinkedHashMap<>();
+        batching.put("batchSizeAvg", producerMetrics.producerMetric("batch-size-avg"));
+        batching.put("compressionRatioAvg", producerMetrics.producerMetric("compression-rate-avg"));
+        batching.put("recordQueueTimeAvgMs", producerMetrics.producerMetric("record-queue-time-avg"));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("status", status);
+        summary.put("broker", broker);
+        summary.put("buffer", buffer);
+        summary.put("batching", batching);
+        summary.put("topics", producerMetrics.topicSummary());
+        summary.put("errors", producerMetrics.errorSummary());
+        return summary;
+    }
+}
@@ -0,0 +1,58 @@
+package com.midlane.project_management_tool_user_service.controller;
+
+import com.midlane.project_management_tool_user_service.dto.MembershipChangeFeedResponse;
+import com.midlane.project_management_tool_user_service.service.MembershipChangeService;
+import com.midlane.project_management_tool_user_service.service.MembershipSnapshotService;
+import com.midlane.project_management_tool_user_service.util.AsyncRequestTimeouts;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/users/changes")
+@RequiredArgsConstructor
+public class MembershipChangeController {
+
+    private final MembershipChangeService membershipChangeService;
+    private final MembershipSnapshotService membershipSnapshotService;
+
+    @Value("${membership.snapshot.request-timeout-ms:1800000}")
+    private long snapshotRequestTimeoutMs;
+
+    // Incremental membership sync for downstream services: start with since=0, then pass back next_cursor
+    @GetMapping
+    public ResponseEntity<MembershipChangeFeedResponse> getChanges(
+            @RequestParam(defaultValue = "0") Long since,
+            @RequestParam(defaultValue = "500") int limit) {
+        MembershipChangeFeedResponse response = membershipChangeService.getChanges(since, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    // Full membership snapshot for bootstrapping; continue with ?since=<snapshot_cursor> from the END line
+    @GetMapping("/snapshot")
+    public ResponseEntity<StreamingResponseBody> getSnapshot(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        AsyncRequestTimeouts.set(request, snapshotRequestTimeoutMs);
+        StreamingResponseBody body = gzip
+                ? out -> {
+                    GZIPOutputStream gzipOut = new GZIPOutputStream(out);
+                    membershipSnapshotService.writeSnapshot(gzipOut);
+                    gzipOut.finish();
+                }
+                : membershipSnapshotService::writeSnapshot;
+
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=membership-snapshot.ndjson" + (gzip ? ".gz" : ""))
+                .body(body);
+    }
+}
@@ -1,5 +1,7 @@
 package com.midlane.project_management_tool_user_service.controller;
 
+import com.midlane.project_management_tool_user_service.dto.BulkMembershipRequest;
+import com.midlane.project_management_tool_user_service.dto.BulkMembershipResponse;
 import com.midlane.project_management_tool_user_service.dto.CreateOrganizationRequest;
 import com.midlane.project_management_tool_user_service.dto.OrganizationResponse;
 import com.midlane.project_management_tool_user_service.dto.OrganizationMemberResponse;
@@ -123,6 +125,24 @@ public class OrganizationController {
         return ResponseEntity.ok().build();
     }
 
+    // Bulk add by user ID: one transaction; users that cannot be added are skipped and reported per user
+    @PostMapping("/{id}/members/bulk")
+    public ResponseEntity<BulkMembershipResponse> addMembersById(
+            @PathVariable Long id,
+            @RequestParam Long requesterId,
+            @RequestBody BulkMembershipRequest request) {
+        return ResponseEntity.ok(organizationService.addMembersById(id, request.getUserIds(), requesterId));
+    }
+
+    // Bulk remove: one transaction; removed users also leave the organization's teams
+    @PostMapping("/{id}/members/bulk-remove")
+    public ResponseEntity<BulkMembershipResponse> removeMembers(
+            @PathVariable Long id,
+            @RequestParam Long requesterId,
+            @RequestBody BulkMembershipRequest request) {
+        return ResponseEntity.ok(organizationService.removeMembers(id, request.getUserIds(), requesterId));
+    }
+
     @GetMapping("/{organizationId}/members")
     public ResponseEntity<List<OrganizationMemberResponse>> getOrganizationMembers(@PathVariable Long organizationId) {
         List<OrganizationMemberResponse> members = organizationService.getOrganizationMembers(organizationId);
@@ -0,0 +1,60 @@
+package com.midlane.project_management_tool_user_service.controller;
+
+import com.midlane.project_management_tool_user_service.dto.MeResponse;
+import com.midlane.project_management_tool_user_service.dto.MemberDetailsResponse;
+import com.midlane.project_management_tool_user_service.dto.OrganizationTeamResponse;
+import com.midlane.project_management_tool_user_service.dto.UserDTO;
+import com.midlane.project_management_tool_user_service.service.ReactiveReadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Async read endpoints for service-to-service lookups. Responses are written once the lookup
+ * completes, without holding a request thread meanwhile. List endpoints stream as NDJSON when the
+ * client sends {@code Accept: application/x-ndjson}, and as a plain JSON array otherwise.
+ */
+@RestController
+@RequestMapping("/api/users/read")
+@RequiredArgsConstructor
+public class ReactiveReadController {
+
+    private final ReactiveReadService reactiveReadService;
+
+    @GetMapping("/users/{userId}")
+    public Mono<UserDTO> getUser(@PathVariable Long userId) {
+        return reactiveReadService.getUserProfile(userId);
+    }
+
+    @GetMapping("/users/{userId}/me")
+    public Mono<MeResponse> getCurrentUser(@PathVariable Long userId) {
+        return reactiveReadService.getCurrentUserInfo(userId);
+    }
+
+    @GetMapping(value = "/teams/{teamId}/members",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<MemberDetailsResponse> getTeamMembers(@PathVariable Long teamId) {
+        return reactiveReadService.streamTeamMembers(teamId);
+    }
+
+    @GetMapping("/teams/{teamId}/members/{userId}/exists")
+    public Mono<Boolean> isTeamMember(@PathVariable Long teamId, @PathVariable Long userId) {
+        return reactiveReadService.isTeamMember(teamId, userId);
+    }
+
+    @GetMapping(value = "/organizations/{organizationId}/teams",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<OrganizationTeamResponse> getOrganizationTeams(@PathVariable Long organizationId) {
+        return reactiveReadService.getOrganizationTeams(organizationId);
+    }
+
+    @GetMapping("/organizations/{organizationId}/members/{userId}/exists")
+    public Mono<Boolean> isOrganizationMember(@PathVariable Long organizationId, @PathVariable Long userId) {
+        return reactiveReadService.isOrganizationMember(organizationId, userId);
+    }
+}
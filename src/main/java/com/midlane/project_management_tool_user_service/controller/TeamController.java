@@ -1,5 +1,7 @@
 package com.midlane.project_management_tool_user_service.controller;
 
+import com.midlane.project_management_tool_user_service.dto.BulkMembershipRequest;
+import com.midlane.project_management_tool_user_service.dto.BulkMembershipResponse;
 import com.midlane.project_management_tool_user_service.dto.CreateTeamRequest;
 import com.midlane.project_management_tool_user_service.dto.MemberDetailsResponse;
 import com.midlane.project_management_tool_user_service.dto.TeamResponse;
@@ -68,6 +70,24 @@ public class TeamController {
         return ResponseEntity.ok().build();
     }
 
+    // Bulk add: one transaction; users that cannot be added are skipped and reported per user
+    @PostMapping("/{teamId}/members/bulk")
+    public ResponseEntity<BulkMembershipResponse> addMembers(
+            @PathVariable Long teamId,
+            @RequestParam Long requesterId,
+            @RequestBody BulkMembershipRequest request) {
+        return ResponseEntity.ok(teamService.addMembers(teamId, request.getUserIds(), requesterId));
+    }
+
+    // Bulk remove: one transaction; users that are not members are skipped and reported per user
+    @PostMapping("/{teamId}/members/bulk-remove")
+    public ResponseEntity<BulkMembershipResponse> removeMembers(
+            @PathVariable Long teamId,
+            @RequestParam Long requesterId,
+            @RequestBody BulkMembershipRequest request) {
+        return ResponseEntity.ok(teamService.removeMembers(teamId, request.getUserIds(), requesterId));
+    }
+
     @GetMapping("/{teamId}/members")
     public ResponseEntity<List<MemberDetailsResponse>> getTeamMembers(@PathVariable Long teamId) {
         List<MemberDetailsResponse> members = teamService.getTeamMembers(teamId);
@@ -0,0 +1,25 @@
+package com.midlane.project_management_tool_user_service.controller;
+
+import com.midlane.project_management_tool_user_service.dto.BatchUserLookupRequest;
+import com.midlane.project_management_tool_user_service.dto.BatchUserLookupResponse;
+import com.midlane.project_management_tool_user_service.service.UserLookupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserLookupController {
+
+    private final UserLookupService userLookupService;
+
+    // Resolves many users by id and/or email in one call; unknown ones are listed in missingIds / missingEmails
+    @PostMapping("/batch")
+    public ResponseEntity<BatchUserLookupResponse> lookupUsers(@RequestBody BatchUserLookupRequest request) {
+        return ResponseEntity.ok(userLookupService.lookup(request));
+    }
+}
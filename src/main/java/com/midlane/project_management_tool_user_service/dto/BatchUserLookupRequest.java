@@ -0,0 +1,17 @@
+package com.midlane.project_management_tool_user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUserLookupRequest {
+    private List<Long> ids;
+    private List<String> emails;
+}
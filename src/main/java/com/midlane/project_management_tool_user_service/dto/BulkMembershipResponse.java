@@ -0,0 +1,20 @@
+package com.midlane.project_management_tool_user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkMembershipResponse {
+    // Team id or organization id
+    private Long scopeId;
+    private int applied;
+    private int skipped;
+    private List<BulkMembershipResult> results;
+}
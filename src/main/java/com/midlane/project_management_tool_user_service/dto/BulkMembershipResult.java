@@ -0,0 +1,20 @@
+package com.midlane.project_management_tool_user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome for one user of a bulk membership request: ADDED or REMOVED when applied, otherwise the
+ * reason it was skipped (USER_NOT_FOUND, ALREADY_MEMBER, NOT_MEMBER, NOT_ORGANIZATION_MEMBER,
+ * TEAM_FULL, ORGANIZATION_OWNER).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkMembershipResult {
+    private Long userId;
+    private String status;
+}
@@ -0,0 +1,31 @@
+package com.midlane.project_management_tool_user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One NDJSON line of a bulk import response. ROW lines report the outcome of one input row in input
+ * order; the closing SUMMARY line carries the totals.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserImportResult {
+    private String type;
+
+    // ROW lines
+    private Long line;
+    private String email;
+    private String status;
+    private Long userId;
+    private String error;
+
+    // SUMMARY line
+    private Long created;
+    private Long duplicates;
+    private Long invalid;
+    private Long failed;
+}
@@ -0,0 +1,19 @@
+package com.midlane.project_management_tool_user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MembershipChangeFeedResponse {
+    private List<MembershipChangeResponse> changes;
+    // Pass back as ?since= to fetch the next batch
+    private Long nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,21 @@
+package com.midlane.project_management_tool_user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MembershipChangeResponse {
+    private Long cursor;
+    private String scope;
+    private Long scopeId;
+    private Long userId;
+    private String action;
+    private LocalDateTime changedAt;
+}
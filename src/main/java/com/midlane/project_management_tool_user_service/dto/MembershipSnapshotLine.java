@@ -0,0 +1,32 @@
+package com.midlane.project_management_tool_user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One NDJSON line of a membership snapshot. RECORD lines carry topic/key/value exactly as the live
+ * Kafka stream would; HEADER, CHUNK and END lines carry the cursor and checksums.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MembershipSnapshotLine {
+    private String type;
+
+    // RECORD lines
+    private String topic;
+    private String key;
+    private Object value;
+
+    // HEADER / CHUNK / END lines
+    private Long snapshotCursor;
+    private LocalDateTime generatedAt;
+    private Integer chunk;
+    private Long recordCount;
+    private String checksum;
+}
@@ -17,5 +17,7 @@ public class NotificationRequest {
     private String subject;
     private String templateName;
     private Map<String, Object> templateData;
+    // Per-recipient template variables keyed by address, applied over templateData for that recipient
+    private Map<String, Map<String, Object>> recipientData;
     private String priority;
 }
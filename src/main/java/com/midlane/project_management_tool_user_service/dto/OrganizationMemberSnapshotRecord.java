@@ -0,0 +1,13 @@
+package com.midlane.project_management_tool_user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrganizationMemberSnapshotRecord {
+    private Long organizationId;
+    private Long userId;
+}
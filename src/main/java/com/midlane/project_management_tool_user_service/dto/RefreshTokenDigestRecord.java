@@ -0,0 +1,19 @@
+package com.midlane.project_management_tool_user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenDigestRecord {
+    private Long id;
+    private byte[] tokenHash;
+    // Set only for rows the hash backfill has not reached yet
+    private String legacyToken;
+    private LocalDateTime expiresAt;
+    private boolean revoked;
+}
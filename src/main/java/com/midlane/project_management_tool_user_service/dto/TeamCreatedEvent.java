@@ -18,4 +18,8 @@ public class TeamCreatedEvent {
     private Long ownerId;
     private LocalDateTime timestamp;
     private String eventType;
+
+    // Deterministic ID so consumers can drop redelivered events; creation events carry a fixed sequence
+    private String eventId;
+    private Long sequence;
 }
@@ -19,6 +19,11 @@ public class TeamMemberAddedEvent {
     private LocalDateTime timestamp;
     private String eventType;
 
+    // Deterministic ID so consumers can drop redelivered events; the sequence names the change-log entry
+    // behind the event and is not ordered per aggregate, so it must not be used to discard events
+    private String eventId;
+    private Long sequence;
+
     // Additional context fields
     private String teamName;
     private String organizationName;
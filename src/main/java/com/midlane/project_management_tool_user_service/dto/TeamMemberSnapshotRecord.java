@@ -0,0 +1,19 @@
+package com.midlane.project_management_tool_user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamMemberSnapshotRecord {
+    private Long teamId;
+    private String teamName;
+    private Long organizationId;
+    private String organizationName;
+    private Long userId;
+    private String userEmail;
+    private String firstName;
+    private String lastName;
+}
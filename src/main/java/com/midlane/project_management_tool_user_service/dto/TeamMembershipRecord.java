@@ -0,0 +1,16 @@
+package com.midlane.project_management_tool_user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A (team, member) pair, used when removing users from every team of an organization.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamMembershipRecord {
+    private Long teamId;
+    private Long userId;
+}
@@ -18,4 +18,8 @@ public class UserRegisteredEvent {
     private String profilePictureUrl;
     private LocalDateTime timestamp;
     private String eventType;
+
+    // Deterministic ID so consumers can drop redelivered events; creation events carry a fixed sequence
+    private String eventId;
+    private Long sequence;
 }
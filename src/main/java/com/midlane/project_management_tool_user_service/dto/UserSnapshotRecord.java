@@ -0,0 +1,16 @@
+package com.midlane.project_management_tool_user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSnapshotRecord {
+    private Long userId;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private String profilePictureUrl;
+}
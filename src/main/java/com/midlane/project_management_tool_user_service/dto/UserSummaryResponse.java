@@ -0,0 +1,18 @@
+package com.midlane.project_management_tool_user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryResponse {
+    private Long userId;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private String profilePictureUrl;
+}
@@ -15,6 +15,13 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
     }
 
+    // Upstream dependency is unavailable or saturated; the caller may retry later
+    @ExceptionHandler(TransientException.class)
+    public ResponseEntity<ErrorResponse> handleTransient(TransientException ex) {
+        ErrorResponse error = new ErrorResponse("SERVICE_UNAVAILABLE", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException ex) {
         ErrorResponse error = new ErrorResponse("USER_ERROR", ex.getMessage());
@@ -0,0 +1,17 @@
+package com.midlane.project_management_tool_user_service.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a login attempt is refused by the per-email or per-IP throttle, before any password check.
+ */
+@Getter
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
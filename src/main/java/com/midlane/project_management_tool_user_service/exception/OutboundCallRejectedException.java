@@ -0,0 +1,12 @@
+package com.midlane.project_management_tool_user_service.exception;
+
+/**
+ * Thrown when an outbound HTTP call is refused locally because the target host's bulkhead is full
+ * or its circuit breaker is open. The call never reached the network, so retrying later is safe.
+ */
+public class OutboundCallRejectedException extends TransientException {
+
+    public OutboundCallRejectedException(String message) {
+        super(message);
+    }
+}
@@ -3,4 +3,11 @@ package com.midlane.project_management_tool_user_service.exception;
 
 
 public class TransientException extends RuntimeException {
+
+    public TransientException() {
+    }
+
+    public TransientException(String message) {
+        super(message);
+    }
 }
@@ -0,0 +1,39 @@
+package com.midlane.project_management_tool_user_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cross-instance lease for a background job. Whoever holds an unexpired row for a job name is the
+ * only instance allowed to run it; an expired row can be taken over by anyone. Every takeover bumps
+ * the fencing token, so work done under a lease that has since changed hands can be told apart.
+ */
+@Entity
+@Table(name = "job_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobLease {
+
+    @Id
+    @Column(name = "job_name", nullable = false)
+    private String jobName;
+
+    @Column(name = "owner", nullable = false)
+    private String owner;
+
+    @Column(name = "leased_until", nullable = false)
+    private LocalDateTime leasedUntil;
+
+    @Column(name = "acquired_at", nullable = false)
+    private LocalDateTime acquiredAt;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "fencing_token")
+    private Long fencingToken;
+}
@@ -0,0 +1,49 @@
+package com.midlane.project_management_tool_user_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One execution of a leased background job, kept for a while so runs can be traced across instances.
+ */
+@Entity
+@Table(name = "job_runs", indexes = {
+        @Index(name = "idx_job_runs_job_started", columnList = "job_name, started_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false)
+    private String jobName;
+
+    @Column(name = "owner", nullable = false)
+    private String owner;
+
+    @Column(name = "fencing_token", nullable = false)
+    private Long fencingToken;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at", nullable = false)
+    private LocalDateTime finishedAt;
+
+    @Column(name = "duration_ms", nullable = false)
+    private Long durationMs;
+
+    // completed, budget_exhausted, lease_lost, failed, ...
+    @Column(name = "outcome", nullable = false, length = 32)
+    private String outcome;
+
+    @Column(name = "detail", length = 500)
+    private String detail;
+}
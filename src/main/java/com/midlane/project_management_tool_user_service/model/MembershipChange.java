@@ -0,0 +1,64 @@
+package com.midlane.project_management_tool_user_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only log entry describing a single change to team or organization membership.
+ * The feed position is stamped once the entry has committed (see {@code MembershipChangeSequencer});
+ * nothing else is ever updated.
+ */
+@Entity
+@Table(name = "membership_changes", indexes = {
+        @Index(name = "idx_membership_changes_feed_sequence", columnList = "feed_sequence", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MembershipChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "change_id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", nullable = false)
+    private Scope scope;
+
+    // Team id or organization id, depending on scope
+    @Column(name = "scope_id", nullable = false)
+    private Long scopeId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action", nullable = false)
+    private Action action;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Change feed cursor, in commit order; null until the sequencer has stamped the entry
+    @Column(name = "feed_sequence", insertable = false, updatable = false)
+    private Long feedSequence;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    public enum Scope {
+        TEAM, ORGANIZATION
+    }
+
+    public enum Action {
+        ADDED, REMOVED
+    }
+}
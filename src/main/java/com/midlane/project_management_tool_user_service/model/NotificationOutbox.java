@@ -0,0 +1,80 @@
+package com.midlane.project_management_tool_user_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification waiting to be delivered to the notification service. Rows are written in the
+ * caller's transaction and removed once delivered; rows that keep failing end up DEAD.
+ */
+@Entity
+@Table(name = "notification_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_seq")
+    @SequenceGenerator(name = "notification_outbox_seq", sequenceName = "notification_outbox_seq", allocationSize = 50)
+    @Column(name = "outbox_id")
+    private Long id;
+
+    @Column(name = "template_name", nullable = false)
+    private String templateName;
+
+    @Column(name = "subject")
+    private String subject;
+
+    @Column(name = "priority")
+    private String priority;
+
+    // JSON array of recipient addresses
+    @Column(name = "recipients", nullable = false, columnDefinition = "TEXT")
+    private String recipients;
+
+    // JSON object passed to the template
+    @Column(name = "template_data", columnDefinition = "TEXT")
+    private String templateData;
+
+    // JSON object of per-recipient template variables, keyed by address; not part of the batching key
+    @Column(name = "recipient_data", columnDefinition = "TEXT")
+    private String recipientData;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        LocalDateTime now = LocalDateTime.now();
+        if (createdAt == null) {
+            createdAt = now;
+        }
+        if (nextAttemptAt == null) {
+            nextAttemptAt = now;
+        }
+        if (status == null) {
+            status = Status.PENDING;
+        }
+    }
+
+    public enum Status {
+        PENDING, DEAD
+    }
+}
@@ -20,7 +20,8 @@ import java.util.Set;
 public class Organization {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "organizations_seq")
+    @SequenceGenerator(name = "organizations_seq", sequenceName = "organizations_seq", allocationSize = 50)
     @Column(name = "organization_id")
     private Long id;
 
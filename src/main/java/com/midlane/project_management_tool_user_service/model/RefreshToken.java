@@ -5,8 +5,20 @@ import lombok.*;
 
 import java.time.LocalDateTime;
 
+/**
+ * Issued refresh token. Only the SHA-256 of the token value is stored, so a copy of the table does not
+ * hand out live tokens. On PostgreSQL the table is range-partitioned by {@code expires_at} (see
+ * {@code RefreshTokenPartitionManager}), so uniqueness is enforced on (token_hash, expires_at): a unique
+ * constraint on a partitioned table must include the partition key.
+ */
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_refresh_tokens_token_hash_expires", columnNames = {"token_hash", "expires_at"})
+}, indexes = {
+        @Index(name = "idx_refresh_tokens_user_active", columnList = "user_email, revoked, created_at"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_refresh_tokens_created_at", columnList = "created_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -17,7 +29,16 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(unique = true, nullable = false)
+    // Nullable only until RefreshTokenHashBackfill has hashed the rows written before this column existed
+    @Column(name = "token_hash", length = 32)
+    private byte[] tokenHash;
+
+    // Plaintext value of tokens issued before hashing; cleared by the backfill
+    @Column(name = "token")
+    private String legacyToken;
+
+    // Plaintext value, only set on the instance returned when the token is issued
+    @Transient
     private String token;
 
     @Column(name = "user_email", nullable = false)
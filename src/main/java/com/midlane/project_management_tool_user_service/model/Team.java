@@ -20,7 +20,8 @@ import java.util.Set;
 public class Team {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teams_seq")
+    @SequenceGenerator(name = "teams_seq", sequenceName = "teams_seq", allocationSize = 50)
     @Column(name = "team_id")
     private Long id;
 
@@ -94,7 +95,7 @@ public class Team {
     }
 
     public void setTeamLead(User user) {
-        if (!members.contains(user)) {
+        if (user != null && !members.contains(user)) {
             throw new IllegalArgumentException("Team lead must be a member of the team");
         }
         this.teamLead = user;
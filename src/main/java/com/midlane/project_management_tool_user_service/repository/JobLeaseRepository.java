@@ -0,0 +1,57 @@
+package com.midlane.project_management_tool_user_service.repository;
+
+import com.midlane.project_management_tool_user_service.model.JobLease;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    // The database clock, so lease expiry does not depend on every instance's clock agreeing
+    @Query("SELECT LOCAL DATETIME")
+    LocalDateTime currentTime();
+
+    // Take the lease if nobody holds it, it has expired, or we already hold it; returns 1 when we got it.
+    // Every successful acquisition bumps the fencing token.
+    @Modifying
+    @Query(value = "INSERT INTO job_leases (job_name, owner, leased_until, acquired_at, heartbeat_at, fencing_token) " +
+                   "VALUES (:jobName, :owner, :leasedUntil, :now, :now, 1) " +
+                   "ON CONFLICT (job_name) DO UPDATE SET owner = EXCLUDED.owner, " +
+                   "leased_until = EXCLUDED.leased_until, acquired_at = EXCLUDED.acquired_at, " +
+                   "heartbeat_at = EXCLUDED.heartbeat_at, " +
+                   "fencing_token = COALESCE(job_leases.fencing_token, 0) + 1 " +
+                   "WHERE job_leases.leased_until < :now OR job_leases.owner = :owner", nativeQuery = true)
+    int tryAcquire(@Param("jobName") String jobName, @Param("owner") String owner,
+                   @Param("leasedUntil") LocalDateTime leasedUntil, @Param("now") LocalDateTime now);
+
+    @Query("SELECT l.fencingToken FROM JobLease l WHERE l.jobName = :jobName AND l.owner = :owner")
+    Optional<Long> findFencingToken(@Param("jobName") String jobName, @Param("owner") String owner);
+
+    // Extend a lease we still hold; returns 0 once it has expired or been taken over
+    @Modifying
+    @Query("UPDATE JobLease l SET l.leasedUntil = :leasedUntil, l.heartbeatAt = :now " +
+           "WHERE l.jobName = :jobName AND l.owner = :owner AND l.fencingToken = :fencingToken " +
+           "AND l.leasedUntil >= :now")
+    int heartbeat(@Param("jobName") String jobName, @Param("owner") String owner,
+                  @Param("fencingToken") Long fencingToken, @Param("leasedUntil") LocalDateTime leasedUntil,
+                  @Param("now") LocalDateTime now);
+
+    // Share-locks the lease row for the caller's transaction, so a takeover waits for that work to commit
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    Optional<JobLease> findForShareByJobName(String jobName);
+
+    // Give the lease back early so another instance does not have to wait for it to expire
+    @Modifying
+    @Query("UPDATE JobLease l SET l.leasedUntil = :now " +
+           "WHERE l.jobName = :jobName AND l.owner = :owner AND l.fencingToken = :fencingToken")
+    int release(@Param("jobName") String jobName, @Param("owner") String owner,
+                @Param("fencingToken") Long fencingToken, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,21 @@
+package com.midlane.project_management_tool_user_service.repository;
+
+import com.midlane.project_management_tool_user_service.model.JobRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+
+    List<JobRun> findTop20ByJobNameOrderByStartedAtDesc(String jobName);
+
+    @Modifying
+    @Query("DELETE FROM JobRun r WHERE r.startedAt < :cutoff")
+    int deleteStartedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,31 @@
+package com.midlane.project_management_tool_user_service.repository;
+
+import com.midlane.project_management_tool_user_service.model.MembershipChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MembershipChangeRepository extends JpaRepository<MembershipChange, Long> {
+
+    // Next page of the change feed after the given cursor; entries not yet sequenced are left for later
+    @Query("SELECT c FROM MembershipChange c WHERE c.feedSequence > :cursor ORDER BY c.feedSequence ASC")
+    List<MembershipChange> findChangesAfter(@Param("cursor") Long cursor, Pageable pageable);
+
+    // Highest feed cursor handed out so far (0 when empty); every entry at or below it has committed
+    @Query("SELECT COALESCE(MAX(c.feedSequence), 0) FROM MembershipChange c")
+    Long findLatestCursor();
+
+    // Compaction: drop entries older than the cutoff that a newer entry for the same membership supersedes
+    @Modifying
+    @Query("DELETE FROM MembershipChange c WHERE c.createdAt < :cutoff AND EXISTS (" +
+           "SELECT n.id FROM MembershipChange n WHERE n.scope = c.scope AND n.scopeId = c.scopeId " +
+           "AND n.userId = c.userId AND n.id > c.id)")
+    int deleteSupersededBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,25 @@
+package com.midlane.project_management_tool_user_service.repository;
+
+import com.midlane.project_management_tool_user_service.model.NotificationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    // Locks due rows; SKIP LOCKED lets several instances drain the outbox without blocking each other
+    @Query(value = "SELECT * FROM notification_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+                   "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<NotificationOutbox> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    long countByStatus(NotificationOutbox.Status status);
+
+    // Creation time of the oldest row still waiting for delivery
+    @Query("SELECT MIN(n.createdAt) FROM NotificationOutbox n WHERE n.status = :status")
+    LocalDateTime findOldestCreatedAt(@Param("status") NotificationOutbox.Status status);
+}
@@ -1,12 +1,16 @@
 package com.midlane.project_management_tool_user_service.repository;
 
+import com.midlane.project_management_tool_user_service.dto.OrganizationMemberSnapshotRecord;
 import com.midlane.project_management_tool_user_service.model.Organization;
 import com.midlane.project_management_tool_user_service.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -41,4 +45,33 @@ public interface OrganizationRepository extends JpaRepository<Organization, Long
 
     // Count organizations by owner
     long countByOwner(User owner);
+
+    // Keyset page of (organization, member) pairs for snapshot export
+    @Query("SELECT new com.midlane.project_management_tool_user_service.dto.OrganizationMemberSnapshotRecord(o.id, m.userId) " +
+           "FROM Organization o JOIN o.members m " +
+           "WHERE o.id > :afterOrgId OR (o.id = :afterOrgId AND m.userId > :afterUserId) " +
+           "ORDER BY o.id, m.userId")
+    List<OrganizationMemberSnapshotRecord> findMemberSnapshotPage(@Param("afterOrgId") Long afterOrgId,
+                                                                  @Param("afterUserId") Long afterUserId,
+                                                                  Pageable pageable);
+
+    // Set-based membership insert for bulk writes: one statement for the whole batch, skipping users
+    // that are already members; returns how many rows were inserted
+    @Modifying
+    @Query(value = "INSERT INTO organization_members (organization_id, user_id) " +
+                   "SELECT :orgId, u.user_id FROM users u WHERE u.user_id IN :userIds " +
+                   "AND NOT EXISTS (SELECT 1 FROM organization_members om " +
+                   "WHERE om.organization_id = :orgId AND om.user_id = u.user_id)",
+           nativeQuery = true)
+    int addMembers(@Param("orgId") Long orgId, @Param("userIds") Collection<Long> userIds);
+
+    // Which of the given users are already members of the organization
+    @Query("SELECT m.userId FROM Organization o JOIN o.members m WHERE o.id = :orgId AND m.userId IN :userIds")
+    List<Long> findMemberIds(@Param("orgId") Long orgId, @Param("userIds") Collection<Long> userIds);
+
+    // Set-based membership delete for bulk writes
+    @Modifying
+    @Query(value = "DELETE FROM organization_members WHERE organization_id = :orgId AND user_id IN :userIds",
+           nativeQuery = true)
+    int removeMembers(@Param("orgId") Long orgId, @Param("userIds") Collection<Long> userIds);
 }
@@ -1,9 +1,12 @@
 package com.midlane.project_management_tool_user_service.repository;
 
+import com.midlane.project_management_tool_user_service.dto.RefreshTokenDigestRecord;
 import com.midlane.project_management_tool_user_service.model.RefreshToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -13,19 +16,76 @@ import java.util.Optional;
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
-    Optional<RefreshToken> findByToken(String token);
+    // The expiry carried in the token prunes the lookup to one partition and one index probe
+    Optional<RefreshToken> findByTokenHashAndExpiresAt(byte[] tokenHash, LocalDateTime expiresAt);
+
+    // Legacy tokens without an embedded expiry: probes the token_hash index of every partition
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
+
+    // Tokens whose row the hash backfill has not reached yet
+    Optional<RefreshToken> findByLegacyTokenAndExpiresAt(String legacyToken, LocalDateTime expiresAt);
+
+    Optional<RefreshToken> findByLegacyToken(String legacyToken);
+
+    boolean existsByTokenHashIsNull();
 
     List<RefreshToken> findByUserEmailAndRevokedFalse(String userEmail);
 
+    // Keyset page of unexpired tokens for building the in-memory revocation filter (columns only)
+    @Query("SELECT new com.midlane.project_management_tool_user_service.dto.RefreshTokenDigestRecord(" +
+           "rt.id, rt.tokenHash, rt.legacyToken, rt.expiresAt, rt.revoked) " +
+           "FROM RefreshToken rt WHERE rt.id > :afterId AND rt.expiresAt > :now ORDER BY rt.id")
+    List<RefreshTokenDigestRecord> findUnexpiredPage(@Param("afterId") Long afterId, @Param("now") LocalDateTime now,
+                                                     Pageable pageable);
+
+    // Tokens issued since the given time, for incremental filter catch-up
+    @Query("SELECT new com.midlane.project_management_tool_user_service.dto.RefreshTokenDigestRecord(" +
+           "rt.id, rt.tokenHash, rt.legacyToken, rt.expiresAt, rt.revoked) " +
+           "FROM RefreshToken rt WHERE rt.createdAt >= :since")
+    List<RefreshTokenDigestRecord> findCreatedSince(@Param("since") LocalDateTime since);
+
+    // Transaction-scoped advisory lock so concurrent logins for one user apply the token cap one at a time
+    // (PostgreSQL only)
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext(:userEmail))", nativeQuery = true)
+    Integer lockUserTokens(@Param("userEmail") String userEmail);
+
+    // Portable fallback for the advisory lock: the user's row, locked until the transaction ends
+    @Query(value = "SELECT u.user_id FROM users u WHERE u.email = :userEmail FOR UPDATE", nativeQuery = true)
+    List<Long> lockUserRow(@Param("userEmail") String userEmail);
+
+    // Revoke every active token for the user except the newest :keep, in one statement
+    @Modifying
+    @Query(value = "UPDATE refresh_tokens SET revoked = true WHERE id IN (" +
+                   "SELECT id FROM refresh_tokens WHERE user_email = :userEmail AND revoked = false " +
+                   "ORDER BY created_at DESC, id DESC OFFSET :keep)", nativeQuery = true)
+    int revokeAllButNewest(@Param("userEmail") String userEmail, @Param("keep") int keep);
+
     @Modifying
     @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.userEmail = :userEmail")
     void revokeAllUserTokens(String userEmail);
 
+    // One purge chunk: the oldest expired rows by the expires_at index, skipping rows locked elsewhere
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN (" +
+                   "SELECT id FROM refresh_tokens WHERE expires_at < :cutoff " +
+                   "ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int deleteExpiredChunk(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // Matched by hash, or by plaintext if the hash backfill has not reached the row yet
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.expiresAt = :expiresAt " +
+           "AND (rt.tokenHash = :tokenHash OR rt.legacyToken = :token)")
+    void revokeToken(@Param("tokenHash") byte[] tokenHash, @Param("token") String token,
+                     @Param("expiresAt") LocalDateTime expiresAt);
+
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiresAt < :now")
-    void deleteExpiredTokens(LocalDateTime now);
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.tokenHash = :tokenHash OR rt.legacyToken = :token")
+    void revokeToken(@Param("tokenHash") byte[] tokenHash, @Param("token") String token);
 
+    // One backfill chunk: hash plaintext tokens written before token_hash existed and clear the plaintext
     @Modifying
-    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.token = :token")
-    void revokeToken(String token);
+    @Query(value = "UPDATE refresh_tokens SET token_hash = sha256(convert_to(token, 'UTF8')), token = NULL " +
+                   "WHERE id IN (SELECT id FROM refresh_tokens WHERE token_hash IS NULL " +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int hashLegacyTokensChunk(@Param("limit") int limit);
 }
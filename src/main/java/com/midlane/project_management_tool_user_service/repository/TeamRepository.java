@@ -1,14 +1,22 @@
 package com.midlane.project_management_tool_user_service.repository;
 
+import com.midlane.project_management_tool_user_service.dto.TeamMemberSnapshotRecord;
+import com.midlane.project_management_tool_user_service.dto.TeamMembershipRecord;
 import com.midlane.project_management_tool_user_service.model.Organization;
 import com.midlane.project_management_tool_user_service.model.Team;
 import com.midlane.project_management_tool_user_service.model.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TeamRepository extends JpaRepository<Team, Long> {
@@ -58,4 +66,67 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
 
     // Count teams led by user
     long countByTeamLead(User teamLead);
+
+    // Keyset page of (team, member) pairs for snapshot export
+    @Query("SELECT new com.midlane.project_management_tool_user_service.dto.TeamMemberSnapshotRecord(" +
+           "t.id, t.name, o.id, o.name, m.userId, m.email, m.firstName, m.lastName) " +
+           "FROM Team t JOIN t.organization o JOIN t.members m " +
+           "WHERE t.id > :afterTeamId OR (t.id = :afterTeamId AND m.userId > :afterUserId) " +
+           "ORDER BY t.id, m.userId")
+    List<TeamMemberSnapshotRecord> findMemberSnapshotPage(@Param("afterTeamId") Long afterTeamId,
+                                                          @Param("afterUserId") Long afterUserId,
+                                                          Pageable pageable);
+
+    // Keyset page of one team's members, ordered by user id, for streaming large teams
+    @Query("SELECT m FROM Team t JOIN t.members m JOIN FETCH m.role " +
+           "WHERE t.id = :teamId AND m.userId > :afterUserId ORDER BY m.userId")
+    List<User> findMemberPage(@Param("teamId") Long teamId,
+                              @Param("afterUserId") Long afterUserId,
+                              Pageable pageable);
+
+    // Locks the team row for the caller's transaction, so capacity checks on the same team run one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Team t WHERE t.id = :teamId")
+    Optional<Team> findByIdForUpdate(@Param("teamId") Long teamId);
+
+    // Current member count, without loading the members collection
+    @Query("SELECT COUNT(m) FROM Team t JOIN t.members m WHERE t.id = :teamId")
+    long countMembers(@Param("teamId") Long teamId);
+
+    // Which of the given users are already members of the team
+    @Query("SELECT m.userId FROM Team t JOIN t.members m WHERE t.id = :teamId AND m.userId IN :userIds")
+    List<Long> findMemberIds(@Param("teamId") Long teamId, @Param("userIds") Collection<Long> userIds);
+
+    // Set-based membership insert for bulk writes, skipping users that are already members
+    @Modifying
+    @Query(value = "INSERT INTO team_members (team_id, user_id) " +
+                   "SELECT :teamId, u.user_id FROM users u WHERE u.user_id IN :userIds " +
+                   "AND NOT EXISTS (SELECT 1 FROM team_members tm " +
+                   "WHERE tm.team_id = :teamId AND tm.user_id = u.user_id)",
+           nativeQuery = true)
+    int addMembers(@Param("teamId") Long teamId, @Param("userIds") Collection<Long> userIds);
+
+    // Set-based membership delete for bulk writes
+    @Modifying
+    @Query(value = "DELETE FROM team_members WHERE team_id = :teamId AND user_id IN :userIds", nativeQuery = true)
+    int removeMembers(@Param("teamId") Long teamId, @Param("userIds") Collection<Long> userIds);
+
+    // Team memberships the given users hold anywhere in the organization
+    @Query("SELECT new com.midlane.project_management_tool_user_service.dto.TeamMembershipRecord(t.id, m.userId) " +
+           "FROM Team t JOIN t.members m WHERE t.organization.id = :orgId AND m.userId IN :userIds " +
+           "ORDER BY t.id, m.userId")
+    List<TeamMembershipRecord> findOrganizationTeamMemberships(@Param("orgId") Long orgId,
+                                                               @Param("userIds") Collection<Long> userIds);
+
+    // Drops the given users from every team of the organization
+    @Modifying
+    @Query(value = "DELETE FROM team_members WHERE user_id IN :userIds " +
+                   "AND team_id IN (SELECT t.team_id FROM teams t WHERE t.organization_id = :orgId)",
+           nativeQuery = true)
+    int removeMembersFromOrganizationTeams(@Param("orgId") Long orgId, @Param("userIds") Collection<Long> userIds);
+
+    // Clears team leadership held by the given users in the organization's teams
+    @Modifying
+    @Query("UPDATE Team t SET t.teamLead = null WHERE t.organization.id = :orgId AND t.teamLead.userId IN :userIds")
+    int clearTeamLeads(@Param("orgId") Long orgId, @Param("userIds") Collection<Long> userIds);
 }
@@ -1,13 +1,46 @@
 package com.midlane.project_management_tool_user_service.repository;
 
+import com.midlane.project_management_tool_user_service.dto.UserSnapshotRecord;
+import com.midlane.project_management_tool_user_service.dto.UserSummaryResponse;
 import com.midlane.project_management_tool_user_service.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // Keyset page of users for snapshot export (columns only, nothing attached to the persistence context)
+    @Query("SELECT new com.midlane.project_management_tool_user_service.dto.UserSnapshotRecord(" +
+           "u.userId, u.email, u.firstName, u.lastName, u.profilePictureUrl) " +
+           "FROM User u WHERE u.userId > :afterUserId ORDER BY u.userId")
+    List<UserSnapshotRecord> findSnapshotPage(@Param("afterUserId") Long afterUserId, Pageable pageable);
+
+    // Batch lookup by id (columns only, one IN query)
+    @Query("SELECT new com.midlane.project_management_tool_user_service.dto.UserSummaryResponse(" +
+           "u.userId, u.email, u.firstName, u.lastName, u.profilePictureUrl) " +
+           "FROM User u WHERE u.userId IN :ids")
+    List<UserSummaryResponse> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    // Batch lookup by email, case-insensitive; callers pass lowercased emails
+    @Query("SELECT new com.midlane.project_management_tool_user_service.dto.UserSummaryResponse(" +
+           "u.userId, u.email, u.firstName, u.lastName, u.profilePictureUrl) " +
+           "FROM User u WHERE LOWER(u.email) IN :emails")
+    List<UserSummaryResponse> findSummariesByEmails(@Param("emails") Collection<String> emails);
+
+    // Which of the given lowercased emails are already registered; one IN query per import chunk
+    @Query("SELECT LOWER(u.email) FROM User u WHERE LOWER(u.email) IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Which of the given ids belong to existing users; one IN query for a whole bulk request
+    @Query("SELECT u.userId FROM User u WHERE u.userId IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
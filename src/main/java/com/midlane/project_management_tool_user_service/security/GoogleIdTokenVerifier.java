@@ -0,0 +1,215 @@
+package com.midlane.project_management_tool_user_service.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigInteger;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Verifies Google ID tokens locally against Google's published signing keys (JWKS).
+ * <p>
+ * Keys are cached for the max-age Google sends with them and refreshed ahead of expiry by a scheduled
+ * check, so the login path normally makes no network call. A token signed with an unknown key id forces
+ * a refresh (at most once per {@code min-refresh-interval}) to pick up a rotation early. If a refresh
+ * fails the previous keys stay in use, since Google publishes new keys well before retiring old ones.
+ */
+@Component
+@Slf4j
+public class GoogleIdTokenVerifier {
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.oauth.google.client-id}")
+    private String googleClientId;
+
+    @Value("${app.oauth.google.jwks-uri:https://www.googleapis.com/oauth2/v3/certs}")
+    private String jwksUri;
+
+    @Value("${app.oauth.google.issuers:accounts.google.com,https://accounts.google.com}")
+    private List<String> issuers;
+
+    @Value("${app.oauth.google.clock-skew-seconds:60}")
+    private long clockSkewSeconds;
+
+    @Value("${app.oauth.google.jwks-default-max-age-seconds:3600}")
+    private long defaultMaxAgeSeconds;
+
+    @Value("${app.oauth.google.jwks-refresh-ahead-seconds:300}")
+    private long refreshAheadSeconds;
+
+    @Value("${app.oauth.google.jwks-min-refresh-interval-seconds:30}")
+    private long minRefreshIntervalSeconds;
+
+    private volatile KeySet keySet = KeySet.EMPTY;
+
+    // Not synchronized: the refresh does network I/O, which would pin a virtual thread to its carrier
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    public GoogleIdTokenVerifier(RestTemplate restTemplate, ObjectMapper objectMapper) {
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Verifies signature, expiry, issuer and audience, returning the token's claims.
+     */
+    public Claims verify(String idToken) {
+        if (keySet.keys().isEmpty() || keySet.isExpired(Instant.now())) {
+            refresh(false);
+        }
+
+        Claims claims = Jwts.parserBuilder()
+                .setAllowedClockSkewSeconds(clockSkewSeconds)
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        if (!"RS256".equals(header.getAlgorithm())) {
+                            throw new RuntimeException("Unexpected ID token algorithm: " + header.getAlgorithm());
+                        }
+                        return keyFor(header.getKeyId());
+                    }
+                })
+                .build()
+                .parseClaimsJws(idToken)
+                .getBody();
+
+        if (!issuers.contains(claims.getIssuer())) {
+            throw new RuntimeException("ID token issuer is not Google: " + claims.getIssuer());
+        }
+        if (!googleClientId.equals(claims.getAudience())) {
+            throw new RuntimeException("ID token audience does not match client ID");
+        }
+        return claims;
+    }
+
+    // Refresh-ahead: fetch new keys shortly before the cached set expires so logins never wait on it
+    @Scheduled(fixedDelayString = "${app.oauth.google.jwks-refresh-check-ms:60000}")
+    public void refreshIfExpiring() {
+        KeySet current = keySet;
+        if (!current.keys().isEmpty()
+                && Instant.now().isAfter(current.expiresAt().minusSeconds(refreshAheadSeconds))) {
+            refresh(false);
+        }
+    }
+
+    private PublicKey keyFor(String keyId) {
+        PublicKey key = keySet.keys().get(keyId);
+        if (key == null) {
+            // Possibly a key rotation we have not seen yet
+            refresh(true);
+            key = keySet.keys().get(keyId);
+        }
+        if (key == null) {
+            throw new RuntimeException("ID token signed with unknown key: " + keyId);
+        }
+        return key;
+    }
+
+    void refresh(boolean unknownKey) {
+        refreshLock.lock();
+        try {
+            doRefresh(unknownKey);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void doRefresh(boolean unknownKey) {
+        Instant now = Instant.now();
+        KeySet current = keySet;
+        boolean fresh = !current.keys().isEmpty()
+                && now.isBefore(current.expiresAt().minusSeconds(refreshAheadSeconds));
+        if (fresh && !unknownKey) {
+            // Another thread refreshed while we waited for the lock
+            return;
+        }
+        if (now.isBefore(current.fetchedAt().plusSeconds(minRefreshIntervalSeconds))) {
+            // At most one fetch per interval, successful or not
+            if (current.keys().isEmpty()) {
+                throw new RuntimeException("Google signing keys unavailable");
+            }
+            return;
+        }
+
+        try {
+            ResponseEntity<String> response = restTemplate.exchange(jwksUri, HttpMethod.GET, null, String.class);
+            Map<String, PublicKey> keys = parseKeys(response.getBody());
+            long maxAge = maxAgeSeconds(response.getHeaders().getCacheControl());
+            keySet = new KeySet(keys, now, now.plusSeconds(maxAge));
+            log.info("Loaded {} Google signing keys, valid for {}", keys.size(), Duration.ofSeconds(maxAge));
+        } catch (Exception e) {
+            // Keep serving the previous keys for a little longer rather than failing every login
+            Instant retryAt = now.plusSeconds(minRefreshIntervalSeconds);
+            keySet = new KeySet(current.keys(), now,
+                    current.expiresAt().isAfter(retryAt) ? current.expiresAt() : retryAt);
+            log.warn("Failed to refresh Google signing keys from {}: {}", jwksUri, e.getMessage());
+            if (current.keys().isEmpty()) {
+                throw new RuntimeException("Google signing keys unavailable", e);
+            }
+        }
+    }
+
+    private Map<String, PublicKey> parseKeys(String body) throws Exception {
+        JsonNode root = objectMapper.readTree(body);
+        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        Map<String, PublicKey> keys = new HashMap<>();
+        for (JsonNode jwk : root.path("keys")) {
+            if (!"RSA".equals(jwk.path("kty").asText())) {
+                continue;
+            }
+            BigInteger modulus = new BigInteger(1, decoder.decode(jwk.path("n").asText()));
+            BigInteger exponent = new BigInteger(1, decoder.decode(jwk.path("e").asText()));
+            keys.put(jwk.path("kid").asText(), keyFactory.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+        }
+        if (keys.isEmpty()) {
+            throw new RuntimeException("JWKS response contained no RSA keys");
+        }
+        return Map.copyOf(keys);
+    }
+
+    private long maxAgeSeconds(String cacheControl) {
+        if (cacheControl != null) {
+            Matcher matcher = MAX_AGE.matcher(cacheControl);
+            if (matcher.find()) {
+                return Long.parseLong(matcher.group(1));
+            }
+        }
+        return defaultMaxAgeSeconds;
+    }
+
+    private record KeySet(Map<String, PublicKey> keys, Instant fetchedAt, Instant expiresAt) {
+        static final KeySet EMPTY = new KeySet(Map.of(), Instant.EPOCH, Instant.EPOCH);
+
+        boolean isExpired(Instant now) {
+            return now.isAfter(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,552 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midlane.project_management_tool_user_service.dto.BulkUserImportResult;
+import com.midlane.project_management_tool_user_service.dto.BulkUserImportRow;
+import com.midlane.project_management_tool_user_service.dto.UserSummaryResponse;
+import com.midlane.project_management_tool_user_service.model.Role;
+import com.midlane.project_management_tool_user_service.model.User;
+import com.midlane.project_management_tool_user_service.repository.OrganizationRepository;
+import com.midlane.project_management_tool_user_service.repository.RoleRepository;
+import com.midlane.project_management_tool_user_service.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Admin bulk onboarding: streams a CSV or NDJSON upload and answers with one NDJSON result line per
+ * input row, followed by a SUMMARY line.
+ * <p>
+ * Rows are read and processed {@code chunkSize} at a time, so memory use follows the chunk size rather
+ * than the upload size. For each chunk the rows are validated, already registered emails are found with
+ * one IN query, and passwords are hashed in parallel on a small fixed pool. The users, their
+ * organization memberships, change-log entries and welcome notifications are then written in one
+ * transaction using JDBC batching, and the registration events go out as one batch after the commit.
+ * <p>
+ * If a chunk hits the unique constraint on email because someone registered concurrently, it is retried
+ * once without the conflicting rows. If the retry fails too, those rows are reported as FAILED and the
+ * import moves on to the next chunk.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkUserImportService {
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format fromContentType(String contentType) {
+            String type = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+            if (type.startsWith("text/csv")) {
+                return CSV;
+            }
+            if (type.startsWith("application/x-ndjson")) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentException("Unsupported import content type: " + contentType
+                    + " (expected text/csv or application/x-ndjson)");
+        }
+    }
+
+    static final String CREATED = "CREATED";
+    static final String DUPLICATE = "DUPLICATE";
+    static final String INVALID = "INVALID";
+    static final String FAILED = "FAILED";
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final int MAX_EMAIL_LENGTH = 255;
+    // BCrypt only looks at the first 72 bytes; longer passwords are rejected rather than silently truncated
+    private static final int MAX_PASSWORD_BYTES = 72;
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final OrganizationRepository organizationRepository;
+    private final MembershipChangeService membershipChangeService;
+    private final NotificationService notificationService;
+    private final TeamEventProducerService teamEventProducerService;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final PasswordEncoder passwordEncoder;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${users.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${users.import.hash-threads:0}")
+    private int hashThreads;
+
+    @Value("${users.import.min-password-length:8}")
+    private int minPasswordLength;
+
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService hashPool;
+    private final Map<String, Counter> rowCounters = new HashMap<>();
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // Half the cores by default: the encoder's permits are shared with interactive logins
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        hashPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hash-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (String status : List.of(CREATED, DUPLICATE, INVALID, FAILED)) {
+            rowCounters.put(status, Counter.builder("users.import.rows")
+                    .description("Bulk user import rows by outcome")
+                    .tag("status", status.toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashPool.shutdownNow();
+    }
+
+    // Checked before the response starts streaming, so an unknown organization is still a plain 400
+    public void validateOrganization(Long organizationId) {
+        if (organizationId != null && !organizationRepository.existsById(organizationId)) {
+            throw new RuntimeException("Organization not found with ID: " + organizationId);
+        }
+    }
+
+    public BulkUserImportResult importUsers(InputStream in, Format format, Long organizationId,
+                                            boolean sendWelcome, OutputStream out) throws IOException {
+        Role role = roleRepository.findByName(Role.USER)
+                .orElseThrow(() -> new RuntimeException("Default USER role not found"));
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        RowSource source = format == Format.CSV ? new CsvRowSource(reader) : new NdjsonRowSource(reader);
+
+        Totals totals = new Totals();
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        PendingRow row;
+        while ((row = source.next()) != null) {
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                processChunk(chunk, role, organizationId, sendWelcome, totals, out);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, role, organizationId, sendWelcome, totals, out);
+        }
+
+        BulkUserImportResult summary = BulkUserImportResult.builder()
+                .type("SUMMARY")
+                .created(totals.created)
+                .duplicates(totals.duplicates)
+                .invalid(totals.invalid)
+                .failed(totals.failed)
+                .build();
+        writeLine(out, summary);
+        out.flush();
+
+        log.info("Bulk user import finished: created={}, duplicates={}, invalid={}, failed={}, organizationId={}",
+                totals.created, totals.duplicates, totals.invalid, totals.failed, organizationId);
+        return summary;
+    }
+
+    private void processChunk(List<PendingRow> chunk, Role role, Long organizationId, boolean sendWelcome,
+                              Totals totals, OutputStream out) throws IOException {
+        // Duplicates within the chunk are caught here; duplicates of earlier chunks are already committed
+        Set<String> seen = new HashSet<>();
+        for (PendingRow row : chunk) {
+            if (row.status != null) {
+                continue;
+            }
+            row.error = validate(row);
+            if (row.error != null) {
+                row.status = INVALID;
+            } else if (!seen.add(row.emailKey)) {
+                row.status = DUPLICATE;
+                row.error = "Email appears earlier in the upload";
+            }
+        }
+        markRegistered(pending(chunk));
+
+        hashPasswords(pending(chunk));
+
+        List<UserSummaryResponse> created = write(pending(chunk), role, organizationId, sendWelcome);
+        if (!created.isEmpty()) {
+            // Rows still pending are exactly the ones written, in the same order
+            List<PendingRow> toWrite = pending(chunk);
+            for (int i = 0; i < toWrite.size(); i++) {
+                toWrite.get(i).status = CREATED;
+                toWrite.get(i).userId = created.get(i).getUserId();
+                registeredEmailFilter.add(created.get(i).getEmail());
+            }
+            try {
+                teamEventProducerService.publishUserRegisteredEvents(created);
+            } catch (Exception e) {
+                log.error("Failed to publish user registered events for {} imported users", created.size(), e);
+                // Don't fail the import if event publishing fails
+            }
+        }
+
+        for (PendingRow row : chunk) {
+            totals.count(row.status);
+            rowCounters.get(row.status).increment();
+            writeLine(out, BulkUserImportResult.builder()
+                    .type("ROW")
+                    .line(row.line)
+                    .email(row.row != null ? row.row.getEmail() : null)
+                    .status(row.status)
+                    .userId(row.userId)
+                    .error(row.error)
+                    .build());
+        }
+        out.flush();
+    }
+
+    private String validate(PendingRow row) {
+        String email = row.row.getEmail() != null ? row.row.getEmail().trim() : "";
+        if (email.isEmpty()) {
+            return "email is required";
+        }
+        if (email.length() > MAX_EMAIL_LENGTH || !EMAIL.matcher(email).matches()) {
+            return "email is not a valid address";
+        }
+        row.row.setEmail(email);
+        row.emailKey = email.toLowerCase(Locale.ROOT);
+
+        String password = row.row.getPassword();
+        if (password == null || password.length() < minPasswordLength) {
+            return "password must be at least " + minPasswordLength + " characters";
+        }
+        if (password.getBytes(StandardCharsets.UTF_8).length > MAX_PASSWORD_BYTES) {
+            return "password must be at most " + MAX_PASSWORD_BYTES + " bytes";
+        }
+        return null;
+    }
+
+    private void markRegistered(List<PendingRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Set<String> registered = new HashSet<>(userRepository.findExistingEmails(
+                rows.stream().map(row -> row.emailKey).collect(Collectors.toList())));
+        for (PendingRow row : rows) {
+            if (registered.contains(row.emailKey)) {
+                row.status = DUPLICATE;
+                row.error = "Email is already in use";
+            }
+        }
+    }
+
+    private void hashPasswords(List<PendingRow> rows) {
+        List<Future<String>> hashes = new ArrayList<>(rows.size());
+        for (PendingRow row : rows) {
+            String rawPassword = row.row.getPassword();
+            hashes.add(hashPool.submit(() -> passwordEncoder.encode(rawPassword)));
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            PendingRow row = rows.get(i);
+            try {
+                row.passwordHash = hashes.get(i).get();
+            } catch (ExecutionException e) {
+                log.warn("Password hashing failed for import line {}: {}", row.line, e.getCause().getMessage());
+                row.status = FAILED;
+                row.error = "Password could not be hashed";
+            } catch (InterruptedException e) {
+                hashes.forEach(hash -> hash.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while hashing imported passwords", e);
+            }
+        }
+    }
+
+    // Returns the created users in the order of the rows still pending afterwards; rows that could not
+    // be written are marked DUPLICATE or FAILED
+    private List<UserSummaryResponse> write(List<PendingRow> rows, Role role, Long organizationId,
+                                            boolean sendWelcome) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return writeChunk(rows, role, organizationId, sendWelcome);
+        } catch (DataIntegrityViolationException e) {
+            // Someone registered one of these emails between the existence check and the insert
+            markRegistered(rows);
+            List<PendingRow> remaining = pending(rows);
+            if (remaining.isEmpty()) {
+                return List.of();
+            }
+            try {
+                return writeChunk(remaining, role, organizationId, sendWelcome);
+            } catch (RuntimeException retryFailure) {
+                fail(remaining, retryFailure);
+            }
+        } catch (RuntimeException e) {
+            fail(rows, e);
+        }
+        return List.of();
+    }
+
+    // One transaction per chunk; returns the created users in the order of the given rows
+    private List<UserSummaryResponse> writeChunk(List<PendingRow> rows, Role role, Long organizationId,
+                                                 boolean sendWelcome) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<User> users = new ArrayList<>(rows.size());
+            for (PendingRow row : rows) {
+                User user = new User();
+                user.setEmail(row.row.getEmail());
+                user.setPasswordHash(row.passwordHash);
+                user.setFirstName(row.row.getFirstName());
+                user.setLastName(row.row.getLastName());
+                user.setPhone(row.row.getPhone());
+                user.setJobTitle(row.row.getJobTitle());
+                user.setDepartment(row.row.getDepartment());
+                user.setRole(role);
+                user.setPasswordLastChanged(now);
+                user.setEmailLastChanged(now);
+                users.add(user);
+            }
+            // Sequence ids are allocated in blocks, so these go out as batched multi-row inserts
+            List<User> saved = userRepository.saveAll(users);
+            userRepository.flush();
+
+            List<Long> userIds = saved.stream().map(User::getUserId).collect(Collectors.toList());
+            if (organizationId != null) {
+                organizationRepository.addMembers(organizationId, userIds);
+                membershipChangeService.recordOrganizationMembersAdded(organizationId, userIds);
+            }
+            if (sendWelcome) {
+                for (User user : saved) {
+                    notificationService.sendWelcomeNotification(
+                            user.getEmail(), user.getFirstName(), user.getLastName(), role.getName());
+                }
+            }
+
+            List<UserSummaryResponse> created = saved.stream()
+                    .map(user -> new UserSummaryResponse(user.getUserId(), user.getEmail(), user.getFirstName(),
+                            user.getLastName(), user.getProfilePictureUrl()))
+                    .collect(Collectors.toList());
+            // Detach the chunk so the persistence context does not grow with the upload
+            entityManager.flush();
+            entityManager.clear();
+            return created;
+        });
+    }
+
+    private void fail(List<PendingRow> rows, RuntimeException e) {
+        log.error("Bulk user import could not write {} rows starting at line {}", rows.size(), rows.get(0).line, e);
+        for (PendingRow row : rows) {
+            row.status = FAILED;
+            row.error = "Could not be saved";
+        }
+    }
+
+    private List<PendingRow> pending(List<PendingRow> rows) {
+        return rows.stream().filter(row -> row.status == null).collect(Collectors.toList());
+    }
+
+    private void writeLine(OutputStream out, BulkUserImportResult line) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write('\n');
+    }
+
+    /**
+     * Splits one CSV record into fields. Fields may be double-quoted, with {@code ""} for a literal quote;
+     * quoted fields cannot span lines. Returns null if a quote is left open.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private interface RowSource {
+        // Next non-blank row, or null at the end of the upload
+        PendingRow next() throws IOException;
+    }
+
+    private static final class CsvRowSource implements RowSource {
+        private final BufferedReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private long lineNumber;
+
+        CsvRowSource(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            String header = reader.readLine();
+            lineNumber = 1;
+            List<String> names = header != null ? splitCsv(stripBom(header)) : null;
+            if (names != null) {
+                for (int i = 0; i < names.size(); i++) {
+                    columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+                }
+            }
+        }
+
+        @Override
+        public PendingRow next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> fields = splitCsv(line);
+                if (fields == null) {
+                    return PendingRow.invalid(lineNumber, "Malformed CSV: unterminated quote");
+                }
+                return new PendingRow(lineNumber, BulkUserImportRow.builder()
+                        .email(field(fields, "email"))
+                        .password(field(fields, "password"))
+                        .firstName(field(fields, "first_name"))
+                        .lastName(field(fields, "last_name"))
+                        .phone(field(fields, "phone"))
+                        .jobTitle(field(fields, "job_title"))
+                        .department(field(fields, "department"))
+                        .build());
+            }
+            return null;
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index);
+            return value.isEmpty() ? null : value;
+        }
+
+        private static String stripBom(String header) {
+            return header.startsWith("\uFEFF") ? header.substring(1) : header;
+        }
+    }
+
+    private final class NdjsonRowSource implements RowSource {
+        private final BufferedReader reader;
+        private long lineNumber;
+
+        NdjsonRowSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public PendingRow next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    // null, arrays and bare values parse fine but are not rows
+                    JsonNode node = objectMapper.readTree(line);
+                    if (!node.isObject()) {
+                        return PendingRow.invalid(lineNumber, "Each line must be a JSON object");
+                    }
+                    return new PendingRow(lineNumber, objectMapper.treeToValue(node, BulkUserImportRow.class));
+                } catch (JsonProcessingException e) {
+                    return PendingRow.invalid(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class PendingRow {
+        private final long line;
+        private final BulkUserImportRow row;
+        private String emailKey;
+        private String passwordHash;
+        private String status;
+        private String error;
+        private Long userId;
+
+        PendingRow(long line, BulkUserImportRow row) {
+            this.line = line;
+            this.row = row;
+        }
+
+        static PendingRow invalid(long line, String error) {
+            PendingRow pending = new PendingRow(line, null);
+            pending.status = INVALID;
+            pending.error = error;
+            return pending;
+        }
+    }
+
+    private static final class Totals {
+        private long created;
+        private long duplicates;
+        private long invalid;
+        private long failed;
+
+        void count(String status) {
+            switch (status) {
+                case CREATED -> created++;
+                case DUPLICATE -> duplicates++;
+                case INVALID -> invalid++;
+                default -> failed++;
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.model.JobRun;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.OptionalLong;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs a scheduled job on exactly one instance of the cluster.
+ * <p>
+ * Every instance's scheduler still fires; the runner turns all but one of them away with a database
+ * lease per job name. While the job runs a heartbeat keeps extending the lease, so the lease itself
+ * can stay short and a crashed node is replaced within one lease period. Each grant carries a
+ * fencing token: work done through {@link Execution#inTransaction} re-checks it in the same
+ * transaction, so a node that stalled past its lease cannot commit after another node took over.
+ * Each run is recorded in {@code job_runs} and timed under {@code jobs.run.duration}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClusterJobRunner {
+
+    static final String HISTORY_PRUNE_JOB = "job-run-history-prune";
+
+    private final JobLeaseService jobLeaseService;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${jobs.lease.ttl-ms:60000}")
+    private long leaseTtlMs;
+
+    @Value("${jobs.lease.heartbeat-interval-ms:20000}")
+    private long heartbeatIntervalMs;
+
+    @Value("${jobs.history.retention-days:30}")
+    private int historyRetentionDays;
+
+    private TransactionTemplate transactionTemplate;
+    private ScheduledExecutorService heartbeats;
+
+    @FunctionalInterface
+    public interface Job {
+        // Returns the outcome recorded for the run, e.g. completed or budget_exhausted
+        String run(Execution execution);
+    }
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+    }
+
+    /**
+     * Runs the job if this instance can take its lease. Returns false when another instance holds it.
+     * A failing job is logged and recorded, never rethrown, so the scheduler keeps its schedule.
+     */
+    public boolean run(String jobName, Job job) {
+        Duration ttl = Duration.ofMillis(leaseTtlMs);
+        OptionalLong fencingToken = jobLeaseService.tryAcquire(jobName, ttl);
+        if (fencingToken.isEmpty()) {
+            runs(jobName, "lease_held").increment();
+            return false;
+        }
+
+        Execution execution = new Execution(jobName, fencingToken.getAsLong());
+        ScheduledFuture<?> heartbeat = heartbeats.scheduleWithFixedDelay(() -> beat(execution, ttl),
+                heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+        LocalDateTime startedAt = LocalDateTime.now();
+        long started = System.nanoTime();
+        String outcome;
+        String detail = null;
+        try {
+            outcome = job.run(execution);
+            if (execution.leaseLost) {
+                outcome = "lease_lost";
+            }
+        } catch (RuntimeException e) {
+            outcome = execution.leaseLost ? "lease_lost" : "failed";
+            detail = e.getMessage();
+            log.warn("Job '{}' {}: {}", jobName, outcome, e.getMessage());
+        } finally {
+            heartbeat.cancel(false);
+        }
+
+        long nanos = System.nanoTime() - started;
+        Timer.builder("jobs.run.duration")
+                .description("Duration of leased background job runs")
+                .tag("job", jobName)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        runs(jobName, outcome).increment();
+        finish(execution, JobRun.builder()
+                .jobName(jobName)
+                .owner(jobLeaseService.getInstanceId())
+                .fencingToken(execution.fencingToken)
+                .startedAt(startedAt)
+                .finishedAt(LocalDateTime.now())
+                .durationMs(TimeUnit.NANOSECONDS.toMillis(nanos))
+                .outcome(outcome)
+                .detail(detail != null && detail.length() > 500 ? detail.substring(0, 500) : detail)
+                .build());
+        return true;
+    }
+
+    @Scheduled(cron = "${jobs.history.prune-cron:0 15 4 * * *}")
+    public void pruneHistory() {
+        run(HISTORY_PRUNE_JOB, execution -> {
+            int removed = jobLeaseService.pruneRuns(LocalDateTime.now().minusDays(historyRetentionDays));
+            log.info("Pruned {} job run records older than {} days", removed, historyRetentionDays);
+            return "completed";
+        });
+    }
+
+    private void beat(Execution execution, Duration ttl) {
+        try {
+            if (!jobLeaseService.heartbeat(execution.jobName, execution.fencingToken, ttl)) {
+                execution.leaseLost = true;
+                log.warn("Lost the lease for job '{}' (fencing token {})", execution.jobName, execution.fencingToken);
+            }
+        } catch (RuntimeException e) {
+            // Keep trying; the fencing check stops any write if the lease really runs out
+            log.warn("Heartbeat for job '{}' failed: {}", execution.jobName, e.getMessage());
+        }
+    }
+
+    private void finish(Execution execution, JobRun run) {
+        try {
+            jobLeaseService.recordRun(run);
+        } catch (RuntimeException e) {
+            log.warn("Could not record run of job '{}': {}", run.getJobName(), e.getMessage());
+        }
+        if (!execution.leaseLost) {
+            try {
+                jobLeaseService.release(execution.jobName, execution.fencingToken);
+            } catch (RuntimeException e) {
+                log.warn("Could not release the lease for job '{}': {}", run.getJobName(), e.getMessage());
+            }
+        }
+    }
+
+    private Counter runs(String jobName, String outcome) {
+        return Counter.builder("jobs.runs")
+                .description("Leased background job runs by outcome")
+                .tag("job", jobName)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Handle a running job uses to check that it still holds its lease.
+     */
+    public class Execution {
+
+        private final String jobName;
+        private final long fencingToken;
+        private volatile boolean leaseLost;
+
+        Execution(String jobName, long fencingToken) {
+            this.jobName = jobName;
+            this.fencingToken = fencingToken;
+        }
+
+        public long getFencingToken() {
+            return fencingToken;
+        }
+
+        // False once a heartbeat or fencing check found the lease gone; long jobs should stop at that point
+        public boolean isLeaseHeld() {
+            return !leaseLost;
+        }
+
+        /**
+         * Runs the work in its own transaction after confirming, in that same transaction, that the lease
+         * is still ours. The lease row stays share-locked until commit, so a takeover cannot slip in between.
+         */
+        public <T> T inTransaction(Supplier<T> work) {
+            return transactionTemplate.execute(status -> {
+                if (!jobLeaseService.holds(jobName, fencingToken)) {
+                    leaseLost = true;
+                    throw new IllegalStateException("Lease for job '" + jobName + "' is no longer held");
+                }
+                return work.get();
+            });
+        }
+    }
+}
@@ -21,7 +21,11 @@ public class CustomUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        return toUserDetails(user);
+    }
 
+    // Builds the principal from an already-loaded user, e.g. one that was just saved
+    public UserDetails toUserDetails(User user) {
         // Handle null password for social login users
         String password = user.getPasswordHash();
         if (password == null) {
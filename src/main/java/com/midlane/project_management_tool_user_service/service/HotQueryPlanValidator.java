@@ -0,0 +1,141 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * EXPLAINs the hot repository queries at startup and fails if any of them would scan a whole table.
+ * <p>
+ * Tables are small or empty right after a deploy, where a sequential scan is the cheapest plan whether
+ * or not an index exists. On PostgreSQL the check therefore runs with {@code enable_seqscan} off for
+ * its own transaction: the planner then only falls back to a sequential scan when no index can serve
+ * the query, which is exactly what is being checked. On H2 (tests) the plan names the index it uses or
+ * says {@code tableScan}. Queries that depend on PostgreSQL-only indexes are skipped elsewhere.
+ */
+@Service
+@DependsOn("schemaMigrationRunner")
+@RequiredArgsConstructor
+@Slf4j
+public class HotQueryPlanValidator {
+
+    record HotQuery(String name, String sql, boolean postgresOnly, Object... params) {
+    }
+
+    private static final Timestamp SAMPLE_TIME = Timestamp.valueOf(LocalDateTime.of(2026, 1, 1, 0, 0));
+
+    // Column-level equivalents of the repository queries that run per request or per job chunk
+    static final List<HotQuery> HOT_QUERIES = List.of(
+            new HotQuery("refresh tokens by hash", "SELECT id FROM refresh_tokens WHERE token_hash = ? "
+                    + "AND expires_at = ?", false, new byte[32], SAMPLE_TIME),
+            new HotQuery("active refresh tokens by user", "SELECT id FROM refresh_tokens WHERE user_email = ? "
+                    + "AND revoked = false ORDER BY created_at DESC", false, "user@example.com"),
+            new HotQuery("expired refresh tokens", "SELECT id FROM refresh_tokens WHERE expires_at < ? "
+                    + "ORDER BY expires_at", false, SAMPLE_TIME),
+            new HotQuery("refresh tokens created since", "SELECT id FROM refresh_tokens WHERE created_at >= ?",
+                    false, SAMPLE_TIME),
+            new HotQuery("user by email", "SELECT user_id FROM users WHERE email = ?", false, "user@example.com"),
+            new HotQuery("users by lower-cased email", "SELECT user_id FROM users WHERE LOWER(email) IN (?, ?)",
+                    true, "a@example.com", "b@example.com"),
+            new HotQuery("teams by member", "SELECT team_id FROM team_members WHERE user_id = ?", false, 1L),
+            new HotQuery("organizations by member", "SELECT organization_id FROM organization_members "
+                    + "WHERE user_id = ?", false, 1L),
+            new HotQuery("teams by organization", "SELECT team_id FROM teams WHERE organization_id = ?", false, 1L),
+            new HotQuery("teams by lead", "SELECT team_id FROM teams WHERE team_lead_id = ?", false, 1L),
+            new HotQuery("organizations by owner", "SELECT organization_id FROM organizations WHERE owner_id = ?",
+                    false, 1L),
+            new HotQuery("superseding membership change", "SELECT change_id FROM membership_changes "
+                    + "WHERE scope = ? AND scope_id = ? AND user_id = ? AND change_id > ?", false, "TEAM", 1L, 1L, 0L),
+            new HotQuery("membership change feed page", "SELECT change_id FROM membership_changes "
+                    + "WHERE feed_sequence > ? ORDER BY feed_sequence", false, 0L),
+            new HotQuery("unsequenced membership changes", "SELECT change_id FROM membership_changes "
+                    + "WHERE feed_sequence IS NULL ORDER BY change_id", false),
+            new HotQuery("due outbox rows", "SELECT outbox_id FROM notification_outbox WHERE status = 'PENDING' "
+                    + "AND next_attempt_at <= ? ORDER BY next_attempt_at", false, SAMPLE_TIME),
+            new HotQuery("recent job runs", "SELECT id FROM job_runs WHERE job_name = ? ORDER BY started_at DESC",
+                    false, "refresh-token-purge"));
+
+    private final DataSource dataSource;
+
+    @Value("${schema.plan-validation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${schema.plan-validation.fail-on-seq-scan:true}")
+    private boolean failOnSeqScan;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        if (!enabled) {
+            return;
+        }
+        List<String> offenders = findFullScans(HOT_QUERIES);
+        if (offenders.isEmpty()) {
+            log.info("Query plan check passed for {} hot queries", HOT_QUERIES.size());
+            return;
+        }
+        String message = "Hot queries without a usable index: " + String.join("; ", offenders);
+        if (failOnSeqScan) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    // Names (with the offending plan) of the queries whose plan scans a whole table
+    List<String> findFullScans(List<HotQuery> queries) {
+        boolean postgres = isPostgres();
+        List<String> offenders = new ArrayList<>();
+        for (HotQuery query : queries) {
+            if (query.postgresOnly() && !postgres) {
+                continue;
+            }
+            try {
+                String plan = explain(query, postgres);
+                if (isFullScan(plan)) {
+                    offenders.add(query.name() + " [" + plan.replaceAll("\\s+", " ").strip() + "]");
+                }
+            } catch (DataAccessException e) {
+                offenders.add(query.name() + " [cannot EXPLAIN: " + e.getMessage() + "]");
+            }
+        }
+        return offenders;
+    }
+
+    private String explain(HotQuery query, boolean postgres) {
+        return transactionTemplate.execute(status -> {
+            if (postgres) {
+                jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            }
+            return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + query.sql(), String.class,
+                    query.params()));
+        });
+    }
+
+    static boolean isFullScan(String plan) {
+        return plan.contains("Seq Scan on ") || plan.contains(".tableScan");
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(product);
+    }
+}
@@ -0,0 +1,88 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.model.JobRun;
+import com.midlane.project_management_tool_user_service.repository.JobLeaseRepository;
+import com.midlane.project_management_tool_user_service.repository.JobRunRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Grants time-boxed, database-backed leases so a background job runs on one instance at a time.
+ * Leases expire on their own, so a node that dies mid-run only blocks the job until its lease ends.
+ * Each grant carries a fencing token; work checked against it with {@link #holds} is refused once the
+ * lease has moved to another instance. Expiry is always judged by the database clock, never an instance's
+ * own, so clock skew between nodes cannot let two of them hold a lease at once. Also keeps the run history written by {@code ClusterJobRunner}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobLeaseService {
+
+    private final JobLeaseRepository jobLeaseRepository;
+    private final JobRunRepository jobRunRepository;
+
+    // Unique per JVM so a restarted node does not mistake its predecessor's lease for its own
+    @Getter
+    private final String instanceId = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    // Returns the fencing token of the new grant, or empty while another instance holds the lease
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public OptionalLong tryAcquire(String jobName, Duration ttl) {
+        LocalDateTime now = jobLeaseRepository.currentTime();
+        if (jobLeaseRepository.tryAcquire(jobName, instanceId, now.plus(ttl), now) == 0) {
+            log.debug("Lease for job '{}' is held by another instance", jobName);
+            return OptionalLong.empty();
+        }
+        return jobLeaseRepository.findFencingToken(jobName, instanceId)
+                .map(OptionalLong::of)
+                .orElseGet(OptionalLong::empty);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean heartbeat(String jobName, long fencingToken, Duration ttl) {
+        LocalDateTime now = jobLeaseRepository.currentTime();
+        return jobLeaseRepository.heartbeat(jobName, instanceId, fencingToken, now.plus(ttl), now) > 0;
+    }
+
+    // Fencing check for work about to commit in the caller's transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean holds(String jobName, long fencingToken) {
+        LocalDateTime now = jobLeaseRepository.currentTime();
+        return jobLeaseRepository.findForShareByJobName(jobName)
+                .filter(lease -> instanceId.equals(lease.getOwner()))
+                .filter(lease -> lease.getFencingToken() != null && lease.getFencingToken() == fencingToken)
+                .filter(lease -> !lease.getLeasedUntil().isBefore(now))
+                .isPresent();
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void release(String jobName, long fencingToken) {
+        jobLeaseRepository.release(jobName, instanceId, fencingToken, jobLeaseRepository.currentTime());
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordRun(JobRun run) {
+        jobRunRepository.save(run);
+    }
+
+    @Transactional(readOnly = true)
+    public List<JobRun> recentRuns(String jobName) {
+        return jobRunRepository.findTop20ByJobNameOrderByStartedAtDesc(jobName);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int pruneRuns(LocalDateTime cutoff) {
+        return jobRunRepository.deleteStartedBefore(cutoff);
+    }
+}
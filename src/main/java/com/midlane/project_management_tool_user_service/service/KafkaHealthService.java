@@ -7,8 +7,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
@@ -21,30 +23,67 @@ public class KafkaHealthService {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    // Result of the most recent broker probe; null until the first check completes
+    private volatile Boolean brokerReachable;
+    private volatile Instant lastCheckedAt;
+    private volatile String lastError;
+
     @EventListener(ApplicationReadyEvent.class)
     public void checkKafkaConnection() {
         log.info("🔄 Checking Kafka connection to: {}", bootstrapServers);
+        CompletableFuture.runAsync(this::probe);
+    }
+
+    // Re-check periodically so the producer endpoint reflects brokers going away or coming back
+    @Scheduled(fixedDelayString = "${kafka.health.check-interval-ms:60000}",
+            initialDelayString = "${kafka.health.check-interval-ms:60000}")
+    public void recheckKafkaConnection() {
+        probe();
+    }
+
+    public Boolean getBrokerReachable() {
+        return brokerReachable;
+    }
+
+    public Instant getLastCheckedAt() {
+        return lastCheckedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
 
-        CompletableFuture.runAsync(() -> {
-            try {
-                Properties props = new Properties();
-                props.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-                props.put(AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, 5000);
-                props.put(AdminClientConfig.CONNECTIONS_MAX_IDLE_MS_CONFIG, 10000);
+    void probe() {
+        Boolean previous = brokerReachable;
+        try {
+            Properties props = new Properties();
+            props.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+            props.put(AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, 5000);
+            props.put(AdminClientConfig.CONNECTIONS_MAX_IDLE_MS_CONFIG, 10000);
 
-                try (AdminClient adminClient = AdminClient.create(props)) {
-                    // Try to list topics to verify connection
-                    adminClient.listTopics().names().get(5, TimeUnit.SECONDS);
+            try (AdminClient adminClient = AdminClient.create(props)) {
+                // Try to list topics to verify connection
+                adminClient.listTopics().names().get(5, TimeUnit.SECONDS);
+                brokerReachable = true;
+                lastError = null;
+                if (!Boolean.TRUE.equals(previous)) {
                     log.info("✅ Successfully connected to Kafka at: {}", bootstrapServers);
                     log.info("📡 Kafka producer is ready to send events");
-                } catch (Exception e) {
+                }
+            } catch (Exception e) {
+                brokerReachable = false;
+                lastError = e.getMessage();
+                if (!Boolean.FALSE.equals(previous)) {
                     log.error("❌ Failed to connect to Kafka at: {}. Error: {}", bootstrapServers, e.getMessage());
                     log.warn("⚠️  Team member events will not be published until Kafka is available");
                 }
-            } catch (Exception e) {
-                log.error("❌ Error during Kafka health check: {}", e.getMessage());
             }
-        });
+        } catch (Exception e) {
+            brokerReachable = false;
+            lastError = e.getMessage();
+            log.error("❌ Error during Kafka health check: {}", e.getMessage());
+        } finally {
+            lastCheckedAt = Instant.now();
+        }
     }
 }
-
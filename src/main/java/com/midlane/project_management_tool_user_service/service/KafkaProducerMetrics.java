@@ -0,0 +1,193 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.BufferExhaustedException;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micrometer instrumentation for the Kafka producer: per-topic send latency and in-flight counts,
+ * error counters by cause, and gauges over the producer's own batch, compression and buffer metrics.
+ */
+@Component("kafkaProducerSendMetrics")
+@Slf4j
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class KafkaProducerMetrics {
+
+    private static final String PRODUCER_METRICS_GROUP = "producer-metrics";
+
+    private final MeterRegistry meterRegistry;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final double bufferAlarmThreshold;
+
+    private final Map<String, Timer> sendTimers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> errorCounters = new ConcurrentHashMap<>();
+    private final Counter bufferExhaustedCounter;
+
+    public KafkaProducerMetrics(MeterRegistry meterRegistry,
+                                KafkaTemplate<String, Object> kafkaTemplate,
+                                @Value("${kafka.producer.buffer-alarm-threshold:0.9}") double bufferAlarmThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.kafkaTemplate = kafkaTemplate;
+        this.bufferAlarmThreshold = bufferAlarmThreshold;
+
+        this.bufferExhaustedCounter = Counter.builder("kafka.producer.buffer.exhausted")
+                .description("Sends rejected because the producer buffer was full")
+                .register(meterRegistry);
+
+        Gauge.builder("kafka.producer.batch.size.avg", this, m -> m.producerMetric("batch-size-avg"))
+                .description("Average bytes per partition batch")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("kafka.producer.compression.ratio.avg", this, m -> m.producerMetric("compression-rate-avg"))
+                .description("Average compressed/uncompressed batch size ratio")
+                .register(meterRegistry);
+        Gauge.builder("kafka.producer.record.queue.time.avg", this, m -> m.producerMetric("record-queue-time-avg"))
+                .description("Average time records wait in the accumulator before being sent")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("kafka.producer.buffer.utilization", this, KafkaProducerMetrics::bufferUtilization)
+                .description("Fraction of buffer.memory currently in use")
+                .register(meterRegistry);
+        Gauge.builder("kafka.producer.waiting.threads", this, m -> m.producerMetric("waiting-threads"))
+                .description("Threads blocked waiting for buffer memory")
+                .register(meterRegistry);
+        Gauge.builder("kafka.producer.buffer.alarm", this, m -> m.isBufferAlarm() ? 1 : 0)
+                .description("1 when the producer buffer is close to exhaustion")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts timing a send. Call {@link Sample#stop(Throwable)} once the send future completes.
+     */
+    public Sample start(String topic) {
+        inFlightFor(topic).incrementAndGet();
+        return new Sample(topic, System.nanoTime());
+    }
+
+    public boolean isBufferAlarm() {
+        return bufferUtilization() >= bufferAlarmThreshold || producerMetric("waiting-threads") > 0;
+    }
+
+    public double bufferUtilization() {
+        double total = producerMetric("buffer-total-bytes");
+        double available = producerMetric("buffer-available-bytes");
+        if (Double.isNaN(total) || Double.isNaN(available) || total <= 0) {
+            return 0.0;
+        }
+        return 1.0 - (available / total);
+    }
+
+    public double producerMetric(String name) {
+        try {
+            for (Map.Entry<MetricName, ? extends Metric> entry : kafkaTemplate.metrics().entrySet()) {
+                MetricName metricName = entry.getKey();
+                if (PRODUCER_METRICS_GROUP.equals(metricName.group()) && name.equals(metricName.name())) {
+                    Object value = entry.getValue().metricValue();
+                    return value instanceof Number number ? number.doubleValue() : Double.NaN;
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Kafka producer metric {} unavailable: {}", name, e.getMessage());
+        }
+        return Double.NaN;
+    }
+
+    // Per topic: acknowledged and failed sends, current in-flight count and latency of acknowledged sends
+    public Map<String, Object> topicSummary() {
+        Map<String, Object> topics = new LinkedHashMap<>();
+        for (String topic : new TreeSet<>(inFlight.keySet())) {
+            Timer succeeded = sendTimers.get(timerKey(topic, "success"));
+            Timer failed = sendTimers.get(timerKey(topic, "failure"));
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("sent", succeeded == null ? 0L : succeeded.count());
+            summary.put("failed", failed == null ? 0L : failed.count());
+            summary.put("inFlight", inFlight.get(topic).get());
+            if (succeeded != null) {
+                summary.put("meanLatencyMs", succeeded.mean(TimeUnit.MILLISECONDS));
+                summary.put("maxLatencyMs", succeeded.max(TimeUnit.MILLISECONDS));
+                for (ValueAtPercentile percentile : succeeded.takeSnapshot().percentileValues()) {
+                    summary.put("p" + Math.round(percentile.percentile() * 100) + "LatencyMs",
+                            percentile.value(TimeUnit.MILLISECONDS));
+                }
+            }
+            topics.put(topic, summary);
+        }
+        return topics;
+    }
+
+    public Map<String, Double> errorSummary() {
+        Map<String, Double> errors = new LinkedHashMap<>();
+        errorCounters.forEach((key, counter) -> errors.put(key, counter.count()));
+        errors.put("BufferExhaustedException", bufferExhaustedCounter.count());
+        return errors;
+    }
+
+    private AtomicInteger inFlightFor(String topic) {
+        return inFlight.computeIfAbsent(topic, t -> meterRegistry.gauge("kafka.producer.send.in.flight",
+                io.micrometer.core.instrument.Tags.of("topic", t), new AtomicInteger()));
+    }
+
+    private Timer timerFor(String topic, String outcome) {
+        return sendTimers.computeIfAbsent(timerKey(topic, outcome), key -> Timer.builder("kafka.producer.send.latency")
+                .description("Time from send() until the broker acknowledged or the send failed")
+                .tag("topic", topic)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private static String timerKey(String topic, String outcome) {
+        return topic + ":" + outcome;
+    }
+
+    public final class Sample {
+        private final String topic;
+        private final long startNanos;
+
+        private Sample(String topic, long startNanos) {
+            this.topic = topic;
+            this.startNanos = startNanos;
+        }
+
+        public void stop(Throwable failure) {
+            inFlightFor(topic).decrementAndGet();
+            long elapsed = System.nanoTime() - startNanos;
+            timerFor(topic, failure == null ? "success" : "failure").record(elapsed, TimeUnit.NANOSECONDS);
+
+            if (failure != null) {
+                Throwable cause = NestedExceptionUtils.getMostSpecificCause(failure);
+                if (cause instanceof BufferExhaustedException) {
+                    bufferExhaustedCounter.increment();
+                    log.warn("Kafka producer buffer exhausted while sending to topic {}", topic);
+                    return;
+                }
+                String causeName = cause.getClass().getSimpleName();
+                errorCounters.computeIfAbsent(topic + ":" + causeName, key -> Counter.builder("kafka.producer.send.errors")
+                        .description("Failed sends by topic and root cause")
+                        .tag("topic", topic)
+                        .tag("cause", causeName)
+                        .register(meterRegistry)).increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.exception.LoginThrottledException;
+import com.midlane.project_management_tool_user_service.util.StripedTokenBucketLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Throttles login attempts per email and per client IP before any password work.
+ * <p>
+ * A rejected attempt costs a hash lookup and a few arithmetic operations instead of a BCrypt hash.
+ * The email bucket stops guessing against one account; the IP bucket stops one client spraying many
+ * accounts. A successful login refills the email bucket, so a user who mistyped a few times is not
+ * penalised afterwards.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LoginThrottleService {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${auth.login-throttle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.login-throttle.email.capacity:5}")
+    private int emailCapacity;
+
+    @Value("${auth.login-throttle.email.refill-seconds:60}")
+    private long emailRefillSeconds;
+
+    @Value("${auth.login-throttle.ip.capacity:30}")
+    private int ipCapacity;
+
+    @Value("${auth.login-throttle.ip.refill-seconds:2}")
+    private long ipRefillSeconds;
+
+    @Value("${auth.login-throttle.max-tracked-keys:100000}")
+    private int maxTrackedKeys;
+
+    @Value("${auth.login-throttle.stripes:64}")
+    private int stripes;
+
+    private StripedTokenBucketLimiter emailLimiter;
+    private StripedTokenBucketLimiter ipLimiter;
+    private Counter emailThrottled;
+    private Counter ipThrottled;
+
+    @PostConstruct
+    void init() {
+        emailLimiter = new StripedTokenBucketLimiter(emailCapacity, Duration.ofSeconds(emailRefillSeconds),
+                maxTrackedKeys, stripes);
+        ipLimiter = new StripedTokenBucketLimiter(ipCapacity, Duration.ofSeconds(ipRefillSeconds),
+                maxTrackedKeys, stripes);
+
+        emailThrottled = throttledCounter("email");
+        ipThrottled = throttledCounter("ip");
+        Gauge.builder("auth.login.throttle.tracked", emailLimiter, StripedTokenBucketLimiter::trackedKeys)
+                .description("Keys with an exact token bucket")
+                .tag("key", "email")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.throttle.tracked", ipLimiter, StripedTokenBucketLimiter::trackedKeys)
+                .description("Keys with an exact token bucket")
+                .tag("key", "ip")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Consumes one attempt for both the email and the client IP, or throws {@link LoginThrottledException}.
+     */
+    public void checkLoginAllowed(String email, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        if (clientIp != null && !ipLimiter.tryAcquire(clientIp)) {
+            ipThrottled.increment();
+            // Every rejection is counted in auth.login.throttled; a flood must not also flood the log
+            log.debug("Login throttled for client IP {}", clientIp);
+            throw new LoginThrottledException("Too many login attempts, please try again later", ipRefillSeconds);
+        }
+        if (email != null && !emailLimiter.tryAcquire(normalize(email))) {
+            emailThrottled.increment();
+            log.debug("Login throttled for email {}", email);
+            throw new LoginThrottledException("Too many login attempts, please try again later", emailRefillSeconds);
+        }
+    }
+
+    public void onLoginSucceeded(String email) {
+        if (enabled && email != null) {
+            emailLimiter.reset(normalize(email));
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Counter throttledCounter(String key) {
+        return Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected before password verification")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+}
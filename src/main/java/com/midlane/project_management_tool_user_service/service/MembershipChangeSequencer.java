@@ -0,0 +1,95 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Assigns membership change log entries their position in the change feed once they have committed.
+ * <p>
+ * {@code change_id} is handed out when a row is inserted, but transactions commit in any order, so a
+ * reader paging by {@code change_id} can move past an id whose transaction is still open and never see
+ * it. Entries are therefore written without a feed position, and this job stamps {@code feed_sequence}
+ * on committed entries in {@code change_id} order, continuing after the highest position handed out so
+ * far. An entry that commits later is stamped later, after everything a reader may already have seen.
+ * One instance stamps at a time (advisory lock on PostgreSQL); the unique index on {@code feed_sequence}
+ * backs that up.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MembershipChangeSequencer {
+
+    private static final String LOCK_KEY = "membership_changes_sequencer";
+
+    private final DataSource dataSource;
+
+    @Value("${membership.changes.sequencer-batch-size:1000}")
+    private int batchSize;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private boolean postgres;
+
+    @PostConstruct
+    void init() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        postgres = isPostgres();
+    }
+
+    @Scheduled(initialDelayString = "${membership.changes.sequencer-initial-delay-ms:1000}",
+            fixedDelayString = "${membership.changes.sequencer-interval-ms:500}")
+    public void sequence() {
+        try {
+            int stamped;
+            do {
+                stamped = stampBatch();
+            } while (stamped == batchSize);
+        } catch (DataAccessException e) {
+            log.warn("Membership change sequencing failed, retrying on the next run: {}", e.getMessage());
+        }
+    }
+
+    // Stamps up to batchSize committed entries; 0 when there are none or another instance is stamping
+    int stampBatch() {
+        Integer stamped = transactionTemplate.execute(status -> {
+            if (postgres && !Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT pg_try_advisory_xact_lock(hashtext(?))", Boolean.class, LOCK_KEY))) {
+                return 0;
+            }
+            List<Long> changeIds = jdbcTemplate.queryForList("SELECT change_id FROM membership_changes "
+                    + "WHERE feed_sequence IS NULL ORDER BY change_id LIMIT ?", Long.class, batchSize);
+            if (changeIds.isEmpty()) {
+                return 0;
+            }
+            long next = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(MAX(feed_sequence), 0) FROM membership_changes", Long.class);
+            List<Object[]> positions = new ArrayList<>(changeIds.size());
+            for (Long changeId : changeIds) {
+                positions.add(new Object[]{++next, changeId});
+            }
+            jdbcTemplate.batchUpdate("UPDATE membership_changes SET feed_sequence = ? WHERE change_id = ?", positions);
+            return changeIds.size();
+        });
+        return stamped == null ? 0 : stamped;
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(product);
+    }
+}
@@ -0,0 +1,163 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.dto.MembershipChangeFeedResponse;
+import com.midlane.project_management_tool_user_service.dto.MembershipChangeResponse;
+import com.midlane.project_management_tool_user_service.model.MembershipChange;
+import com.midlane.project_management_tool_user_service.repository.MembershipChangeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the membership change log alongside team_members / organization_members updates
+ * and serves it to downstream services as a cursor-based feed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MembershipChangeService {
+
+    static final String COMPACTION_JOB = "membership-change-compaction";
+
+    private final MembershipChangeRepository membershipChangeRepository;
+    private final ClusterJobRunner jobRunner;
+
+    @Value("${membership.changes.max-batch-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${membership.changes.retention-days:7}")
+    private int retentionDays;
+
+    // Joins the caller's transaction so the log entry commits or rolls back with the membership write.
+    // Returns the entry's id, which also serves as the sequence of the matching event.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordTeamMemberAdded(Long teamId, Long userId) {
+        return record(MembershipChange.Scope.TEAM, teamId, userId, MembershipChange.Action.ADDED);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordTeamMemberRemoved(Long teamId, Long userId) {
+        return record(MembershipChange.Scope.TEAM, teamId, userId, MembershipChange.Action.REMOVED);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordOrganizationMemberAdded(Long organizationId, Long userId) {
+        return record(MembershipChange.Scope.ORGANIZATION, organizationId, userId, MembershipChange.Action.ADDED);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordOrganizationMemberRemoved(Long organizationId, Long userId) {
+        return record(MembershipChange.Scope.ORGANIZATION, organizationId, userId, MembershipChange.Action.REMOVED);
+    }
+
+    // Bulk variants for set-based membership writes: one log entry per user, in the caller's transaction.
+    // Return the entries' ids in the order of userIds.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Long> recordTeamMembersAdded(Long teamId, Collection<Long> userIds) {
+        return recordAll(MembershipChange.Scope.TEAM, teamId, userIds, MembershipChange.Action.ADDED);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Long> recordTeamMembersRemoved(Long teamId, Collection<Long> userIds) {
+        return recordAll(MembershipChange.Scope.TEAM, teamId, userIds, MembershipChange.Action.REMOVED);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Long> recordOrganizationMembersAdded(Long organizationId, Collection<Long> userIds) {
+        return recordAll(MembershipChange.Scope.ORGANIZATION, organizationId, userIds, MembershipChange.Action.ADDED);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Long> recordOrganizationMembersRemoved(Long organizationId, Collection<Long> userIds) {
+        return recordAll(MembershipChange.Scope.ORGANIZATION, organizationId, userIds, MembershipChange.Action.REMOVED);
+    }
+
+    /**
+     * Serves entries in feed order after the given cursor. Only entries the sequencer has stamped are
+     * returned, so a change committing after a consumer has moved on is still delivered on its next poll.
+     */
+    @Transactional(readOnly = true)
+    public MembershipChangeFeedResponse getChanges(Long since, int limit) {
+        long cursor = since != null && since > 0 ? since : 0L;
+        int batchSize = Math.max(1, Math.min(limit, maxBatchSize));
+
+        // Fetch one extra row to learn whether another batch is waiting
+        List<MembershipChange> page = membershipChangeRepository.findChangesAfter(cursor, PageRequest.of(0, batchSize + 1));
+        boolean hasMore = page.size() > batchSize;
+        if (hasMore) {
+            page = page.subList(0, batchSize);
+        }
+
+        long nextCursor = page.isEmpty() ? cursor : page.get(page.size() - 1).getFeedSequence();
+
+        return MembershipChangeFeedResponse.builder()
+                .changes(page.stream().map(this::mapToResponse).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Compacts the log like a keyed Kafka topic: once an entry is older than the retention window
+     * and a newer entry exists for the same membership, it no longer affects the final state a
+     * consumer computes, so it is dropped. The latest entry per membership is always kept, which
+     * means a consumer resuming from any old cursor still converges on the correct state.
+     */
+    @Scheduled(cron = "${membership.changes.compaction-cron:0 30 3 * * *}")
+    public void compactChanges() {
+        // One instance compacts; the others would only repeat the same delete
+        jobRunner.run(COMPACTION_JOB, execution -> {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+            int removed = execution.inTransaction(() -> membershipChangeRepository.deleteSupersededBefore(cutoff));
+            log.info("Compacted membership change log: removed={}, cutoff={}", removed, cutoff);
+            return "completed";
+        });
+    }
+
+    private long record(MembershipChange.Scope scope, Long scopeId, Long userId,
+                                    MembershipChange.Action action) {
+        MembershipChange change = MembershipChange.builder()
+                .scope(scope)
+                .scopeId(scopeId)
+                .userId(userId)
+                .action(action)
+                .build();
+        return membershipChangeRepository.save(change).getId();
+    }
+
+    private List<Long> recordAll(MembershipChange.Scope scope, Long scopeId, Collection<Long> userIds,
+                                 MembershipChange.Action action) {
+        List<MembershipChange> changes = userIds.stream()
+                .map(userId -> MembershipChange.builder()
+                        .scope(scope)
+                        .scopeId(scopeId)
+                        .userId(userId)
+                        .action(action)
+                        .build())
+                .collect(Collectors.toList());
+        return membershipChangeRepository.saveAll(changes).stream()
+                .map(MembershipChange::getId)
+                .collect(Collectors.toList());
+    }
+
+    private MembershipChangeResponse mapToResponse(MembershipChange change) {
+        return MembershipChangeResponse.builder()
+                .cursor(change.getFeedSequence())
+                .scope(change.getScope().toString())
+                .scopeId(change.getScopeId())
+                .userId(change.getUserId())
+                .action(change.getAction().toString())
+                .changedAt(change.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,206 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midlane.project_management_tool_user_service.dto.*;
+import com.midlane.project_management_tool_user_service.repository.MembershipChangeRepository;
+import com.midlane.project_management_tool_user_service.repository.OrganizationRepository;
+import com.midlane.project_management_tool_user_service.repository.TeamRepository;
+import com.midlane.project_management_tool_user_service.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Streams the full user / organization / team membership graph as NDJSON so new consumers of the
+ * membership topics can bootstrap without replaying history.
+ *
+ * <p>Output layout: one HEADER line with the snapshot cursor, RECORD lines shaped like the live
+ * Kafka records (topic, key, value), a CHUNK line with a CRC32 after every {@code chunkSize} records,
+ * and a closing END line with the record count and a SHA-256 over every RECORD line.
+ *
+ * <p>Everything is read in one repeatable-read transaction, and the cursor is read first. The cursor is
+ * the highest feed position, and positions are only stamped on committed changes, so every change at or
+ * below it is part of the snapshot. Changes still in flight, or committed but not yet stamped, get a
+ * higher position and reach the consumer through the feed; one already reflected in the snapshot is
+ * replayed in order, which leaves the state unchanged. Consumers continue from
+ * {@code GET /api/users/changes?since=<snapshot_cursor>}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MembershipSnapshotService {
+
+    static final String ORGANIZATION_MEMBERS_TOPIC = "organization-members";
+
+    private final UserRepository userRepository;
+    private final OrganizationRepository organizationRepository;
+    private final TeamRepository teamRepository;
+    private final MembershipChangeRepository membershipChangeRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${membership.snapshot.chunk-size:1000}")
+    private int chunkSize;
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public long writeSnapshot(OutputStream out) throws IOException {
+        LocalDateTime generatedAt = LocalDateTime.now();
+        long snapshotCursor = membershipChangeRepository.findLatestCursor();
+
+        writeLine(out, MembershipSnapshotLine.builder()
+                .type("HEADER")
+                .snapshotCursor(snapshotCursor)
+                .generatedAt(generatedAt)
+                .build());
+
+        ChunkWriter writer = new ChunkWriter(out);
+
+        long afterUserId = 0L;
+        List<UserSnapshotRecord> users;
+        do {
+            users = userRepository.findSnapshotPage(afterUserId, PageRequest.of(0, chunkSize));
+            for (UserSnapshotRecord user : users) {
+                writer.write(TeamEventProducerService.USER_REGISTERED_TOPIC, "user-" + user.getUserId(),
+                        UserRegisteredEvent.builder()
+                                .userId(user.getUserId())
+                                .email(user.getEmail())
+                                .name(fullName(user.getFirstName(), user.getLastName(), user.getEmail()))
+                                .profilePictureUrl(user.getProfilePictureUrl())
+                                .timestamp(generatedAt)
+                                .eventType("USER_REGISTERED")
+                                .build());
+                afterUserId = user.getUserId();
+            }
+        } while (users.size() == chunkSize);
+
+        long afterOrgId = 0L;
+        afterUserId = 0L;
+        List<OrganizationMemberSnapshotRecord> orgMembers;
+        do {
+            orgMembers = organizationRepository.findMemberSnapshotPage(afterOrgId, afterUserId, PageRequest.of(0, chunkSize));
+            for (OrganizationMemberSnapshotRecord member : orgMembers) {
+                writer.write(ORGANIZATION_MEMBERS_TOPIC, "organization-" + member.getOrganizationId(), member);
+                afterOrgId = member.getOrganizationId();
+                afterUserId = member.getUserId();
+            }
+        } while (orgMembers.size() == chunkSize);
+
+        long afterTeamId = 0L;
+        afterUserId = 0L;
+        List<TeamMemberSnapshotRecord> teamMembers;
+        do {
+            teamMembers = teamRepository.findMemberSnapshotPage(afterTeamId, afterUserId, PageRequest.of(0, chunkSize));
+            for (TeamMemberSnapshotRecord member : teamMembers) {
+                writer.write(TeamEventProducerService.TEAM_MEMBER_ADDED_TOPIC, "team-" + member.getTeamId(),
+                        TeamMemberAddedEvent.builder()
+                                .userId(member.getUserId())
+                                .organizationId(member.getOrganizationId())
+                                .teamId(member.getTeamId())
+                                .timestamp(generatedAt)
+                                .eventType("TEAM_MEMBER_ADDED")
+                                .teamName(member.getTeamName())
+                                .organizationName(member.getOrganizationName())
+                                .userEmail(member.getUserEmail())
+                                .userName(fullName(member.getFirstName(), member.getLastName(), member.getUserEmail()))
+                                .build());
+                afterTeamId = member.getTeamId();
+                afterUserId = member.getUserId();
+            }
+        } while (teamMembers.size() == chunkSize);
+
+        writer.finishChunk();
+        writeLine(out, MembershipSnapshotLine.builder()
+                .type("END")
+                .snapshotCursor(snapshotCursor)
+                .recordCount(writer.totalRecords)
+                .checksum(HexFormat.of().formatHex(writer.snapshotDigest.digest()))
+                .build());
+        out.flush();
+
+        log.info("Membership snapshot written: cursor={}, records={}, chunks={}",
+                snapshotCursor, writer.totalRecords, writer.chunk);
+        return snapshotCursor;
+    }
+
+    private void writeLine(OutputStream out, MembershipSnapshotLine line) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write('\n');
+    }
+
+    private String fullName(String firstName, String lastName, String email) {
+        String name = ((firstName != null ? firstName : "") + (lastName != null ? " " + lastName : "")).trim();
+        return name.isEmpty() ? email : name;
+    }
+
+    /**
+     * Writes RECORD lines and closes a CHUNK every {@code chunkSize} records. Only the running
+     * checksums are kept, so memory stays flat regardless of directory size.
+     */
+    private class ChunkWriter {
+        private final OutputStream out;
+        private final CRC32 chunkCrc = new CRC32();
+        private final MessageDigest snapshotDigest;
+        private long chunkRecords;
+        private long totalRecords;
+        private int chunk;
+
+        ChunkWriter(OutputStream out) {
+            this.out = out;
+            try {
+                this.snapshotDigest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        void write(String topic, String key, Object value) throws IOException {
+            byte[] line = objectMapper.writeValueAsBytes(MembershipSnapshotLine.builder()
+                    .type("RECORD")
+                    .topic(topic)
+                    .key(key)
+                    .value(value)
+                    .build());
+            out.write(line);
+            out.write('\n');
+            chunkCrc.update(line);
+            chunkCrc.update('\n');
+            snapshotDigest.update(line);
+            snapshotDigest.update((byte) '\n');
+            chunkRecords++;
+            totalRecords++;
+
+            if (chunkRecords == chunkSize) {
+                finishChunk();
+            }
+        }
+
+        void finishChunk() throws IOException {
+            if (chunkRecords == 0) {
+                return;
+            }
+            chunk++;
+            writeLine(out, MembershipSnapshotLine.builder()
+                    .type("CHUNK")
+                    .chunk(chunk)
+                    .recordCount(chunkRecords)
+                    .checksum(Long.toHexString(chunkCrc.getValue()))
+                    .build());
+            chunkCrc.reset();
+            chunkRecords = 0;
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.dto.NotificationRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared client for the notification service. One WebClient over a bounded, pooled connection provider
+ * is built at startup and reused for every request; transient failures are retried with jittered backoff.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationClient {
+
+    private static final String SEND_PATH = "/api/v1/notifications/send";
+
+    private final WebClient.Builder webClientBuilder;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.service.url:http://localhost:8084}")
+    private String notificationServiceUrl;
+
+    @Value("${notification.client.max-connections:20}")
+    private int maxConnections;
+
+    @Value("${notification.client.pending-acquire-max:200}")
+    private int pendingAcquireMax;
+
+    @Value("${notification.client.connect-timeout-ms:2000}")
+    private int connectTimeoutMs;
+
+    @Value("${notification.client.response-timeout-ms:5000}")
+    private long responseTimeoutMs;
+
+    @Value("${notification.client.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${notification.client.retry-backoff-ms:200}")
+    private long retryBackoffMs;
+
+    @Value("${notification.client.retry-max-backoff-ms:5000}")
+    private long retryMaxBackoffMs;
+
+    private ConnectionProvider connectionProvider;
+    private WebClient webClient;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private Timer successTimer;
+    private Timer failureTimer;
+    private Counter retryCounter;
+    private DistributionSummary recipientsSummary;
+
+    @PostConstruct
+    void init() {
+        connectionProvider = ConnectionProvider.builder("notification-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMax)
+                .pendingAcquireTimeout(Duration.ofMillis(responseTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+
+        webClient = webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .baseUrl(notificationServiceUrl)
+                .build();
+
+        successTimer = requestTimer("success");
+        failureTimer = requestTimer("failure");
+        retryCounter = Counter.builder("notification.client.retries")
+                .description("Notification requests retried after a transient failure")
+                .register(meterRegistry);
+        recipientsSummary = DistributionSummary.builder("notification.client.recipients")
+                .description("Recipients per notification request")
+                .register(meterRegistry);
+        meterRegistry.gauge("notification.client.in.flight", inFlight);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+        }
+    }
+
+    /**
+     * Sends one request, retrying connection errors, timeouts, 429 and 5xx responses with jittered
+     * exponential backoff. Other 4xx responses fail immediately.
+     */
+    public Mono<Void> send(NotificationRequest request) {
+        return Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    inFlight.incrementAndGet();
+                    recipientsSummary.record(request.getRecipients() != null ? request.getRecipients().size() : 0);
+                    return webClient.post()
+                            .uri(SEND_PATH)
+                            .bodyValue(request)
+                            .retrieve()
+                            .toBodilessEntity()
+                            .timeout(Duration.ofMillis(responseTimeoutMs))
+                            .retryWhen(Retry.backoff(maxRetries, Duration.ofMillis(retryBackoffMs))
+                                    .maxBackoff(Duration.ofMillis(retryMaxBackoffMs))
+                                    .jitter(0.5)
+                                    .filter(NotificationClient::isTransient)
+                                    .doBeforeRetry(signal -> retryCounter.increment())
+                                    .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                            .doOnSuccess(response -> successTimer.record(Duration.ofNanos(System.nanoTime() - start)))
+                            .doOnError(error -> failureTimer.record(Duration.ofNanos(System.nanoTime() - start)))
+                            .doFinally(signal -> inFlight.decrementAndGet());
+                })
+                .then();
+    }
+
+    static boolean isTransient(Throwable error) {
+        if (error instanceof WebClientResponseException responseException) {
+            int status = responseException.getStatusCode().value();
+            return status == 429 || status >= 500;
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+
+    private Timer requestTimer(String outcome) {
+        return Timer.builder("notification.client.requests")
+                .description("Notification service calls including retries")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,298 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midlane.project_management_tool_user_service.dto.NotificationRequest;
+import com.midlane.project_management_tool_user_service.model.NotificationOutbox;
+import com.midlane.project_management_tool_user_service.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the notification outbox. Each run claims due rows under a short lease, merges rows whose
+ * payload differs only in recipients, sends them with bounded concurrency, then deletes what was
+ * delivered and reschedules the rest with exponential backoff until they are dead-lettered.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationOutboxDispatcher {
+
+    private static final TypeReference<List<String>> RECIPIENTS_TYPE = new TypeReference<>() {};
+    private static final TypeReference<Map<String, Object>> TEMPLATE_DATA_TYPE = new TypeReference<>() {};
+    private static final TypeReference<Map<String, Map<String, Object>>> RECIPIENT_DATA_TYPE =
+            new TypeReference<>() {};
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final NotificationClient notificationClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${notification.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${notification.outbox.lease-ms:60000}")
+    private long leaseMs;
+
+    @Value("${notification.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${notification.outbox.initial-backoff-ms:5000}")
+    private long initialBackoffMs;
+
+    @Value("${notification.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    @Value("${notification.batch.max-recipients:50}")
+    private int maxRecipientsPerRequest;
+
+    @Value("${notification.client.max-in-flight:8}")
+    private int maxInFlight;
+
+    private TransactionTemplate transactionTemplate;
+    private Timer deliveryLag;
+    private Counter deadLettered;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestPendingAgeSeconds = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        deliveryLag = Timer.builder("notification.outbox.delivery.lag")
+                .description("Time from enqueue until the notification service accepted the notification")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        deadLettered = Counter.builder("notification.outbox.dead")
+                .description("Notifications dead-lettered after exhausting delivery attempts")
+                .register(meterRegistry);
+        Gauge.builder("notification.outbox.pending", pending, AtomicLong::get)
+                .description("Notifications waiting for delivery")
+                .register(meterRegistry);
+        Gauge.builder("notification.outbox.oldest.age", oldestPendingAgeSeconds, AtomicLong::get)
+                .description("Age of the oldest notification waiting for delivery")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        List<NotificationOutbox> claimed = transactionTemplate.execute(status -> claimDue());
+        if (claimed != null && !claimed.isEmpty()) {
+            List<NotificationOutbox> unreadable = new ArrayList<>();
+            List<Delivery> deliveries = Flux.fromIterable(group(claimed, unreadable))
+                    .flatMap(batch -> Mono.defer(() -> notificationClient.send(batch.request()))
+                            .thenReturn(new Delivery(batch, null))
+                            .onErrorResume(error -> Mono.just(new Delivery(batch, error))), maxInFlight)
+                    .collectList()
+                    .block(Duration.ofMillis(leaseMs));
+
+            if (deliveries != null) {
+                transactionTemplate.executeWithoutResult(status -> complete(deliveries, unreadable));
+            }
+        }
+        refreshBacklogGauges();
+    }
+
+    // Locks due rows and pushes their next attempt past the lease so other instances skip them while we send
+    private List<NotificationOutbox> claimDue() {
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutbox> due = notificationOutboxRepository.lockDue(now, batchSize);
+        LocalDateTime leaseUntil = now.plusNanos(leaseMs * 1_000_000);
+        due.forEach(entry -> entry.setNextAttemptAt(leaseUntil));
+        return due;
+    }
+
+    private void complete(List<Delivery> deliveries, List<NotificationOutbox> unreadable) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> delivered = new ArrayList<>();
+        List<NotificationOutbox> failed = new ArrayList<>(unreadable);
+
+        for (Delivery delivery : deliveries) {
+            if (delivery.error() == null) {
+                delivery.batch().entries().forEach(entry -> {
+                    delivered.add(entry.getId());
+                    deliveryLag.record(Duration.between(entry.getCreatedAt(), now));
+                });
+            } else {
+                // Message only: a failing notification service must not flood the logs with stack traces
+                log.warn("Notification '{}' delivery failed for {} outbox row(s): {}",
+                        delivery.batch().request().getTemplateName(), delivery.batch().entries().size(),
+                        delivery.error().getMessage());
+                delivery.batch().entries().forEach(entry -> {
+                    reschedule(entry, delivery.error(), now);
+                    failed.add(entry);
+                });
+            }
+        }
+
+        if (!delivered.isEmpty()) {
+            notificationOutboxRepository.deleteAllByIdInBatch(delivered);
+        }
+        if (!failed.isEmpty()) {
+            notificationOutboxRepository.saveAll(failed);
+        }
+    }
+
+    private void reschedule(NotificationOutbox entry, Throwable error, LocalDateTime now) {
+        int attempts = entry.getAttempts() + 1;
+        entry.setAttempts(attempts);
+        String message = Objects.toString(error.getMessage(), error.getClass().getSimpleName());
+        entry.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+
+        if (attempts >= maxAttempts) {
+            entry.setStatus(NotificationOutbox.Status.DEAD);
+            deadLettered.increment();
+            log.warn("Notification outbox row {} dead-lettered after {} attempts", entry.getId(), attempts);
+            return;
+        }
+        entry.setNextAttemptAt(now.plusNanos(backoffMs(attempts) * 1_000_000));
+    }
+
+    // Exponential backoff with +/-20% jitter so rows that failed together do not retry in lockstep
+    long backoffMs(int attempts) {
+        long exponential = initialBackoffMs << Math.min(attempts - 1, 30);
+        long capped = Math.min(maxBackoffMs, exponential > 0 ? exponential : maxBackoffMs);
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return (long) (capped * jitter);
+    }
+
+    /**
+     * Groups rows with the same subject, template, priority and template data, splitting each group at
+     * the per-request recipient cap. Per-recipient data is not part of the key: it is carried along for
+     * each recipient, so personalised rows such as welcomes still share a request. Rows that put
+     * personal values in the shared template data stay separate.
+     * Rows that cannot be parsed are dead-lettered straight away and added to {@code unreadable}.
+     */
+    List<Batch> group(List<NotificationOutbox> entries, List<NotificationOutbox> unreadable) {
+        Map<List<Object>, List<NotificationOutbox>> byPayload = new LinkedHashMap<>();
+        for (NotificationOutbox entry : entries) {
+            if (!isReadable(entry)) {
+                entry.setStatus(NotificationOutbox.Status.DEAD);
+                entry.setLastError("Unreadable outbox payload");
+                deadLettered.increment();
+                log.warn("Notification outbox row {} has an unreadable payload and was dead-lettered", entry.getId());
+                unreadable.add(entry);
+                continue;
+            }
+            List<Object> payloadKey = List.of(
+                    entry.getTemplateName(),
+                    Objects.toString(entry.getSubject(), ""),
+                    Objects.toString(entry.getPriority(), ""),
+                    Objects.toString(entry.getTemplateData(), ""));
+            byPayload.computeIfAbsent(payloadKey, key -> new ArrayList<>()).add(entry);
+        }
+
+        List<Batch> batches = new ArrayList<>();
+        byPayload.values().forEach(group -> {
+            List<NotificationOutbox> current = new ArrayList<>();
+            Set<String> recipients = new LinkedHashSet<>();
+            for (NotificationOutbox entry : group) {
+                List<String> entryRecipients = readRecipients(entry);
+                if (!current.isEmpty() && recipients.size() + entryRecipients.size() > maxRecipientsPerRequest) {
+                    batches.add(toBatch(current, recipients));
+                    current = new ArrayList<>();
+                    recipients = new LinkedHashSet<>();
+                }
+                current.add(entry);
+                recipients.addAll(entryRecipients);
+            }
+            if (!current.isEmpty()) {
+                batches.add(toBatch(current, recipients));
+            }
+        });
+        return batches;
+    }
+
+    private boolean isReadable(NotificationOutbox entry) {
+        try {
+            readRecipients(entry);
+            readTemplateData(entry);
+            readRecipientData(entry);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private Batch toBatch(List<NotificationOutbox> entries, Set<String> recipients) {
+        NotificationOutbox first = entries.get(0);
+        Map<String, Map<String, Object>> recipientData = new LinkedHashMap<>();
+        entries.forEach(entry -> recipientData.putAll(readRecipientData(entry)));
+        NotificationRequest request = NotificationRequest.builder()
+                .recipients(List.copyOf(recipients))
+                .subject(first.getSubject())
+                .templateName(first.getTemplateName())
+                .templateData(readTemplateData(first))
+                .recipientData(recipientData.isEmpty() ? null : recipientData)
+                .priority(first.getPriority())
+                .build();
+        return new Batch(entries, request);
+    }
+
+    private List<String> readRecipients(NotificationOutbox entry) {
+        try {
+            return objectMapper.readValue(entry.getRecipients(), RECIPIENTS_TYPE);
+        } catch (Exception e) {
+            throw new RuntimeException("Corrupt recipients in notification outbox row " + entry.getId(), e);
+        }
+    }
+
+    private Map<String, Object> readTemplateData(NotificationOutbox entry) {
+        if (entry.getTemplateData() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(entry.getTemplateData(), TEMPLATE_DATA_TYPE);
+        } catch (Exception e) {
+            throw new RuntimeException("Corrupt template data in notification outbox row " + entry.getId(), e);
+        }
+    }
+
+    private Map<String, Map<String, Object>> readRecipientData(NotificationOutbox entry) {
+        if (entry.getRecipientData() == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(entry.getRecipientData(), RECIPIENT_DATA_TYPE);
+        } catch (Exception e) {
+            throw new RuntimeException("Corrupt recipient data in notification outbox row " + entry.getId(), e);
+        }
+    }
+
+    private void refreshBacklogGauges() {
+        pending.set(notificationOutboxRepository.countByStatus(NotificationOutbox.Status.PENDING));
+        LocalDateTime oldest = notificationOutboxRepository.findOldestCreatedAt(NotificationOutbox.Status.PENDING);
+        oldestPendingAgeSeconds.set(oldest != null ? Duration.between(oldest, LocalDateTime.now()).toSeconds() : 0);
+    }
+
+    record Batch(List<NotificationOutbox> entries, NotificationRequest request) {
+    }
+
+    private record Delivery(Batch batch, Throwable error) {
+    }
+}
@@ -1,14 +1,15 @@
 package com.midlane.project_management_tool_user_service.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.midlane.project_management_tool_user_service.dto.NotificationRequest;
+import com.midlane.project_management_tool_user_service.model.NotificationOutbox;
+import com.midlane.project_management_tool_user_service.repository.NotificationOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -19,48 +20,63 @@ import java.util.Map;
 @Slf4j
 public class NotificationService {
 
-    private final WebClient.Builder webClientBuilder;
-
-    @Value("${notification.service.url:http://localhost:8084}")
-    private String notificationServiceUrl;
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final ObjectMapper objectMapper;
 
     public void sendWelcomeNotification(String userEmail, String firstName, String lastName, String role) {
         try {
             String fullName = buildFullName(firstName, lastName);
             String formattedDate = LocalDateTime.now().format(DateTimeFormatter.ofPattern("MMMM d, yyyy"));
 
+            // Only the shared variables go in templateData, so welcomes for users registering together
+            // batch into one send; the personal ones travel per recipient
             NotificationRequest notificationRequest = NotificationRequest.builder()
                     .recipients(List.of(userEmail))
                     .subject("Welcome to Project Management Tool")
                     .templateName("welcome")
                     .templateData(Map.of(
-                            "userName", fullName,
-                            "userEmail", userEmail,
-                            "userRole", role != null ? role : "User",
                             "createdDate", formattedDate,
                             "dashboardUrl", "https://app.example.com/dashboard"
                     ))
+                    .recipientData(Map.of(userEmail, Map.of(
+                            "userName", fullName,
+                            "userEmail", userEmail,
+                            "userRole", role != null ? role : "User"
+                    )))
                     .priority("MEDIUM")
                     .build();
 
-            WebClient webClient = webClientBuilder.build();
-
-            webClient.post()
-                    .uri(notificationServiceUrl + "/api/v1/notifications/send")
-                    .bodyValue(notificationRequest)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .timeout(Duration.ofSeconds(10))
-                    .subscribe(
-                            response -> log.info("Welcome notification sent successfully for user: {}", userEmail),
-                            error -> log.error("Failed to send welcome notification for user: {}", userEmail, error)
-                    );
+            enqueue(notificationRequest);
 
         } catch (Exception e) {
             log.error("Error sending welcome notification for user: {}", userEmail, e);
         }
     }
 
+    /**
+     * Stores the notification in the outbox, joining the caller's transaction when there is one.
+     * Delivery happens asynchronously in {@link NotificationOutboxDispatcher}.
+     */
+    @Transactional
+    public void enqueue(NotificationRequest request) {
+        try {
+            NotificationOutbox entry = NotificationOutbox.builder()
+                    .templateName(request.getTemplateName())
+                    .subject(request.getSubject())
+                    .priority(request.getPriority())
+                    .recipients(objectMapper.writeValueAsString(request.getRecipients()))
+                    .templateData(request.getTemplateData() != null
+                            ? objectMapper.writeValueAsString(request.getTemplateData()) : null)
+                    .recipientData(request.getRecipientData() != null
+                            ? objectMapper.writeValueAsString(request.getRecipientData()) : null)
+                    .status(NotificationOutbox.Status.PENDING)
+                    .build();
+            notificationOutboxRepository.save(entry);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize notification request", e);
+        }
+    }
+
     private String buildFullName(String firstName, String lastName) {
         if (firstName != null && lastName != null) {
             return firstName + " " + lastName;
@@ -1,20 +1,32 @@
 package com.midlane.project_management_tool_user_service.service;
 
+import com.midlane.project_management_tool_user_service.dto.BulkMembershipResponse;
+import com.midlane.project_management_tool_user_service.dto.BulkMembershipResult;
 import com.midlane.project_management_tool_user_service.dto.CreateOrganizationRequest;
 import com.midlane.project_management_tool_user_service.dto.OrganizationResponse;
 import com.midlane.project_management_tool_user_service.dto.OrganizationMemberResponse;
 import com.midlane.project_management_tool_user_service.dto.OrganizationMemberBriefResponse;
 import com.midlane.project_management_tool_user_service.dto.OrganizationTeamResponse;
+import com.midlane.project_management_tool_user_service.dto.TeamMembershipRecord;
 import com.midlane.project_management_tool_user_service.model.Organization;
 import com.midlane.project_management_tool_user_service.model.User;
 import com.midlane.project_management_tool_user_service.repository.OrganizationRepository;
+import com.midlane.project_management_tool_user_service.repository.TeamRepository;
 import com.midlane.project_management_tool_user_service.repository.UserRepository;
+import com.midlane.project_management_tool_user_service.util.BulkMemberships;
+import com.midlane.project_management_tool_user_service.util.TransactionHooks;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +36,12 @@ public class OrganizationService {
 
     private final OrganizationRepository organizationRepository;
     private final UserRepository userRepository;
+    private final TeamRepository teamRepository;
+    private final MembershipChangeService membershipChangeService;
+    private final TeamEventProducerService teamEventProducerService;
+
+    @Value("${memberships.bulk.max-size:1000}")
+    private int maxBulkSize;
 
     @Transactional
     public OrganizationResponse createOrganization(CreateOrganizationRequest request, Long ownerId) {
@@ -46,6 +64,7 @@ public class OrganizationService {
         // Use the business method to properly add owner as member
         owner.createOrganization(savedOrg);
         userRepository.save(owner);
+        membershipChangeService.recordOrganizationMemberAdded(savedOrg.getId(), owner.getId());
 
         log.info("Organization created: id={}, name={}, owner={}", 
                 savedOrg.getId(), savedOrg.getName(), owner.getEmail());
@@ -107,6 +126,7 @@ public class OrganizationService {
         
         organization.addMember(user);
         organizationRepository.save(organization);
+        membershipChangeService.recordOrganizationMemberAdded(organizationId, user.getId());
         
         log.info("User added to organization: userId={}, orgId={}, orgName={}", 
                 userEmail, organizationId, organization.getName());
@@ -132,6 +152,7 @@ public class OrganizationService {
         
         organization.removeMember(user);
         organizationRepository.save(organization);
+        membershipChangeService.recordOrganizationMemberRemoved(organizationId, userId);
         
         log.info("User removed from organization: userId={}, orgId={}, orgName={}", 
                 userId, organizationId, organization.getName());
@@ -171,7 +192,13 @@ public class OrganizationService {
         if (!organization.getOwner().getId().equals(requesterId)) {
             throw new RuntimeException("Only organization owner can delete organization");
         }
-        
+
+        // Teams and memberships go with the organization; record it so feed consumers drop them too
+        organization.getTeams().forEach(team -> team.getMembers().forEach(
+                member -> membershipChangeService.recordTeamMemberRemoved(team.getId(), member.getId())));
+        organization.getMembers().forEach(
+                member -> membershipChangeService.recordOrganizationMemberRemoved(organizationId, member.getId()));
+
         organizationRepository.delete(organization);
         
         log.info("Organization deleted: id={}, name={}", organizationId, organization.getName());
@@ -212,6 +239,8 @@ public class OrganizationService {
                 .collect(java.util.stream.Collectors.toList());
     }
 
+    // Read-only transaction so the lazy teams/members load also works off the request thread
+    @Transactional(readOnly = true)
     public List<OrganizationTeamResponse> getOrganizationTeams(Long organizationId) {
         Organization organization = organizationRepository.findById(organizationId)
                 .orElseThrow(() -> new RuntimeException("Organization not found with ID: " + organizationId));
@@ -288,6 +317,7 @@ public class OrganizationService {
         // Use business method to properly handle relationships
         userToAdd.joinOrganization(organization);
         userRepository.save(userToAdd);
+        membershipChangeService.recordOrganizationMemberAdded(organizationId, userIdToAdd);
 
         log.info("User added to organization: userId={}, orgId={}, orgName={}",
                 userIdToAdd, organizationId, organization.getName());
@@ -312,14 +342,131 @@ public class OrganizationService {
             throw new RuntimeException("Cannot remove organization owner");
         }
 
-        // Use business method to properly handle relationships including teams
+        // Team membership is owned by the team side, so the user's teams are dropped with set-based
+        // deletes that also record and publish each team removal
+        removeFromOrganizationTeams(organizationId, List.of(userId));
         user.leaveOrganization(organization);
         userRepository.save(user);
+        membershipChangeService.recordOrganizationMemberRemoved(organizationId, userId);
 
         log.info("User removed from organization: userId={}, orgId={}, orgName={}",
                 userId, organizationId, organization.getName());
     }
 
+    /**
+     * Adds many users to an organization in one transaction. An unknown organization, a requester who is
+     * not the owner or an oversized request rejects the whole request and nothing changes. Otherwise each
+     * user is either added or skipped as USER_NOT_FOUND / ALREADY_MEMBER, and all additions commit
+     * together, validated with IN queries and written with one set-based insert.
+     */
+    @Transactional
+    public BulkMembershipResponse addMembersById(Long organizationId, List<Long> userIds, Long requesterId) {
+        Organization organization = organizationRepository.findById(organizationId)
+                .orElseThrow(() -> new RuntimeException("Organization not found with ID: " + organizationId));
+
+        if (!organization.getOwner().getId().equals(requesterId)) {
+            throw new RuntimeException("Only organization owner can add members");
+        }
+
+        Set<Long> requested = BulkMemberships.requestedIds(userIds, maxBulkSize);
+        Set<Long> existing = new HashSet<>(userRepository.findExistingIds(requested));
+        Set<Long> members = new HashSet<>(organizationRepository.findMemberIds(organizationId, requested));
+
+        List<BulkMembershipResult> results = new ArrayList<>(requested.size());
+        List<Long> toAdd = new ArrayList<>();
+        for (Long userId : requested) {
+            String status;
+            if (!existing.contains(userId)) {
+                status = "USER_NOT_FOUND";
+            } else if (members.contains(userId)) {
+                status = "ALREADY_MEMBER";
+            } else {
+                status = "ADDED";
+                toAdd.add(userId);
+            }
+            results.add(new BulkMembershipResult(userId, status));
+        }
+
+        if (!toAdd.isEmpty()) {
+            organizationRepository.addMembers(organizationId, toAdd);
+            membershipChangeService.recordOrganizationMembersAdded(organizationId, toAdd);
+        }
+
+        log.info("Bulk add to organization: orgId={}, requested={}, added={}",
+                organizationId, requested.size(), toAdd.size());
+        return BulkMemberships.response(organizationId, toAdd.size(), results);
+    }
+
+    /**
+     * Removes many users from an organization in one transaction, with the same all-or-nothing handling
+     * of request-level problems as {@link #addMembersById}. Non-members are skipped as NOT_MEMBER and the
+     * owner as ORGANIZATION_OWNER. Removed users also leave every team of the organization and give up
+     * any team leadership there; those team removals go to the change log like the organization ones, and
+     * each affected team gets its team-member-removed events after the commit.
+     */
+    @Transactional
+    public BulkMembershipResponse removeMembers(Long organizationId, List<Long> userIds, Long requesterId) {
+        Organization organization = organizationRepository.findById(organizationId)
+                .orElseThrow(() -> new RuntimeException("Organization not found with ID: " + organizationId));
+
+        if (!organization.getOwner().getId().equals(requesterId)) {
+            throw new RuntimeException("Only organization owner can remove members");
+        }
+
+        Set<Long> requested = BulkMemberships.requestedIds(userIds, maxBulkSize);
+        Set<Long> members = new HashSet<>(organizationRepository.findMemberIds(organizationId, requested));
+
+        List<BulkMembershipResult> results = new ArrayList<>(requested.size());
+        List<Long> toRemove = new ArrayList<>();
+        for (Long userId : requested) {
+            String status;
+            if (userId.equals(organization.getOwner().getId())) {
+                status = "ORGANIZATION_OWNER";
+            } else if (!members.contains(userId)) {
+                status = "NOT_MEMBER";
+            } else {
+                status = "REMOVED";
+                toRemove.add(userId);
+            }
+            results.add(new BulkMembershipResult(userId, status));
+        }
+
+        if (!toRemove.isEmpty()) {
+            removeFromOrganizationTeams(organizationId, toRemove);
+            organizationRepository.removeMembers(organizationId, toRemove);
+            membershipChangeService.recordOrganizationMembersRemoved(organizationId, toRemove);
+        }
+
+        log.info("Bulk remove from organization: orgId={}, requested={}, removed={}",
+                organizationId, requested.size(), toRemove.size());
+        return BulkMemberships.response(organizationId, toRemove.size(), results);
+    }
+
+    // Drops users leaving the organization from its teams and their leadership there, records each team's
+    // removals in the change log and publishes the team-member-removed events after the commit
+    private void removeFromOrganizationTeams(Long organizationId, List<Long> userIds) {
+        Map<Long, List<Long>> teamMemberships = teamRepository.findOrganizationTeamMemberships(organizationId, userIds)
+                .stream()
+                .collect(Collectors.groupingBy(TeamMembershipRecord::getTeamId, LinkedHashMap::new,
+                        Collectors.mapping(TeamMembershipRecord::getUserId, Collectors.toList())));
+        if (teamMemberships.isEmpty()) {
+            return;
+        }
+        teamRepository.clearTeamLeads(organizationId, userIds);
+        teamRepository.removeMembersFromOrganizationTeams(organizationId, userIds);
+        teamMemberships.forEach((teamId, memberIds) -> {
+            List<Long> sequences = membershipChangeService.recordTeamMembersRemoved(teamId, memberIds);
+            TransactionHooks.afterCommit(() -> {
+                try {
+                    teamEventProducerService.publishTeamMembersRemovedEvents(teamId, memberIds, sequences);
+                } catch (Exception e) {
+                    log.error("Failed to publish team member removed events for teamId: {}, members: {}",
+                            teamId, memberIds.size(), e);
+                }
+            });
+        });
+    }
+
     public List<OrganizationMemberBriefResponse> getOrganizationMembersBrief(Long organizationId) {
         Organization organization = organizationRepository.findById(organizationId)
                 .orElseThrow(() -> new RuntimeException("Organization not found with ID: " + organizationId));
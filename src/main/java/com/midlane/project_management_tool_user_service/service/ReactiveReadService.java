@@ -0,0 +1,74 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.dto.MeResponse;
+import com.midlane.project_management_tool_user_service.dto.MemberDetailsResponse;
+import com.midlane.project_management_tool_user_service.dto.OrganizationTeamResponse;
+import com.midlane.project_management_tool_user_service.dto.UserDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Non-blocking facade over the hot read paths other services call constantly.
+ * <p>
+ * There is no reactive driver for our JPA model, so each lookup runs the existing blocking service
+ * method on the bounded {@code jdbcReadScheduler}. The request thread is released while the lookup
+ * waits, and database concurrency stays capped at the scheduler size. Large member lists are streamed
+ * page by page; the next page is only fetched once the client has consumed the previous one.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveReadService {
+
+    private final UserService userService;
+    private final TeamService teamService;
+    private final OrganizationService organizationService;
+    private final Scheduler jdbcReadScheduler;
+
+    @Value("${reactive.read.member-page-size:200}")
+    private int memberPageSize;
+
+    public Mono<UserDTO> getUserProfile(Long userId) {
+        return blocking(() -> userService.getUserProfile(userId));
+    }
+
+    public Mono<MeResponse> getCurrentUserInfo(Long userId) {
+        return blocking(() -> userService.getCurrentUserInfo(userId));
+    }
+
+    public Mono<Boolean> isTeamMember(Long teamId, Long userId) {
+        return blocking(() -> teamService.isUserMember(teamId, userId));
+    }
+
+    public Mono<Boolean> isOrganizationMember(Long organizationId, Long userId) {
+        return blocking(() -> organizationService.isUserMember(organizationId, userId));
+    }
+
+    public Flux<OrganizationTeamResponse> getOrganizationTeams(Long organizationId) {
+        return blocking(() -> organizationService.getOrganizationTeams(organizationId))
+                .flatMapIterable(teams -> teams);
+    }
+
+    public Flux<MemberDetailsResponse> streamTeamMembers(Long teamId) {
+        return memberPage(teamId, 0L)
+                // expand subscribes to the next page only when downstream demand reaches it
+                .expand(page -> page.size() < memberPageSize
+                        ? Mono.empty()
+                        : memberPage(teamId, page.get(page.size() - 1).getMemberId()))
+                .concatMapIterable(page -> page, 1);
+    }
+
+    private Mono<List<MemberDetailsResponse>> memberPage(Long teamId, Long afterUserId) {
+        return blocking(() -> teamService.getTeamMembersPage(teamId, afterUserId, memberPageSize));
+    }
+
+    private <T> Mono<T> blocking(Callable<T> lookup) {
+        return Mono.fromCallable(lookup).subscribeOn(jdbcReadScheduler);
+    }
+}
@@ -0,0 +1,108 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves refresh tokens written before hashed storage onto {@code token_hash}.
+ * <p>
+ * At startup the plaintext {@code token} column is made nullable so new rows can be written with the
+ * hash alone. The backfill then hashes old rows in the database a chunk at a time and clears their
+ * plaintext, through {@link ClusterJobRunner} so only one instance works through the table. Until it has finished,
+ * {@code RefreshTokenService} still falls back to a plaintext lookup for tokens it cannot find by hash.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenHashBackfill {
+
+    static final String JOB_NAME = "refresh-token-hash-backfill";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final ClusterJobRunner jobRunner;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${refresh-token.hash-backfill.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${refresh-token.hash-backfill.time-budget-ms:300000}")
+    private long timeBudgetMs;
+
+    private Counter hashed;
+    private volatile boolean complete;
+
+    @PostConstruct
+    void init() {
+        hashed = Counter.builder("refresh.token.hash.backfilled")
+                .description("Plaintext refresh tokens replaced by their hash")
+                .register(meterRegistry);
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            if (isPostgres(jdbcTemplate) && tableExists(jdbcTemplate)) {
+                jdbcTemplate.execute("ALTER TABLE refresh_tokens ALTER COLUMN token DROP NOT NULL");
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not make refresh_tokens.token nullable: {}", e.getMessage());
+        }
+    }
+
+    // True while some rows may still only have their plaintext token
+    public boolean legacyRowsRemain() {
+        return !complete;
+    }
+
+    @Scheduled(initialDelayString = "${refresh-token.hash-backfill.initial-delay-ms:10000}",
+            fixedDelayString = "${refresh-token.hash-backfill.interval-ms:60000}")
+    public void backfill() {
+        if (complete) {
+            return;
+        }
+        if (!refreshTokenRepository.existsByTokenHashIsNull()) {
+            complete = true;
+            log.info("All refresh tokens are stored hashed");
+            return;
+        }
+        jobRunner.run(JOB_NAME, this::hashChunks);
+    }
+
+    private String hashChunks(ClusterJobRunner.Execution execution) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudgetMs);
+        long total = 0;
+        int count;
+        do {
+            count = execution.inTransaction(() -> refreshTokenRepository.hashLegacyTokensChunk(batchSize));
+            total += count;
+            hashed.increment(count);
+        } while (count == batchSize && execution.isLeaseHeld() && System.nanoTime() < deadline);
+        if (count < batchSize) {
+            complete = true;
+        }
+        log.info("Hashed {} plaintext refresh tokens{}", total, complete ? ", backfill complete" : "");
+        return complete ? "completed" : "budget_exhausted";
+    }
+
+    private boolean isPostgres(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(product);
+    }
+
+    private boolean tableExists(JdbcTemplate jdbcTemplate) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass('refresh_tokens') IS NOT NULL", Boolean.class));
+    }
+}
@@ -0,0 +1,233 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.util.SqlScripts;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps {@code refresh_tokens} range-partitioned by {@code expires_at} on PostgreSQL.
+ * <p>
+ * Runs before Hibernate's schema update (see {@code RefreshTokenPartitioningConfig}) so a fresh database
+ * gets the partitioned table from {@code db/partitioning/refresh_tokens.sql} rather than a plain one. An
+ * existing plain table is converted only when {@code refresh-token.partitioning.migrate-existing} is set.
+ * Maintenance creates partitions ahead of the longest token lifetime and drops partitions whose range has
+ * fully expired, which replaces row-by-row expiry deletes. On other databases (H2 in tests) it does nothing.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenPartitionManager {
+
+    static final String TABLE = "refresh_tokens";
+    private static final String SCHEMA_SCRIPT = "db/partitioning/refresh_tokens.sql";
+    private static final String LOCK_KEY = "refresh_tokens_partitions";
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final DataSource dataSource;
+
+    @Value("${refresh-token.partitioning.enabled:true}")
+    private boolean enabled;
+
+    @Value("${refresh-token.partitioning.partition-days:1}")
+    private int partitionDays;
+
+    // Partitions created beyond the longest possible token expiry
+    @Value("${refresh-token.partitioning.premake-days:3}")
+    private int premakeDays;
+
+    @Value("${refresh-token.partitioning.migrate-existing:false}")
+    private boolean migrateExisting;
+
+    @Value("${jwt.refresh-token.expiration:604800000}")
+    private long refreshTokenExpiration;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private volatile boolean partitioned;
+
+    @PostConstruct
+    void init() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!isPostgres()) {
+                log.info("Refresh token partitioning skipped: database is not PostgreSQL");
+                return;
+            }
+            ensureSchema();
+        } catch (DataAccessException e) {
+            log.error("Could not set up refresh token partitions, falling back to row deletes: {}", e.getMessage());
+        }
+    }
+
+    public boolean isPartitioned() {
+        return partitioned;
+    }
+
+    @Scheduled(initialDelayString = "${refresh-token.partitioning.maintenance-initial-delay-ms:60000}",
+            fixedDelayString = "${refresh-token.partitioning.maintenance-interval-ms:3600000}")
+    public void maintain() {
+        if (!partitioned) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                lockPartitionMaintenance();
+                LocalDateTime now = LocalDateTime.now();
+                createPartitions(partitionStart(now.toLocalDate()), horizon(now));
+                dropExpiredPartitions(now);
+            });
+        } catch (DataAccessException e) {
+            log.warn("Refresh token partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    private void ensureSchema() {
+        transactionTemplate.executeWithoutResult(status -> {
+            lockPartitionMaintenance();
+            String kind = relkind(TABLE);
+            if ("r".equals(kind)) {
+                if (!migrateExisting) {
+                    log.warn("{} is a plain table; set refresh-token.partitioning.migrate-existing=true to "
+                            + "convert it. Expired tokens are purged with row deletes until then.", TABLE);
+                    return;
+                }
+                convertExistingTable();
+            } else {
+                applySchemaScript();
+                LocalDateTime now = LocalDateTime.now();
+                createPartitions(partitionStart(now.toLocalDate()), horizon(now));
+            }
+            partitioned = true;
+            log.info("{} is partitioned by expires_at in {}-day ranges", TABLE, partitionDays);
+        });
+    }
+
+    // Swap the plain table for a partitioned one, carrying over every row that can still be used
+    private void convertExistingTable() {
+        jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + TABLE + "_unpartitioned");
+        // Index names are schema-wide; free them for the partitioned table
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_refresh_tokens_user_active, idx_refresh_tokens_expires_at, "
+                + "idx_refresh_tokens_created_at");
+        applySchemaScript();
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate from = partitionStart(now.toLocalDate());
+        LocalDateTime maxExpiry = jdbcTemplate.queryForObject(
+                "SELECT MAX(expires_at) FROM " + TABLE + "_unpartitioned", LocalDateTime.class);
+        LocalDateTime horizon = horizon(now);
+        createPartitions(from, maxExpiry != null && maxExpiry.isAfter(horizon) ? maxExpiry : horizon);
+
+        // Rows copied across are hashed on the way, so the converted table holds no plaintext tokens
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + "_unpartitioned ADD COLUMN IF NOT EXISTS token_hash BYTEA");
+        int copied = jdbcTemplate.update("INSERT INTO " + TABLE
+                + " (id, token_hash, user_email, expires_at, created_at, revoked, device_info)"
+                + " SELECT id, COALESCE(token_hash, sha256(convert_to(token, 'UTF8'))), user_email, expires_at,"
+                + " created_at, revoked, device_info FROM " + TABLE + "_unpartitioned WHERE expires_at >= ?",
+                from.atStartOfDay());
+        jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence('" + TABLE + "', 'id'), "
+                + "COALESCE((SELECT MAX(id) FROM " + TABLE + "_unpartitioned), 0) + 1, false)", Long.class);
+        jdbcTemplate.execute("DROP TABLE " + TABLE + "_unpartitioned");
+        log.info("Converted {} to a partitioned table, copied {} unexpired tokens", TABLE, copied);
+    }
+
+    private void applySchemaScript() {
+        for (String statement : schemaStatements()) {
+            jdbcTemplate.execute(statement);
+        }
+    }
+
+    private void createPartitions(LocalDate from, LocalDateTime until) {
+        for (LocalDate start = from; !start.atStartOfDay().isAfter(until); start = start.plusDays(partitionDays)) {
+            LocalDate end = start.plusDays(partitionDays);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(start) + " PARTITION OF " + TABLE
+                    + " FOR VALUES FROM ('" + BOUND_FORMAT.format(start.atStartOfDay()) + "') TO ('"
+                    + BOUND_FORMAT.format(end.atStartOfDay()) + "')");
+        }
+    }
+
+    // Every row in a partition whose upper bound has passed is expired, so the whole partition goes
+    private void dropExpiredPartitions(LocalDateTime now) {
+        List<String> dropped = new ArrayList<>();
+        jdbcTemplate.query("SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?)", rs -> {
+            LocalDateTime upper = upperBound(rs.getString(2));
+            if (upper != null && !upper.isAfter(now)) {
+                dropped.add(rs.getString(1));
+            }
+        }, TABLE);
+        for (String partition : dropped) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+        }
+        if (!dropped.isEmpty()) {
+            log.info("Dropped expired refresh token partitions: {}", dropped);
+        }
+    }
+
+    // Serialises schema work across instances for the rest of the transaction
+    private void lockPartitionMaintenance() {
+        jdbcTemplate.queryForObject("SELECT 1 FROM pg_advisory_xact_lock(hashtext(?))", Integer.class, LOCK_KEY);
+    }
+
+    private String relkind(String table) {
+        List<String> kinds = jdbcTemplate.queryForList(
+                "SELECT c.relkind FROM pg_class c WHERE c.oid = to_regclass(?)", String.class, table);
+        return kinds.isEmpty() ? null : kinds.get(0);
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(product);
+    }
+
+    private LocalDateTime horizon(LocalDateTime now) {
+        return now.plus(refreshTokenExpiration, ChronoUnit.MILLIS).plusDays(premakeDays);
+    }
+
+    // Partition boundaries are aligned to multiples of partitionDays since the epoch
+    LocalDate partitionStart(LocalDate day) {
+        return LocalDate.ofEpochDay(Math.floorDiv(day.toEpochDay(), partitionDays) * partitionDays);
+    }
+
+    static String partitionName(LocalDate start) {
+        return TABLE + "_p" + DateTimeFormatter.BASIC_ISO_DATE.format(start);
+    }
+
+    // Upper bound from pg_get_expr output such as FOR VALUES FROM ('2026-10-19 00:00:00') TO ('2026-10-20 00:00:00')
+    static LocalDateTime upperBound(String boundExpression) {
+        if (boundExpression == null) {
+            return null;
+        }
+        Matcher matcher = UPPER_BOUND.matcher(boundExpression);
+        return matcher.find() ? LocalDateTime.parse(matcher.group(1), BOUND_FORMAT) : null;
+    }
+
+    static List<String> schemaStatements() {
+        return SqlScripts.statements(SCHEMA_SCRIPT);
+    }
+}
@@ -0,0 +1,137 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes expired refresh tokens in small chunks instead of one unbounded DELETE.
+ * <p>
+ * Each chunk is its own short, fenced transaction over the {@code expires_at} index, with a pause
+ * between chunks so vacuum and replicas keep up, and the whole run stops once its time budget is spent;
+ * the next run carries on from the same index position. {@link ClusterJobRunner} keeps the purge on one
+ * instance and records each run.
+ * When {@code refresh_tokens} is partitioned the job stands down and partition drops do the work.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenPurgeJob {
+
+    static final String JOB_NAME = "refresh-token-purge";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final ClusterJobRunner jobRunner;
+    private final RefreshTokenPartitionManager partitionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${refresh-token.purge.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${refresh-token.purge.pause-ms:200}")
+    private long pauseMs;
+
+    @Value("${refresh-token.purge.time-budget-ms:300000}")
+    private long timeBudgetMs;
+
+    private Counter deleted;
+    private Timer chunkTimer;
+    private final AtomicLong lastRunDeleted = new AtomicLong();
+    private final AtomicLong lastRunSeconds = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        deleted = Counter.builder("refresh.token.purge.deleted")
+                .description("Expired refresh tokens deleted by the purge job")
+                .register(meterRegistry);
+        chunkTimer = Timer.builder("refresh.token.purge.chunk")
+                .description("Time to delete one chunk of expired refresh tokens")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("refresh.token.purge.last.run.deleted", lastRunDeleted, AtomicLong::get)
+                .description("Refresh tokens deleted by the most recent purge run")
+                .register(meterRegistry);
+        Gauge.builder("refresh.token.purge.last.run.duration", lastRunSeconds, AtomicLong::get)
+                .description("Duration of the most recent purge run")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${refresh-token.purge.initial-delay-ms:60000}",
+            fixedDelayString = "${refresh-token.purge.interval-ms:3600000}")
+    public void purgeExpiredTokens() {
+        // Partitioned storage expires tokens by dropping whole partitions
+        if (partitionManager.isPartitioned()) {
+            return;
+        }
+        jobRunner.run(JOB_NAME, this::purge);
+    }
+
+    // Returns the run outcome: completed, budget_exhausted, interrupted or lease_lost
+    private String purge(ClusterJobRunner.Execution execution) {
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(timeBudgetMs);
+        // Fixed for the whole run so tokens expiring mid-run are left for the next one
+        LocalDateTime cutoff = LocalDateTime.now();
+        long total = 0;
+        int chunks = 0;
+        String outcome = "completed";
+
+        while (true) {
+            long chunkStarted = System.nanoTime();
+            int count = execution.inTransaction(() -> refreshTokenRepository.deleteExpiredChunk(cutoff, batchSize));
+            chunkTimer.record(System.nanoTime() - chunkStarted, TimeUnit.NANOSECONDS);
+            total += count;
+            chunks++;
+            deleted.increment(count);
+
+            if (count < batchSize) {
+                break;
+            }
+            if (!execution.isLeaseHeld()) {
+                outcome = "lease_lost";
+                break;
+            }
+            if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pauseMs) >= deadline) {
+                outcome = "budget_exhausted";
+                break;
+            }
+            if (!pause()) {
+                outcome = "interrupted";
+                break;
+            }
+        }
+
+        long seconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started);
+        lastRunDeleted.set(total);
+        lastRunSeconds.set(seconds);
+        log.info("Purged expired refresh tokens: deleted={}, chunks={}, took={}s, outcome={}",
+                total, chunks, seconds, outcome);
+        return outcome;
+    }
+
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
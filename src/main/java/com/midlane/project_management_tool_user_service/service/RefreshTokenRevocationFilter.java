@@ -0,0 +1,203 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.dto.RefreshTokenDigestRecord;
+import com.midlane.project_management_tool_user_service.repository.RefreshTokenRepository;
+import com.midlane.project_management_tool_user_service.util.BloomFilter;
+import com.midlane.project_management_tool_user_service.util.RefreshTokenValues;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Memory-resident pre-check for the refresh endpoint, so garbage, expired and known-revoked tokens are
+ * turned away without a database round trip.
+ * <p>
+ * It keeps a Bloom filter of the digests of every unexpired token and a map of digests known to be
+ * revoked. The filter is built once from the token table, then caught up incrementally from
+ * {@code created_at} on a short interval, and rebuilt from scratch now and then to shed expired entries.
+ * A "not in the filter" answer is only trusted for tokens issued before the last catch-up (less a safety
+ * margin for clock skew and commit delay), so a token minted a moment ago on another instance still goes
+ * to the database. Legacy UUID tokens carry no issue time and always go to the database. Anything that
+ * passes is verified against the database as before; the filter can only ever save a lookup.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenRevocationFilter {
+
+    public enum Verdict {
+        MALFORMED, EXPIRED, UNKNOWN, REVOKED, CHECK_DATABASE
+    }
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${jwt.refresh-token.expiration:604800000}")
+    private long refreshTokenExpiration;
+
+    @Value("${refresh-token.filter.expected-tokens:2000000}")
+    private long expectedTokens;
+
+    @Value("${refresh-token.filter.false-positive-probability:0.001}")
+    private double falsePositiveProbability;
+
+    @Value("${refresh-token.filter.page-size:5000}")
+    private int pageSize;
+
+    @Value("${refresh-token.filter.safety-margin-ms:30000}")
+    private long safetyMarginMs;
+
+    @Value("${refresh-token.filter.rebuild-interval-ms:21600000}")
+    private long rebuildIntervalMs;
+
+    @Value("${refresh-token.filter.max-revoked:200000}")
+    private int maxRevoked;
+
+    private volatile BloomFilter live;
+    private volatile BloomFilter building;
+    // Negative filter answers are trusted only for tokens issued before this instant
+    private volatile LocalDateTime trustedBefore;
+    private volatile LocalDateTime lastSyncStarted;
+    private volatile LocalDateTime lastRebuildStarted;
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+    private final Map<Verdict, Counter> verdicts = new EnumMap<>(Verdict.class);
+
+    @PostConstruct
+    void init() {
+        live = new BloomFilter(expectedTokens, falsePositiveProbability);
+        for (Verdict verdict : Verdict.values()) {
+            verdicts.put(verdict, Counter.builder("auth.refresh.filter")
+                    .description("Refresh attempts by in-memory pre-check result")
+                    .tag("result", verdict.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("auth.refresh.filter.revoked", revoked, Map::size)
+                .description("Revoked refresh token digests held in memory")
+                .register(meterRegistry);
+    }
+
+    public Verdict check(String token) {
+        Verdict verdict = evaluate(token);
+        verdicts.get(verdict).increment();
+        return verdict;
+    }
+
+    private Verdict evaluate(String token) {
+        if (!RefreshTokenValues.isWellFormed(token)) {
+            return Verdict.MALFORMED;
+        }
+        Optional<LocalDateTime> expiresAt = RefreshTokenValues.expiryOf(token);
+        LocalDateTime now = LocalDateTime.now();
+        if (expiresAt.isPresent() && !expiresAt.get().isAfter(now)) {
+            return Verdict.EXPIRED;
+        }
+        String digest = RefreshTokenValues.digest(token);
+        if (revoked.containsKey(digest)) {
+            return Verdict.REVOKED;
+        }
+        LocalDateTime trusted = trustedBefore;
+        if (trusted != null && expiresAt.isPresent() && !live.mightContain(digest)) {
+            LocalDateTime issuedAt = expiresAt.get().minus(refreshTokenExpiration, ChronoUnit.MILLIS);
+            if (issuedAt.isBefore(trusted)) {
+                return Verdict.UNKNOWN;
+            }
+        }
+        return Verdict.CHECK_DATABASE;
+    }
+
+    public void recordIssued(String token) {
+        String digest = RefreshTokenValues.digest(token);
+        // Read building first: if it is already null the swap is done and live is the new filter
+        BloomFilter next = building;
+        live.put(digest);
+        if (next != null) {
+            next.put(digest);
+        }
+    }
+
+    public void recordRevoked(byte[] tokenHash, LocalDateTime expiresAt) {
+        if (revoked.size() < maxRevoked && expiresAt != null) {
+            revoked.put(RefreshTokenValues.digest(tokenHash), expiresAt);
+        }
+    }
+
+    /**
+     * Builds the filter on first run, then catches up on tokens issued since the previous run, and
+     * periodically rebuilds it so entries for expired tokens stop counting towards the false-positive rate.
+     */
+    @Scheduled(initialDelayString = "${refresh-token.filter.initial-delay-ms:2000}",
+            fixedDelayString = "${refresh-token.filter.sync-interval-ms:5000}")
+    public void sync() {
+        LocalDateTime started = LocalDateTime.now();
+        try {
+            if (lastRebuildStarted == null
+                    || started.isAfter(lastRebuildStarted.plus(rebuildIntervalMs, ChronoUnit.MILLIS))) {
+                rebuild(started);
+            } else {
+                catchUp(lastSyncStarted.minus(safetyMarginMs, ChronoUnit.MILLIS));
+            }
+            lastSyncStarted = started;
+            trustedBefore = started.minus(safetyMarginMs, ChronoUnit.MILLIS);
+            revoked.values().removeIf(expiry -> expiry.isBefore(started));
+        } catch (RuntimeException e) {
+            log.warn("Refresh token filter sync failed, keeping the previous state: {}", e.getMessage());
+        }
+    }
+
+    private void rebuild(LocalDateTime started) {
+        BloomFilter next = new BloomFilter(expectedTokens, falsePositiveProbability);
+        building = next;
+        try {
+            long afterId = 0L;
+            long count = 0;
+            List<RefreshTokenDigestRecord> page;
+            do {
+                page = refreshTokenRepository.findUnexpiredPage(afterId, started, PageRequest.of(0, pageSize));
+                for (RefreshTokenDigestRecord record : page) {
+                    add(next, record);
+                }
+                count += page.size();
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == pageSize);
+            live = next;
+            lastRebuildStarted = started;
+            log.info("Rebuilt refresh token filter: tokens={}, revoked={}", count, revoked.size());
+        } finally {
+            building = null;
+        }
+    }
+
+    private void catchUp(LocalDateTime since) {
+        BloomFilter current = live;
+        for (RefreshTokenDigestRecord record : refreshTokenRepository.findCreatedSince(since)) {
+            add(current, record);
+        }
+    }
+
+    private void add(BloomFilter filter, RefreshTokenDigestRecord record) {
+        byte[] tokenHash = record.getTokenHash() != null
+                ? record.getTokenHash()
+                : RefreshTokenValues.hash(record.getLegacyToken());
+        filter.put(RefreshTokenValues.digest(tokenHash));
+        if (record.isRevoked()) {
+            recordRevoked(tokenHash, record.getExpiresAt());
+        }
+    }
+}
@@ -3,18 +3,20 @@ package com.midlane.project_management_tool_user_service.service;
 import com.midlane.project_management_tool_user_service.model.RefreshToken;
 import com.midlane.project_management_tool_user_service.repository.RefreshTokenRepository;
 import com.midlane.project_management_tool_user_service.util.JwtUtil;
+import com.midlane.project_management_tool_user_service.util.RefreshTokenValues;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.sql.DataSource;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +25,9 @@ public class RefreshTokenService {
 
     private final RefreshTokenRepository refreshTokenRepository;
     private final JwtUtil jwtUtil;
+    private final RefreshTokenRevocationFilter revocationFilter;
+    private final RefreshTokenHashBackfill hashBackfill;
+    private final DataSource dataSource;
 
     @Value("${jwt.refresh-token.expiration:604800000}") // 7 days in milliseconds
     private long refreshTokenExpiration;
@@ -30,31 +35,74 @@ public class RefreshTokenService {
     @Value("${jwt.max-refresh-tokens-per-user:5}")
     private int maxRefreshTokensPerUser;
 
+    private boolean postgres;
+
+    @PostConstruct
+    void init() {
+        postgres = isPostgres();
+    }
+
+    /**
+     * Creates a refresh token and enforces the per-user cap in a constant number of statements:
+     * lock the user (an advisory lock on PostgreSQL), insert the new token, then revoke everything but the newest
+     * {@code maxRefreshTokensPerUser} in a single update. The lock makes concurrent logins for the
+     * same user trim one after another, so each sees the other's token and the cap holds exactly.
+     */
     @Transactional
     public RefreshToken createRefreshToken(UserDetails userDetails, String deviceInfo) {
-        // Clean up old tokens if user has too many
-        cleanupOldUserTokens(userDetails.getUsername());
+        lockUser(userDetails.getUsername());
 
-        String tokenValue = UUID.randomUUID().toString();
-        LocalDateTime expiryDate = LocalDateTime.now().plusSeconds(refreshTokenExpiration / 1000);
+        LocalDateTime expiryDate = RefreshTokenValues.expiryFor(LocalDateTime.now(), refreshTokenExpiration);
+        String tokenValue = RefreshTokenValues.newToken(expiryDate);
 
+        // Only the hash is persisted; the plaintext is handed back to the caller once and never stored
         RefreshToken refreshToken = RefreshToken.builder()
-                .token(tokenValue)
+                .tokenHash(RefreshTokenValues.hash(tokenValue))
                 .userEmail(userDetails.getUsername())
                 .expiresAt(expiryDate)
                 .deviceInfo(deviceInfo)
                 .revoked(false)
                 .build();
 
-        return refreshTokenRepository.save(refreshToken);
+        RefreshToken saved = refreshTokenRepository.saveAndFlush(refreshToken);
+        enforceTokenCap(userDetails.getUsername());
+        revocationFilter.recordIssued(tokenValue);
+        saved.setToken(tokenValue);
+        return saved;
     }
 
     public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+        // Turn away tokens the in-memory filter already knows are bad without touching the database
+        switch (revocationFilter.check(token)) {
+            case MALFORMED, UNKNOWN -> {
+                return Optional.empty();
+            }
+            case EXPIRED, REVOKED ->
+                    throw new RuntimeException("Refresh token is expired or revoked. Please login again.");
+            default -> {
+            }
+        }
+        byte[] tokenHash = RefreshTokenValues.hash(token);
+        Optional<LocalDateTime> expiresAt = RefreshTokenValues.expiryOf(token);
+        Optional<RefreshToken> found = expiresAt
+                .map(expiry -> refreshTokenRepository.findByTokenHashAndExpiresAt(tokenHash, expiry))
+                .orElseGet(() -> refreshTokenRepository.findByTokenHash(tokenHash));
+        if (found.isEmpty() && hashBackfill.legacyRowsRemain()) {
+            found = expiresAt
+                    .map(expiry -> refreshTokenRepository.findByLegacyTokenAndExpiresAt(token, expiry))
+                    .orElseGet(() -> refreshTokenRepository.findByLegacyToken(token));
+        }
+        return found.filter(refreshToken -> matches(refreshToken, tokenHash));
+    }
+
+    // The index did the equality match; re-check in constant time rather than trust a collation or cast
+    private boolean matches(RefreshToken refreshToken, byte[] tokenHash) {
+        return RefreshTokenValues.matches(storedHash(refreshToken), tokenHash);
     }
 
     public RefreshToken verifyExpiration(RefreshToken token) {
         if (token.isExpired() || token.isRevoked()) {
+            revocationFilter.recordRevoked(storedHash(token), token.getExpiresAt());
             refreshTokenRepository.delete(token);
             throw new RuntimeException("Refresh token is expired or revoked. Please login again.");
         }
@@ -63,7 +111,16 @@ public class RefreshTokenService {
 
     @Transactional
     public void revokeToken(String token) {
-        refreshTokenRepository.revokeToken(token);
+        byte[] tokenHash = RefreshTokenValues.hash(token);
+        Optional<LocalDateTime> expiresAt = RefreshTokenValues.expiryOf(token);
+        if (expiresAt.isPresent()) {
+            refreshTokenRepository.revokeToken(tokenHash, token, expiresAt.get());
+        } else {
+            refreshTokenRepository.revokeToken(tokenHash, token);
+        }
+        // Legacy tokens do not carry their expiry; remember them for the longest lifetime a token can have
+        revocationFilter.recordRevoked(tokenHash, expiresAt.orElseGet(
+                () -> RefreshTokenValues.expiryFor(LocalDateTime.now(), refreshTokenExpiration)));
     }
 
     @Transactional
@@ -71,28 +128,32 @@ public class RefreshTokenService {
         refreshTokenRepository.revokeAllUserTokens(userEmail);
     }
 
-    private void cleanupOldUserTokens(String userEmail) {
-        List<RefreshToken> userTokens = refreshTokenRepository.findByUserEmailAndRevokedFalse(userEmail);
-
-        if (userTokens.size() >= maxRefreshTokensPerUser) {
-            // Sort by creation date and remove oldest tokens
-            userTokens.sort((a, b) -> a.getCreatedAt().compareTo(b.getCreatedAt()));
+    private byte[] storedHash(RefreshToken refreshToken) {
+        return refreshToken.getTokenHash() != null
+                ? refreshToken.getTokenHash()
+                : RefreshTokenValues.hash(refreshToken.getLegacyToken());
+    }
 
-            int tokensToRemove = userTokens.size() - maxRefreshTokensPerUser + 1;
-            for (int i = 0; i < tokensToRemove; i++) {
-                RefreshToken oldToken = userTokens.get(i);
-                oldToken.setRevoked(true);
-                refreshTokenRepository.save(oldToken);
-            }
+    // The advisory lock leaves the users row alone; other databases (H2 in tests) lock that row instead
+    private void lockUser(String userEmail) {
+        if (postgres) {
+            refreshTokenRepository.lockUserTokens(userEmail);
+        } else {
+            refreshTokenRepository.lockUserRow(userEmail);
         }
     }
 
-    @Scheduled(fixedRate = 3600000) // Run every hour
-    @Transactional
-    public void cleanupExpiredTokens() {
-        LocalDateTime now = LocalDateTime.now();
-        refreshTokenRepository.deleteExpiredTokens(now);
-        log.info("Cleaned up expired refresh tokens");
+    private boolean isPostgres() {
+        String product = new JdbcTemplate(dataSource).execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(product);
+    }
+
+    private void enforceTokenCap(String userEmail) {
+        int revoked = refreshTokenRepository.revokeAllButNewest(userEmail, maxRefreshTokensPerUser);
+        if (revoked > 0) {
+            log.debug("Revoked {} refresh tokens over the per-user cap for {}", revoked, userEmail);
+        }
     }
 
     public String generateAccessTokenFromRefreshToken(RefreshToken refreshToken, UserDetails userDetails) {
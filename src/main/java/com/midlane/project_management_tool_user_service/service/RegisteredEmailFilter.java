@@ -0,0 +1,159 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.dto.UserSnapshotRecord;
+import com.midlane.project_management_tool_user_service.repository.UserRepository;
+import com.midlane.project_management_tool_user_service.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory Bloom filter of registered emails, used to skip the {@code existsByEmail} query on the
+ * common "definitely new" registration.
+ * <p>
+ * The filter is only a hint. A negative answer may be stale (another instance registered the email
+ * since our last rebuild), so the unique constraint on {@code users.email} stays the source of truth
+ * and a violation is reported as "Email is already in use". A positive answer just falls back to the
+ * database check. Until the first build completes every email is reported as possibly existing.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RegisteredEmailFilter {
+
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${registration.email-filter.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${registration.email-filter.false-positive-probability:0.01}")
+    private double falsePositiveProbability;
+
+    @Value("${registration.email-filter.rebuild-page-size:5000}")
+    private int rebuildPageSize;
+
+    private volatile BloomFilter filter;
+    private volatile BloomFilter building;
+    private volatile boolean ready;
+
+    private Counter definitelyNew;
+    private Counter maybeExists;
+    private Counter notReady;
+    private Counter falsePositives;
+    private Counter conflicts;
+
+    @PostConstruct
+    void init() {
+        filter = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        definitelyNew = checks("definitely_new");
+        maybeExists = checks("maybe_exists");
+        notReady = checks("not_ready");
+        falsePositives = Counter.builder("registration.email.filter.false.positives")
+                .description("Emails the filter flagged that turned out not to be registered")
+                .register(meterRegistry);
+        conflicts = Counter.builder("registration.email.conflicts")
+                .description("Registrations rejected by the unique constraint after the filter said new")
+                .register(meterRegistry);
+        Gauge.builder("registration.email.filter.insertions", this, f -> f.filter.insertions())
+                .description("Emails in the current filter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rebuilds the filter from the users table, shortly after startup and then periodically so that
+     * registrations made on other instances are picked up and the false-positive rate stays bounded.
+     */
+    @Scheduled(initialDelayString = "${registration.email-filter.initial-delay-ms:5000}",
+            fixedDelayString = "${registration.email-filter.rebuild-interval-ms:21600000}")
+    public void rebuild() {
+        long started = System.nanoTime();
+        BloomFilter next = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        // Registrations completing during the scan go into both filters
+        building = next;
+        try {
+            long afterUserId = 0L;
+            List<UserSnapshotRecord> page;
+            do {
+                page = userRepository.findSnapshotPage(afterUserId, PageRequest.of(0, rebuildPageSize));
+                for (UserSnapshotRecord user : page) {
+                    next.put(normalize(user.getEmail()));
+                }
+                if (!page.isEmpty()) {
+                    afterUserId = page.get(page.size() - 1).getUserId();
+                }
+            } while (page.size() == rebuildPageSize);
+
+            filter = next;
+            ready = true;
+            log.info("Rebuilt registered email filter: emails={}, sizeBytes={}, took={}ms", next.insertions(),
+                    next.sizeInBytes(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild registered email filter, keeping the previous one: {}", e.getMessage());
+        } finally {
+            building = null;
+        }
+    }
+
+    // false means the email is definitely not registered (as of the last rebuild plus local registrations)
+    public boolean mightExist(String email) {
+        if (!ready) {
+            notReady.increment();
+            return true;
+        }
+        boolean maybe = filter.mightContain(normalize(email));
+        (maybe ? maybeExists : definitelyNew).increment();
+        return maybe;
+    }
+
+    public void add(String email) {
+        // Read building first: if it is already null the swap is done and filter is the new one
+        BloomFilter next = building;
+        String normalized = normalize(email);
+        filter.put(normalized);
+        if (next != null) {
+            next.put(normalized);
+        }
+    }
+
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    public void recordConflict() {
+        conflicts.increment();
+    }
+
+    // Registration time without password hashing, split by whether the existence query was skipped
+    public void recordRegistration(long nanos, boolean fastPath) {
+        Timer.builder("registration.latency")
+                .description("Registration latency excluding password hashing")
+                .tag("path", fastPath ? "fast" : "checked")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Counter checks(String result) {
+        return Counter.builder("registration.email.filter.checks")
+                .description("Registered email filter lookups by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,173 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.util.SqlScripts;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies the versioned scripts under {@code db/migration} once each, in version order, and records
+ * them in {@code schema_migrations}.
+ * <p>
+ * Hibernate's schema update still creates tables and columns from the entities; the scripts carry what
+ * it cannot express or would not keep in step, starting with the secondary indexes behind the repository
+ * queries. Runs right after the EntityManagerFactory, so the tables exist. Scripts named
+ * {@code V<version>__<description>.sql} in {@code db/migration} run everywhere; those in
+ * {@code db/migration/<vendor>} (e.g. {@code postgresql}) only on that database. An applied script whose
+ * content has since changed stops startup: write a new version instead of editing an old one.
+ */
+@Service
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaMigrationRunner {
+
+    static final String HISTORY_TABLE = "schema_migrations";
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    private final DataSource dataSource;
+
+    @Value("${schema.migrations.enabled:true}")
+    private boolean enabled;
+
+    @Value("${schema.migrations.location:db/migration}")
+    private String location;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    record Migration(int version, String description, String checksum, List<String> statements) {
+    }
+
+    @PostConstruct
+    void init() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        if (enabled) {
+            migrate();
+        }
+    }
+
+    void migrate() {
+        String vendor = vendor();
+        List<Migration> migrations = load(vendor);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + HISTORY_TABLE + " ("
+                + "version INTEGER PRIMARY KEY, description VARCHAR(200) NOT NULL, "
+                + "checksum VARCHAR(64) NOT NULL, applied_at TIMESTAMP NOT NULL)");
+
+        int applied = 0;
+        for (Migration migration : migrations) {
+            Boolean ran = transactionTemplate.execute(status -> apply(migration, vendor));
+            if (Boolean.TRUE.equals(ran)) {
+                applied++;
+            }
+        }
+        log.info("Schema migrations: {} available, {} applied now", migrations.size(), applied);
+    }
+
+    // Returns true when the migration ran, false when it had already been applied
+    private boolean apply(Migration migration, String vendor) {
+        if ("postgresql".equals(vendor)) {
+            // Instances starting together take turns; the loser sees the winner's history row
+            jdbcTemplate.queryForObject("SELECT 1 FROM pg_advisory_xact_lock(hashtext(?))", Integer.class,
+                    HISTORY_TABLE);
+        }
+        Optional<String> recorded = jdbcTemplate.queryForList(
+                "SELECT checksum FROM " + HISTORY_TABLE + " WHERE version = ?", String.class, migration.version())
+                .stream().findFirst();
+        if (recorded.isPresent()) {
+            if (!recorded.get().equals(migration.checksum())) {
+                throw new IllegalStateException("Migration V" + migration.version() + " (" + migration.description()
+                        + ") was changed after it was applied; add a new version instead");
+            }
+            return false;
+        }
+        for (String statement : migration.statements()) {
+            jdbcTemplate.execute(statement);
+        }
+        jdbcTemplate.update("INSERT INTO " + HISTORY_TABLE + " (version, description, checksum, applied_at) "
+                + "VALUES (?, ?, ?, ?)", migration.version(), migration.description(), migration.checksum(),
+                Timestamp.valueOf(LocalDateTime.now()));
+        log.info("Applied schema migration V{} {}", migration.version(), migration.description());
+        return true;
+    }
+
+    private List<Migration> load(String vendor) {
+        Map<Integer, Migration> byVersion = new TreeMap<>();
+        List<Resource> scripts = new ArrayList<>(resources(location + "/*.sql"));
+        if (vendor != null) {
+            scripts.addAll(resources(location + "/" + vendor + "/*.sql"));
+        }
+        for (Resource script : scripts) {
+            Migration migration = parse(script);
+            Migration clash = byVersion.put(migration.version(), migration);
+            if (clash != null) {
+                throw new IllegalStateException("Two migrations share version V" + migration.version());
+            }
+        }
+        return new ArrayList<>(byVersion.values());
+    }
+
+    static Migration parse(Resource script) {
+        Matcher name = SCRIPT_NAME.matcher(String.valueOf(script.getFilename()));
+        if (!name.matches()) {
+            throw new IllegalStateException("Migration script name must look like V1__description.sql: "
+                    + script.getFilename());
+        }
+        String content = SqlScripts.read(script);
+        return new Migration(Integer.parseInt(name.group(1)), name.group(2).replace('_', ' '),
+                checksum(content), SqlScripts.split(content));
+    }
+
+    private static String checksum(String content) {
+        try {
+            // Line endings normalised so a checkout on another OS does not look like an edit
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(content.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private List<Resource> resources(String pattern) {
+        try {
+            return List.of(new PathMatchingResourcePatternResolver().getResources("classpath*:" + pattern));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list migration scripts at " + pattern, e);
+        }
+    }
+
+    // Lower-case product name, e.g. postgresql or h2
+    private String vendor() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return product == null ? null : product.toLowerCase();
+    }
+}
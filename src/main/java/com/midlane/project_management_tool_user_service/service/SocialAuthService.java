@@ -1,6 +1,12 @@
 package com.midlane.project_management_tool_user_service.service;
 
 import com.midlane.project_management_tool_user_service.dto.SocialUserInfo;
+import com.midlane.project_management_tool_user_service.exception.TransientException;
+import com.midlane.project_management_tool_user_service.security.GoogleIdTokenVerifier;
+import com.midlane.project_management_tool_user_service.util.SingleFlight;
+import com.midlane.project_management_tool_user_service.util.TtlCache;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,8 +15,14 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
 import java.util.Map;
 
 @Service
@@ -19,11 +31,42 @@ import java.util.Map;
 public class SocialAuthService {
 
     private final RestTemplate restTemplate;
+    private final GoogleIdTokenVerifier googleIdTokenVerifier;
 
-    @Value("${app.oauth.google.client-id}")
-    private String googleClientId;
+    @Value("${app.oauth.userinfo-cache.ttl-seconds:60}")
+    private long userInfoCacheTtlSeconds;
 
+    @Value("${app.oauth.userinfo-cache.max-entries:10000}")
+    private int userInfoCacheMaxEntries;
+
+    // Keyed by a hash of provider and token so raw tokens are never held as map keys
+    private final SingleFlight<String, SocialUserInfo> userInfoFlight = new SingleFlight<>();
+    private TtlCache<String, SocialUserInfo> userInfoCache;
+
+    @PostConstruct
+    void init() {
+        userInfoCache = new TtlCache<>(Duration.ofSeconds(userInfoCacheTtlSeconds), userInfoCacheMaxEntries);
+    }
+
+    /**
+     * Resolves the user behind a provider token. Repeated lookups of the same token within the cache TTL
+     * are answered from memory, and concurrent lookups of the same token share one provider call.
+     */
     public SocialUserInfo getUserInfo(String provider, String accessToken) {
+        String cacheKey = tokenKey(provider, accessToken);
+        SocialUserInfo cached = userInfoCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        return userInfoFlight.execute(cacheKey, () -> {
+            SocialUserInfo userInfo = fetchUserInfo(provider, accessToken);
+            userInfoCache.put(cacheKey, userInfo);
+            return userInfo;
+        });
+    }
+
+    private SocialUserInfo fetchUserInfo(String provider, String accessToken) {
         switch (provider.toLowerCase()) {
             case "google":
                 return getGoogleUserInfo(accessToken);
@@ -34,6 +77,18 @@ public class SocialAuthService {
         }
     }
 
+    private static String tokenKey(String provider, String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(provider.toLowerCase().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ':');
+            digest.update(String.valueOf(token).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     private SocialUserInfo getGoogleUserInfo(String token) {
         try {
             // Check if this is an ID token (JWT format) or access token
@@ -42,6 +97,11 @@ public class SocialAuthService {
             } else {
                 return getGoogleUserInfoFromAccessToken(token);
             }
+        } catch (TransientException e) {
+            throw e;
+        } catch (ResourceAccessException e) {
+            log.warn("Social provider call failed: {}", e.getMessage());
+            throw new TransientException("Social provider is unavailable, please try again");
         } catch (Exception e) {
             log.error("Error getting Google user info", e);
             throw new RuntimeException("Failed to get user info from Google: " + e.getMessage());
@@ -56,41 +116,32 @@ public class SocialAuthService {
         try {
             log.debug("Processing Google ID token directly");
 
-            // Verify the ID token with Google
-            String verifyUrl = "https://www.googleapis.com/oauth2/v3/tokeninfo?id_token=" + idToken;
+            // Verify signature, expiry, issuer and audience locally against Google's cached signing keys
+            Claims claims = googleIdTokenVerifier.verify(idToken);
 
-            ResponseEntity<Map> response = restTemplate.getForEntity(verifyUrl, Map.class);
-            Map<String, Object> userInfo = response.getBody();
-
-            if (userInfo == null || userInfo.containsKey("error")) {
-                String error = userInfo != null ? (String) userInfo.get("error_description") : "Unknown error";
-                throw new RuntimeException("Invalid Google ID token: " + error);
-            }
-
-            // Verify the audience (client ID)
-            String audience = (String) userInfo.get("aud");
-            if (!googleClientId.equals(audience)) {
-                throw new RuntimeException("ID token audience does not match client ID");
-            }
-
-            log.debug("Successfully verified Google ID token for email: {}", userInfo.get("email"));
+            log.debug("Successfully verified Google ID token for email: {}", claims.get("email"));
 
             return new SocialUserInfo(
-                (String) userInfo.get("sub"), // Google's user ID
-                (String) userInfo.get("email"),
-                (String) userInfo.get("given_name"),
-                (String) userInfo.get("family_name"),
-                (String) userInfo.get("picture"),
+                claims.getSubject(), // Google's user ID
+                claims.get("email", String.class),
+                claims.get("given_name", String.class),
+                claims.get("family_name", String.class),
+                claims.get("picture", String.class),
                 "google",
-                Boolean.TRUE.equals(userInfo.get("email_verified"))
+                isEmailVerified(claims.get("email_verified"))
             );
 
         } catch (Exception e) {
-            log.error("Error processing Google ID token", e);
+            log.error("Error processing Google ID token: {}", e.getMessage());
             throw new RuntimeException("Failed to process Google ID token: " + e.getMessage());
         }
     }
 
+    // Google sends email_verified as a boolean, older tokens as the string "true"
+    private boolean isEmailVerified(Object emailVerified) {
+        return Boolean.TRUE.equals(emailVerified) || "true".equals(emailVerified);
+    }
+
     private SocialUserInfo getGoogleUserInfoFromAccessToken(String accessToken) {
         try {
             log.debug("Processing Google access token");
@@ -122,6 +173,11 @@ public class SocialAuthService {
                 "google",
                 Boolean.TRUE.equals(userInfo.get("verified_email"))
             );
+        } catch (TransientException e) {
+            throw e;
+        } catch (ResourceAccessException e) {
+            log.warn("Social provider call failed: {}", e.getMessage());
+            throw new TransientException("Social provider is unavailable, please try again");
         } catch (Exception e) {
             log.error("Error getting Google user info from access token", e);
             throw new RuntimeException("Failed to get user info from Google access token: " + e.getMessage());
@@ -152,6 +208,11 @@ public class SocialAuthService {
                 "facebook",
                 userInfo.get("email") != null // Facebook email is considered verified if provided
             );
+        } catch (TransientException e) {
+            throw e;
+        } catch (ResourceAccessException e) {
+            log.warn("Social provider call failed: {}", e.getMessage());
+            throw new TransientException("Social provider is unavailable, please try again");
         } catch (Exception e) {
             log.error("Error getting Facebook user info", e);
             throw new RuntimeException("Failed to get user info from Facebook: " + e.getMessage());
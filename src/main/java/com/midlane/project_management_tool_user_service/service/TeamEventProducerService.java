@@ -1,15 +1,21 @@
 package com.midlane.project_management_tool_user_service.service;
 
 import com.midlane.project_management_tool_user_service.dto.*;
+import com.midlane.project_management_tool_user_service.util.EventIds;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 @RequiredArgsConstructor
@@ -18,18 +24,24 @@ import java.util.concurrent.CompletableFuture;
 public class TeamEventProducerService {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaProducerMetrics producerMetrics;
 
     // Topic constants
-    private static final String TEAM_MEMBER_ADDED_TOPIC = "team-member-added";
-    private static final String USER_REGISTERED_TOPIC = "user-registered";
+    public static final String TEAM_MEMBER_ADDED_TOPIC = "team-member-added";
+    public static final String USER_REGISTERED_TOPIC = "user-registered";
     private static final String TEAM_CREATED_TOPIC = "team-created";
     private static final String MEMBER_ADDED_TO_TEAM_TOPIC = "member-added-to-team";
     private static final String TEAM_MEMBER_REMOVED_TOPIC = "team-member-removed";
     private static final String DEFAULT_ROLE = "ADMIN";
 
+    // Creation events happen once per aggregate, so their sequence is fixed
+    private static final long CREATION_SEQUENCE = 0L;
+
     // 1. User Registration Event
     public void publishUserRegisteredEvent(Long userId, String email, String name, String profilePictureUrl) {
         try {
+            String key = "user-" + userId;
+
             UserRegisteredEvent event = UserRegisteredEvent.builder()
                     .userId(userId)
                     .email(email)
@@ -37,12 +49,12 @@ public class TeamEventProducerService {
                     .profilePictureUrl(profilePictureUrl)
                     .timestamp(LocalDateTime.now())
                     .eventType("USER_REGISTERED")
+                    .eventId(EventIds.eventId("USER_REGISTERED", key, CREATION_SEQUENCE))
+                    .sequence(CREATION_SEQUENCE)
                     .build();
 
-            String key = "user-" + userId;
-
             CompletableFuture<SendResult<String, Object>> future =
-                    kafkaTemplate.send(USER_REGISTERED_TOPIC, key, event);
+                    send(USER_REGISTERED_TOPIC, key, event.getEventId(), event.getEventType(), event.getSequence(), event);
 
             future.whenComplete((result, throwable) -> {
                 if (throwable != null) {
@@ -62,9 +74,45 @@ public class TeamEventProducerService {
         }
     }
 
+    // 1b. User Registration Events for a batch of new users (bulk import). Sent back to back so the
+    // producer packs them into few requests, with one log line for the batch instead of one per user.
+    public void publishUserRegisteredEvents(List<UserSummaryResponse> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        try {
+            EventBatch batch = new EventBatch("user registered", users.size());
+            LocalDateTime now = LocalDateTime.now();
+            for (UserSummaryResponse user : users) {
+                String key = "user-" + user.getUserId();
+
+                UserRegisteredEvent event = UserRegisteredEvent.builder()
+                        .userId(user.getUserId())
+                        .email(user.getEmail())
+                        .name(displayName(user))
+                        .profilePictureUrl(user.getProfilePictureUrl())
+                        .timestamp(now)
+                        .eventType("USER_REGISTERED")
+                        .eventId(EventIds.eventId("USER_REGISTERED", key, CREATION_SEQUENCE))
+                        .sequence(CREATION_SEQUENCE)
+                        .build();
+
+                batch.track(send(USER_REGISTERED_TOPIC, key, event.getEventId(), event.getEventType(),
+                        event.getSequence(), event));
+            }
+            batch.logWhenDone();
+
+        } catch (Exception e) {
+            log.error("Error occurred while publishing {} user registered events", users.size(), e);
+            throw new RuntimeException("Failed to publish user registered events", e);
+        }
+    }
+
     // 2. Team Creation Event
     public void publishTeamCreatedEvent(Long teamId, String teamName, String description, Long ownerId) {
         try {
+            String key = "team-" + teamId;
+
             TeamCreatedEvent event = TeamCreatedEvent.builder()
                     .teamId(teamId)
                     .teamName(teamName)
@@ -72,12 +120,12 @@ public class TeamEventProducerService {
                     .ownerId(ownerId)
                     .timestamp(LocalDateTime.now())
                     .eventType("TEAM_CREATED")
+                    .eventId(EventIds.eventId("TEAM_CREATED", key, CREATION_SEQUENCE))
+                    .sequence(CREATION_SEQUENCE)
                     .build();
 
-            String key = "team-" + teamId;
-
             CompletableFuture<SendResult<String, Object>> future =
-                    kafkaTemplate.send(TEAM_CREATED_TOPIC, key, event);
+                    send(TEAM_CREATED_TOPIC, key, event.getEventId(), event.getEventType(), event.getSequence(), event);
 
             future.whenComplete((result, throwable) -> {
                 if (throwable != null) {
@@ -98,20 +146,22 @@ public class TeamEventProducerService {
     }
 
     // 3. Member Added to Team Event
-    public void publishMemberAddedToTeamEvent(Long teamId, Long memberId, String role) {
+    public void publishMemberAddedToTeamEvent(Long teamId, Long memberId, String role, long sequence) {
         try {
+            String key = "team-" + teamId;
+
             MemberAddedToTeamEvent event = MemberAddedToTeamEvent.builder()
                     .teamId(teamId)
                     .memberId(memberId)
                     .role(role)
                     .timestamp(LocalDateTime.now())
                     .eventType("MEMBER_ADDED_TO_TEAM")
+                    .eventId(EventIds.eventId("MEMBER_ADDED_TO_TEAM", key, sequence))
+                    .sequence(sequence)
                     .build();
 
-            String key = "team-" + teamId;
-
             CompletableFuture<SendResult<String, Object>> future =
-                    kafkaTemplate.send(MEMBER_ADDED_TO_TEAM_TOPIC, key, event);
+                    send(MEMBER_ADDED_TO_TEAM_TOPIC, key, event.getEventId(), event.getEventType(), event.getSequence(), event);
 
             future.whenComplete((result, throwable) -> {
                 if (throwable != null) {
@@ -133,19 +183,21 @@ public class TeamEventProducerService {
     }
 
     // 4. Team Member Removed Event
-    public void publishTeamMemberRemovedEvent(Long teamId, Long memberId) {
+    public void publishTeamMemberRemovedEvent(Long teamId, Long memberId, long sequence) {
         try {
+            String key = "team-" + teamId;
+
             TeamMemberRemovedEvent event = TeamMemberRemovedEvent.builder()
                     .teamId(teamId)
                     .memberId(memberId)
                     .timestamp(LocalDateTime.now())
                     .eventType("TEAM_MEMBER_REMOVED")
+                    .eventId(EventIds.eventId("TEAM_MEMBER_REMOVED", key, sequence))
+                    .sequence(sequence)
                     .build();
 
-            String key = "team-" + teamId;
-
             CompletableFuture<SendResult<String, Object>> future =
-                    kafkaTemplate.send(TEAM_MEMBER_REMOVED_TOPIC, key, event);
+                    send(TEAM_MEMBER_REMOVED_TOPIC, key, event.getEventId(), event.getEventType(), event.getSequence(), event);
 
             future.whenComplete((result, throwable) -> {
                 if (throwable != null) {
@@ -169,8 +221,11 @@ public class TeamEventProducerService {
     // 5. Team Member Added Event
     public void publishTeamMemberAddedEvent(Long userId, Long organizationId, Long teamId,
                                           String teamName, String organizationName,
-                                          String userEmail, String userName) {
+                                          String userEmail, String userName, long sequence) {
         try {
+            // Create a key for partitioning - using teamId for better distribution
+            String key = "team-" + teamId;
+
             TeamMemberAddedEvent event = TeamMemberAddedEvent.builder()
                     .userId(userId)
                     .organizationId(organizationId)
@@ -178,17 +233,16 @@ public class TeamEventProducerService {
                     .role(DEFAULT_ROLE)
                     .timestamp(LocalDateTime.now())
                     .eventType("TEAM_MEMBER_ADDED")
+                    .eventId(EventIds.eventId("TEAM_MEMBER_ADDED", key, sequence))
+                    .sequence(sequence)
                     .teamName(teamName)
                     .organizationName(organizationName)
                     .userEmail(userEmail)
                     .userName(userName)
                     .build();
 
-            // Create a key for partitioning - using teamId for better distribution
-            String key = "team-" + teamId;
-
             CompletableFuture<SendResult<String, Object>> future =
-                kafkaTemplate.send(TEAM_MEMBER_ADDED_TOPIC, key, event);
+                send(TEAM_MEMBER_ADDED_TOPIC, key, event.getEventId(), event.getEventType(), event.getSequence(), event);
 
             future.whenComplete((result, throwable) -> {
                 if (throwable != null) {
@@ -208,4 +262,151 @@ public class TeamEventProducerService {
             throw new RuntimeException("Failed to publish team member added event", e);
         }
     }
+
+    // 5b. Team Member Added Events for a bulk add: both the team-member-added and member-added-to-team
+    // records per member, sent back to back with one log line for the batch. sequences[i] belongs to members[i].
+    public void publishTeamMembersAddedEvents(Long organizationId, Long teamId, String teamName,
+                                              String organizationName, List<UserSummaryResponse> members,
+                                              List<Long> sequences) {
+        if (members.isEmpty()) {
+            return;
+        }
+        try {
+            String key = "team-" + teamId;
+            EventBatch batch = new EventBatch("team member added", members.size() * 2);
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < members.size(); i++) {
+                UserSummaryResponse member = members.get(i);
+                long sequence = sequences.get(i);
+
+                TeamMemberAddedEvent added = TeamMemberAddedEvent.builder()
+                        .userId(member.getUserId())
+                        .organizationId(organizationId)
+                        .teamId(teamId)
+                        .role(DEFAULT_ROLE)
+                        .timestamp(now)
+                        .eventType("TEAM_MEMBER_ADDED")
+                        .eventId(EventIds.eventId("TEAM_MEMBER_ADDED", key, sequence))
+                        .sequence(sequence)
+                        .teamName(teamName)
+                        .organizationName(organizationName)
+                        .userEmail(member.getEmail())
+                        .userName(displayName(member))
+                        .build();
+                batch.track(send(TEAM_MEMBER_ADDED_TOPIC, key, added.getEventId(), added.getEventType(),
+                        added.getSequence(), added));
+
+                MemberAddedToTeamEvent memberAdded = MemberAddedToTeamEvent.builder()
+                        .teamId(teamId)
+                        .memberId(member.getUserId())
+                        .role("MEMBER")
+                        .timestamp(now)
+                        .eventType("MEMBER_ADDED_TO_TEAM")
+                        .eventId(EventIds.eventId("MEMBER_ADDED_TO_TEAM", key, sequence))
+                        .sequence(sequence)
+                        .build();
+                batch.track(send(MEMBER_ADDED_TO_TEAM_TOPIC, key, memberAdded.getEventId(),
+                        memberAdded.getEventType(), memberAdded.getSequence(), memberAdded));
+            }
+            batch.logWhenDone();
+
+        } catch (Exception e) {
+            log.error("Error occurred while publishing {} team member added events for teamId: {}",
+                    members.size(), teamId, e);
+            throw new RuntimeException("Failed to publish team member added events", e);
+        }
+    }
+
+    // 4b. Team Member Removed Events for a bulk remove; sequences[i] belongs to memberIds[i]
+    public void publishTeamMembersRemovedEvents(Long teamId, List<Long> memberIds, List<Long> sequences) {
+        if (memberIds.isEmpty()) {
+            return;
+        }
+        try {
+            String key = "team-" + teamId;
+            EventBatch batch = new EventBatch("team member removed", memberIds.size());
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < memberIds.size(); i++) {
+                long sequence = sequences.get(i);
+
+                TeamMemberRemovedEvent event = TeamMemberRemovedEvent.builder()
+                        .teamId(teamId)
+                        .memberId(memberIds.get(i))
+                        .timestamp(now)
+                        .eventType("TEAM_MEMBER_REMOVED")
+                        .eventId(EventIds.eventId("TEAM_MEMBER_REMOVED", key, sequence))
+                        .sequence(sequence)
+                        .build();
+                batch.track(send(TEAM_MEMBER_REMOVED_TOPIC, key, event.getEventId(), event.getEventType(),
+                        event.getSequence(), event));
+            }
+            batch.logWhenDone();
+
+        } catch (Exception e) {
+            log.error("Error occurred while publishing {} team member removed events for teamId: {}",
+                    memberIds.size(), teamId, e);
+            throw new RuntimeException("Failed to publish team member removed events", e);
+        }
+    }
+
+    private String displayName(UserSummaryResponse user) {
+        String first = user.getFirstName() != null ? user.getFirstName() : "";
+        String last = user.getLastName() != null ? " " + user.getLastName() : "";
+        String name = (first + last).trim();
+        return name.isEmpty() ? user.getEmail() : name;
+    }
+
+    // Counts failures across a batch of sends and logs one line once all of them have completed
+    private static final class EventBatch {
+        private final String description;
+        private final int size;
+        private final AtomicInteger failures = new AtomicInteger();
+        private final List<CompletableFuture<?>> futures;
+
+        EventBatch(String description, int size) {
+            this.description = description;
+            this.size = size;
+            this.futures = new ArrayList<>(size);
+        }
+
+        void track(CompletableFuture<SendResult<String, Object>> future) {
+            futures.add(future.whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    failures.incrementAndGet();
+                }
+            }));
+        }
+
+        void logWhenDone() {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).whenComplete((result, throwable) -> {
+                if (failures.get() > 0) {
+                    log.error("Failed to publish {} of {} {} events", failures.get(), size, description);
+                } else {
+                    log.info("Successfully published {} {} events", size, description);
+                }
+            });
+        }
+    }
+
+    // Sends through the template while recording latency, in-flight count and failure cause per topic.
+    // The event ID and sequence also travel as headers so consumers can dedupe without parsing the payload.
+    private CompletableFuture<SendResult<String, Object>> send(String topic, String key, String eventId,
+                                                               String eventType, Long sequence, Object event) {
+        ProducerRecord<String, Object> record = new ProducerRecord<>(topic, key, event);
+        record.headers()
+                .add(EventIds.EVENT_ID_HEADER, eventId.getBytes(StandardCharsets.UTF_8))
+                .add(EventIds.EVENT_TYPE_HEADER, eventType.getBytes(StandardCharsets.UTF_8))
+                .add(EventIds.EVENT_SEQUENCE_HEADER, String.valueOf(sequence).getBytes(StandardCharsets.UTF_8));
+
+        KafkaProducerMetrics.Sample sample = producerMetrics.start(topic);
+        CompletableFuture<SendResult<String, Object>> future;
+        try {
+            future = kafkaTemplate.send(record);
+        } catch (RuntimeException e) {
+            sample.stop(e);
+            throw e;
+        }
+        future.whenComplete((result, throwable) -> sample.stop(throwable));
+        return future;
+    }
 }
@@ -1,20 +1,32 @@
 package com.midlane.project_management_tool_user_service.service;
 
+import com.midlane.project_management_tool_user_service.dto.BulkMembershipResponse;
+import com.midlane.project_management_tool_user_service.dto.BulkMembershipResult;
 import com.midlane.project_management_tool_user_service.dto.CreateTeamRequest;
 import com.midlane.project_management_tool_user_service.dto.MemberDetailsResponse;
 import com.midlane.project_management_tool_user_service.dto.TeamResponse;
+import com.midlane.project_management_tool_user_service.dto.UserSummaryResponse;
 import com.midlane.project_management_tool_user_service.model.Organization;
 import com.midlane.project_management_tool_user_service.model.Team;
 import com.midlane.project_management_tool_user_service.model.User;
 import com.midlane.project_management_tool_user_service.repository.OrganizationRepository;
 import com.midlane.project_management_tool_user_service.repository.TeamRepository;
 import com.midlane.project_management_tool_user_service.repository.UserRepository;
+import com.midlane.project_management_tool_user_service.util.BulkMemberships;
+import com.midlane.project_management_tool_user_service.util.TransactionHooks;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,6 +38,10 @@ public class TeamService {
     private final OrganizationRepository organizationRepository;
     private final UserRepository userRepository;
     private final TeamEventProducerService teamEventProducerService;
+    private final MembershipChangeService membershipChangeService;
+
+    @Value("${memberships.bulk.max-size:1000}")
+    private int maxBulkSize;
 
     @Transactional
     public TeamResponse createTeam(CreateTeamRequest request, Long creatorId) {
@@ -141,6 +157,9 @@ public class TeamService {
             throw new RuntimeException("Only organization owner can delete teams");
         }
 
+        // Members leave implicitly when the team is deleted; record it so feed consumers drop them too
+        team.getMembers().forEach(member -> membershipChangeService.recordTeamMemberRemoved(teamId, member.getId()));
+
         teamRepository.delete(team);
 
         log.info("Team deleted: id={}, name={}", teamId, team.getName());
@@ -174,41 +193,13 @@ public class TeamService {
 
         team.addMember(user);
         Team savedTeam = teamRepository.save(team);
+        long sequence = membershipChangeService.recordTeamMemberAdded(teamId, userId);
 
         log.info("User added to team: userId={}, teamId={}, teamName={}",
                 userId, teamId, team.getName());
 
-        // Enhanced logging for Kafka event publishing
-        log.info("Attempting to publish team member added event for userId: {}, teamId: {}", userId, teamId);
-        // Publish Kafka event after successful team member addition (existing event)
-        try {
-            teamEventProducerService.publishTeamMemberAddedEvent(
-                userId,
-                team.getOrganization().getId(),
-                teamId,
-                team.getName(),
-                team.getOrganization().getName(),
-                user.getEmail(),
-                user.getFullName()
-            );
-            log.info("Successfully published team member added event for userId: {}, teamId: {}", userId, teamId);
-        } catch (Exception e) {
-            log.error("Failed to publish team member added event for userId: {}, teamId: {}", userId, teamId, e);
-            // Note: We don't re-throw here to avoid rolling back the transaction
-            // The team member addition should still succeed even if event publishing fails
-        }
-
-        // Publish new member added to team event (for collaboration service)
-        try {
-            teamEventProducerService.publishMemberAddedToTeamEvent(
-                    teamId,
-                    userId,
-                    "MEMBER" // Default role for added members
-            );
-            log.info("Successfully published member added to team event for userId: {}, teamId: {}", userId, teamId);
-        } catch (Exception e) {
-            log.error("Failed to publish member added to team event for userId: {}, teamId: {}", userId, teamId, e);
-        }
+        // Default role for added members
+        publishMemberAddedAfterCommit(team, user, "MEMBER", sequence);
     }
 
     @Transactional
@@ -229,18 +220,138 @@ public class TeamService {
 
         team.removeMember(user);
         teamRepository.save(team);
+        long sequence = membershipChangeService.recordTeamMemberRemoved(teamId, userId);
 
         log.info("User removed from team: userId={}, teamId={}, teamName={}",
                 userId, teamId, team.getName());
 
-        // Publish team member removed event
-        try {
-            teamEventProducerService.publishTeamMemberRemovedEvent(teamId, userId);
-            log.info("Successfully published team member removed event for userId: {}, teamId: {}", userId, teamId);
-        } catch (Exception e) {
-            log.error("Failed to publish team member removed event for userId: {}, teamId: {}", userId, teamId, e);
-            // Don't fail the member removal if event publishing fails
+        // Publish team member removed event once the removal is committed
+        TransactionHooks.afterCommit(() -> {
+            try {
+                teamEventProducerService.publishTeamMemberRemovedEvent(teamId, userId, sequence);
+                log.info("Successfully published team member removed event for userId: {}, teamId: {}", userId, teamId);
+            } catch (Exception e) {
+                log.error("Failed to publish team member removed event for userId: {}, teamId: {}", userId, teamId, e);
+                // The removal is already committed; a failed publish does not undo it
+            }
+        });
+    }
+
+    /**
+     * Adds many users to a team in one transaction. An unknown team, missing permission or an oversized
+     * request rejects the whole request and nothing changes. Otherwise each user is either added or
+     * skipped with a reason (USER_NOT_FOUND, NOT_ORGANIZATION_MEMBER, ALREADY_MEMBER, TEAM_FULL), and all
+     * additions commit together. Validation is a handful of IN queries, the join rows go in with one
+     * insert, and the events are published as one batch after the commit. The team row is locked first,
+     * so concurrent bulk adds to the same team count free slots one after another and cannot overfill it.
+     */
+    @Transactional
+    public BulkMembershipResponse addMembers(Long teamId, List<Long> userIds, Long requesterId) {
+        Team team = teamRepository.findByIdForUpdate(teamId)
+                .orElseThrow(() -> new RuntimeException("Team not found with ID: " + teamId));
+
+        if (!canManageTeam(team, requesterId)) {
+            throw new RuntimeException("Insufficient permissions to add team members");
+        }
+
+        Set<Long> requested = BulkMemberships.requestedIds(userIds, maxBulkSize);
+        Long organizationId = team.getOrganization().getId();
+        Set<Long> existing = new HashSet<>(userRepository.findExistingIds(requested));
+        Set<Long> organizationMembers = new HashSet<>(organizationRepository.findMemberIds(organizationId, requested));
+        Set<Long> teamMembers = new HashSet<>(teamRepository.findMemberIds(teamId, requested));
+        long freeSlots = team.getMaxMembers() != null
+                ? team.getMaxMembers() - teamRepository.countMembers(teamId)
+                : Long.MAX_VALUE;
+
+        List<BulkMembershipResult> results = new ArrayList<>(requested.size());
+        List<Long> toAdd = new ArrayList<>();
+        for (Long userId : requested) {
+            String status;
+            if (!existing.contains(userId)) {
+                status = "USER_NOT_FOUND";
+            } else if (!organizationMembers.contains(userId)) {
+                status = "NOT_ORGANIZATION_MEMBER";
+            } else if (teamMembers.contains(userId)) {
+                status = "ALREADY_MEMBER";
+            } else if (toAdd.size() >= freeSlots) {
+                status = "TEAM_FULL";
+            } else {
+                status = "ADDED";
+                toAdd.add(userId);
+            }
+            results.add(new BulkMembershipResult(userId, status));
         }
+
+        if (!toAdd.isEmpty()) {
+            teamRepository.addMembers(teamId, toAdd);
+            List<Long> sequences = membershipChangeService.recordTeamMembersAdded(teamId, toAdd);
+
+            Map<Long, UserSummaryResponse> summaries = userRepository.findSummariesByIds(toAdd).stream()
+                    .collect(Collectors.toMap(UserSummaryResponse::getUserId, Function.identity()));
+            List<UserSummaryResponse> members = toAdd.stream().map(summaries::get).collect(Collectors.toList());
+            String teamName = team.getName();
+            String organizationName = team.getOrganization().getName();
+            TransactionHooks.afterCommit(() -> {
+                try {
+                    teamEventProducerService.publishTeamMembersAddedEvents(
+                            organizationId, teamId, teamName, organizationName, members, sequences);
+                } catch (Exception e) {
+                    log.error("Failed to publish team member added events for teamId: {}, members: {}",
+                            teamId, toAdd.size(), e);
+                }
+            });
+        }
+
+        log.info("Bulk add to team: teamId={}, requested={}, added={}", teamId, requested.size(), toAdd.size());
+        return BulkMemberships.response(teamId, toAdd.size(), results);
+    }
+
+    /**
+     * Removes many users from a team in one transaction, with the same all-or-nothing handling of
+     * request-level problems as {@link #addMembers}. Users who are not members are skipped as NOT_MEMBER.
+     * Removing the team lead clears the lead.
+     */
+    @Transactional
+    public BulkMembershipResponse removeMembers(Long teamId, List<Long> userIds, Long requesterId) {
+        Team team = teamRepository.findById(teamId)
+                .orElseThrow(() -> new RuntimeException("Team not found with ID: " + teamId));
+
+        if (!canManageTeam(team, requesterId)) {
+            throw new RuntimeException("Insufficient permissions to remove team members");
+        }
+
+        Set<Long> requested = BulkMemberships.requestedIds(userIds, maxBulkSize);
+        Set<Long> teamMembers = new HashSet<>(teamRepository.findMemberIds(teamId, requested));
+
+        List<BulkMembershipResult> results = new ArrayList<>(requested.size());
+        List<Long> toRemove = new ArrayList<>();
+        for (Long userId : requested) {
+            if (teamMembers.contains(userId)) {
+                toRemove.add(userId);
+                results.add(new BulkMembershipResult(userId, "REMOVED"));
+            } else {
+                results.add(new BulkMembershipResult(userId, "NOT_MEMBER"));
+            }
+        }
+
+        if (!toRemove.isEmpty()) {
+            if (team.getTeamLead() != null && toRemove.contains(team.getTeamLead().getId())) {
+                team.setTeamLead(null);
+            }
+            teamRepository.removeMembers(teamId, toRemove);
+            List<Long> sequences = membershipChangeService.recordTeamMembersRemoved(teamId, toRemove);
+            TransactionHooks.afterCommit(() -> {
+                try {
+                    teamEventProducerService.publishTeamMembersRemovedEvents(teamId, toRemove, sequences);
+                } catch (Exception e) {
+                    log.error("Failed to publish team member removed events for teamId: {}, members: {}",
+                            teamId, toRemove.size(), e);
+                }
+            });
+        }
+
+        log.info("Bulk remove from team: teamId={}, requested={}, removed={}", teamId, requested.size(), toRemove.size());
+        return BulkMemberships.response(teamId, toRemove.size(), results);
     }
 
     @Transactional
@@ -335,6 +446,12 @@ public class TeamService {
                 .build();
     }
 
+    // Same rule as canManageTeam(Team, User), by id, so bulk requests need not load the requester
+    private boolean canManageTeam(Team team, Long requesterId) {
+        return team.getOrganization().getOwner().getId().equals(requesterId)
+                || (team.getTeamLead() != null && team.getTeamLead().getId().equals(requesterId));
+    }
+
     private boolean canManageTeam(Team team, User user) {
         // Organization owner can manage all teams
         if (team.getOrganization().getOwner().equals(user)) {
@@ -364,6 +481,25 @@ public class TeamService {
                 .collect(Collectors.toList());
     }
 
+    // One keyset page of members; callers pass the last memberId they saw to get the next page
+    @Transactional(readOnly = true)
+    public List<MemberDetailsResponse> getTeamMembersPage(Long teamId, Long afterUserId, int limit) {
+        Team team = teamRepository.findById(teamId)
+                .orElseThrow(() -> new RuntimeException("Team not found with ID: " + teamId));
+        User teamLead = team.getTeamLead();
+
+        return teamRepository.findMemberPage(teamId, afterUserId != null ? afterUserId : 0L, PageRequest.of(0, limit))
+                .stream()
+                .map(member -> MemberDetailsResponse.builder()
+                        .memberId(member.getUserId())
+                        .name(member.getFullName())
+                        .email(member.getEmail())
+                        .role(member.getRole() != null ? member.getRole().getName() : "USER")
+                        .isTeamLead(teamLead != null && teamLead.getUserId().equals(member.getUserId()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     /**
      * Internal helper method to add a member to a team with consistent event publishing.
      * Used by createTeam to add the creator as a member with OWNER role.
@@ -372,40 +508,46 @@ public class TeamService {
     void addMemberInternal(Team team, User user, Long userId, String role) {
         team.addMember(user);
         Team savedTeam = teamRepository.save(team);
+        long sequence = membershipChangeService.recordTeamMemberAdded(savedTeam.getId(), userId);
 
         log.info("User added to team internally: userId={}, teamId={}, teamName={}, role={}",
                 userId, team.getId(), team.getName(), role);
 
-        // Enhanced logging for Kafka event publishing
-        log.info("Attempting to publish team member added event for userId: {}, teamId: {}", userId, team.getId());
+        publishMemberAddedAfterCommit(savedTeam, user, role, sequence);
+    }
 
-        // Publish Kafka event after successful team member addition (existing event)
-        try {
-            teamEventProducerService.publishTeamMemberAddedEvent(
-                    userId,
-                    team.getOrganization().getId(),
-                    team.getId(),
-                    team.getName(),
-                    team.getOrganization().getName(),
-                    user.getEmail(),
-                    user.getFullName()
-            );
-            log.info("Successfully published team member added event for userId: {}, teamId: {}", userId, team.getId());
-        } catch (Exception e) {
-            log.error("Failed to publish team member added event for userId: {}, teamId: {}", userId, team.getId(), e);
-            // Note: We don't re-throw here to avoid rolling back the transaction
-        }
+    /**
+     * Publishes TEAM_MEMBER_ADDED and MEMBER_ADDED_TO_TEAM (for the collaboration service) once the
+     * surrounding transaction commits, so consumers never hear of a membership that was rolled back.
+     * The values are read now, while the entities are still attached.
+     */
+    private void publishMemberAddedAfterCommit(Team team, User user, String role, long sequence) {
+        Long teamId = team.getId();
+        Long userId = user.getUserId();
+        Long organizationId = team.getOrganization().getId();
+        String teamName = team.getName();
+        String organizationName = team.getOrganization().getName();
+        String email = user.getEmail();
+        String fullName = user.getFullName();
+
+        TransactionHooks.afterCommit(() -> {
+            try {
+                teamEventProducerService.publishTeamMemberAddedEvent(
+                        userId, organizationId, teamId, teamName, organizationName, email, fullName, sequence);
+                log.info("Successfully published team member added event for userId: {}, teamId: {}", userId, teamId);
+            } catch (Exception e) {
+                // The membership is already committed; a failed publish does not undo it
+                log.error("Failed to publish team member added event for userId: {}, teamId: {}", userId, teamId, e);
+            }
 
-        // Publish member added to team event (for collaboration service)
-        try {
-            teamEventProducerService.publishMemberAddedToTeamEvent(
-                    team.getId(),
-                    userId,
-                    role
-            );
-            log.info("Successfully published member added to team event for userId: {}, teamId: {}, role: {}", userId, team.getId(), role);
-        } catch (Exception e) {
-            log.error("Failed to publish member added to team event for userId: {}, teamId: {}, role: {}", userId, team.getId(), role, e);
-        }
+            try {
+                teamEventProducerService.publishMemberAddedToTeamEvent(teamId, userId, role, sequence);
+                log.info("Successfully published member added to team event for userId: {}, teamId: {}, role: {}",
+                        userId, teamId, role);
+            } catch (Exception e) {
+                log.error("Failed to publish member added to team event for userId: {}, teamId: {}, role: {}",
+                        userId, teamId, role, e);
+            }
+        });
     }
 }
@@ -0,0 +1,134 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.dto.BatchUserLookupRequest;
+import com.midlane.project_management_tool_user_service.dto.BatchUserLookupResponse;
+import com.midlane.project_management_tool_user_service.dto.UserSummaryResponse;
+import com.midlane.project_management_tool_user_service.repository.UserRepository;
+import com.midlane.project_management_tool_user_service.util.TtlCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves many users in one call for services rendering assignee names and avatars.
+ * <p>
+ * Ids are served from a short-lived summary cache first; the rest are loaded with a single
+ * {@code IN} query selecting only the summary columns. Emails always go to the database (one more
+ * {@code IN} query) but their results warm the id cache. Unknown ids and emails are reported back
+ * instead of failing the whole batch.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserLookupService {
+
+    private final UserRepository userRepository;
+
+    @Value("${users.batch.max-size:500}")
+    private int maxBatchSize;
+
+    @Value("${users.batch.cache.ttl-seconds:30}")
+    private long cacheTtlSeconds;
+
+    @Value("${users.batch.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    private TtlCache<Long, UserSummaryResponse> summaryCache;
+
+    @PostConstruct
+    void init() {
+        summaryCache = new TtlCache<>(Duration.ofSeconds(cacheTtlSeconds), cacheMaxEntries);
+    }
+
+    @Transactional(readOnly = true)
+    public BatchUserLookupResponse lookup(BatchUserLookupRequest request) {
+        Set<Long> ids = new LinkedHashSet<>();
+        if (request.getIds() != null) {
+            request.getIds().stream().filter(id -> id != null).forEach(ids::add);
+        }
+        Set<String> emails = new LinkedHashSet<>();
+        if (request.getEmails() != null) {
+            request.getEmails().stream()
+                    .filter(email -> email != null && !email.isBlank())
+                    .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                    .forEach(emails::add);
+        }
+        if (ids.size() + emails.size() > maxBatchSize) {
+            throw new RuntimeException("Batch lookup accepts at most " + maxBatchSize + " ids and emails");
+        }
+
+        Map<Long, UserSummaryResponse> byId = new HashMap<>();
+        List<Long> toLoad = new ArrayList<>();
+        for (Long id : ids) {
+            UserSummaryResponse cached = summaryCache.get(id);
+            if (cached != null) {
+                byId.put(id, cached);
+            } else {
+                toLoad.add(id);
+            }
+        }
+        if (!toLoad.isEmpty()) {
+            for (UserSummaryResponse summary : userRepository.findSummariesByIds(toLoad)) {
+                byId.put(summary.getUserId(), summary);
+                summaryCache.put(summary.getUserId(), summary);
+            }
+        }
+
+        Map<String, UserSummaryResponse> byEmail = new HashMap<>();
+        if (!emails.isEmpty()) {
+            for (UserSummaryResponse summary : userRepository.findSummariesByEmails(emails)) {
+                byEmail.put(summary.getEmail().toLowerCase(Locale.ROOT), summary);
+                summaryCache.put(summary.getUserId(), summary);
+            }
+        }
+
+        // Keep request order, and list a user only once when asked for by both id and email
+        Map<Long, UserSummaryResponse> users = new LinkedHashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            UserSummaryResponse summary = byId.get(id);
+            if (summary != null) {
+                users.putIfAbsent(id, summary);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        List<String> missingEmails = new ArrayList<>();
+        for (String email : emails) {
+            UserSummaryResponse summary = byEmail.get(email);
+            if (summary != null) {
+                users.putIfAbsent(summary.getUserId(), summary);
+            } else {
+                missingEmails.add(email);
+            }
+        }
+
+        log.debug("Batch user lookup: requested={}, cacheHits={}, found={}, missing={}",
+                ids.size() + emails.size(), ids.size() - toLoad.size(), users.size(),
+                missingIds.size() + missingEmails.size());
+
+        return BatchUserLookupResponse.builder()
+                .users(new ArrayList<>(users.values()))
+                .missingIds(missingIds)
+                .missingEmails(missingEmails)
+                .build();
+    }
+
+    // Called whenever a user's name, email or picture changes, and once a deleted user is gone
+    public void evict(Long userId) {
+        summaryCache.invalidate(userId);
+    }
+}
@@ -8,9 +8,12 @@ import com.midlane.project_management_tool_user_service.model.User;
 import com.midlane.project_management_tool_user_service.repository.UserRepository;
 import com.midlane.project_management_tool_user_service.repository.RoleRepository;
 import com.midlane.project_management_tool_user_service.util.JwtUtil;
+import com.midlane.project_management_tool_user_service.util.SingleFlight;
+import com.midlane.project_management_tool_user_service.util.TransactionHooks;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -41,36 +44,56 @@ public class UserService {
     private final SocialAuthService socialAuthService;
     private final NotificationService notificationService;
     private final TeamEventProducerService teamEventProducerService; // Add this injection
+    private final UserLookupService userLookupService;
+    private final RegisteredEmailFilter registeredEmailFilter;
 
     @Value("${jwt.access-token.expiration}") // 15 minutes
     private long accessTokenExpiration;
 
+    private final SingleFlight<String, User> socialAccountFlight = new SingleFlight<>();
+
+    // The USER role never changes once created, so it is looked up once rather than per registration
+    private volatile Role defaultUserRole;
+
     public AuthResponse registerUser(RegisterRequest request, String deviceInfo) {
-        // Check if email already exists
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email is already in use");
+        long started = System.nanoTime();
+
+        // Only query for the email when the filter says it might be registered; the unique constraint
+        // on users.email catches anything the filter has not seen yet
+        boolean checked = registeredEmailFilter.mightExist(request.getEmail());
+        if (checked) {
+            if (userRepository.existsByEmail(request.getEmail())) {
+                throw new RuntimeException("Email is already in use");
+            }
+            registeredEmailFilter.recordFalsePositive();
         }
 
-        // Get or create default USER role
-        Role userRole = roleRepository.findByName(Role.USER)
-                .orElseGet(() -> {
-                    Role newRole = Role.builder()
-                            .name(Role.USER)
-                            .permissions("USER_PERMISSIONS")
-                            .build();
-                    return roleRepository.save(newRole);
-                });
-
         // Create new user
+        long hashStarted = System.nanoTime();
+        String passwordHash = passwordEncoder.encode(request.getPassword());
+        long hashNanos = System.nanoTime() - hashStarted;
+
         User user = new User();
         user.setEmail(request.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+        user.setPasswordHash(passwordHash);
         user.setPhone(request.getPhone());
-        user.setRole(userRole); // Set Role entity
+        user.setRole(defaultUserRole()); // Set Role entity
         user.setPasswordLastChanged(LocalDateTime.now());
         user.setEmailLastChanged(LocalDateTime.now());
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Email is the only unique column a new user can collide on
+            if (userRepository.existsByEmail(request.getEmail())) {
+                registeredEmailFilter.recordConflict();
+                registeredEmailFilter.add(request.getEmail());
+                throw new RuntimeException("Email is already in use");
+            }
+            throw e;
+        }
+        registeredEmailFilter.add(savedUser.getEmail());
 
         // Log user registration
         log.info("User registered successfully: userId={}, email={}", savedUser.getId(), savedUser.getEmail());
@@ -102,13 +125,15 @@ public class UserService {
             // Don't fail the registration if notification fails
         }
 
-        // Generate tokens using RSA
-        UserDetails userDetails = userDetailsService.loadUserByUsername(savedUser.getEmail());
+        // Generate tokens using RSA; the saved user already has everything the principal needs
+        UserDetails userDetails = userDetailsService.toUserDetails(savedUser);
         String accessToken = jwtUtil.generateAccessToken(userDetails);
 
         // Create refresh token
         RefreshToken refreshToken = refreshTokenService.createRefreshToken(userDetails, deviceInfo);
 
+        registeredEmailFilter.recordRegistration(System.nanoTime() - started - hashNanos, !checked);
+
         return AuthResponse.builder()
                 .accessToken(accessToken)
                 .refreshToken(refreshToken.getToken())
@@ -120,6 +145,23 @@ public class UserService {
                 .build();
     }
 
+    // Get or create default USER role
+    private Role defaultUserRole() {
+        Role role = defaultUserRole;
+        if (role == null) {
+            role = roleRepository.findByName(Role.USER)
+                    .orElseGet(() -> {
+                        Role newRole = Role.builder()
+                                .name(Role.USER)
+                                .permissions("USER_PERMISSIONS")
+                                .build();
+                        return roleRepository.save(newRole);
+                    });
+            defaultUserRole = role;
+        }
+        return role;
+    }
+
     public AuthResponse loginUser(LoginRequest request, String deviceInfo) {
         try {
             // Use the properly configured AuthenticationManager
@@ -264,6 +306,9 @@ public class UserService {
 
         // Delete user
         userRepository.delete(user);
+
+        // Only after the commit: evicting earlier lets a concurrent lookup cache the row again before it is gone
+        TransactionHooks.afterCommit(() -> userLookupService.evict(userId));
     }
 
     public User findById(Long userId) {
@@ -284,14 +329,35 @@ public class UserService {
             throw new RuntimeException("Email not provided by " + request.getProvider() + " provider");
         }
 
+        // Concurrent logins for the same email (retries, several tabs) share one lookup-or-create,
+        // so the account is inserted and announced once
+        User user = socialAccountFlight.execute(socialUserInfo.getEmail().toLowerCase(),
+                () -> findOrCreateSocialUser(socialUserInfo));
+
+        // Generate RSA-based tokens
+        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
+        String accessToken = jwtUtil.generateAccessToken(userDetails);
+
+        // Create refresh token with default device info for social login
+        RefreshToken refreshToken = refreshTokenService.createRefreshToken(userDetails, "Social Login - " + request.getProvider());
+
+        return AuthResponse.builder()
+                .accessToken(accessToken)
+                .refreshToken(refreshToken.getToken())
+                .tokenType("Bearer")
+                .expiresIn(accessTokenExpiration / 1000) // Convert to seconds
+                .userId(user.getUserId()) // Include userId for frontend
+                .userEmail(user.getEmail())
+                .role(user.getRole().getName())
+                .build();
+    }
+
+    private User findOrCreateSocialUser(SocialUserInfo socialUserInfo) {
         // Check if user exists by email
         Optional<User> existingUser = userRepository.findByEmail(socialUserInfo.getEmail());
 
-        User user;
-        boolean isNewUser = false;
-
         if (existingUser.isPresent()) {
-            user = existingUser.get();
+            User user = existingUser.get();
             // Update social provider info if it's a local account being linked
             if (user.getProvider() == AuthProvider.LOCAL) {
                 user.setProvider(AuthProvider.valueOf(socialUserInfo.getProvider().toUpperCase()));
@@ -300,82 +366,65 @@ public class UserService {
                 user.setLastName(socialUserInfo.getLastName());
                 user.setProfilePictureUrl(socialUserInfo.getProfilePictureUrl());
                 userRepository.save(user);
+                TransactionHooks.afterCommit(() -> userLookupService.evict(user.getUserId()));
                 
                 // Log user update instead of publishing to Kafka
                 log.info("User social info updated: userId={}, email={}", user.getId(), user.getEmail());
             }
-        } else {
-            // Create new user from social login
-            user = createUserFromSocialInfo(socialUserInfo);
-            isNewUser = true;
-            
-            // Log user creation
-            log.info("New user created from social login: userId={}, email={}", user.getId(), user.getEmail());
-
-            // Publish user registered event to Kafka for new social users
-            try {
-                String fullName = (user.getFirstName() != null ? user.getFirstName() : "") +
-                                 (user.getLastName() != null ? " " + user.getLastName() : "");
-                fullName = fullName.trim();
-
-                teamEventProducerService.publishUserRegisteredEvent(
-                    user.getUserId(),
-                    user.getEmail(),
-                    fullName.isEmpty() ? user.getEmail() : fullName,
-                    user.getProfilePictureUrl()
-                );
-
-                log.info("Published user registered event for social login user: userId={}, email={}",
-                        user.getUserId(), user.getEmail());
-            } catch (Exception e) {
-                log.error("Failed to publish user registered event for social login user: userId={}, email={}",
-                         user.getUserId(), user.getEmail(), e);
-                // Don't fail the registration if event publishing fails
-            }
+            return user;
+        }
 
-            // Send welcome notification for new social login users
-            try {
-                notificationService.sendWelcomeNotification(
-                        user.getEmail(),
-                        user.getFirstName(),
-                        user.getLastName(),
-                        user.getRole().getName()
-                );
-            } catch (Exception e) {
-                log.error("Failed to send welcome notification for social login user: {}", user.getEmail(), e);
-                // Don't fail the registration if notification fails
-            }
+        // Create new user from social login
+        User user;
+        try {
+            user = createUserFromSocialInfo(socialUserInfo);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the account between our lookup and insert
+            log.info("Social user already created concurrently, reusing it: email={}", socialUserInfo.getEmail());
+            return findByEmail(socialUserInfo.getEmail());
         }
 
-        // Generate RSA-based tokens
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
-        String accessToken = jwtUtil.generateAccessToken(userDetails);
+        // Log user creation
+        log.info("New user created from social login: userId={}, email={}", user.getId(), user.getEmail());
 
-        // Create refresh token with default device info for social login
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(userDetails, "Social Login - " + request.getProvider());
+        // Publish user registered event to Kafka for new social users
+        try {
+            String fullName = (user.getFirstName() != null ? user.getFirstName() : "") +
+                             (user.getLastName() != null ? " " + user.getLastName() : "");
+            fullName = fullName.trim();
 
-        return AuthResponse.builder()
-                .accessToken(accessToken)
-                .refreshToken(refreshToken.getToken())
-                .tokenType("Bearer")
-                .expiresIn(accessTokenExpiration / 1000) // Convert to seconds
-                .userId(user.getUserId()) // Include userId for frontend
-                .userEmail(user.getEmail())
-                .role(user.getRole().getName())
-                .build();
+            teamEventProducerService.publishUserRegisteredEvent(
+                user.getUserId(),
+                user.getEmail(),
+                fullName.isEmpty() ? user.getEmail() : fullName,
+                user.getProfilePictureUrl()
+            );
+
+            log.info("Published user registered event for social login user: userId={}, email={}",
+                    user.getUserId(), user.getEmail());
+        } catch (Exception e) {
+            log.error("Failed to publish user registered event for social login user: userId={}, email={}",
+                     user.getUserId(), user.getEmail(), e);
+            // Don't fail the registration if event publishing fails
+        }
+
+        // Send welcome notification for new social login users
+        try {
+            notificationService.sendWelcomeNotification(
+                    user.getEmail(),
+                    user.getFirstName(),
+                    user.getLastName(),
+                    user.getRole().getName()
+            );
+        } catch (Exception e) {
+            log.error("Failed to send welcome notification for social login user: {}", user.getEmail(), e);
+            // Don't fail the registration if notification fails
+        }
+
+        return user;
     }
 
     private User createUserFromSocialInfo(SocialUserInfo socialUserInfo) {
-        // Get or create default USER role
-        Role userRole = roleRepository.findByName(Role.USER)
-                .orElseGet(() -> {
-                    Role newRole = Role.builder()
-                            .name(Role.USER)
-                            .permissions("USER_PERMISSIONS")
-                            .build();
-                    return roleRepository.save(newRole);
-                });
-
         User user = new User();
         user.setEmail(socialUserInfo.getEmail());
         user.setFirstName(socialUserInfo.getFirstName());
@@ -384,10 +433,12 @@ public class UserService {
         user.setProvider(AuthProvider.valueOf(socialUserInfo.getProvider().toUpperCase()));
         user.setProviderId(socialUserInfo.getId());
         user.setPasswordHash(null); // No password for social login
-        user.setRole(userRole); // Use Role entity instead of Role.USER
+        user.setRole(defaultUserRole()); // Use Role entity instead of Role.USER
         user.setEmailLastChanged(LocalDateTime.now());
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        registeredEmailFilter.add(savedUser.getEmail());
+        return savedUser;
     }
 
     @Transactional
@@ -411,6 +462,7 @@ public class UserService {
 
         // Save the updated user
         User savedUser = userRepository.save(user);
+        TransactionHooks.afterCommit(() -> userLookupService.evict(userId));
 
         // Log user profile update
         log.info("User profile updated: userId={}, email={}", user.getId(), user.getEmail());
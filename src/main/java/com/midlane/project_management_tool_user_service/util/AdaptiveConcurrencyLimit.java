@@ -0,0 +1,88 @@
+package com.midlane.project_management_tool_user_service.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency, in the style of the gradient limiter from
+ * Netflix concurrency-limits.
+ * <p>
+ * A slow moving average of request latency is the baseline. When recent latency rises above it,
+ * requests are queueing somewhere downstream (Hikari, BCrypt, Tomcat), so the limit shrinks in
+ * proportion. When latency is at baseline the limit grows by roughly {@code sqrt(limit)} per sample,
+ * but only while the limit is actually being used. Dropped requests (timeouts, 503s) cut it by 10%.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double LONG_RTT_SMOOTHING = 0.05;
+    private static final double LIMIT_SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Returns {@code true} if the caller may proceed; it must then call {@link #release} exactly once.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long rttNanos, boolean dropped) {
+        int inFlightAtStart = inFlight.getAndDecrement();
+        update(Math.max(rttNanos, 1), dropped, inFlightAtStart);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, boolean dropped, int inFlightAtStart) {
+        if (dropped) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            return;
+        }
+
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos = longRttNanos * (1 - LONG_RTT_SMOOTHING) + rttNanos * LONG_RTT_SMOOTHING;
+        }
+        // Let the baseline drift back down quickly after a sustained slowdown has passed
+        if (longRttNanos > 2 * rttNanos) {
+            longRttNanos *= 0.95;
+        }
+
+        // Don't grow a limit the traffic isn't even reaching
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, longRttNanos / rttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        double next = limit * (1 - LIMIT_SMOOTHING) + target * LIMIT_SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
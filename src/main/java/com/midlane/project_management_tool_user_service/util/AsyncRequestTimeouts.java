@@ -0,0 +1,24 @@
+package com.midlane.project_management_tool_user_service.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+/**
+ * Per-request async timeout for endpoints that stream for minutes. {@code spring.mvc.async.request-timeout}
+ * stays sized for the quick async reads, and a streaming endpoint raises it for its own request only.
+ * Call from the handler method, before returning the streaming body: the timeout is read when async
+ * processing starts.
+ */
+public final class AsyncRequestTimeouts {
+
+    private AsyncRequestTimeouts() {
+    }
+
+    public static void set(HttpServletRequest request, long timeoutMs) {
+        AsyncWebRequest asyncWebRequest = WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest();
+        if (asyncWebRequest != null) {
+            asyncWebRequest.setTimeout(timeoutMs);
+        }
+    }
+}
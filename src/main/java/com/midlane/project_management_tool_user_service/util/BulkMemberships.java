@@ -0,0 +1,42 @@
+package com.midlane.project_management_tool_user_service.util;
+
+import com.midlane.project_management_tool_user_service.dto.BulkMembershipResponse;
+import com.midlane.project_management_tool_user_service.dto.BulkMembershipResult;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Request and response handling shared by the bulk team and organization membership endpoints.
+ */
+public final class BulkMemberships {
+
+    private BulkMemberships() {
+    }
+
+    // Distinct ids in request order; an empty or oversized request is rejected as a whole
+    public static Set<Long> requestedIds(List<Long> userIds, int maxBulkSize) {
+        Set<Long> requested = userIds == null ? new LinkedHashSet<>() : userIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (requested.isEmpty()) {
+            throw new RuntimeException("userIds must not be empty");
+        }
+        if (requested.size() > maxBulkSize) {
+            throw new RuntimeException("At most " + maxBulkSize + " users can be changed per request");
+        }
+        return requested;
+    }
+
+    public static BulkMembershipResponse response(Long scopeId, int applied, List<BulkMembershipResult> results) {
+        return BulkMembershipResponse.builder()
+                .scopeId(scopeId)
+                .applied(applied)
+                .skipped(results.size() - applied)
+                .results(results)
+                .build();
+    }
+}
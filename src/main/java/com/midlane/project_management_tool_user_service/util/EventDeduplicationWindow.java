@@ -0,0 +1,52 @@
+package com.midlane.project_management_tool_user_service.util;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Consumer-side dedupe helper for events published with {@link EventIds} headers.
+ * <p>
+ * Keeps a bounded LRU of recently seen event IDs; an event is a duplicate if its ID is still in the window.
+ * Event IDs are deterministic, so a producer retry or a re-publish of the same change carries the ID of
+ * the original. Sequences are deliberately not compared: they come from the change log, and concurrent
+ * transactions on one aggregate publish them out of order, so a lower sequence arriving after a higher one
+ * is usually a real event rather than a redelivery. Anything evicted from the window falls back to the
+ * consumer's own idempotency.
+ */
+public class EventDeduplicationWindow {
+
+    private final Map<String, Boolean> recentIds;
+
+    public EventDeduplicationWindow(int maxIds) {
+        this.recentIds = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maxIds;
+            }
+        };
+    }
+
+    /**
+     * Records the event and returns {@code true} the first time it is seen, {@code false} for a duplicate.
+     * Events without an ID cannot be deduplicated and are always accepted.
+     */
+    public synchronized boolean markIfFirst(String eventId) {
+        if (eventId == null) {
+            return true;
+        }
+        return recentIds.put(eventId, Boolean.TRUE) == null;
+    }
+
+    public boolean markIfFirst(ConsumerRecord<String, ?> record) {
+        Header header = record.headers().lastHeader(EventIds.EVENT_ID_HEADER);
+        return markIfFirst(header != null ? new String(header.value(), StandardCharsets.UTF_8) : null);
+    }
+
+    public synchronized int size() {
+        return recentIds.size();
+    }
+}
@@ -0,0 +1,23 @@
+package com.midlane.project_management_tool_user_service.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Deterministic event identifiers. The same event type, aggregate key and sequence always map to the
+ * same ID, so a re-published event (producer retry or our own retry path) carries the ID of the original.
+ */
+public final class EventIds {
+
+    public static final String EVENT_ID_HEADER = "event-id";
+    public static final String EVENT_TYPE_HEADER = "event-type";
+    public static final String EVENT_SEQUENCE_HEADER = "event-sequence";
+
+    private EventIds() {
+    }
+
+    public static String eventId(String eventType, String aggregateKey, long sequence) {
+        String name = eventType + '|' + aggregateKey + '|' + sequence;
+        return UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+}
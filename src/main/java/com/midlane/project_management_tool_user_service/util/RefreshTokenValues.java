@@ -0,0 +1,88 @@
+package com.midlane.project_management_tool_user_service.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Refresh token values of the form {@code rt1.<expiry epoch seconds>.<uuid>}. Carrying the expiry in
+ * the token lets a lookup name the {@code refresh_tokens} partition it lives in, so it stays a single
+ * index probe instead of one per partition. Tokens issued before this format are plain UUIDs.
+ */
+public final class RefreshTokenValues {
+
+    private static final String PREFIX = "rt1.";
+
+    private RefreshTokenValues() {
+    }
+
+    // Stored expiry, truncated to whole seconds so it round-trips through the token exactly
+    public static LocalDateTime expiryFor(LocalDateTime now, long ttlMillis) {
+        return now.plus(ttlMillis, ChronoUnit.MILLIS).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    public static String newToken(LocalDateTime expiresAt) {
+        return PREFIX + expiresAt.toEpochSecond(ZoneOffset.UTC) + "." + UUID.randomUUID();
+    }
+
+    public static Optional<LocalDateTime> expiryOf(String token) {
+        if (token == null || !token.startsWith(PREFIX)) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.', PREFIX.length());
+        if (dot < 0) {
+            return Optional.empty();
+        }
+        try {
+            long epochSeconds = Long.parseLong(token, PREFIX.length(), dot, 10);
+            return Optional.of(LocalDateTime.ofEpochSecond(epochSeconds, 0, ZoneOffset.UTC));
+        } catch (NumberFormatException | java.time.DateTimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    // Legacy tokens are bare UUIDs; anything that is neither format cannot be a token we issued
+    public static boolean isWellFormed(String token) {
+        if (token == null) {
+            return false;
+        }
+        if (token.startsWith(PREFIX)) {
+            return expiryOf(token).isPresent();
+        }
+        try {
+            UUID.fromString(token);
+            return token.length() == 36;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // SHA-256 of the token: the fixed-width value stored and indexed instead of the token itself
+    public static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Constant-time, so comparing a presented token's hash leaks nothing through timing
+    public static boolean matches(byte[] storedHash, byte[] presentedHash) {
+        return storedHash != null && MessageDigest.isEqual(storedHash, presentedHash);
+    }
+
+    // Text form of a token hash, used to key in-memory structures
+    public static String digest(byte[] tokenHash) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(tokenHash);
+    }
+
+    public static String digest(String token) {
+        return digest(hash(token));
+    }
+}
@@ -0,0 +1,48 @@
+package com.midlane.project_management_tool_user_service.util;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the plain SQL scripts shipped under {@code db/}: whole-line {@code --} comments are dropped and
+ * the rest is split on {@code ;}. Scripts must not put semicolons inside literals or function bodies.
+ */
+public final class SqlScripts {
+
+    private SqlScripts() {
+    }
+
+    public static String read(Resource resource) {
+        try {
+            return resource.getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + resource.getDescription(), e);
+        }
+    }
+
+    public static List<String> statements(String classpathLocation) {
+        return split(read(new ClassPathResource(classpathLocation)));
+    }
+
+    public static List<String> split(String script) {
+        StringBuilder withoutComments = new StringBuilder();
+        for (String line : script.split("\n")) {
+            if (!line.strip().startsWith("--")) {
+                withoutComments.append(line).append('\n');
+            }
+        }
+        List<String> statements = new ArrayList<>();
+        for (String statement : withoutComments.toString().split(";")) {
+            if (!statement.isBlank()) {
+                statements.add(statement.strip());
+            }
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,216 @@
+package com.midlane.project_management_tool_user_service.util;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key token buckets with bounded memory.
+ * <p>
+ * Keys hash onto a fixed set of stripes, each with its own lock and a small LRU of exact buckets, so
+ * unrelated keys rarely contend and the total number of tracked keys is capped. Keys that fall out of
+ * the LRU (the long tail, or an attacker rotating through many keys) are not forgotten: every attempt is
+ * also counted in a windowed count-min sketch, and a key that comes back is seeded from that approximate
+ * count instead of a full bucket. The sketch only ever overestimates, so it errs on the side of throttling.
+ */
+public class StripedTokenBucketLimiter {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final Stripe[] stripes;
+    private final WindowedCountMinSketch recentAttempts;
+    private final LongSupplier nanoClock;
+
+    public StripedTokenBucketLimiter(int capacity, Duration refillInterval, int maxTrackedKeys, int stripeCount) {
+        this(capacity, refillInterval, maxTrackedKeys, stripeCount, System::nanoTime);
+    }
+
+    public StripedTokenBucketLimiter(int capacity, Duration refillInterval, int maxTrackedKeys, int stripeCount,
+                                     LongSupplier nanoClock) {
+        this.capacity = capacity;
+        this.tokensPerNano = 1.0 / refillInterval.toNanos();
+        this.nanoClock = nanoClock;
+        this.stripes = new Stripe[stripeCount];
+        int perStripe = Math.max(1, maxTrackedKeys / stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+        // A full bucket drains and refills within this window, so it is the span worth remembering
+        this.recentAttempts = new WindowedCountMinSketch(refillInterval.toNanos() * capacity, nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes one token for {@code key}. Returns {@code false} if the bucket is empty.
+     */
+    public boolean tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        Stripe stripe = stripeFor(key);
+        boolean acquired;
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                double seeded = Math.max(0, capacity - recentAttempts.estimate(key, now));
+                bucket = new Bucket(seeded, now);
+                stripe.buckets.put(key, bucket);
+            }
+            bucket.refill(now, capacity, tokensPerNano);
+            acquired = bucket.tokens >= 1;
+            if (acquired) {
+                bucket.tokens -= 1;
+            }
+        }
+        recentAttempts.increment(key, now);
+        return acquired;
+    }
+
+    // Refills the bucket completely, e.g. after a successful login
+    public void reset(String key) {
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.buckets.put(key, new Bucket(capacity, nanoClock.getAsLong()));
+        }
+    }
+
+    public int trackedKeys() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                total += stripe.buckets.size();
+            }
+        }
+        return total;
+    }
+
+    private Stripe stripeFor(String key) {
+        return stripes[Math.floorMod(spread(key.hashCode()), stripes.length)];
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+
+    private static final class Stripe {
+        private final Map<String, Bucket> buckets;
+
+        Stripe(int maxEntries) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAt;
+
+        Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+
+        void refill(long now, double capacity, double tokensPerNano) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+
+    /**
+     * Count-min sketch over two rotating windows; the previous window is weighted by how much of it
+     * still overlaps a sliding window ending now. Each row hashes the key itself with its own murmur3
+     * seed: rows derived from {@code String.hashCode} would all collide for keys with equal hash codes
+     * (trivial to construct), and one key could then throttle the other.
+     */
+    private static final class WindowedCountMinSketch {
+        private static final int DEPTH = 4;
+        private static final int WIDTH = 4096;
+        private static final int[] SEEDS = {0x9747b28c, 0x85ebca6b, 0xc2b2ae35, 0x27d4eb2f};
+
+        private final long windowNanos;
+        private volatile AtomicIntegerArray current = new AtomicIntegerArray(DEPTH * WIDTH);
+        private volatile AtomicIntegerArray previous = new AtomicIntegerArray(DEPTH * WIDTH);
+        private volatile long windowStart;
+
+        WindowedCountMinSketch(long windowNanos, long now) {
+            this.windowNanos = Math.max(1, windowNanos);
+            this.windowStart = now;
+        }
+
+        void increment(String key, long now) {
+            rotateIfNeeded(now);
+            AtomicIntegerArray counts = current;
+            for (int index : indexes(key)) {
+                counts.incrementAndGet(index);
+            }
+        }
+
+        double estimate(String key, long now) {
+            rotateIfNeeded(now);
+            int[] indexes = indexes(key);
+            double overlap = 1.0 - Math.min(1.0, (double) (now - windowStart) / windowNanos);
+            return min(current, indexes) + min(previous, indexes) * overlap;
+        }
+
+        private static int min(AtomicIntegerArray counts, int[] indexes) {
+            int min = Integer.MAX_VALUE;
+            for (int index : indexes) {
+                min = Math.min(min, counts.get(index));
+            }
+            return min;
+        }
+
+        private static int[] indexes(String key) {
+            int[] indexes = new int[DEPTH];
+            for (int row = 0; row < DEPTH; row++) {
+                indexes[row] = row * WIDTH + (murmur3(key, SEEDS[row]) & (WIDTH - 1));
+            }
+            return indexes;
+        }
+
+        // MurmurHash3 x86_32 over the key's UTF-16 code units, two per block
+        private static int murmur3(String key, int seed) {
+            int h = seed;
+            int length = key.length();
+            for (int i = 1; i < length; i += 2) {
+                h ^= mixK(key.charAt(i - 1) | (key.charAt(i) << 16));
+                h = Integer.rotateLeft(h, 13) * 5 + 0xe6546b64;
+            }
+            if ((length & 1) == 1) {
+                h ^= mixK(key.charAt(length - 1));
+            }
+            h ^= 2 * length;
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            return h ^ (h >>> 16);
+        }
+
+        private static int mixK(int k) {
+            return Integer.rotateLeft(k * 0xcc9e2d51, 15) * 0x1b873593;
+        }
+
+        private void rotateIfNeeded(long now) {
+            if (now - windowStart < windowNanos) {
+                return;
+            }
+            synchronized (this) {
+                long elapsed = now - windowStart;
+                if (elapsed < windowNanos) {
+                    return;
+                }
+                // After two or more idle windows nothing in the old counts is recent any more
+                previous = elapsed < 2 * windowNanos ? current : new AtomicIntegerArray(DEPTH * WIDTH);
+                current = new AtomicIntegerArray(DEPTH * WIDTH);
+                windowStart = now - (elapsed % windowNanos);
+            }
+        }
+    }
+}
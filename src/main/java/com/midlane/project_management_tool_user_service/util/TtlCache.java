@@ -0,0 +1,61 @@
+package com.midlane.project_management_tool_user_service.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small bounded cache whose entries expire a fixed time after being written. Least recently used
+ * entries are evicted once {@code maxEntries} is reached. Intended for short-lived, hot lookups.
+ */
+public class TtlCache<K, V> {
+
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Map<K, Entry<V>> entries;
+
+    public TtlCache(Duration ttl, int maxEntries) {
+        this(ttl, maxEntries, Clock.systemUTC());
+    }
+
+    public TtlCache(Duration ttl, int maxEntries, Clock clock) {
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= clock.millis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    public synchronized void put(K key, V value) {
+        if (ttlMillis > 0) {
+            entries.put(key, new Entry<>(value, clock.millis() + ttlMillis));
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,33 @@
+-- Secondary indexes for the repository queries. Hibernate creates the tables, primary keys, unique
+-- constraints and the indexes declared on entities; the join tables' unique constraints lead with the
+-- team / organization id, so lookups by user need their own index. HotQueryPlanValidator checks at
+-- startup that every hot query is served by one of these.
+
+-- TeamRepository.findByMemberId, team membership checks by user
+CREATE INDEX IF NOT EXISTS idx_team_members_user_id ON team_members (user_id);
+
+-- OrganizationRepository.findByMemberId
+CREATE INDEX IF NOT EXISTS idx_organization_members_user_id ON organization_members (user_id);
+
+-- TeamRepository.findByOrganizationId / findByOrganization / countByOrganization
+CREATE INDEX IF NOT EXISTS idx_teams_organization_id ON teams (organization_id);
+
+-- TeamRepository.findByTeamLeadId / findByTeamLead / countByTeamLead
+CREATE INDEX IF NOT EXISTS idx_teams_team_lead_id ON teams (team_lead_id);
+
+-- OrganizationRepository.findByOwnerId / findByOwner / countByOwner
+CREATE INDEX IF NOT EXISTS idx_organizations_owner_id ON organizations (owner_id);
+
+-- RefreshTokenRepository: per-user cap and revoke-all (user_email), purge (expires_at), filter catch-up
+-- (created_at). Also declared on the entity; repeated here so the migrations describe every hot index.
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_active ON refresh_tokens (user_email, revoked, created_at);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_created_at ON refresh_tokens (created_at);
+
+-- MembershipChangeRepository.deleteSupersededBefore: the newer-entry probe for the same membership
+CREATE INDEX IF NOT EXISTS idx_membership_changes_membership ON membership_changes (scope, scope_id, user_id, change_id);
+
+-- NotificationOutboxRepository.lockDue and countByStatus
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_status_due ON notification_outbox (status, next_attempt_at);
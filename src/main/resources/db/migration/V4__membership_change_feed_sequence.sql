@@ -0,0 +1,4 @@
+-- The change feed now pages by feed_sequence, stamped in commit order by MembershipChangeSequencer,
+-- instead of change_id. Entries written before that keep their change_id as feed position, so cursors
+-- consumers already hold stay valid; the sequencer continues numbering after the highest of them.
+UPDATE membership_changes SET feed_sequence = change_id WHERE feed_sequence IS NULL;
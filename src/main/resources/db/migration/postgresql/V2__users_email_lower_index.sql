@@ -0,0 +1,2 @@
+-- UserRepository.findSummariesByEmails matches on LOWER(email); the unique index on email cannot serve it.
+CREATE INDEX IF NOT EXISTS idx_users_email_lower ON users (LOWER(email));
@@ -0,0 +1,21 @@
+-- Move users, teams, organizations and notification_outbox from IDENTITY columns to the pooled
+-- sequences the entities now use (allocationSize 50). Hibernate's schema update has already created
+-- the sequences starting at 1; start them past the existing ids, then make them the column default
+-- so rows inserted outside Hibernate draw from the same sequence. A raw nextval uses its own value,
+-- which lies in the block Hibernate would have taken for it, so the two never collide.
+
+SELECT setval('users_seq', (SELECT COALESCE(MAX(user_id), 0) FROM users) + 50);
+ALTER TABLE users ALTER COLUMN user_id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN user_id SET DEFAULT nextval('users_seq');
+
+SELECT setval('teams_seq', (SELECT COALESCE(MAX(team_id), 0) FROM teams) + 50);
+ALTER TABLE teams ALTER COLUMN team_id DROP IDENTITY IF EXISTS;
+ALTER TABLE teams ALTER COLUMN team_id SET DEFAULT nextval('teams_seq');
+
+SELECT setval('organizations_seq', (SELECT COALESCE(MAX(organization_id), 0) FROM organizations) + 50);
+ALTER TABLE organizations ALTER COLUMN organization_id DROP IDENTITY IF EXISTS;
+ALTER TABLE organizations ALTER COLUMN organization_id SET DEFAULT nextval('organizations_seq');
+
+SELECT setval('notification_outbox_seq', (SELECT COALESCE(MAX(outbox_id), 0) FROM notification_outbox) + 50);
+ALTER TABLE notification_outbox ALTER COLUMN outbox_id DROP IDENTITY IF EXISTS;
+ALTER TABLE notification_outbox ALTER COLUMN outbox_id SET DEFAULT nextval('notification_outbox_seq');
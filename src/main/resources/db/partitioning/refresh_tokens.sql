@@ -0,0 +1,24 @@
+-- refresh_tokens, range-partitioned by expires_at (PostgreSQL 11+).
+-- Idempotent: applied at startup by RefreshTokenPartitionManager before Hibernate's schema update,
+-- and safe to run from a migration tool. Partitions themselves are created and dropped by the manager.
+-- token_hash holds the SHA-256 of the token; the plaintext token column only carries rows written before
+-- hashing, until RefreshTokenHashBackfill clears them.
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    token_hash  BYTEA,
+    token       VARCHAR(255),
+    user_email  VARCHAR(255) NOT NULL,
+    expires_at  TIMESTAMP(6) NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    revoked     BOOLEAN      NOT NULL,
+    device_info VARCHAR(255),
+    CONSTRAINT pk_refresh_tokens PRIMARY KEY (id, expires_at),
+    CONSTRAINT uk_refresh_tokens_token_hash_expires UNIQUE (token_hash, expires_at)
+) PARTITION BY RANGE (expires_at);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_active ON refresh_tokens (user_email, revoked, created_at);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_created_at ON refresh_tokens (created_at);
@@ -0,0 +1,121 @@
+package com.midlane.project_management_tool_user_service;
+
+import com.midlane.project_management_tool_user_service.model.JobRun;
+import com.midlane.project_management_tool_user_service.model.Role;
+import com.midlane.project_management_tool_user_service.model.User;
+import com.midlane.project_management_tool_user_service.repository.JobRunRepository;
+import com.midlane.project_management_tool_user_service.repository.RoleRepository;
+import com.midlane.project_management_tool_user_service.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Persists entities through {@code saveAll} with the application's Hibernate settings and counts the
+ * JDBC statements Hibernate prepares. Sequence-backed entities must go out in batches of
+ * {@code hibernate.jdbc.batch_size} with one {@code nextval} per allocation block; IDENTITY entities
+ * cannot be batched and are shown for contrast.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batchingdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "RSA_KEY_STORE_PATH=target/test-keys",
+        "rsa.key-store-path=target/test-keys"
+})
+@DisplayName("ID generation and JDBC batching Integration Tests")
+class IdGenerationBatchingIntegrationTest {
+
+    private static final int ROWS = 1_000;
+    // hibernate.jdbc.batch_size and the allocationSize of the entity sequences
+    private static final int BATCH_SIZE = 50;
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JobRunRepository jobRunRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Should insert sequence-backed users in JDBC batches with one nextval per allocation block")
+    void saveAll_SequenceIds_InsertsInBatches() {
+        // Given
+        Role role = roleRepository.findByName(Role.USER)
+                .orElseGet(() -> roleRepository.saveAndFlush(Role.builder().name(Role.USER).build()));
+        String run = UUID.randomUUID().toString();
+        List<User> users = IntStream.range(0, ROWS)
+                .mapToObj(i -> User.builder()
+                        .email("batch-" + run + "-" + i + "@example.com")
+                        .passwordHash("hash")
+                        .role(role)
+                        .build())
+                .toList();
+        statistics.clear();
+
+        // When
+        userRepository.saveAll(users);
+
+        // Then
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        // One prepared INSERT per batch, plus the sequence calls (the pooled optimizer may fetch one extra block)
+        assertThat(statistics.getPrepareStatementCount())
+                .isLessThanOrEqualTo(ROWS / BATCH_SIZE + ROWS / ALLOCATION_SIZE + 1);
+        assertThat(users).extracting(User::getUserId).doesNotContainNull().doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Should insert IDENTITY entities one statement per row")
+    void saveAll_IdentityIds_InsertsRowByRow() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        List<JobRun> runs = IntStream.range(0, ROWS)
+                .mapToObj(i -> JobRun.builder()
+                        .jobName("batching-test")
+                        .owner("test")
+                        .fencingToken((long) i)
+                        .startedAt(now)
+                        .finishedAt(now)
+                        .durationMs(0L)
+                        .outcome("completed")
+                        .build())
+                .toList();
+        statistics.clear();
+
+        // When
+        jobRunRepository.saveAll(runs);
+
+        // Then
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).isGreaterThanOrEqualTo(ROWS);
+    }
+}
@@ -0,0 +1,147 @@
+package com.midlane.project_management_tool_user_service;
+
+import com.midlane.project_management_tool_user_service.dto.UserDTO;
+import com.midlane.project_management_tool_user_service.service.OrganizationService;
+import com.midlane.project_management_tool_user_service.service.ReactiveReadService;
+import com.midlane.project_management_tool_user_service.service.TeamService;
+import com.midlane.project_management_tool_user_service.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Load comparison of the servlet read path and the reactive bridge for user-by-id lookups. Each lookup
+ * borrows one of {@value #POOL_SIZE} "connections" and holds it for {@value #QUERY_MS} ms, like a
+ * Hikari-backed JPA query. Reports peak request threads held, peak connections in use and wall time,
+ * and fails only if the reactive path lets more lookups run than the scheduler allows. Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@Slf4j
+@DisplayName("Reactive read path load test")
+class ReactiveReadLoadTest {
+
+    private static final int REQUESTS = 2_000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int POOL_SIZE = 10;
+    private static final long QUERY_MS = 10;
+
+    private final Semaphore connectionPool = new Semaphore(POOL_SIZE);
+    private final AtomicInteger connectionsInUse = new AtomicInteger();
+    private final AtomicInteger peakConnections = new AtomicInteger();
+    private final AtomicInteger threadsHeld = new AtomicInteger();
+    private final AtomicInteger peakThreadsHeld = new AtomicInteger();
+
+    @Test
+    @DisplayName("Reactive path should keep lookups within the bounded scheduler")
+    void compareThreadAndConnectionUsage() throws Exception {
+        UserService servletUserService = mock(UserService.class);
+        when(servletUserService.getUserProfile(anyLong())).thenAnswer(inv -> query(inv.getArgument(0)));
+        // On the reactive path the only thread working for a request is the one running the lookup
+        UserService reactiveUserService = mock(UserService.class);
+        when(reactiveUserService.getUserProfile(anyLong())).thenAnswer(inv -> {
+            enter();
+            try {
+                return query(inv.getArgument(0));
+            } finally {
+                threadsHeld.decrementAndGet();
+            }
+        });
+
+        Usage servlet = servletPath(servletUserService);
+        reset();
+        Usage reactive = reactivePath(reactiveUserService);
+
+        log.info("servlet:  {}", servlet);
+        log.info("reactive: {}", reactive);
+        assertThat(reactive.peakThreads()).isLessThanOrEqualTo(POOL_SIZE);
+        assertThat(reactive.peakConnections()).isLessThanOrEqualTo(POOL_SIZE);
+    }
+
+    // Thread-per-request: every in-flight request holds a Tomcat thread, mostly waiting for a connection
+    private Usage servletPath(UserService userService) throws Exception {
+        long started = System.nanoTime();
+        try (ExecutorService tomcat = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS)) {
+            for (long i = 0; i < REQUESTS; i++) {
+                long userId = i;
+                tomcat.submit(() -> {
+                    enter();
+                    try {
+                        return userService.getUserProfile(userId);
+                    } finally {
+                        threadsHeld.decrementAndGet();
+                    }
+                });
+            }
+        }
+        return usage(started);
+    }
+
+    // Async: the request thread only subscribes; lookups queue on the bounded scheduler
+    private Usage reactivePath(UserService userService) throws Exception {
+        Scheduler scheduler = Schedulers.newBoundedElastic(POOL_SIZE, REQUESTS, "jdbc-read-load");
+        ReactiveReadService service = new ReactiveReadService(userService, mock(TeamService.class),
+                mock(OrganizationService.class), scheduler);
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+        long started = System.nanoTime();
+        try {
+            for (long i = 0; i < REQUESTS; i++) {
+                service.getUserProfile(i)
+                        .doFinally(signal -> done.countDown())
+                        .subscribe();
+            }
+            assertThat(done.await(60, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            scheduler.dispose();
+        }
+        return usage(started);
+    }
+
+    private UserDTO query(long userId) throws InterruptedException {
+        connectionPool.acquire();
+        try {
+            peakConnections.accumulateAndGet(connectionsInUse.incrementAndGet(), Math::max);
+            Thread.sleep(QUERY_MS);
+            return UserDTO.builder().userId(userId).build();
+        } finally {
+            connectionsInUse.decrementAndGet();
+            connectionPool.release();
+        }
+    }
+
+    private void enter() {
+        peakThreadsHeld.accumulateAndGet(threadsHeld.incrementAndGet(), Math::max);
+    }
+
+    private Usage usage(long started) {
+        return new Usage(peakThreadsHeld.get(), peakConnections.get(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void reset() {
+        threadsHeld.set(0);
+        peakThreadsHeld.set(0);
+        connectionsInUse.set(0);
+        peakConnections.set(0);
+    }
+
+    private record Usage(int peakThreads, int peakConnections, long elapsedMs) {
+        @Override
+        public String toString() {
+            return String.format("peak threads held=%d, peak connections=%d, elapsed=%d ms",
+                    peakThreads, peakConnections, elapsedMs);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.midlane.project_management_tool_user_service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the full application against an in-memory H2 database, so bean name clashes with Spring Boot's
+ * auto-configuration, broken startup checks and schema mismatches fail the build without a Postgres instance.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:contextdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "RSA_KEY_STORE_PATH=target/test-keys",
+        "rsa.key-store-path=target/test-keys"
+})
+@DisplayName("Application context")
+class UserServiceApplicationContextTests {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    @DisplayName("Should start with every application bean alongside the auto-configured ones")
+    void contextLoads() {
+        assertThat(applicationContext.getBean("kafkaProducerSendMetrics")).isNotNull();
+    }
+}
@@ -0,0 +1,176 @@
+package com.midlane.project_management_tool_user_service;
+
+import com.midlane.project_management_tool_user_service.model.Role;
+import com.midlane.project_management_tool_user_service.model.User;
+import com.midlane.project_management_tool_user_service.repository.RoleRepository;
+import com.midlane.project_management_tool_user_service.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Drives the real request path (filters, controllers, JPA, the Hikari pool capped at {@value #POOL_SIZE})
+ * from Tomcat's default platform pool (200 threads) and from a virtual thread per request, with
+ * {@value #CONCURRENT_CLIENTS} clients issuing a mix of profile reads and BCrypt-bound logins. It reports
+ * throughput and latency for comparison on the target hardware and only fails if requests fail, e.g. on pool
+ * timeouts. Runs against in-memory H2, so database
+ * round trips are far cheaper than in production. Excluded from the default build; run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:benchmarkdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource.hikari.maximum-pool-size=" + VirtualThreadBenchmarkTest.POOL_SIZE,
+        "auth.login-throttle.enabled=false",
+        "load-shedding.enabled=false",
+        "RSA_KEY_STORE_PATH=target/test-keys",
+        "rsa.key-store-path=target/test-keys"
+})
+@AutoConfigureMockMvc
+@Slf4j
+@DisplayName("Virtual vs platform thread request handling benchmark")
+class VirtualThreadBenchmarkTest {
+
+    static final int POOL_SIZE = 10;
+    private static final int REQUESTS = 2_000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int CONCURRENT_CLIENTS = 400;
+    private static final int LOGIN_EVERY_NTH_REQUEST = 20;
+    // Logins for one user serialize on its row lock, so spread them like real traffic
+    private static final int USERS = 20;
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Role role = roleRepository.findByName(Role.USER)
+                .orElseGet(() -> roleRepository.saveAndFlush(Role.builder().name(Role.USER).build()));
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        for (int i = 0; i < USERS; i++) {
+            String email = email(i);
+            userIds.add(userRepository.findByEmail(email).map(User::getUserId).orElseGet(() ->
+                    userRepository.saveAndFlush(User.builder()
+                            .email(email)
+                            .passwordHash(passwordHash)
+                            .role(role)
+                            .build()).getUserId()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve the request mix from both thread models within the connection pool")
+    void compareThroughputAndTailLatency() throws Exception {
+        assertThat(dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize()).isEqualTo(POOL_SIZE);
+
+        // Warm up both paths so JIT compilation does not skew the first run
+        run(Executors.newFixedThreadPool(TOMCAT_MAX_THREADS), 200);
+        run(Executors.newVirtualThreadPerTaskExecutor(), 200);
+
+        Result platform = run(Executors.newFixedThreadPool(TOMCAT_MAX_THREADS), REQUESTS);
+        Result virtual = run(Executors.newVirtualThreadPerTaskExecutor(), REQUESTS);
+
+        log.info("platform ({} threads, pool {}): {}", TOMCAT_MAX_THREADS, POOL_SIZE, platform);
+        log.info("virtual (thread per request, pool {}): {}", POOL_SIZE, virtual);
+        assertThat(platform.failures()).isZero();
+        assertThat(virtual.failures()).isZero();
+    }
+
+    private Result run(ExecutorService executor, int requests) throws Exception {
+        long started = System.nanoTime();
+        List<Future<Long>> latencies = new ArrayList<>(requests);
+        Semaphore clients = new Semaphore(CONCURRENT_CLIENTS);
+        try (executor) {
+            for (int i = 0; i < requests; i++) {
+                int user = i % USERS;
+                RequestBuilder request = i % LOGIN_EVERY_NTH_REQUEST == 0
+                        ? post("/api/auth/initial/login")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"email\":\"" + email(user) + "\",\"password\":\"" + PASSWORD + "\"}")
+                        : get("/api/auth/user/profile/{userId}", userIds.get(user));
+                clients.acquire();
+                long submitted = System.nanoTime();
+                latencies.add(executor.submit(() -> {
+                    try {
+                        int status = mockMvc.perform(request).andReturn().getResponse().getStatus();
+                        long latency = System.nanoTime() - submitted;
+                        // A negative latency marks a failed request
+                        return status == 200 ? latency : -latency;
+                    } finally {
+                        clients.release();
+                    }
+                }));
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        long[] sorted = new long[requests];
+        int failures = 0;
+        for (int i = 0; i < requests; i++) {
+            long latency = latencies.get(i).get();
+            if (latency < 0) {
+                failures++;
+            }
+            sorted[i] = Math.abs(latency);
+        }
+        Arrays.sort(sorted);
+        return new Result(requests / elapsedSeconds,
+                sorted[requests / 2] / 1_000_000.0,
+                sorted[(int) (requests * 0.99) - 1] / 1_000_000.0,
+                failures);
+    }
+
+    private static String email(int user) {
+        return "bench-" + user + "@example.com";
+    }
+
+    private record Result(double throughput, double p50Ms, double p99Ms, int failures) {
+        @Override
+        public String toString() {
+            return String.format("%.0f req/s, p50=%.1f ms, p99=%.1f ms, failed=%d", throughput, p50Ms, p99Ms, failures);
+        }
+    }
+}
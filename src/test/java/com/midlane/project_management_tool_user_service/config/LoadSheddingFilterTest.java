@@ -0,0 +1,139 @@
+package com.midlane.project_management_tool_user_service.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midlane.project_management_tool_user_service.util.AdaptiveConcurrencyLimit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LoadSheddingFilter Tests")
+class LoadSheddingFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoadSheddingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new LoadSheddingFilter(meterRegistry, new ObjectMapper());
+        ReflectionTestUtils.setField(filter, "retryAfterSeconds", 2);
+        ReflectionTestUtils.setField(filter, "authInitialLimit", 1);
+        ReflectionTestUtils.setField(filter, "authMinLimit", 1);
+        ReflectionTestUtils.setField(filter, "authMaxLimit", 10);
+        ReflectionTestUtils.setField(filter, "readInitialLimit", 10);
+        ReflectionTestUtils.setField(filter, "readMinLimit", 1);
+        ReflectionTestUtils.setField(filter, "readMaxLimit", 100);
+        ReflectionTestUtils.setField(filter, "writeInitialLimit", 10);
+        ReflectionTestUtils.setField(filter, "writeMinLimit", 1);
+        ReflectionTestUtils.setField(filter, "writeMaxLimit", 100);
+        filter.init();
+    }
+
+    @Test
+    @DisplayName("Should shed auth requests over the limit with 503 and Retry-After while reads keep flowing")
+    void doFilter_AuthLimitReached_ShedsOnlyAuth() throws Exception {
+        // Given - one login already in flight fills the auth limit
+        assertThat(filter.limitFor(LoadSheddingFilter.EndpointClass.AUTH).tryAcquire()).isTrue();
+
+        // When
+        MockHttpServletResponse login = execute("POST", "/api/auth/initial/login");
+        MockHttpServletResponse read = execute("GET", "/api/users/teams/1/members");
+
+        // Then
+        assertThat(login.getStatus()).isEqualTo(503);
+        assertThat(login.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(login.getContentAsString()).contains("OVERLOADED");
+        assertThat(read.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("http.server.concurrency.rejected").tag("class", "auth").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("http.server.concurrency.inflight").tag("class", "read").gauge().value())
+                .isEqualTo(0.0);
+    }
+
+    @Test
+    @DisplayName("Should classify requests into auth, read and write endpoint classes")
+    void classify_SplitsByPathAndMethod() {
+        assertThat(filter.classify(new MockHttpServletRequest("POST", "/api/auth/initial/social/login")))
+                .isEqualTo(LoadSheddingFilter.EndpointClass.AUTH);
+        assertThat(filter.classify(new MockHttpServletRequest("GET", "/api/auth/user/profile/1")))
+                .isEqualTo(LoadSheddingFilter.EndpointClass.READ);
+        assertThat(filter.classify(new MockHttpServletRequest("PUT", "/api/users/teams/1")))
+                .isEqualTo(LoadSheddingFilter.EndpointClass.WRITE);
+    }
+
+    @Test
+    @DisplayName("Should not count actuator requests against any limit")
+    void shouldNotFilter_Actuator() {
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/actuator/health"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should leave long-running streaming endpoints out of the limits and their latency samples")
+    void shouldNotFilter_StreamingEndpoints() {
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("POST", "/api/auth/admin/users/import"))).isTrue();
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/users/changes/snapshot"))).isTrue();
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/users/changes"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should grow the limit while latency stays at baseline and shrink it when latency rises")
+    void adaptiveLimit_FollowsLatency() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 100);
+
+        // When - saturated at baseline latency
+        for (int i = 0; i < 50; i++) {
+            saturateAndRelease(limit, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        int grown = limit.getLimit();
+
+        // And then latency quadruples (a single saturated round, before the baseline catches up)
+        saturateAndRelease(limit, TimeUnit.MILLISECONDS.toNanos(40));
+
+        // Then
+        assertThat(grown).isGreaterThan(10);
+        assertThat(limit.getLimit()).isLessThan(grown);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should back off on dropped requests but never below the minimum")
+    void adaptiveLimit_Drops_BackOffToMinimum() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 3, 100);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+            limit.release(TimeUnit.MILLISECONDS.toNanos(10), true);
+        }
+
+        // Then
+        assertThat(limit.getLimit()).isEqualTo(3);
+    }
+
+    private void saturateAndRelease(AdaptiveConcurrencyLimit limit, long rttNanos) {
+        int admitted = 0;
+        while (limit.tryAcquire()) {
+            admitted++;
+        }
+        for (int i = 0; i < admitted; i++) {
+            limit.release(rttNanos, false);
+        }
+    }
+
+    private MockHttpServletResponse execute(String method, String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,123 @@
+package com.midlane.project_management_tool_user_service.config;
+
+import com.midlane.project_management_tool_user_service.exception.OutboundCallRejectedException;
+import com.midlane.project_management_tool_user_service.util.CircuitBreaker;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("OutboundHttpInterceptor Tests")
+class OutboundHttpInterceptorTest {
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile int status = 200;
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch slowArrived = new CountDownLatch(1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboundHttpInterceptor interceptor;
+    private RestTemplate restTemplate;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Local stand-in for a social provider
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/userinfo", exchange -> {
+            requests.incrementAndGet();
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            slowArrived.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new OutboundHttpInterceptor(meterRegistry, 1, 50, 3, 60_000);
+        restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(interceptor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should record latency per host and outcome for successful calls")
+    void intercept_Success_RecordsTimer() {
+        // When
+        restTemplate.getForEntity(baseUrl + "/userinfo", String.class);
+
+        // Then
+        assertThat(meterRegistry.get("http.client.outbound.requests")
+                .tag("host", "127.0.0.1").tag("outcome", "SUCCESS").timer().count()).isEqualTo(1);
+        assertThat(interceptor.circuitState("127.0.0.1")).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should open the circuit after consecutive server errors and short-circuit further calls")
+    void intercept_RepeatedServerErrors_OpensCircuit() {
+        // Given
+        status = 503;
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> restTemplate.getForEntity(baseUrl + "/userinfo", String.class))
+                    .isInstanceOf(HttpServerErrorException.class);
+        }
+
+        // When / Then
+        assertThatThrownBy(() -> restTemplate.getForEntity(baseUrl + "/userinfo", String.class))
+                .isInstanceOf(OutboundCallRejectedException.class)
+                .hasMessageContaining("Circuit open");
+        assertThat(requests.get()).isEqualTo(3);
+        assertThat(interceptor.circuitState("127.0.0.1")).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(meterRegistry.get("http.client.outbound.rejected")
+                .tag("reason", "circuit_open").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reject calls once the host's bulkhead is full")
+    void intercept_BulkheadFull_RejectsCall() throws Exception {
+        // Given - one call parked on the slow endpoint holds the only permit
+        CompletableFuture<?> slowCall = CompletableFuture.runAsync(
+                () -> restTemplate.getForEntity(baseUrl + "/slow", String.class));
+        assertThat(slowArrived.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When / Then
+        assertThatThrownBy(() -> restTemplate.getForEntity(baseUrl + "/userinfo", String.class))
+                .isInstanceOf(OutboundCallRejectedException.class)
+                .hasMessageContaining("Too many concurrent calls");
+        assertThat(meterRegistry.get("http.client.outbound.active").gauge().value()).isEqualTo(1.0);
+
+        release.countDown();
+        slowCall.get(5, TimeUnit.SECONDS);
+        assertThat(meterRegistry.get("http.client.outbound.active").gauge().value()).isEqualTo(0.0);
+    }
+}
@@ -0,0 +1,86 @@
+package com.midlane.project_management_tool_user_service.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("BoundedPasswordEncoder Tests")
+class BoundedPasswordEncoderTest {
+
+    @Test
+    @DisplayName("Should never run more hashes at once than the configured limit")
+    void matches_ManyConcurrentCallers_LimitsConcurrency() throws Exception {
+        // Given
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(20);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slowEncoder(running, maxRunning), 2);
+
+        // When
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                encoder.matches("password", "hash");
+                done.countDown();
+            }));
+        }
+
+        // Then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isEqualTo(2);
+        assertThat(encoder.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should release the permit when the delegate throws")
+    void encode_DelegateThrows_ReleasesPermit() {
+        // Given
+        PasswordEncoder failing = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                throw new IllegalArgumentException("bad input");
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(failing, 1);
+
+        // When / Then
+        assertThatThrownBy(() -> encoder.encode("password")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(encoder.availablePermits()).isEqualTo(1);
+    }
+
+    private PasswordEncoder slowEncoder(AtomicInteger running, AtomicInteger maxRunning) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                int now = running.incrementAndGet();
+                maxRunning.accumulateAndGet(now, Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                }
+                return true;
+            }
+        };
+    }
+}
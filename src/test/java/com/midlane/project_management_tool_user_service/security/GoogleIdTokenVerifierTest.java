@@ -0,0 +1,201 @@
+package com.midlane.project_management_tool_user_service.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("GoogleIdTokenVerifier Tests")
+class GoogleIdTokenVerifierTest {
+
+    private static final String CLIENT_ID = "test-google-client-id";
+
+    private HttpServer server;
+    private final AtomicInteger jwksFetches = new AtomicInteger();
+    private volatile String jwksBody;
+    private volatile String cacheControl = "public, max-age=3600";
+
+    private KeyPair currentKey;
+    private GoogleIdTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        currentKey = generateKeyPair();
+        jwksBody = jwks("key-1", currentKey);
+
+        // Local stand-in for Google's JWKS endpoint
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/oauth2/v3/certs", exchange -> {
+            jwksFetches.incrementAndGet();
+            byte[] body = jwksBody.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Cache-Control", cacheControl);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        verifier = new GoogleIdTokenVerifier(new RestTemplate(), new ObjectMapper());
+        ReflectionTestUtils.setField(verifier, "googleClientId", CLIENT_ID);
+        ReflectionTestUtils.setField(verifier, "jwksUri",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/oauth2/v3/certs");
+        ReflectionTestUtils.setField(verifier, "issuers", List.of("accounts.google.com", "https://accounts.google.com"));
+        ReflectionTestUtils.setField(verifier, "clockSkewSeconds", 0L);
+        ReflectionTestUtils.setField(verifier, "defaultMaxAgeSeconds", 3600L);
+        ReflectionTestUtils.setField(verifier, "refreshAheadSeconds", 300L);
+        ReflectionTestUtils.setField(verifier, "minRefreshIntervalSeconds", 0L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should verify a valid token and reuse the cached keys")
+    void verify_ValidToken_FetchesKeysOnce() {
+        // Given
+        String token = token("key-1", currentKey, "https://accounts.google.com", CLIENT_ID, 600);
+
+        // When
+        Claims first = verifier.verify(token);
+        Claims second = verifier.verify(token);
+
+        // Then
+        assertThat(first.getSubject()).isEqualTo("google123");
+        assertThat(first.get("email", String.class)).isEqualTo("test@gmail.com");
+        assertThat(second.getSubject()).isEqualTo("google123");
+        assertThat(jwksFetches.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject tokens with wrong audience, wrong issuer or past expiry")
+    void verify_InvalidClaims_Rejected() {
+        assertThatThrownBy(() -> verifier.verify(token("key-1", currentKey, "accounts.google.com", "other-client", 600)))
+                .hasMessageContaining("ID token audience does not match client ID");
+        assertThatThrownBy(() -> verifier.verify(token("key-1", currentKey, "https://evil.example.com", CLIENT_ID, 600)))
+                .hasMessageContaining("ID token issuer is not Google");
+        assertThatThrownBy(() -> verifier.verify(token("key-1", currentKey, "accounts.google.com", CLIENT_ID, -60)))
+                .isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed by a key other than the published one")
+    void verify_ForgedSignature_Rejected() throws Exception {
+        // Given
+        KeyPair attackerKey = generateKeyPair();
+        String forged = token("key-1", attackerKey, "accounts.google.com", CLIENT_ID, 600);
+
+        // When / Then
+        assertThatThrownBy(() -> verifier.verify(forged)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    @DisplayName("Should refetch keys when a token uses an unknown key id after rotation")
+    void verify_KeyRotation_RefreshesOnUnknownKid() throws Exception {
+        // Given
+        verifier.verify(token("key-1", currentKey, "accounts.google.com", CLIENT_ID, 600));
+        KeyPair rotated = generateKeyPair();
+        jwksBody = jwks("key-2", rotated);
+
+        // When
+        Claims claims = verifier.verify(token("key-2", rotated, "accounts.google.com", CLIENT_ID, 600));
+
+        // Then
+        assertThat(claims.getSubject()).isEqualTo("google123");
+        assertThat(jwksFetches.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should rate-limit forced refreshes for unknown key ids")
+    void verify_UnknownKid_RateLimited() {
+        // Given
+        ReflectionTestUtils.setField(verifier, "minRefreshIntervalSeconds", 60L);
+        verifier.verify(token("key-1", currentKey, "accounts.google.com", CLIENT_ID, 600));
+
+        // When / Then
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> verifier.verify(token("key-9", currentKey, "accounts.google.com", CLIENT_ID, 600)))
+                    .hasMessageContaining("unknown key");
+        }
+        assertThat(jwksFetches.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should refresh ahead of expiry using the Cache-Control max-age")
+    void refreshIfExpiring_NearExpiry_Refetches() {
+        // Given - keys valid for less than the refresh-ahead window
+        cacheControl = "public, max-age=120";
+        verifier.verify(token("key-1", currentKey, "accounts.google.com", CLIENT_ID, 600));
+
+        // When
+        verifier.refreshIfExpiring();
+
+        // Then
+        assertThat(jwksFetches.get()).isEqualTo(2);
+    }
+
+    private static String token(String kid, KeyPair keyPair, String issuer, String audience, long expiresInSeconds) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setHeaderParam("kid", kid)
+                .setIssuer(issuer)
+                .setAudience(audience)
+                .setSubject("google123")
+                .claim("email", "test@gmail.com")
+                .claim("email_verified", true)
+                .setIssuedAt(new Date(now - 1000))
+                .setExpiration(new Date(now + expiresInSeconds * 1000))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    private static String jwks(String kid, KeyPair keyPair) {
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        return "{\"keys\":[{\"kty\":\"RSA\",\"alg\":\"RS256\",\"use\":\"sig\",\"kid\":\"" + kid + "\","
+                + "\"n\":\"" + base64Url(publicKey.getModulus()) + "\","
+                + "\"e\":\"" + base64Url(publicKey.getPublicExponent()) + "\"}]}";
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes[0] == 0 && bytes.length > 1) {
+            byte[] trimmed = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, trimmed, 0, trimmed.length);
+            bytes = trimmed;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static KeyPair generateKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+}
@@ -0,0 +1,300 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midlane.project_management_tool_user_service.config.JacksonConfig;
+import com.midlane.project_management_tool_user_service.dto.BulkUserImportResult;
+import com.midlane.project_management_tool_user_service.dto.UserSummaryResponse;
+import com.midlane.project_management_tool_user_service.model.Role;
+import com.midlane.project_management_tool_user_service.model.User;
+import com.midlane.project_management_tool_user_service.repository.OrganizationRepository;
+import com.midlane.project_management_tool_user_service.repository.RoleRepository;
+import com.midlane.project_management_tool_user_service.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BulkUserImportService Unit Tests")
+class BulkUserImportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private OrganizationRepository organizationRepository;
+
+    @Mock
+    private MembershipChangeService membershipChangeService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private TeamEventProducerService teamEventProducerService;
+
+    @Mock
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private final AtomicLong nextUserId = new AtomicLong(100);
+
+    private SimpleMeterRegistry meterRegistry;
+    private BulkUserImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        importService = new BulkUserImportService(userRepository, roleRepository, organizationRepository,
+                membershipChangeService, notificationService, teamEventProducerService, registeredEmailFilter,
+                passwordEncoder, transactionManager, entityManager, objectMapper, meterRegistry);
+        ReflectionTestUtils.setField(importService, "chunkSize", 500);
+        ReflectionTestUtils.setField(importService, "hashThreads", 2);
+        ReflectionTestUtils.setField(importService, "minPasswordLength", 8);
+        importService.init();
+
+        lenient().when(roleRepository.findByName(Role.USER)).thenReturn(Optional.of(Role.builder().id(1L).name(Role.USER).build()));
+        lenient().when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hashed:" + invocation.getArgument(0));
+        lenient().when(userRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            users.forEach(user -> user.setUserId(nextUserId.getAndIncrement()));
+            return users;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should create valid CSV rows and report invalid, repeated and registered emails in input order")
+    void importUsers_Csv_ReportsEveryRow() throws Exception {
+        // Given
+        String csv = "email,password,first_name,last_name,department\n"
+                + "alice@example.com,password-1,Alice,Smith,\"Research, Lab\"\n"
+                + "not-an-email,password-2,Bob,,\n"
+                + "\n"
+                + "taken@example.com,password-3,Carol,,\n"
+                + "ALICE@example.com,password-4,Alice,Again,\n"
+                + "dave@example.com,short,Dave,,\n"
+                + "erin@example.com,password-5,Erin,Jones,\n";
+        when(userRepository.findExistingEmails(anyList())).thenReturn(List.of("taken@example.com"));
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BulkUserImportResult summary = importService.importUsers(stream(csv), BulkUserImportService.Format.CSV,
+                null, true, out);
+
+        // Then
+        List<JsonNode> lines = lines(out);
+        assertThat(lines).hasSize(7);
+        assertThat(lines.subList(0, 6)).extracting(line -> line.get("line").asLong())
+                .containsExactly(2L, 3L, 5L, 6L, 7L, 8L);
+        assertThat(lines.subList(0, 6)).extracting(line -> line.get("status").asText())
+                .containsExactly("CREATED", "INVALID", "DUPLICATE", "DUPLICATE", "INVALID", "CREATED");
+        assertThat(lines.get(0).get("user_id").asLong()).isEqualTo(100L);
+        assertThat(lines.get(5).get("user_id").asLong()).isEqualTo(101L);
+        assertThat(lines.get(6).get("type").asText()).isEqualTo("SUMMARY");
+        assertThat(summary.getCreated()).isEqualTo(2);
+        assertThat(summary.getDuplicates()).isEqualTo(2);
+        assertThat(summary.getInvalid()).isEqualTo(2);
+        assertThat(summary.getFailed()).isZero();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<User>> saved = ArgumentCaptor.forClass(List.class);
+        verify(userRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(User::getEmail).containsExactly("alice@example.com", "erin@example.com");
+        assertThat(saved.getValue().get(0).getPasswordHash()).isEqualTo("hashed:password-1");
+        assertThat(saved.getValue().get(0).getDepartment()).isEqualTo("Research, Lab");
+        verify(passwordEncoder, times(2)).encode(anyString());
+        verify(notificationService, times(2)).sendWelcomeNotification(anyString(), anyString(), anyString(), eq(Role.USER));
+        verify(entityManager).clear();
+        verify(registeredEmailFilter).add("alice@example.com");
+        verify(registeredEmailFilter).add("erin@example.com");
+        verify(teamEventProducerService).publishUserRegisteredEvents(argThat(users -> users.size() == 2));
+        verifyNoInteractions(organizationRepository, membershipChangeService);
+        assertThat(meterRegistry.get("users.import.rows").tag("status", "created").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should process NDJSON in chunks and add every created user to the organization")
+    void importUsers_NdjsonChunks_AddsOrganizationMembers() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+        String ndjson = "{\"email\":\"a@example.com\",\"password\":\"password-a\",\"first_name\":\"A\"}\n"
+                + "{\"email\":\"b@example.com\",\"password\":\"password-b\"}\n"
+                + "{not json\n"
+                + "{\"email\":\"c@example.com\",\"password\":\"password-c\"}\n";
+        when(userRepository.findExistingEmails(anyList())).thenReturn(List.of());
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BulkUserImportResult summary = importService.importUsers(stream(ndjson), BulkUserImportService.Format.NDJSON,
+                42L, false, out);
+
+        // Then
+        assertThat(summary.getCreated()).isEqualTo(3);
+        assertThat(summary.getInvalid()).isEqualTo(1);
+        List<JsonNode> lines = lines(out);
+        assertThat(lines.get(2).get("error").asText()).startsWith("Malformed JSON");
+
+        verify(userRepository, times(2)).saveAll(anyList());
+        verify(organizationRepository).addMembers(42L, List.of(100L, 101L));
+        verify(organizationRepository).addMembers(42L, List.of(102L));
+        verify(membershipChangeService).recordOrganizationMembersAdded(42L, List.of(100L, 101L));
+        verify(membershipChangeService).recordOrganizationMembersAdded(42L, List.of(102L));
+        verify(teamEventProducerService, times(2)).publishUserRegisteredEvents(anyList());
+        verify(entityManager, times(2)).clear();
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    @DisplayName("Should report null, array and bare-value NDJSON lines as invalid rows and finish the stream")
+    void importUsers_NdjsonNonObjectLines_ReportedAsInvalid() throws Exception {
+        // Given
+        String ndjson = "null\n"
+                + "[1,2]\n"
+                + "\"a@example.com\"\n"
+                + "{\"email\":\"d@example.com\",\"password\":\"password-d\"}\n";
+        when(userRepository.findExistingEmails(anyList())).thenReturn(List.of());
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BulkUserImportResult summary = importService.importUsers(stream(ndjson), BulkUserImportService.Format.NDJSON,
+                null, false, out);
+
+        // Then
+        assertThat(summary.getInvalid()).isEqualTo(3);
+        assertThat(summary.getCreated()).isEqualTo(1);
+        List<JsonNode> lines = lines(out);
+        assertThat(lines).hasSize(5);
+        for (JsonNode line : lines.subList(0, 3)) {
+            assertThat(line.get("status").asText()).isEqualTo("INVALID");
+            assertThat(line.get("error").asText()).isEqualTo("Each line must be a JSON object");
+        }
+        assertThat(lines.get(3).get("status").asText()).isEqualTo("CREATED");
+        assertThat(lines.get(4).get("type").asText()).isEqualTo("SUMMARY");
+    }
+
+    @Test
+    @DisplayName("Should retry a chunk without an email registered concurrently after the existence check")
+    void importUsers_ConcurrentRegistration_RetriesWithoutConflict() throws Exception {
+        // Given
+        String csv = "email,password\nfirst@example.com,password-1\nraced@example.com,password-2\n";
+        when(userRepository.findExistingEmails(anyList()))
+                .thenReturn(List.of())
+                .thenReturn(List.of("raced@example.com"));
+        List<Integer> attemptSizes = new ArrayList<>();
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            attemptSizes.add(users.size());
+            if (attemptSizes.size() == 1) {
+                throw new DataIntegrityViolationException("duplicate key value violates unique constraint");
+            }
+            users.forEach(user -> user.setUserId(nextUserId.getAndIncrement()));
+            return users;
+        });
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BulkUserImportResult summary = importService.importUsers(stream(csv), BulkUserImportService.Format.CSV,
+                null, false, out);
+
+        // Then
+        assertThat(attemptSizes).containsExactly(2, 1);
+        assertThat(summary.getCreated()).isEqualTo(1);
+        assertThat(summary.getDuplicates()).isEqualTo(1);
+        List<JsonNode> lines = lines(out);
+        assertThat(lines.get(0).get("status").asText()).isEqualTo("CREATED");
+        assertThat(lines.get(1).get("status").asText()).isEqualTo("DUPLICATE");
+        // Passwords are hashed once, not again for the retry
+        verify(passwordEncoder, times(2)).encode(anyString());
+        verify(teamEventProducerService).publishUserRegisteredEvents(
+                List.of(new UserSummaryResponse(100L, "first@example.com", null, null, null)));
+    }
+
+    @Test
+    @DisplayName("Should report rows as failed and keep going when a chunk cannot be written")
+    void importUsers_WriteFails_ReportsFailedRows() throws Exception {
+        // Given
+        String csv = "email,password\nx@example.com,password-1\n";
+        when(userRepository.findExistingEmails(anyList())).thenReturn(List.of());
+        when(userRepository.saveAll(anyList())).thenThrow(new IllegalStateException("connection reset"));
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BulkUserImportResult summary = importService.importUsers(stream(csv), BulkUserImportService.Format.CSV,
+                null, true, out);
+
+        // Then
+        assertThat(summary.getFailed()).isEqualTo(1);
+        assertThat(lines(out).get(0).get("error").asText()).isEqualTo("Could not be saved");
+        verifyNoInteractions(teamEventProducerService, registeredEmailFilter);
+    }
+
+    @Test
+    @DisplayName("Should split quoted CSV fields and reject an unterminated quote")
+    void splitCsv_HandlesQuotes() {
+        assertThat(BulkUserImportService.splitCsv("a,\"b,c\",\"say \"\"hi\"\"\",")).containsExactly("a", "b,c", "say \"hi\"", "");
+        assertThat(BulkUserImportService.splitCsv("a,\"open")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should pick the format from the content type and reject anything else")
+    void format_FromContentType() {
+        assertThat(BulkUserImportService.Format.fromContentType("text/csv; charset=UTF-8"))
+                .isEqualTo(BulkUserImportService.Format.CSV);
+        assertThat(BulkUserImportService.Format.fromContentType("application/x-ndjson"))
+                .isEqualTo(BulkUserImportService.Format.NDJSON);
+        assertThatThrownBy(() -> BulkUserImportService.Format.fromContentType("application/json"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<JsonNode> lines(ByteArrayOutputStream out) throws Exception {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
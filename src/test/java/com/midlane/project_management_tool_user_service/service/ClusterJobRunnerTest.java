@@ -0,0 +1,166 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.model.JobRun;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClusterJobRunner Tests")
+class ClusterJobRunnerTest {
+
+    private static final String JOB = "test-job";
+
+    @Mock
+    private JobLeaseService jobLeaseService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ClusterJobRunner jobRunner;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jobRunner = new ClusterJobRunner(jobLeaseService, transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(jobRunner, "leaseTtlMs", 30000L);
+        ReflectionTestUtils.setField(jobRunner, "heartbeatIntervalMs", 10000L);
+        ReflectionTestUtils.setField(jobRunner, "historyRetentionDays", 30);
+        jobRunner.init();
+        lenient().when(jobLeaseService.getInstanceId()).thenReturn("node-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobRunner.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should skip the job while another instance holds the lease")
+    void run_LeaseHeld_Skips() {
+        // Given
+        when(jobLeaseService.tryAcquire(JOB, Duration.ofMillis(30000))).thenReturn(OptionalLong.empty());
+
+        // When
+        boolean ran = jobRunner.run(JOB, execution -> {
+            throw new AssertionError("must not run");
+        });
+
+        // Then
+        assertThat(ran).isFalse();
+        verify(jobLeaseService, never()).recordRun(any());
+        verify(jobLeaseService, never()).release(anyString(), anyLong());
+        assertThat(meterRegistry.get("jobs.runs").tags("job", JOB, "outcome", "lease_held").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should run the job, record its history and release the lease with its fencing token")
+    void run_Completes_RecordsRunAndReleases() {
+        // Given
+        when(jobLeaseService.tryAcquire(eq(JOB), any(Duration.class))).thenReturn(OptionalLong.of(7L));
+        when(jobLeaseService.holds(JOB, 7L)).thenReturn(true);
+
+        // When
+        boolean ran = jobRunner.run(JOB, execution -> {
+            assertThat(execution.getFencingToken()).isEqualTo(7L);
+            assertThat(execution.inTransaction(() -> 42)).isEqualTo(42);
+            return "completed";
+        });
+
+        // Then
+        assertThat(ran).isTrue();
+        ArgumentCaptor<JobRun> run = ArgumentCaptor.forClass(JobRun.class);
+        verify(jobLeaseService).recordRun(run.capture());
+        assertThat(run.getValue().getOutcome()).isEqualTo("completed");
+        assertThat(run.getValue().getFencingToken()).isEqualTo(7L);
+        assertThat(run.getValue().getOwner()).isEqualTo("node-1");
+        assertThat(run.getValue().getFinishedAt()).isAfterOrEqualTo(run.getValue().getStartedAt());
+        verify(jobLeaseService).release(JOB, 7L);
+        assertThat(meterRegistry.get("jobs.run.duration").tags("job", JOB, "outcome", "completed").timer().count())
+                .isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should record a failing job and still release the lease")
+    void run_JobFails_RecordsFailure() {
+        // Given
+        when(jobLeaseService.tryAcquire(eq(JOB), any(Duration.class))).thenReturn(OptionalLong.of(3L));
+
+        // When
+        boolean ran = jobRunner.run(JOB, execution -> {
+            throw new RuntimeException("canceling statement due to lock timeout");
+        });
+
+        // Then
+        assertThat(ran).isTrue();
+        ArgumentCaptor<JobRun> run = ArgumentCaptor.forClass(JobRun.class);
+        verify(jobLeaseService).recordRun(run.capture());
+        assertThat(run.getValue().getOutcome()).isEqualTo("failed");
+        assertThat(run.getValue().getDetail()).contains("lock timeout");
+        verify(jobLeaseService).release(JOB, 3L);
+    }
+
+    @Test
+    @DisplayName("Should refuse work once the fencing check finds the lease taken over")
+    void inTransaction_Fenced_StopsWork() {
+        // Given
+        when(jobLeaseService.tryAcquire(eq(JOB), any(Duration.class))).thenReturn(OptionalLong.of(5L));
+        when(jobLeaseService.holds(JOB, 5L)).thenReturn(false);
+
+        // When
+        jobRunner.run(JOB, execution -> {
+            execution.inTransaction(() -> {
+                throw new AssertionError("must not run after losing the lease");
+            });
+            return "completed";
+        });
+
+        // Then
+        ArgumentCaptor<JobRun> run = ArgumentCaptor.forClass(JobRun.class);
+        verify(jobLeaseService).recordRun(run.capture());
+        assertThat(run.getValue().getOutcome()).isEqualTo("lease_lost");
+        verify(jobLeaseService, never()).release(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should extend the lease while the job runs and flag it once a heartbeat fails")
+    void run_HeartbeatLost_FlagsExecution() {
+        // Given
+        ReflectionTestUtils.setField(jobRunner, "heartbeatIntervalMs", 20L);
+        when(jobLeaseService.tryAcquire(eq(JOB), any(Duration.class))).thenReturn(OptionalLong.of(9L));
+        when(jobLeaseService.heartbeat(eq(JOB), eq(9L), any(Duration.class))).thenReturn(true, false);
+
+        // When
+        jobRunner.run(JOB, execution -> {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (execution.isLeaseHeld() && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            return "completed";
+        });
+
+        // Then
+        verify(jobLeaseService, atLeast(2)).heartbeat(eq(JOB), eq(9L), eq(Duration.ofMillis(30000)));
+        ArgumentCaptor<JobRun> run = ArgumentCaptor.forClass(JobRun.class);
+        verify(jobLeaseService).recordRun(run.capture());
+        assertThat(run.getValue().getOutcome()).isEqualTo("lease_lost");
+    }
+}
@@ -0,0 +1,129 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.model.JobLease;
+import com.midlane.project_management_tool_user_service.model.JobRun;
+import com.midlane.project_management_tool_user_service.model.MembershipChange;
+import com.midlane.project_management_tool_user_service.model.NotificationOutbox;
+import com.midlane.project_management_tool_user_service.model.Organization;
+import com.midlane.project_management_tool_user_service.model.RefreshToken;
+import com.midlane.project_management_tool_user_service.model.Role;
+import com.midlane.project_management_tool_user_service.model.Team;
+import com.midlane.project_management_tool_user_service.model.User;
+import com.midlane.project_management_tool_user_service.service.HotQueryPlanValidator.HotQuery;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("HotQueryPlanValidator Tests")
+class HotQueryPlanValidatorTest {
+
+    private static final List<HotQuery> QUERIES = List.of(
+            new HotQuery("widgets by owner", "SELECT id FROM widgets WHERE owner_id = ?", false, 1L),
+            new HotQuery("widgets by label", "SELECT id FROM widgets WHERE LOWER(label) = ?", true, "x"));
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private HotQueryPlanValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:plans_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE widgets (id BIGINT PRIMARY KEY, owner_id BIGINT, label VARCHAR(50))");
+        validator = new HotQueryPlanValidator(dataSource);
+        ReflectionTestUtils.setField(validator, "enabled", false);
+        validator.init();
+    }
+
+    @Test
+    @DisplayName("Should report a hot query that can only be answered by a table scan")
+    void findFullScans_NoIndex_Reported() {
+        // When
+        List<String> offenders = validator.findFullScans(QUERIES);
+
+        // Then
+        assertThat(offenders).hasSize(1);
+        assertThat(offenders.get(0)).startsWith("widgets by owner").contains("tableScan");
+    }
+
+    @Test
+    @DisplayName("Should pass once an index serves the query and skip PostgreSQL-only queries elsewhere")
+    void findFullScans_Indexed_Passes() {
+        // Given
+        jdbcTemplate.execute("CREATE INDEX idx_widgets_owner_id ON widgets (owner_id)");
+
+        // When & Then
+        assertThat(validator.findFullScans(QUERIES)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should fail startup when the real hot queries cannot be planned on an index")
+    void init_MissingSchema_FailsStartup() {
+        // Given
+        ReflectionTestUtils.setField(validator, "enabled", true);
+        ReflectionTestUtils.setField(validator, "failOnSeqScan", true);
+
+        // When & Then
+        assertThatThrownBy(() -> validator.init())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("refresh tokens by hash");
+    }
+
+    @Test
+    @DisplayName("Should plan every real hot query on an index of the entity schema plus the migrations")
+    void findFullScans_EntitySchemaWithMigrations_NoOffenders() {
+        // Given - the tables as Hibernate creates them at startup, then the shared migration scripts
+        try (SessionFactory ignored = entitySchema()) {
+            SchemaMigrationRunner runner = new SchemaMigrationRunner(dataSource);
+            ReflectionTestUtils.setField(runner, "enabled", true);
+            ReflectionTestUtils.setField(runner, "location", "db/migration");
+            runner.init();
+
+            // When & Then
+            assertThat(validator.findFullScans(HotQueryPlanValidator.HOT_QUERIES)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should recognise full scans in PostgreSQL and H2 plans")
+    void isFullScan_BothDialects() {
+        assertThat(HotQueryPlanValidator.isFullScan("Seq Scan on team_members  (cost=10000000000.00..)")).isTrue();
+        assertThat(HotQueryPlanValidator.isFullScan("Index Scan using idx_team_members_user_id on team_members"))
+                .isFalse();
+        assertThat(HotQueryPlanValidator.isFullScan("FROM \"PUBLIC\".\"WIDGETS\" /* PUBLIC.WIDGETS.tableScan */"))
+                .isTrue();
+    }
+
+    // Same naming strategies Spring Boot applies, so column names match the running service
+    private SessionFactory entitySchema() {
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Role.class)
+                .addAnnotatedClass(Organization.class)
+                .addAnnotatedClass(Team.class)
+                .addAnnotatedClass(RefreshToken.class)
+                .addAnnotatedClass(MembershipChange.class)
+                .addAnnotatedClass(NotificationOutbox.class)
+                .addAnnotatedClass(JobLease.class)
+                .addAnnotatedClass(JobRun.class);
+        configuration.setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy());
+        configuration.setImplicitNamingStrategy(new SpringImplicitNamingStrategy());
+        configuration.getProperties().put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource);
+        configuration.setProperty(AvailableSettings.HBM2DDL_AUTO, "create");
+        return configuration.buildSessionFactory();
+    }
+}
@@ -0,0 +1,98 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.model.JobLease;
+import com.midlane.project_management_tool_user_service.repository.JobLeaseRepository;
+import com.midlane.project_management_tool_user_service.repository.JobRunRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JobLeaseService Tests")
+class JobLeaseServiceTest {
+
+    private static final String JOB = "test-job";
+    private static final Duration TTL = Duration.ofSeconds(30);
+    // Far from this JVM's clock, so any use of LocalDateTime.now() would show up
+    private static final LocalDateTime DB_NOW = LocalDateTime.of(2001, 1, 1, 12, 0);
+
+    @Mock
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Mock
+    private JobRunRepository jobRunRepository;
+
+    private JobLeaseService jobLeaseService;
+
+    @BeforeEach
+    void setUp() {
+        jobLeaseService = new JobLeaseService(jobLeaseRepository, jobRunRepository);
+        when(jobLeaseRepository.currentTime()).thenReturn(DB_NOW);
+    }
+
+    @Test
+    @DisplayName("Should acquire and time the lease by the database clock")
+    void tryAcquire_UsesDatabaseTime() {
+        // Given
+        String owner = jobLeaseService.getInstanceId();
+        when(jobLeaseRepository.tryAcquire(JOB, owner, DB_NOW.plus(TTL), DB_NOW)).thenReturn(1);
+        when(jobLeaseRepository.findFencingToken(JOB, owner)).thenReturn(Optional.of(4L));
+
+        // When & Then
+        assertThat(jobLeaseService.tryAcquire(JOB, TTL)).hasValue(4L);
+    }
+
+    @Test
+    @DisplayName("Should extend the lease from the database clock")
+    void heartbeat_UsesDatabaseTime() {
+        // Given
+        String owner = jobLeaseService.getInstanceId();
+        when(jobLeaseRepository.heartbeat(JOB, owner, 4L, DB_NOW.plus(TTL), DB_NOW)).thenReturn(1);
+
+        // When & Then
+        assertThat(jobLeaseService.heartbeat(JOB, 4L, TTL)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should judge lease expiry by the database clock when fencing")
+    void holds_UsesDatabaseTime() {
+        // Given - expired by the database clock, though still in the future for an instance lagging behind it
+        when(jobLeaseRepository.findForShareByJobName(JOB))
+                .thenReturn(Optional.of(lease(DB_NOW.minusSeconds(1))))
+                .thenReturn(Optional.of(lease(DB_NOW.plusSeconds(1))));
+
+        // When & Then
+        assertThat(jobLeaseService.holds(JOB, 4L)).isFalse();
+        assertThat(jobLeaseService.holds(JOB, 4L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should release the lease at the database time")
+    void release_UsesDatabaseTime() {
+        // When
+        jobLeaseService.release(JOB, 4L);
+
+        // Then
+        verify(jobLeaseRepository).release(JOB, jobLeaseService.getInstanceId(), 4L, DB_NOW);
+    }
+
+    private JobLease lease(LocalDateTime leasedUntil) {
+        return JobLease.builder()
+                .jobName(JOB)
+                .owner(jobLeaseService.getInstanceId())
+                .fencingToken(4L)
+                .leasedUntil(leasedUntil)
+                .acquiredAt(DB_NOW.minusMinutes(1))
+                .build();
+    }
+}
@@ -0,0 +1,135 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.BufferExhaustedException;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.errors.NetworkException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("KafkaProducerMetrics Unit Tests")
+class KafkaProducerMetricsTest {
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private KafkaProducerMetrics producerMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        producerMetrics = new KafkaProducerMetrics(meterRegistry, kafkaTemplate, 0.9);
+    }
+
+    @Test
+    @DisplayName("Should time sends per topic and track in-flight count")
+    void sample_RecordsLatencyAndInFlight() {
+        // Given
+        KafkaProducerMetrics.Sample first = producerMetrics.start("team-created");
+        KafkaProducerMetrics.Sample second = producerMetrics.start("team-created");
+
+        // Then
+        assertThat(meterRegistry.get("kafka.producer.send.in.flight").tag("topic", "team-created").gauge().value())
+                .isEqualTo(2.0);
+
+        // When
+        first.stop(null);
+        second.stop(new KafkaException("send failed", new NetworkException("broker gone")));
+
+        // Then
+        assertThat(meterRegistry.get("kafka.producer.send.in.flight").tag("topic", "team-created").gauge().value())
+                .isZero();
+        assertThat(meterRegistry.get("kafka.producer.send.latency")
+                .tags("topic", "team-created", "outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("kafka.producer.send.errors")
+                .tags("topic", "team-created", "cause", "NetworkException").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should summarise each topic once with its send counts and live in-flight count")
+    @SuppressWarnings("unchecked")
+    void topicSummary_GroupsOutcomesPerTopic() {
+        // Given
+        producerMetrics.start("team-created").stop(null);
+        producerMetrics.start("team-created").stop(new KafkaException("send failed", new NetworkException("gone")));
+        producerMetrics.start("team-created");
+
+        // When
+        Map<String, Object> topics = producerMetrics.topicSummary();
+
+        // Then
+        assertThat(topics).containsOnlyKeys("team-created");
+        Map<String, Object> summary = (Map<String, Object>) topics.get("team-created");
+        assertThat(summary)
+                .containsEntry("sent", 1L)
+                .containsEntry("failed", 1L)
+                .containsEntry("inFlight", 1)
+                .containsKey("meanLatencyMs");
+        assertThat(meterRegistry.find("kafka.producer.send.in.flight").gauges()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should count buffer exhaustion separately from other errors")
+    void sample_BufferExhausted_CountedSeparately() {
+        // When
+        producerMetrics.start("user-registered")
+                .stop(new KafkaException("send failed", new BufferExhaustedException("Failed to allocate memory")));
+
+        // Then
+        assertThat(meterRegistry.get("kafka.producer.buffer.exhausted").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.find("kafka.producer.send.errors").counter()).isNull();
+        assertThat(producerMetrics.errorSummary()).containsEntry("BufferExhaustedException", 1.0);
+    }
+
+    @Test
+    @DisplayName("Should derive buffer utilization and raise alarm from producer metrics")
+    void bufferUtilization_AboveThreshold_RaisesAlarm() {
+        // Given
+        Map<MetricName, Metric> metrics = Map.of(
+                metricName("buffer-total-bytes"), metric(1000.0),
+                metricName("buffer-available-bytes"), metric(50.0));
+        doReturn(metrics).when(kafkaTemplate).metrics();
+
+        // When / Then
+        assertThat(producerMetrics.bufferUtilization()).isCloseTo(0.95, within(0.0001));
+        assertThat(producerMetrics.isBufferAlarm()).isTrue();
+        assertThat(meterRegistry.get("kafka.producer.buffer.alarm").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should report NaN rather than failing when producer metrics are unavailable")
+    void producerMetric_Missing_ReturnsNaN() {
+        // Given
+        doReturn(Collections.emptyMap()).when(kafkaTemplate).metrics();
+
+        // When / Then
+        assertThat(producerMetrics.producerMetric("batch-size-avg")).isNaN();
+        assertThat(producerMetrics.bufferUtilization()).isZero();
+        assertThat(producerMetrics.isBufferAlarm()).isFalse();
+    }
+
+    private static MetricName metricName(String name) {
+        return new MetricName(name, "producer-metrics", "", Collections.emptyMap());
+    }
+
+    private static Metric metric(double value) {
+        Metric metric = mock(Metric.class);
+        when(metric.metricValue()).thenReturn(value);
+        return metric;
+    }
+}
@@ -0,0 +1,135 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.exception.LoginThrottledException;
+import com.midlane.project_management_tool_user_service.util.StripedTokenBucketLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LoginThrottleService Tests")
+class LoginThrottleServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginThrottleService loginThrottleService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loginThrottleService = new LoginThrottleService(meterRegistry);
+        ReflectionTestUtils.setField(loginThrottleService, "enabled", true);
+        ReflectionTestUtils.setField(loginThrottleService, "emailCapacity", 3);
+        ReflectionTestUtils.setField(loginThrottleService, "emailRefillSeconds", 60L);
+        ReflectionTestUtils.setField(loginThrottleService, "ipCapacity", 10);
+        ReflectionTestUtils.setField(loginThrottleService, "ipRefillSeconds", 1L);
+        ReflectionTestUtils.setField(loginThrottleService, "maxTrackedKeys", 1000);
+        ReflectionTestUtils.setField(loginThrottleService, "stripes", 8);
+        loginThrottleService.init();
+    }
+
+    @Test
+    @DisplayName("Should throttle an email after its burst of attempts is used up")
+    void checkLoginAllowed_EmailBurstExceeded_Throws() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            loginThrottleService.checkLoginAllowed("victim@example.com", "10.0.0." + i);
+        }
+
+        // When / Then
+        assertThatThrownBy(() -> loginThrottleService.checkLoginAllowed("Victim@Example.com ", "10.0.0.99"))
+                .isInstanceOf(LoginThrottledException.class)
+                .extracting(e -> ((LoginThrottledException) e).getRetryAfterSeconds())
+                .isEqualTo(60L);
+        assertThat(meterRegistry.get("auth.login.throttled").tag("key", "email").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should throttle one IP spraying many accounts")
+    void checkLoginAllowed_IpSprayingAccounts_Throws() {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            loginThrottleService.checkLoginAllowed("user" + i + "@example.com", "203.0.113.7");
+        }
+
+        // When / Then
+        assertThatThrownBy(() -> loginThrottleService.checkLoginAllowed("user99@example.com", "203.0.113.7"))
+                .isInstanceOf(LoginThrottledException.class);
+        assertThat(meterRegistry.get("auth.login.throttled").tag("key", "ip").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should refill the email bucket after a successful login")
+    void onLoginSucceeded_RefillsEmailBucket() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            loginThrottleService.checkLoginAllowed("user@example.com", "10.0.0.1");
+        }
+
+        // When
+        loginThrottleService.onLoginSucceeded("user@example.com");
+
+        // Then
+        assertThatCode(() -> loginThrottleService.checkLoginAllowed("user@example.com", "10.0.0.1"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should refill tokens over time")
+    void limiter_RefillsOverTime() {
+        // Given
+        AtomicLong now = new AtomicLong();
+        StripedTokenBucketLimiter limiter = new StripedTokenBucketLimiter(2, Duration.ofSeconds(1), 100, 4, now::get);
+        assertThat(limiter.tryAcquire("key")).isTrue();
+        assertThat(limiter.tryAcquire("key")).isTrue();
+        assertThat(limiter.tryAcquire("key")).isFalse();
+
+        // When
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // Then
+        assertThat(limiter.tryAcquire("key")).isTrue();
+        assertThat(limiter.tryAcquire("key")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep throttling a key evicted from the exact buckets using the approximate counts")
+    void limiter_EvictedKey_SeededFromSketch() {
+        // Given - room for a single exact bucket
+        AtomicLong now = new AtomicLong();
+        StripedTokenBucketLimiter limiter = new StripedTokenBucketLimiter(3, Duration.ofSeconds(60), 1, 1, now::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("attacker-target");
+        }
+
+        // When - other keys push it out of the LRU
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire("other-" + i);
+        }
+
+        // Then
+        assertThat(limiter.trackedKeys()).isEqualTo(1);
+        assertThat(limiter.tryAcquire("attacker-target")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not throttle a new key whose String hash code equals an exhausted key's")
+    void limiter_EqualHashCodes_DoNotShareSketchCounts() {
+        // Given - "Aa" and "BB" have the same hashCode; the exact bucket for "Aa" is evicted by "BB"
+        AtomicLong now = new AtomicLong();
+        StripedTokenBucketLimiter limiter = new StripedTokenBucketLimiter(3, Duration.ofSeconds(60), 1, 1, now::get);
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("Aa");
+        }
+
+        // When & Then
+        assertThat(limiter.tryAcquire("BB")).isTrue();
+    }
+}
@@ -0,0 +1,104 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("MembershipChangeSequencer Tests")
+class MembershipChangeSequencerTest {
+
+    private static final String INSERT = "INSERT INTO membership_changes (scope, scope_id, user_id, action, created_at) "
+            + "VALUES ('TEAM', 1, ?, 'ADDED', CURRENT_TIMESTAMP)";
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private MembershipChangeSequencer sequencer;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:feed_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE membership_changes (change_id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "scope VARCHAR(20) NOT NULL, scope_id BIGINT NOT NULL, user_id BIGINT NOT NULL, "
+                + "action VARCHAR(20) NOT NULL, created_at TIMESTAMP NOT NULL, feed_sequence BIGINT UNIQUE)");
+        sequencer = new MembershipChangeSequencer(dataSource);
+        ReflectionTestUtils.setField(sequencer, "batchSize", 2);
+        sequencer.init();
+    }
+
+    @Test
+    @DisplayName("Should deliver a change whose transaction commits after a later id was already served")
+    void sequence_InterleavedTransactions_NoChangeLost() throws Exception {
+        List<Long> delivered = new ArrayList<>();
+        long cursor = 0L;
+
+        try (Connection slow = dataSource.getConnection()) {
+            // Given - the slow transaction takes the lower change_id but has not committed yet
+            slow.setAutoCommit(false);
+            try (PreparedStatement insert = slow.prepareStatement(INSERT)) {
+                insert.setLong(1, 100L);
+                insert.executeUpdate();
+            }
+            jdbcTemplate.update(INSERT, 200L);
+
+            // When - a consumer polls while the slow transaction is still open
+            sequencer.sequence();
+            cursor = poll(cursor, delivered);
+
+            // Then - only the committed change is served
+            assertThat(delivered).containsExactly(200L);
+
+            // When - the slow transaction commits and the consumer polls again from its cursor
+            slow.commit();
+        }
+        sequencer.sequence();
+        poll(cursor, delivered);
+
+        // Then
+        assertThat(delivered).containsExactly(200L, 100L);
+        assertThat(jdbcTemplate.queryForList("SELECT change_id FROM membership_changes ORDER BY feed_sequence",
+                Long.class)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should continue numbering after existing positions across several batches")
+    void sequence_ExistingPositions_ContinuesAfterHighest() {
+        // Given - entries from before the sequencer keep their change_id as position
+        jdbcTemplate.update(INSERT, 1L);
+        jdbcTemplate.update("UPDATE membership_changes SET feed_sequence = change_id");
+        for (long userId = 2; userId <= 6; userId++) {
+            jdbcTemplate.update(INSERT, userId);
+        }
+
+        // When
+        sequencer.sequence();
+
+        // Then
+        assertThat(jdbcTemplate.queryForList("SELECT feed_sequence FROM membership_changes ORDER BY change_id",
+                Long.class)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+    }
+
+    // Same page query as MembershipChangeRepository.findChangesAfter; returns the next cursor
+    private long poll(long cursor, List<Long> delivered) {
+        List<Map<String, Object>> page = jdbcTemplate.queryForList("SELECT user_id, feed_sequence "
+                + "FROM membership_changes WHERE feed_sequence > ? ORDER BY feed_sequence", cursor);
+        for (Map<String, Object> row : page) {
+            delivered.add(((Number) row.get("USER_ID")).longValue());
+            cursor = ((Number) row.get("FEED_SEQUENCE")).longValue();
+        }
+        return cursor;
+    }
+}
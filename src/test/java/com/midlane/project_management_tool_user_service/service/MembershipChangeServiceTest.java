@@ -0,0 +1,159 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.dto.MembershipChangeFeedResponse;
+import com.midlane.project_management_tool_user_service.model.MembershipChange;
+import com.midlane.project_management_tool_user_service.repository.MembershipChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MembershipChangeService Unit Tests")
+class MembershipChangeServiceTest {
+
+    @Mock
+    private MembershipChangeRepository membershipChangeRepository;
+
+    @Mock
+    private ClusterJobRunner jobRunner;
+
+    @Mock
+    private ClusterJobRunner.Execution execution;
+
+    @InjectMocks
+    private MembershipChangeService membershipChangeService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(membershipChangeService, "maxBatchSize", 1000);
+        ReflectionTestUtils.setField(membershipChangeService, "retentionDays", 7);
+    }
+
+    @Test
+    @DisplayName("Should record team member addition as an ADDED entry")
+    void recordTeamMemberAdded_SavesEntry() {
+        // Given
+        when(membershipChangeRepository.save(any(MembershipChange.class))).thenAnswer(inv -> {
+            MembershipChange change = inv.getArgument(0);
+            change.setId(42L);
+            return change;
+        });
+
+        // When
+        long sequence = membershipChangeService.recordTeamMemberAdded(10L, 2L);
+
+        // Then
+        ArgumentCaptor<MembershipChange> captor = ArgumentCaptor.forClass(MembershipChange.class);
+        verify(membershipChangeRepository).save(captor.capture());
+        assertThat(captor.getValue().getScope()).isEqualTo(MembershipChange.Scope.TEAM);
+        assertThat(captor.getValue().getScopeId()).isEqualTo(10L);
+        assertThat(captor.getValue().getUserId()).isEqualTo(2L);
+        assertThat(captor.getValue().getAction()).isEqualTo(MembershipChange.Action.ADDED);
+        assertThat(sequence).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("Should return batch with next cursor and hasMore when more changes are waiting")
+    void getChanges_MoreAvailable_ReturnsNextCursor() {
+        // Given
+        when(membershipChangeRepository.findChangesAfter(eq(5L), any(Pageable.class)))
+                .thenReturn(changes(6L, 7L, 8L));
+
+        // When
+        MembershipChangeFeedResponse response = membershipChangeService.getChanges(5L, 2);
+
+        // Then
+        assertThat(response.getChanges()).hasSize(2);
+        assertThat(response.getChanges().get(0).getCursor()).isEqualTo(6L);
+        assertThat(response.getNextCursor()).isEqualTo(7L);
+        assertThat(response.isHasMore()).isTrue();
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(membershipChangeRepository).findChangesAfter(eq(5L), pageable.capture());
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep the caller's cursor when there are no new changes")
+    void getChanges_NoChanges_KeepsCursor() {
+        // Given
+        when(membershipChangeRepository.findChangesAfter(eq(42L), any(Pageable.class))).thenReturn(List.of());
+
+        // When
+        MembershipChangeFeedResponse response = membershipChangeService.getChanges(42L, 100);
+
+        // Then
+        assertThat(response.getChanges()).isEmpty();
+        assertThat(response.getNextCursor()).isEqualTo(42L);
+        assertThat(response.isHasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should clamp the batch size to the configured maximum")
+    void getChanges_LimitAboveMax_IsClamped() {
+        // Given
+        ReflectionTestUtils.setField(membershipChangeService, "maxBatchSize", 10);
+        when(membershipChangeRepository.findChangesAfter(eq(0L), any(Pageable.class))).thenReturn(List.of());
+
+        // When
+        membershipChangeService.getChanges(null, 5000);
+
+        // Then
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(membershipChangeRepository).findChangesAfter(eq(0L), pageable.capture());
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(11);
+    }
+
+    @Test
+    @DisplayName("Should compact superseded entries older than the retention window")
+    void compactChanges_DeletesSupersededEntries() {
+        // Given
+        when(membershipChangeRepository.deleteSupersededBefore(any(LocalDateTime.class))).thenReturn(3);
+        when(execution.inTransaction(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+        when(jobRunner.run(eq(MembershipChangeService.COMPACTION_JOB), any())).thenAnswer(invocation -> {
+            ClusterJobRunner.Job job = invocation.getArgument(1);
+            return "completed".equals(job.run(execution));
+        });
+
+        // When
+        membershipChangeService.compactChanges();
+
+        // Then
+        verify(execution).inTransaction(any());
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(membershipChangeRepository).deleteSupersededBefore(cutoff.capture());
+        assertThat(cutoff.getValue()).isBefore(LocalDateTime.now().minusDays(6));
+    }
+
+    private List<MembershipChange> changes(Long... ids) {
+        List<MembershipChange> changes = new ArrayList<>();
+        for (Long id : ids) {
+            changes.add(MembershipChange.builder()
+                    .id(id)
+                    .feedSequence(id)
+                    .scope(MembershipChange.Scope.TEAM)
+                    .scopeId(1L)
+                    .userId(id * 10)
+                    .action(MembershipChange.Action.ADDED)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,131 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midlane.project_management_tool_user_service.config.JacksonConfig;
+import com.midlane.project_management_tool_user_service.dto.OrganizationMemberSnapshotRecord;
+import com.midlane.project_management_tool_user_service.dto.TeamMemberSnapshotRecord;
+import com.midlane.project_management_tool_user_service.dto.UserSnapshotRecord;
+import com.midlane.project_management_tool_user_service.repository.MembershipChangeRepository;
+import com.midlane.project_management_tool_user_service.repository.OrganizationRepository;
+import com.midlane.project_management_tool_user_service.repository.TeamRepository;
+import com.midlane.project_management_tool_user_service.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MembershipSnapshotService Unit Tests")
+class MembershipSnapshotServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private OrganizationRepository organizationRepository;
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    @Mock
+    private MembershipChangeRepository membershipChangeRepository;
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    private MembershipSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        snapshotService = new MembershipSnapshotService(userRepository, organizationRepository, teamRepository,
+                membershipChangeRepository, objectMapper);
+        ReflectionTestUtils.setField(snapshotService, "chunkSize", 2);
+    }
+
+    @Test
+    @DisplayName("Should stream header, topic-shaped records, checksummed chunks and end line")
+    void writeSnapshot_StreamsChunkedRecords() throws Exception {
+        // Given
+        when(membershipChangeRepository.findLatestCursor()).thenReturn(77L);
+        when(userRepository.findSnapshotPage(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new UserSnapshotRecord(1L, "a@example.com", "Ann", "Lee", null),
+                new UserSnapshotRecord(2L, "b@example.com", null, null, null)));
+        when(userRepository.findSnapshotPage(eq(2L), any(Pageable.class))).thenReturn(List.of());
+        when(organizationRepository.findMemberSnapshotPage(eq(0L), eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new OrganizationMemberSnapshotRecord(5L, 1L)));
+        when(teamRepository.findMemberSnapshotPage(eq(0L), eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new TeamMemberSnapshotRecord(9L, "Core", 5L, "Acme", 1L, "a@example.com", "Ann", "Lee")));
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long cursor = snapshotService.writeSnapshot(out);
+
+        // Then
+        assertThat(cursor).isEqualTo(77L);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        List<JsonNode> nodes = new ArrayList<>();
+        for (String line : lines) {
+            nodes.add(objectMapper.readTree(line));
+        }
+
+        assertThat(nodes.get(0).get("type").asText()).isEqualTo("HEADER");
+        assertThat(nodes.get(0).get("snapshot_cursor").asLong()).isEqualTo(77L);
+
+        assertThat(nodes.get(1).get("topic").asText()).isEqualTo("user-registered");
+        assertThat(nodes.get(1).get("key").asText()).isEqualTo("user-1");
+        assertThat(nodes.get(1).get("value").get("name").asText()).isEqualTo("Ann Lee");
+        assertThat(nodes.get(2).get("value").get("name").asText()).isEqualTo("b@example.com");
+
+        // First chunk closes after two records and its CRC covers exactly those two lines
+        assertThat(nodes.get(3).get("type").asText()).isEqualTo("CHUNK");
+        assertThat(nodes.get(3).get("record_count").asLong()).isEqualTo(2);
+        CRC32 crc = new CRC32();
+        crc.update((lines[1] + "\n" + lines[2] + "\n").getBytes(StandardCharsets.UTF_8));
+        assertThat(nodes.get(3).get("checksum").asText()).isEqualTo(Long.toHexString(crc.getValue()));
+
+        assertThat(nodes.get(4).get("topic").asText()).isEqualTo("organization-members");
+        assertThat(nodes.get(5).get("topic").asText()).isEqualTo("team-member-added");
+        assertThat(nodes.get(5).get("value").get("team_id").asLong()).isEqualTo(9L);
+
+        JsonNode end = nodes.get(nodes.size() - 1);
+        assertThat(end.get("type").asText()).isEqualTo("END");
+        assertThat(end.get("record_count").asLong()).isEqualTo(4);
+        assertThat(end.get("snapshot_cursor").asLong()).isEqualTo(77L);
+    }
+
+    @Test
+    @DisplayName("Should page users by keyset until a short page is returned")
+    void writeSnapshot_PagesByKeyset() throws Exception {
+        // Given
+        when(membershipChangeRepository.findLatestCursor()).thenReturn(0L);
+        when(userRepository.findSnapshotPage(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new UserSnapshotRecord(3L, "c@example.com", "C", null, null),
+                new UserSnapshotRecord(8L, "d@example.com", "D", null, null)));
+        when(userRepository.findSnapshotPage(eq(8L), any(Pageable.class))).thenReturn(List.of(
+                new UserSnapshotRecord(9L, "e@example.com", "E", null, null)));
+        when(organizationRepository.findMemberSnapshotPage(anyLong(), anyLong(), any(Pageable.class))).thenReturn(List.of());
+        when(teamRepository.findMemberSnapshotPage(anyLong(), anyLong(), any(Pageable.class))).thenReturn(List.of());
+
+        // When
+        snapshotService.writeSnapshot(new ByteArrayOutputStream());
+
+        // Then
+        verify(userRepository).findSnapshotPage(eq(0L), any(Pageable.class));
+        verify(userRepository).findSnapshotPage(eq(8L), any(Pageable.class));
+        verifyNoMoreInteractions(userRepository);
+    }
+}
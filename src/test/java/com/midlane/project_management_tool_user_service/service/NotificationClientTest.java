@@ -0,0 +1,122 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.dto.NotificationRequest;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("NotificationClient Tests")
+class NotificationClientTest {
+
+    private HttpServer server;
+    private final List<String> receivedBodies = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresBeforeSuccess = new AtomicInteger();
+    private volatile int failureStatus = 503;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationClient notificationClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Local stand-in for the notification service
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v1/notifications/send", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                receivedBodies.add(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            int status = failuresBeforeSuccess.getAndDecrement() > 0 ? failureStatus : 200;
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        notificationClient = new NotificationClient(WebClient.builder(), meterRegistry);
+        ReflectionTestUtils.setField(notificationClient, "notificationServiceUrl",
+                "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(notificationClient, "maxConnections", 4);
+        ReflectionTestUtils.setField(notificationClient, "pendingAcquireMax", 10);
+        ReflectionTestUtils.setField(notificationClient, "connectTimeoutMs", 1000);
+        ReflectionTestUtils.setField(notificationClient, "responseTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(notificationClient, "maxRetries", 3);
+        ReflectionTestUtils.setField(notificationClient, "retryBackoffMs", 10L);
+        ReflectionTestUtils.setField(notificationClient, "retryMaxBackoffMs", 50L);
+        notificationClient.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationClient.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should post all recipients in a single request")
+    void send_Success_PostsRequest() {
+        // When
+        notificationClient.send(request("a@example.com", "b@example.com")).block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(receivedBodies).hasSize(1);
+        assertThat(receivedBodies.get(0)).contains("a@example.com", "b@example.com", "\"templateName\":\"maintenance\"");
+        assertThat(meterRegistry.get("notification.client.requests").tag("outcome", "success").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should retry transient server errors and then succeed")
+    void send_TransientFailure_Retried() {
+        // Given
+        failuresBeforeSuccess.set(2);
+
+        // When
+        notificationClient.send(request("a@example.com")).block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(receivedBodies).hasSize(3);
+        assertThat(meterRegistry.get("notification.client.retries").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should not retry client errors")
+    void send_ClientError_NotRetried() {
+        // Given
+        failureStatus = 400;
+        failuresBeforeSuccess.set(1);
+
+        // When / Then
+        assertThatThrownBy(() -> notificationClient.send(request("a@example.com")).block(Duration.ofSeconds(5)))
+                .isInstanceOf(WebClientResponseException.BadRequest.class);
+        assertThat(receivedBodies).hasSize(1);
+        assertThat(meterRegistry.get("notification.client.requests").tag("outcome", "failure").timer().count())
+                .isEqualTo(1);
+    }
+
+    private static NotificationRequest request(String... recipients) {
+        return NotificationRequest.builder()
+                .recipients(List.of(recipients))
+                .subject("Scheduled maintenance")
+                .templateName("maintenance")
+                .templateData(Map.of("window", "Sunday 02:00 UTC"))
+                .priority("LOW")
+                .build();
+    }
+}
@@ -0,0 +1,192 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midlane.project_management_tool_user_service.config.JacksonConfig;
+import com.midlane.project_management_tool_user_service.dto.NotificationRequest;
+import com.midlane.project_management_tool_user_service.model.NotificationOutbox;
+import com.midlane.project_management_tool_user_service.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationOutboxDispatcher Unit Tests")
+class NotificationOutboxDispatcherTest {
+
+    @Mock
+    private NotificationOutboxRepository notificationOutboxRepository;
+
+    @Mock
+    private NotificationClient notificationClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new NotificationOutboxDispatcher(notificationOutboxRepository, notificationClient,
+                objectMapper, meterRegistry, transactionManager);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 100);
+        ReflectionTestUtils.setField(dispatcher, "leaseMs", 5000L);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoffMs", 1000L);
+        ReflectionTestUtils.setField(dispatcher, "maxBackoffMs", 60000L);
+        ReflectionTestUtils.setField(dispatcher, "maxRecipientsPerRequest", 2);
+        ReflectionTestUtils.setField(dispatcher, "maxInFlight", 4);
+        dispatcher.init();
+    }
+
+    @Test
+    @DisplayName("Should deliver due rows, delete them and record delivery lag")
+    void dispatch_Success_DeletesDelivered() {
+        // Given
+        NotificationOutbox entry = entry(1L, "a@example.com", "{\"userName\":\"A\"}", 0);
+        when(notificationOutboxRepository.lockDue(any(LocalDateTime.class), eq(100))).thenReturn(List.of(entry));
+        when(notificationClient.send(any(NotificationRequest.class))).thenReturn(Mono.empty());
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        verify(notificationOutboxRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(notificationOutboxRepository, never()).saveAll(anyList());
+        assertThat(meterRegistry.get("notification.outbox.delivery.lag").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reschedule failed rows with backoff and keep the error message")
+    void dispatch_Failure_ReschedulesWithBackoff() {
+        // Given
+        NotificationOutbox entry = entry(1L, "a@example.com", "{\"userName\":\"A\"}", 0);
+        when(notificationOutboxRepository.lockDue(any(LocalDateTime.class), eq(100))).thenReturn(List.of(entry));
+        when(notificationClient.send(any(NotificationRequest.class)))
+                .thenReturn(Mono.error(new RuntimeException("503 Service Unavailable")));
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        verify(notificationOutboxRepository, never()).deleteAllByIdInBatch(anyList());
+        verify(notificationOutboxRepository).saveAll(List.of(entry));
+        assertThat(entry.getAttempts()).isEqualTo(1);
+        assertThat(entry.getStatus()).isEqualTo(NotificationOutbox.Status.PENDING);
+        assertThat(entry.getLastError()).isEqualTo("503 Service Unavailable");
+        assertThat(entry.getNextAttemptAt()).isAfter(before.plusNanos(700_000_000L));
+    }
+
+    @Test
+    @DisplayName("Should dead-letter rows that exhausted their attempts")
+    void dispatch_AttemptsExhausted_DeadLetters() {
+        // Given
+        NotificationOutbox entry = entry(1L, "a@example.com", "{\"userName\":\"A\"}", 2);
+        when(notificationOutboxRepository.lockDue(any(LocalDateTime.class), eq(100))).thenReturn(List.of(entry));
+        when(notificationClient.send(any(NotificationRequest.class)))
+                .thenReturn(Mono.error(new RuntimeException("Connection refused")));
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        assertThat(entry.getStatus()).isEqualTo(NotificationOutbox.Status.DEAD);
+        assertThat(meterRegistry.get("notification.outbox.dead").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should merge identical payloads up to the recipient cap and keep personalised ones apart")
+    void group_MergesIdenticalPayloads() {
+        // Given
+        List<NotificationOutbox> entries = IntStream.range(0, 3)
+                .mapToObj(i -> entry((long) i, "user" + i + "@example.com", "{\"window\":\"Sunday\"}", 0))
+                .collect(Collectors.toList());
+        entries.add(entry(10L, "x@example.com", "{\"userName\":\"X\"}", 0));
+
+        // When
+        List<NotificationOutboxDispatcher.Batch> batches = dispatcher.group(entries, new ArrayList<>());
+
+        // Then
+        assertThat(batches).hasSize(3);
+        assertThat(batches.get(0).request().getRecipients()).containsExactly("user0@example.com", "user1@example.com");
+        assertThat(batches.get(1).request().getRecipients()).containsExactly("user2@example.com");
+        assertThat(batches.get(2).request().getRecipients()).containsExactly("x@example.com");
+        assertThat(batches.get(0).request().getTemplateData()).containsEntry("window", "Sunday");
+    }
+
+    @Test
+    @DisplayName("Should batch welcomes for users registering together, carrying each user's own variables")
+    void group_PerRecipientData_SharesOneRequest() {
+        // Given
+        NotificationOutbox alice = entry(1L, "alice@example.com", "{\"createdDate\":\"May 1, 2026\"}", 0);
+        alice.setRecipientData("{\"alice@example.com\":{\"userName\":\"Alice\"}}");
+        NotificationOutbox bob = entry(2L, "bob@example.com", "{\"createdDate\":\"May 1, 2026\"}", 0);
+        bob.setRecipientData("{\"bob@example.com\":{\"userName\":\"Bob\"}}");
+
+        // When
+        List<NotificationOutboxDispatcher.Batch> batches = dispatcher.group(List.of(alice, bob), new ArrayList<>());
+
+        // Then
+        assertThat(batches).hasSize(1);
+        NotificationRequest request = batches.get(0).request();
+        assertThat(request.getRecipients()).containsExactly("alice@example.com", "bob@example.com");
+        assertThat(request.getTemplateData()).containsEntry("createdDate", "May 1, 2026");
+        assertThat(request.getRecipientData()).containsOnlyKeys("alice@example.com", "bob@example.com");
+        assertThat(request.getRecipientData().get("bob@example.com")).containsEntry("userName", "Bob");
+    }
+
+    @Test
+    @DisplayName("Should dead-letter unreadable rows without sending them")
+    void dispatch_UnreadableRow_DeadLettered() {
+        // Given
+        NotificationOutbox corrupt = entry(1L, "a@example.com", "{\"userName\":\"A\"}", 0);
+        corrupt.setRecipients("not-json");
+        when(notificationOutboxRepository.lockDue(any(LocalDateTime.class), eq(100))).thenReturn(List.of(corrupt));
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        verify(notificationClient, never()).send(any());
+        ArgumentCaptor<List<NotificationOutbox>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationOutboxRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).containsExactly(corrupt);
+        assertThat(corrupt.getStatus()).isEqualTo(NotificationOutbox.Status.DEAD);
+    }
+
+    private static NotificationOutbox entry(Long id, String recipient, String templateData, int attempts) {
+        return NotificationOutbox.builder()
+                .id(id)
+                .templateName("welcome")
+                .subject("Welcome")
+                .priority("MEDIUM")
+                .recipients("[\"" + recipient + "\"]")
+                .templateData(templateData)
+                .status(NotificationOutbox.Status.PENDING)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now().minusSeconds(5))
+                .build();
+    }
+}
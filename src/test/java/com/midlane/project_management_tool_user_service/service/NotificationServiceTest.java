@@ -1,19 +1,18 @@
 package com.midlane.project_management_tool_user_service.service;
 
-import com.midlane.project_management_tool_user_service.dto.NotificationRequest;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midlane.project_management_tool_user_service.config.JacksonConfig;
+import com.midlane.project_management_tool_user_service.model.NotificationOutbox;
+import com.midlane.project_management_tool_user_service.repository.NotificationOutboxRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
-import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
 
-import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -26,227 +25,109 @@ import static org.mockito.Mockito.*;
 class NotificationServiceTest {
 
     @Mock
-    private WebClient.Builder webClientBuilder;
+    private NotificationOutboxRepository notificationOutboxRepository;
 
-    @Mock
-    private WebClient webClient;
-
-    @Mock
-    private WebClient.RequestBodyUriSpec requestBodyUriSpec;
-
-    @Mock
-    private WebClient.RequestBodySpec requestBodySpec;
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
 
-    @Mock
-    private WebClient.RequestHeadersSpec requestHeadersSpec;
-
-    @Mock
-    private WebClient.ResponseSpec responseSpec;
-
-    @InjectMocks
     private NotificationService notificationService;
 
-    private String testNotificationServiceUrl = "http://localhost:8084";
-
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(notificationService, "notificationServiceUrl", testNotificationServiceUrl);
+        notificationService = new NotificationService(notificationOutboxRepository, objectMapper);
     }
 
     @Test
-    @DisplayName("Should send welcome notification successfully with complete user info")
-    void sendWelcomeNotification_WithCompleteUserInfo_Success() {
+    @DisplayName("Should store welcome notification in the outbox with complete user info")
+    void sendWelcomeNotification_WithCompleteUserInfo_Success() throws Exception {
         // Given
         String userEmail = "test@example.com";
-        String firstName = "John";
-        String lastName = "Doe";
-        String role = "ADMIN";
-
-        when(webClientBuilder.build()).thenReturn(webClient);
-        when(webClient.post()).thenReturn(requestBodyUriSpec);
-        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
-        when(requestBodySpec.bodyValue(any(NotificationRequest.class))).thenReturn(requestHeadersSpec);
-        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just("Success"));
 
         // When
-        notificationService.sendWelcomeNotification(userEmail, firstName, lastName, role);
+        notificationService.sendWelcomeNotification(userEmail, "John", "Doe", "ADMIN");
 
         // Then
-        verify(webClientBuilder).build();
-        verify(webClient).post();
-        verify(requestBodyUriSpec).uri(testNotificationServiceUrl + "/api/v1/notifications/send");
-        
-        ArgumentCaptor<NotificationRequest> notificationCaptor = ArgumentCaptor.forClass(NotificationRequest.class);
-        verify(requestBodySpec).bodyValue(notificationCaptor.capture());
-        
-        NotificationRequest capturedRequest = notificationCaptor.getValue();
-        assertThat(capturedRequest.getRecipients()).containsExactly(userEmail);
-        assertThat(capturedRequest.getSubject()).isEqualTo("Welcome to Project Management Tool");
-        assertThat(capturedRequest.getTemplateName()).isEqualTo("welcome");
-        assertThat(capturedRequest.getPriority()).isEqualTo("MEDIUM");
-        
-        Map<String, Object> templateData = capturedRequest.getTemplateData();
-        assertThat(templateData.get("userName")).isEqualTo("John Doe");
-        assertThat(templateData.get("userEmail")).isEqualTo(userEmail);
-        assertThat(templateData.get("userRole")).isEqualTo(role);
+        NotificationOutbox entry = captureSaved();
+        assertThat(objectMapper.readValue(entry.getRecipients(), new TypeReference<List<String>>() {}))
+                .containsExactly(userEmail);
+        assertThat(entry.getSubject()).isEqualTo("Welcome to Project Management Tool");
+        assertThat(entry.getTemplateName()).isEqualTo("welcome");
+        assertThat(entry.getPriority()).isEqualTo("MEDIUM");
+        assertThat(entry.getStatus()).isEqualTo(NotificationOutbox.Status.PENDING);
+
+        Map<String, Object> templateData = templateData(entry);
+        assertThat(templateData).doesNotContainKeys("userName", "userEmail", "userRole");
+        Map<String, Object> personal = recipientData(entry, userEmail);
+        assertThat(personal.get("userName")).isEqualTo("John Doe");
+        assertThat(personal.get("userEmail")).isEqualTo(userEmail);
+        assertThat(personal.get("userRole")).isEqualTo("ADMIN");
         assertThat(templateData.get("dashboardUrl")).isEqualTo("https://app.example.com/dashboard");
         assertThat(templateData.get("createdDate")).isNotNull();
     }
 
     @Test
     @DisplayName("Should send welcome notification with only first name")
-    void sendWelcomeNotification_WithOnlyFirstName_Success() {
-        // Given
-        String userEmail = "test@example.com";
-        String firstName = "John";
-        String lastName = null;
-        String role = "USER";
-
-        when(webClientBuilder.build()).thenReturn(webClient);
-        when(webClient.post()).thenReturn(requestBodyUriSpec);
-        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
-        when(requestBodySpec.bodyValue(any(NotificationRequest.class))).thenReturn(requestHeadersSpec);
-        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just("Success"));
-
+    void sendWelcomeNotification_WithOnlyFirstName_Success() throws Exception {
         // When
-        notificationService.sendWelcomeNotification(userEmail, firstName, lastName, role);
+        notificationService.sendWelcomeNotification("test@example.com", "John", null, "USER");
 
         // Then
-        ArgumentCaptor<NotificationRequest> notificationCaptor = ArgumentCaptor.forClass(NotificationRequest.class);
-        verify(requestBodySpec).bodyValue(notificationCaptor.capture());
-        
-        NotificationRequest capturedRequest = notificationCaptor.getValue();
-        Map<String, Object> templateData = capturedRequest.getTemplateData();
-        assertThat(templateData.get("userName")).isEqualTo("John");
+        assertThat(recipientData(captureSaved(), "test@example.com").get("userName")).isEqualTo("John");
     }
 
     @Test
     @DisplayName("Should send welcome notification with only last name")
-    void sendWelcomeNotification_WithOnlyLastName_Success() {
-        // Given
-        String userEmail = "test@example.com";
-        String firstName = null;
-        String lastName = "Doe";
-        String role = "USER";
-
-        when(webClientBuilder.build()).thenReturn(webClient);
-        when(webClient.post()).thenReturn(requestBodyUriSpec);
-        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
-        when(requestBodySpec.bodyValue(any(NotificationRequest.class))).thenReturn(requestHeadersSpec);
-        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just("Success"));
-
+    void sendWelcomeNotification_WithOnlyLastName_Success() throws Exception {
         // When
-        notificationService.sendWelcomeNotification(userEmail, firstName, lastName, role);
+        notificationService.sendWelcomeNotification("test@example.com", null, "Doe", "USER");
 
         // Then
-        ArgumentCaptor<NotificationRequest> notificationCaptor = ArgumentCaptor.forClass(NotificationRequest.class);
-        verify(requestBodySpec).bodyValue(notificationCaptor.capture());
-        
-        NotificationRequest capturedRequest = notificationCaptor.getValue();
-        Map<String, Object> templateData = capturedRequest.getTemplateData();
-        assertThat(templateData.get("userName")).isEqualTo("Doe");
+        assertThat(recipientData(captureSaved(), "test@example.com").get("userName")).isEqualTo("Doe");
     }
 
     @Test
     @DisplayName("Should send welcome notification with default name when both names are null")
-    void sendWelcomeNotification_WithNullNames_UsesDefaultName() {
-        // Given
-        String userEmail = "test@example.com";
-        String firstName = null;
-        String lastName = null;
-        String role = "USER";
-
-        when(webClientBuilder.build()).thenReturn(webClient);
-        when(webClient.post()).thenReturn(requestBodyUriSpec);
-        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
-        when(requestBodySpec.bodyValue(any(NotificationRequest.class))).thenReturn(requestHeadersSpec);
-        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just("Success"));
-
+    void sendWelcomeNotification_WithNullNames_UsesDefaultName() throws Exception {
         // When
-        notificationService.sendWelcomeNotification(userEmail, firstName, lastName, role);
+        notificationService.sendWelcomeNotification("test@example.com", null, null, "USER");
 
         // Then
-        ArgumentCaptor<NotificationRequest> notificationCaptor = ArgumentCaptor.forClass(NotificationRequest.class);
-        verify(requestBodySpec).bodyValue(notificationCaptor.capture());
-        
-        NotificationRequest capturedRequest = notificationCaptor.getValue();
-        Map<String, Object> templateData = capturedRequest.getTemplateData();
-        assertThat(templateData.get("userName")).isEqualTo("New User");
+        assertThat(recipientData(captureSaved(), "test@example.com").get("userName")).isEqualTo("New User");
     }
 
     @Test
     @DisplayName("Should use default role when role is null")
-    void sendWelcomeNotification_WithNullRole_UsesDefaultRole() {
-        // Given
-        String userEmail = "test@example.com";
-        String firstName = "John";
-        String lastName = "Doe";
-        String role = null;
-
-        when(webClientBuilder.build()).thenReturn(webClient);
-        when(webClient.post()).thenReturn(requestBodyUriSpec);
-        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
-        when(requestBodySpec.bodyValue(any(NotificationRequest.class))).thenReturn(requestHeadersSpec);
-        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just("Success"));
-
+    void sendWelcomeNotification_WithNullRole_UsesDefaultRole() throws Exception {
         // When
-        notificationService.sendWelcomeNotification(userEmail, firstName, lastName, role);
+        notificationService.sendWelcomeNotification("test@example.com", "John", "Doe", null);
 
         // Then
-        ArgumentCaptor<NotificationRequest> notificationCaptor = ArgumentCaptor.forClass(NotificationRequest.class);
-        verify(requestBodySpec).bodyValue(notificationCaptor.capture());
-        
-        NotificationRequest capturedRequest = notificationCaptor.getValue();
-        Map<String, Object> templateData = capturedRequest.getTemplateData();
-        assertThat(templateData.get("userRole")).isEqualTo("User");
+        assertThat(recipientData(captureSaved(), "test@example.com").get("userRole")).isEqualTo("User");
     }
 
     @Test
-    @DisplayName("Should handle WebClient error gracefully")
-    void sendWelcomeNotification_WebClientError_HandledGracefully() {
+    @DisplayName("Should handle outbox write failure gracefully")
+    void sendWelcomeNotification_OutboxError_HandledGracefully() {
         // Given
-        String userEmail = "test@example.com";
-        String firstName = "John";
-        String lastName = "Doe";
-        String role = "USER";
-
-        when(webClientBuilder.build()).thenReturn(webClient);
-        when(webClient.post()).thenReturn(requestBodyUriSpec);
-        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
-        when(requestBodySpec.bodyValue(any(NotificationRequest.class))).thenReturn(requestHeadersSpec);
-        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.error(new RuntimeException("Connection failed")));
+        when(notificationOutboxRepository.save(any(NotificationOutbox.class)))
+                .thenThrow(new RuntimeException("Database unavailable"));
 
         // When & Then - Should not throw exception
-        assertThatCode(() -> {
-            notificationService.sendWelcomeNotification(userEmail, firstName, lastName, role);
-        }).doesNotThrowAnyException();
-
-        verify(webClientBuilder).build();
-        verify(webClient).post();
+        assertThatCode(() -> notificationService.sendWelcomeNotification("test@example.com", "John", "Doe", "USER"))
+                .doesNotThrowAnyException();
     }
 
-    @Test
-    @DisplayName("Should handle general exception gracefully")
-    void sendWelcomeNotification_GeneralException_HandledGracefully() {
-        // Given
-        String userEmail = "test@example.com";
-        String firstName = "John";
-        String lastName = "Doe";
-        String role = "USER";
-
-        when(webClientBuilder.build()).thenThrow(new RuntimeException("Unexpected error"));
+    private NotificationOutbox captureSaved() {
+        ArgumentCaptor<NotificationOutbox> captor = ArgumentCaptor.forClass(NotificationOutbox.class);
+        verify(notificationOutboxRepository).save(captor.capture());
+        return captor.getValue();
+    }
 
-        // When & Then - Should not throw exception
-        assertThatCode(() -> {
-            notificationService.sendWelcomeNotification(userEmail, firstName, lastName, role);
-        }).doesNotThrowAnyException();
+    private Map<String, Object> templateData(NotificationOutbox entry) throws Exception {
+        return objectMapper.readValue(entry.getTemplateData(), new TypeReference<Map<String, Object>>() {});
+    }
 
-        verify(webClientBuilder).build();
+    private Map<String, Object> recipientData(NotificationOutbox entry, String recipient) throws Exception {
+        return objectMapper.readValue(entry.getRecipientData(),
+                new TypeReference<Map<String, Map<String, Object>>>() {}).get(recipient);
     }
 }
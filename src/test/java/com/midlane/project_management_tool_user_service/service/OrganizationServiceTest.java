@@ -1,13 +1,17 @@
 package com.midlane.project_management_tool_user_service.service;
 
+import com.midlane.project_management_tool_user_service.dto.BulkMembershipResponse;
+import com.midlane.project_management_tool_user_service.dto.BulkMembershipResult;
 import com.midlane.project_management_tool_user_service.dto.CreateOrganizationRequest;
 import com.midlane.project_management_tool_user_service.dto.OrganizationResponse;
 import com.midlane.project_management_tool_user_service.dto.OrganizationMemberResponse;
 import com.midlane.project_management_tool_user_service.dto.OrganizationTeamResponse;
+import com.midlane.project_management_tool_user_service.dto.TeamMembershipRecord;
 import com.midlane.project_management_tool_user_service.model.Organization;
 import com.midlane.project_management_tool_user_service.model.User;
 import com.midlane.project_management_tool_user_service.model.Team;
 import com.midlane.project_management_tool_user_service.repository.OrganizationRepository;
+import com.midlane.project_management_tool_user_service.repository.TeamRepository;
 import com.midlane.project_management_tool_user_service.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -38,6 +43,15 @@ class OrganizationServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TeamRepository teamRepository;
+
+    @Mock
+    private MembershipChangeService membershipChangeService;
+
+    @Mock
+    private TeamEventProducerService teamEventProducerService;
+
     @InjectMocks
     private OrganizationService organizationService;
 
@@ -535,4 +549,95 @@ class OrganizationServiceTest {
         verify(userRepository).findById(requesterId);
         verify(userRepository).save(testMember);
     }
+
+    @Test
+    @DisplayName("Should add members in bulk with one set-based insert and report skipped users")
+    void addMembersById_MixedUsers_AddsNewMembers() {
+        // Given
+        ReflectionTestUtils.setField(organizationService, "maxBulkSize", 100);
+        when(organizationRepository.findById(1L)).thenReturn(Optional.of(testOrganization));
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(List.of(2L, 3L));
+        when(organizationRepository.findMemberIds(eq(1L), anyCollection())).thenReturn(List.of(3L));
+
+        // When
+        BulkMembershipResponse response = organizationService.addMembersById(1L, List.of(2L, 3L, 4L), 1L);
+
+        // Then
+        assertThat(response.getScopeId()).isEqualTo(1L);
+        assertThat(response.getApplied()).isEqualTo(1);
+        assertThat(response.getResults()).containsExactly(
+                new BulkMembershipResult(2L, "ADDED"),
+                new BulkMembershipResult(3L, "ALREADY_MEMBER"),
+                new BulkMembershipResult(4L, "USER_NOT_FOUND"));
+        verify(organizationRepository).addMembers(1L, List.of(2L));
+        verify(membershipChangeService).recordOrganizationMembersAdded(1L, List.of(2L));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a bulk add from someone other than the owner")
+    void addMembersById_NotOwner_ThrowsException() {
+        // Given
+        ReflectionTestUtils.setField(organizationService, "maxBulkSize", 100);
+        when(organizationRepository.findById(1L)).thenReturn(Optional.of(testOrganization));
+
+        // When & Then
+        assertThatThrownBy(() -> organizationService.addMembersById(1L, List.of(3L), 2L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Only organization owner can add members");
+        verify(organizationRepository, never()).addMembers(anyLong(), anyCollection());
+        verifyNoInteractions(membershipChangeService);
+    }
+
+    @Test
+    @DisplayName("Should remove members in bulk together with their team memberships and publish the team removals, never the owner")
+    void removeMembers_RemovesMembersAndTheirTeamMemberships() {
+        // Given
+        ReflectionTestUtils.setField(organizationService, "maxBulkSize", 100);
+        when(organizationRepository.findById(1L)).thenReturn(Optional.of(testOrganization));
+        when(organizationRepository.findMemberIds(eq(1L), anyCollection())).thenReturn(List.of(1L, 2L));
+        when(teamRepository.findOrganizationTeamMemberships(1L, List.of(2L)))
+                .thenReturn(List.of(new TeamMembershipRecord(7L, 2L)));
+        when(membershipChangeService.recordTeamMembersRemoved(7L, List.of(2L))).thenReturn(List.of(55L));
+
+        // When
+        BulkMembershipResponse response = organizationService.removeMembers(1L, List.of(1L, 2L, 9L), 1L);
+
+        // Then
+        assertThat(response.getResults()).containsExactly(
+                new BulkMembershipResult(1L, "ORGANIZATION_OWNER"),
+                new BulkMembershipResult(2L, "REMOVED"),
+                new BulkMembershipResult(9L, "NOT_MEMBER"));
+        verify(teamRepository).clearTeamLeads(1L, List.of(2L));
+        verify(teamRepository).removeMembersFromOrganizationTeams(1L, List.of(2L));
+        verify(membershipChangeService).recordTeamMembersRemoved(7L, List.of(2L));
+        verify(teamEventProducerService).publishTeamMembersRemovedEvents(7L, List.of(2L), List.of(55L));
+        verify(organizationRepository).removeMembers(1L, List.of(2L));
+        verify(membershipChangeService).recordOrganizationMembersRemoved(1L, List.of(2L));
+    }
+
+    @Test
+    @DisplayName("Should remove a member from the organization's teams too and publish the team removals")
+    void removeMemberImproved_MemberOfTeams_RecordsAndPublishesTeamRemovals() {
+        // Given
+        testOrganization.setOwner(testOwner);
+        testOrganization.setMembers(new HashSet<>(List.of(testMember)));
+        when(organizationRepository.findById(1L)).thenReturn(Optional.of(testOrganization));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(testMember));
+        when(teamRepository.findOrganizationTeamMemberships(1L, List.of(2L)))
+                .thenReturn(List.of(new TeamMembershipRecord(7L, 2L), new TeamMembershipRecord(8L, 2L)));
+        when(membershipChangeService.recordTeamMembersRemoved(7L, List.of(2L))).thenReturn(List.of(41L));
+        when(membershipChangeService.recordTeamMembersRemoved(8L, List.of(2L))).thenReturn(List.of(42L));
+
+        // When
+        organizationService.removeMemberImproved(1L, 2L, 1L);
+
+        // Then
+        verify(teamRepository).clearTeamLeads(1L, List.of(2L));
+        verify(teamRepository).removeMembersFromOrganizationTeams(1L, List.of(2L));
+        verify(teamEventProducerService).publishTeamMembersRemovedEvents(7L, List.of(2L), List.of(41L));
+        verify(teamEventProducerService).publishTeamMembersRemovedEvents(8L, List.of(2L), List.of(42L));
+        verify(membershipChangeService).recordOrganizationMemberRemoved(1L, 2L);
+        assertThat(testOrganization.getMembers()).doesNotContain(testMember);
+    }
 }
@@ -0,0 +1,119 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.dto.MemberDetailsResponse;
+import com.midlane.project_management_tool_user_service.dto.UserDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveReadService Unit Tests")
+class ReactiveReadServiceTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private TeamService teamService;
+
+    @Mock
+    private OrganizationService organizationService;
+
+    private Scheduler scheduler;
+    private ReactiveReadService reactiveReadService;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Schedulers.newBoundedElastic(2, 100, "jdbc-read-test");
+        reactiveReadService = new ReactiveReadService(userService, teamService, organizationService, scheduler);
+        ReflectionTestUtils.setField(reactiveReadService, "memberPageSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    @DisplayName("Should run blocking lookups on the bounded read scheduler")
+    void getUserProfile_RunsOnReadScheduler() {
+        // Given
+        AtomicReference<String> thread = new AtomicReference<>();
+        when(userService.getUserProfile(1L)).thenAnswer(inv -> {
+            thread.set(Thread.currentThread().getName());
+            return UserDTO.builder().userId(1L).email("user@example.com").build();
+        });
+
+        // When
+        UserDTO user = reactiveReadService.getUserProfile(1L).block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(user.getEmail()).isEqualTo("user@example.com");
+        assertThat(thread.get()).startsWith("jdbc-read-test");
+    }
+
+    @Test
+    @DisplayName("Should stream every member page by page until a short page is returned")
+    void streamTeamMembers_FollowsKeysetPages() {
+        // Given
+        when(teamService.getTeamMembersPage(7L, 0L, 2)).thenReturn(members(1, 2));
+        when(teamService.getTeamMembersPage(7L, 2L, 2)).thenReturn(members(3, 4));
+        when(teamService.getTeamMembersPage(7L, 4L, 2)).thenReturn(members(5, 5));
+
+        // When
+        List<MemberDetailsResponse> streamed = reactiveReadService.streamTeamMembers(7L)
+                .collectList().block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(streamed).extracting(MemberDetailsResponse::getMemberId).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    @DisplayName("Should not fetch further pages than the subscriber consumes")
+    void streamTeamMembers_LimitedDemand_FetchesOnlyNeededPages() {
+        // Given
+        when(teamService.getTeamMembersPage(7L, 0L, 2)).thenReturn(members(1, 2));
+
+        // When
+        List<MemberDetailsResponse> streamed = reactiveReadService.streamTeamMembers(7L)
+                .take(2, true).collectList().block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(streamed).hasSize(2);
+        verify(teamService, times(1)).getTeamMembersPage(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should surface lookup failures as an error signal")
+    void isTeamMember_LookupFails_PropagatesError() {
+        // Given
+        when(teamService.isUserMember(1L, 2L)).thenThrow(new RuntimeException("Team not found with ID: 1"));
+
+        // When / Then
+        assertThatThrownBy(() -> reactiveReadService.isTeamMember(1L, 2L).block(Duration.ofSeconds(5)))
+                .hasMessageContaining("Team not found");
+    }
+
+    private List<MemberDetailsResponse> members(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+                .mapToObj(id -> MemberDetailsResponse.builder().memberId(id).name("Member " + id).build())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,110 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenHashBackfill Tests")
+class RefreshTokenHashBackfillTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private ClusterJobRunner jobRunner;
+
+    @Mock
+    private ClusterJobRunner.Execution execution;
+
+    @Mock
+    private DataSource dataSource;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshTokenHashBackfill backfill;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        meterRegistry = new SimpleMeterRegistry();
+        backfill = new RefreshTokenHashBackfill(refreshTokenRepository, jobRunner, dataSource, meterRegistry);
+        ReflectionTestUtils.setField(backfill, "batchSize", 100);
+        ReflectionTestUtils.setField(backfill, "timeBudgetMs", 60000L);
+        // No database: the startup column change is skipped with a warning
+        when(dataSource.getConnection()).thenThrow(new SQLException("no database"));
+        backfill.init();
+    }
+
+    @Test
+    @DisplayName("Should hash plaintext rows in chunks and mark the backfill complete")
+    void backfill_HashesInChunks() {
+        // Given
+        when(refreshTokenRepository.existsByTokenHashIsNull()).thenReturn(true);
+        runsWithLease();
+        when(refreshTokenRepository.hashLegacyTokensChunk(100)).thenReturn(100, 100, 7);
+
+        // When
+        backfill.backfill();
+
+        // Then
+        verify(refreshTokenRepository, times(3)).hashLegacyTokensChunk(100);
+        verify(execution, times(3)).inTransaction(any());
+        assertThat(backfill.legacyRowsRemain()).isFalse();
+        assertThat(meterRegistry.get("refresh.token.hash.backfilled").counter().count()).isEqualTo(207.0);
+    }
+
+    @Test
+    @DisplayName("Should finish without running the job when no plaintext rows are left")
+    void backfill_NothingLeft_CompletesImmediately() {
+        // Given
+        when(refreshTokenRepository.existsByTokenHashIsNull()).thenReturn(false);
+
+        // When
+        backfill.backfill();
+        backfill.backfill();
+
+        // Then
+        assertThat(backfill.legacyRowsRemain()).isFalse();
+        verify(refreshTokenRepository, times(1)).existsByTokenHashIsNull();
+        verifyNoInteractions(jobRunner);
+    }
+
+    @Test
+    @DisplayName("Should leave the work to the lease holder")
+    void backfill_LeaseHeld_Skips() {
+        // Given
+        when(refreshTokenRepository.existsByTokenHashIsNull()).thenReturn(true);
+        when(jobRunner.run(eq(RefreshTokenHashBackfill.JOB_NAME), any())).thenReturn(false);
+
+        // When
+        backfill.backfill();
+
+        // Then
+        verify(refreshTokenRepository, never()).hashLegacyTokensChunk(anyInt());
+        assertThat(backfill.legacyRowsRemain()).isTrue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runsWithLease() {
+        when(execution.isLeaseHeld()).thenReturn(true);
+        when(execution.inTransaction(any())).thenAnswer(invocation -> ((Supplier<Object>) invocation.getArgument(0)).get());
+        when(jobRunner.run(eq(RefreshTokenHashBackfill.JOB_NAME), any())).thenAnswer(invocation -> {
+            ClusterJobRunner.Job job = invocation.getArgument(1);
+            job.run(execution);
+            return true;
+        });
+    }
+}
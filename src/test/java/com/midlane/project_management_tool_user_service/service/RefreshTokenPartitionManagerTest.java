@@ -0,0 +1,64 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RefreshTokenPartitionManager Tests")
+class RefreshTokenPartitionManagerTest {
+
+    private RefreshTokenPartitionManager partitionManager;
+
+    @BeforeEach
+    void setUp() {
+        partitionManager = new RefreshTokenPartitionManager(null);
+    }
+
+    @Test
+    @DisplayName("Should align partition starts to the configured span")
+    void partitionStart_AlignsToSpan() {
+        ReflectionTestUtils.setField(partitionManager, "partitionDays", 1);
+        assertThat(partitionManager.partitionStart(LocalDate.of(2026, 10, 19))).isEqualTo(LocalDate.of(2026, 10, 19));
+
+        ReflectionTestUtils.setField(partitionManager, "partitionDays", 7);
+        LocalDate start = partitionManager.partitionStart(LocalDate.of(2026, 10, 19));
+        assertThat(start).isBeforeOrEqualTo(LocalDate.of(2026, 10, 19));
+        assertThat(start.toEpochDay() % 7).isZero();
+        assertThat(partitionManager.partitionStart(start.plusDays(6))).isEqualTo(start);
+    }
+
+    @Test
+    @DisplayName("Should name partitions after their start date")
+    void partitionName_UsesStartDate() {
+        assertThat(RefreshTokenPartitionManager.partitionName(LocalDate.of(2026, 10, 19)))
+                .isEqualTo("refresh_tokens_p20261019");
+    }
+
+    @Test
+    @DisplayName("Should read the upper bound from the partition bound expression")
+    void upperBound_ParsesPgGetExpr() {
+        assertThat(RefreshTokenPartitionManager.upperBound(
+                "FOR VALUES FROM ('2026-10-19 00:00:00') TO ('2026-10-20 00:00:00')"))
+                .isEqualTo(LocalDateTime.of(2026, 10, 20, 0, 0));
+        assertThat(RefreshTokenPartitionManager.upperBound("DEFAULT")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should split the schema script into partitioned table and index statements")
+    void schemaStatements_ReadsScript() {
+        List<String> statements = RefreshTokenPartitionManager.schemaStatements();
+
+        assertThat(statements).hasSize(4);
+        assertThat(statements.get(0)).startsWith("CREATE TABLE IF NOT EXISTS refresh_tokens")
+                .contains("PARTITION BY RANGE (expires_at)")
+                .contains("UNIQUE (token_hash, expires_at)");
+        assertThat(statements).noneMatch(statement -> statement.contains("--"));
+    }
+}
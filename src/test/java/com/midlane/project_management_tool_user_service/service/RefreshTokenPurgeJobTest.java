@@ -0,0 +1,126 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenPurgeJob Tests")
+class RefreshTokenPurgeJobTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private ClusterJobRunner jobRunner;
+
+    @Mock
+    private ClusterJobRunner.Execution execution;
+
+    @Mock
+    private RefreshTokenPartitionManager partitionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshTokenPurgeJob purgeJob;
+    private final AtomicReference<String> outcome = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        purgeJob = new RefreshTokenPurgeJob(refreshTokenRepository, jobRunner, partitionManager, meterRegistry);
+        ReflectionTestUtils.setField(purgeJob, "batchSize", 100);
+        ReflectionTestUtils.setField(purgeJob, "pauseMs", 0L);
+        ReflectionTestUtils.setField(purgeJob, "timeBudgetMs", 60000L);
+        purgeJob.init();
+    }
+
+    @Test
+    @DisplayName("Should delete in chunks until a chunk comes back short")
+    void purgeExpiredTokens_DeletesInChunks() {
+        // Given
+        runsWithLease();
+        when(refreshTokenRepository.deleteExpiredChunk(any(LocalDateTime.class), eq(100)))
+                .thenReturn(100, 100, 42);
+
+        // When
+        purgeJob.purgeExpiredTokens();
+
+        // Then
+        verify(refreshTokenRepository, times(3)).deleteExpiredChunk(any(LocalDateTime.class), eq(100));
+        verify(execution, times(3)).inTransaction(any());
+        assertThat(outcome.get()).isEqualTo("completed");
+        assertThat(meterRegistry.get("refresh.token.purge.deleted").counter().count()).isEqualTo(242.0);
+        assertThat(meterRegistry.get("refresh.token.purge.last.run.deleted").gauge().value()).isEqualTo(242.0);
+    }
+
+    @Test
+    @DisplayName("Should stop once the time budget is spent and leave the rest for the next run")
+    void purgeExpiredTokens_BudgetExhausted_Stops() {
+        // Given
+        ReflectionTestUtils.setField(purgeJob, "timeBudgetMs", 0L);
+        runsWithLease();
+        when(refreshTokenRepository.deleteExpiredChunk(any(LocalDateTime.class), eq(100))).thenReturn(100);
+
+        // When
+        purgeJob.purgeExpiredTokens();
+
+        // Then
+        verify(refreshTokenRepository, times(1)).deleteExpiredChunk(any(LocalDateTime.class), eq(100));
+        assertThat(outcome.get()).isEqualTo("budget_exhausted");
+    }
+
+    @Test
+    @DisplayName("Should stop between chunks once the lease is lost")
+    void purgeExpiredTokens_LeaseLost_Stops() {
+        // Given
+        runsWithLease();
+        when(execution.isLeaseHeld()).thenReturn(false);
+        when(refreshTokenRepository.deleteExpiredChunk(any(LocalDateTime.class), eq(100))).thenReturn(100);
+
+        // When
+        purgeJob.purgeExpiredTokens();
+
+        // Then
+        verify(refreshTokenRepository, times(1)).deleteExpiredChunk(any(LocalDateTime.class), eq(100));
+        assertThat(outcome.get()).isEqualTo("lease_lost");
+    }
+
+    @Test
+    @DisplayName("Should leave expiry to partition drops when the table is partitioned")
+    void purgeExpiredTokens_Partitioned_StandsDown() {
+        // Given
+        when(partitionManager.isPartitioned()).thenReturn(true);
+
+        // When
+        purgeJob.purgeExpiredTokens();
+
+        // Then
+        verifyNoInteractions(refreshTokenRepository, jobRunner);
+    }
+
+    // The runner grants the lease and runs the job inline; chunk transactions run the work directly
+    @SuppressWarnings("unchecked")
+    private void runsWithLease() {
+        lenient().when(execution.isLeaseHeld()).thenReturn(true);
+        when(execution.inTransaction(any())).thenAnswer(invocation -> ((Supplier<Object>) invocation.getArgument(0)).get());
+        when(jobRunner.run(eq(RefreshTokenPurgeJob.JOB_NAME), any())).thenAnswer(invocation -> {
+            ClusterJobRunner.Job job = invocation.getArgument(1);
+            outcome.set(job.run(execution));
+            return true;
+        });
+    }
+}
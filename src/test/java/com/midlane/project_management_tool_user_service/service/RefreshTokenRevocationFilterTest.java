@@ -0,0 +1,160 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.dto.RefreshTokenDigestRecord;
+import com.midlane.project_management_tool_user_service.repository.RefreshTokenRepository;
+import com.midlane.project_management_tool_user_service.service.RefreshTokenRevocationFilter.Verdict;
+import com.midlane.project_management_tool_user_service.util.RefreshTokenValues;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenRevocationFilter Tests")
+class RefreshTokenRevocationFilterTest {
+
+    private static final long TTL_MS = 604800000L;
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshTokenRevocationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RefreshTokenRevocationFilter(refreshTokenRepository, meterRegistry);
+        ReflectionTestUtils.setField(filter, "refreshTokenExpiration", TTL_MS);
+        ReflectionTestUtils.setField(filter, "expectedTokens", 1000L);
+        ReflectionTestUtils.setField(filter, "falsePositiveProbability", 0.001);
+        ReflectionTestUtils.setField(filter, "pageSize", 100);
+        ReflectionTestUtils.setField(filter, "safetyMarginMs", 30000L);
+        ReflectionTestUtils.setField(filter, "rebuildIntervalMs", 21600000L);
+        ReflectionTestUtils.setField(filter, "maxRevoked", 1000);
+        filter.init();
+    }
+
+    @Test
+    @DisplayName("Should reject malformed and already-expired tokens without any state")
+    void check_MalformedOrExpired_Rejected() {
+        String expired = RefreshTokenValues.newToken(LocalDateTime.now().minusMinutes(1).withNano(0));
+
+        assertThat(filter.check("not-a-token")).isEqualTo(Verdict.MALFORMED);
+        assertThat(filter.check(expired)).isEqualTo(Verdict.EXPIRED);
+        verifyNoInteractions(refreshTokenRepository);
+    }
+
+    @Test
+    @DisplayName("Should send every well-formed token to the database until the filter is built")
+    void check_BeforeFirstSync_ChecksDatabase() {
+        String token = issuedMinutesAgo(10);
+
+        assertThat(filter.check(token)).isEqualTo(Verdict.CHECK_DATABASE);
+    }
+
+    @Test
+    @DisplayName("Should reject tokens missing from the built filter and pass known live ones")
+    void check_AfterBuild_UsesFilter() {
+        // Given
+        String known = issuedMinutesAgo(10);
+        String forged = issuedMinutesAgo(10);
+        String revoked = issuedMinutesAgo(20);
+        String plaintextRow = issuedMinutesAgo(30);
+        when(refreshTokenRepository.findUnexpiredPage(eq(0L), any(LocalDateTime.class), any(PageRequest.class)))
+                .thenReturn(List.of(record(1L, known, false), record(2L, revoked, true),
+                        legacyRecord(3L, plaintextRow, false)));
+
+        // When
+        filter.sync();
+
+        // Then
+        assertThat(filter.check(known)).isEqualTo(Verdict.CHECK_DATABASE);
+        assertThat(filter.check(plaintextRow)).isEqualTo(Verdict.CHECK_DATABASE);
+        assertThat(filter.check(forged)).isEqualTo(Verdict.UNKNOWN);
+        assertThat(filter.check(revoked)).isEqualTo(Verdict.REVOKED);
+        assertThat(meterRegistry.get("auth.refresh.filter").tag("result", "unknown").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should not trust the filter for tokens issued after the last sync")
+    void check_RecentlyIssuedElsewhere_ChecksDatabase() {
+        // Given - built from an empty table
+        when(refreshTokenRepository.findUnexpiredPage(eq(0L), any(LocalDateTime.class), any(PageRequest.class)))
+                .thenReturn(List.of());
+        filter.sync();
+
+        // When - another instance issued this token just now
+        String fresh = RefreshTokenValues.newToken(RefreshTokenValues.expiryFor(LocalDateTime.now(), TTL_MS));
+
+        // Then
+        assertThat(filter.check(fresh)).isEqualTo(Verdict.CHECK_DATABASE);
+        assertThat(filter.check("6f1c2a9e-0d7b-4b8e-9a51-3c2f7e8d9b10")).isEqualTo(Verdict.CHECK_DATABASE);
+    }
+
+    @Test
+    @DisplayName("Should pick up tokens issued elsewhere on the incremental catch-up")
+    void sync_CatchUp_AddsNewTokens() {
+        // Given
+        String other = issuedMinutesAgo(10);
+        when(refreshTokenRepository.findUnexpiredPage(eq(0L), any(LocalDateTime.class), any(PageRequest.class)))
+                .thenReturn(List.of());
+        when(refreshTokenRepository.findCreatedSince(any(LocalDateTime.class)))
+                .thenReturn(List.of(record(7L, other, false)));
+        filter.sync();
+        assertThat(filter.check(other)).isEqualTo(Verdict.UNKNOWN);
+
+        // When
+        filter.sync();
+
+        // Then
+        assertThat(filter.check(other)).isEqualTo(Verdict.CHECK_DATABASE);
+    }
+
+    @Test
+    @DisplayName("Should remember locally issued and revoked tokens")
+    void recordIssuedAndRevoked() {
+        // Given
+        when(refreshTokenRepository.findUnexpiredPage(eq(0L), any(LocalDateTime.class), any(PageRequest.class)))
+                .thenReturn(List.of());
+        filter.sync();
+        String token = issuedMinutesAgo(10);
+
+        // When
+        filter.recordIssued(token);
+        Verdict afterIssue = filter.check(token);
+        filter.recordRevoked(RefreshTokenValues.hash(token), RefreshTokenValues.expiryOf(token).orElseThrow());
+
+        // Then
+        assertThat(afterIssue).isEqualTo(Verdict.CHECK_DATABASE);
+        assertThat(filter.check(token)).isEqualTo(Verdict.REVOKED);
+    }
+
+    private String issuedMinutesAgo(int minutes) {
+        return RefreshTokenValues.newToken(
+                RefreshTokenValues.expiryFor(LocalDateTime.now().minusMinutes(minutes), TTL_MS));
+    }
+
+    private RefreshTokenDigestRecord record(Long id, String token, boolean revoked) {
+        return new RefreshTokenDigestRecord(id, RefreshTokenValues.hash(token), null,
+                RefreshTokenValues.expiryOf(token).orElseThrow(), revoked);
+    }
+
+    // A row the hash backfill has not reached yet
+    private RefreshTokenDigestRecord legacyRecord(Long id, String token, boolean revoked) {
+        return new RefreshTokenDigestRecord(id, null, token, RefreshTokenValues.expiryOf(token).orElseThrow(), revoked);
+    }
+}
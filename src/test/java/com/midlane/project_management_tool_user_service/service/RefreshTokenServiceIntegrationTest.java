@@ -0,0 +1,162 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.model.RefreshToken;
+import com.midlane.project_management_tool_user_service.model.Role;
+import com.midlane.project_management_tool_user_service.model.User;
+import com.midlane.project_management_tool_user_service.repository.RefreshTokenRepository;
+import com.midlane.project_management_tool_user_service.repository.RoleRepository;
+import com.midlane.project_management_tool_user_service.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs concurrent logins through the real service, repository statements and per-user lock against an
+ * in-memory H2 database (the same one the application context test boots).
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:contextdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "RSA_KEY_STORE_PATH=target/test-keys",
+        "rsa.key-store-path=target/test-keys"
+})
+@DisplayName("RefreshTokenService Integration Tests")
+class RefreshTokenServiceIntegrationTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${jwt.max-refresh-tokens-per-user}")
+    private int maxTokens;
+
+    @Test
+    @DisplayName("Should make a second login wait for an open one, so the cap counts both new tokens")
+    void createRefreshToken_LoginWhileAnotherIsOpen_WaitsAndCapHolds() throws Exception {
+        // Given - one slot left under the cap
+        String email = "open-" + UUID.randomUUID() + "@example.com";
+        UserDetails user = createUser(email);
+        for (int i = 0; i < maxTokens - 1; i++) {
+            refreshTokenService.createRefreshToken(user, "device");
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch firstIssued = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // When - the first login has issued its token but not committed while the second one starts
+        Future<?> first = executor.submit(() -> transaction.executeWithoutResult(status -> {
+            refreshTokenService.createRefreshToken(user, "first");
+            firstIssued.countDown();
+            awaitQuietly(commitFirst);
+        }));
+        assertThat(firstIssued.await(10, TimeUnit.SECONDS)).isTrue();
+        Future<?> second = executor.submit(() -> refreshTokenService.createRefreshToken(user, "second"));
+
+        // Then - the second login waits for the first one's lock
+        assertThatThrownBy(() -> second.get(300, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+        // When
+        commitFirst.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Then
+        assertThat(refreshTokenRepository.findByUserEmailAndRevokedFalse(email)).hasSize(maxTokens);
+    }
+
+    @Test
+    @DisplayName("Should keep exactly the newest tokens when logins for the same user race the cap")
+    void createRefreshToken_ConcurrentLogins_CapHolds() throws Exception {
+        // Given
+        String email = "racer-" + UUID.randomUUID() + "@example.com";
+        UserDetails user = createUser(email);
+        int threads = 8;
+        int loginsPerThread = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < loginsPerThread; i++) {
+                    refreshTokenService.createRefreshToken(user, "device");
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        List<RefreshToken> all = refreshTokenRepository.findAll().stream()
+                .filter(token -> token.getUserEmail().equals(email))
+                .sorted(Comparator.comparing(RefreshToken::getId).reversed())
+                .toList();
+        assertThat(all).hasSize(threads * loginsPerThread);
+        assertThat(refreshTokenRepository.findByUserEmailAndRevokedFalse(email))
+                .extracting(RefreshToken::getId)
+                .containsExactlyInAnyOrderElementsOf(all.stream().limit(maxTokens).map(RefreshToken::getId).toList());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private UserDetails createUser(String email) {
+        Role role = roleRepository.findByName(Role.USER)
+                .orElseGet(() -> roleRepository.saveAndFlush(Role.builder().name(Role.USER).build()));
+        userRepository.saveAndFlush(User.builder()
+                .email(email)
+                .passwordHash("hash")
+                .role(role)
+                .build());
+        return org.springframework.security.core.userdetails.User.withUsername(email)
+                .password("hash")
+                .authorities("ROLE_USER")
+                .build();
+    }
+}
@@ -0,0 +1,276 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.model.RefreshToken;
+import com.midlane.project_management_tool_user_service.repository.RefreshTokenRepository;
+import com.midlane.project_management_tool_user_service.util.JwtUtil;
+import com.midlane.project_management_tool_user_service.util.RefreshTokenValues;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("RefreshTokenService Tests")
+class RefreshTokenServiceTest {
+
+    private static final int MAX_TOKENS = 3;
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private RefreshTokenRevocationFilter revocationFilter;
+
+    @Mock
+    private RefreshTokenHashBackfill hashBackfill;
+
+    private RefreshTokenService refreshTokenService;
+
+    // In-memory stand-in for the refresh_tokens table; the real statements and the per-user lock under
+    // concurrent logins are covered by RefreshTokenServiceIntegrationTest
+    private final List<RefreshToken> table = new ArrayList<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, jwtUtil, revocationFilter,
+                hashBackfill, null);
+        ReflectionTestUtils.setField(refreshTokenService, "postgres", true);
+        ReflectionTestUtils.setField(refreshTokenService, "refreshTokenExpiration", 604800000L);
+        ReflectionTestUtils.setField(refreshTokenService, "maxRefreshTokensPerUser", MAX_TOKENS);
+
+        when(revocationFilter.check(anyString())).thenReturn(RefreshTokenRevocationFilter.Verdict.CHECK_DATABASE);
+        when(hashBackfill.legacyRowsRemain()).thenReturn(true);
+        when(refreshTokenRepository.saveAndFlush(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            synchronized (table) {
+                token.setId(ids.incrementAndGet());
+                token.setCreatedAt(LocalDateTime.now());
+                table.add(token);
+            }
+            return token;
+        });
+        when(refreshTokenRepository.revokeAllButNewest(anyString(), anyInt())).thenAnswer(invocation -> {
+            String email = invocation.getArgument(0);
+            int keep = invocation.getArgument(1);
+            synchronized (table) {
+                List<RefreshToken> toRevoke = table.stream()
+                        .filter(t -> t.getUserEmail().equals(email) && !t.isRevoked())
+                        .sorted(Comparator.comparing(RefreshToken::getCreatedAt)
+                                .thenComparing(RefreshToken::getId).reversed())
+                        .skip(keep)
+                        .toList();
+                toRevoke.forEach(t -> t.setRevoked(true));
+                return toRevoke.size();
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Should lock, insert and trim in a constant number of statements")
+    void createRefreshToken_UsesSetBasedCap() {
+        // Given
+        UserDetails user = user("test@example.com");
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            login(user);
+        }
+
+        // Then
+        InOrder inOrder = inOrder(refreshTokenRepository);
+        inOrder.verify(refreshTokenRepository).lockUserTokens("test@example.com");
+        inOrder.verify(refreshTokenRepository).saveAndFlush(any(RefreshToken.class));
+        inOrder.verify(refreshTokenRepository).revokeAllButNewest("test@example.com", MAX_TOKENS);
+        verify(refreshTokenRepository, never()).findByUserEmailAndRevokedFalse(anyString());
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+        verify(refreshTokenRepository, never()).lockUserRow(anyString());
+        assertThat(activeTokens("test@example.com")).hasSize(MAX_TOKENS);
+    }
+
+    @Test
+    @DisplayName("Should lock the user's row instead of taking an advisory lock on other databases")
+    void createRefreshToken_NotPostgres_LocksUserRow() {
+        // Given
+        ReflectionTestUtils.setField(refreshTokenService, "postgres", false);
+
+        // When
+        login(user("h2@example.com"));
+
+        // Then
+        verify(refreshTokenRepository).lockUserRow("h2@example.com");
+        verify(refreshTokenRepository, never()).lockUserTokens(anyString());
+    }
+
+    @Test
+    @DisplayName("Should not touch other users' tokens when enforcing the cap")
+    void createRefreshToken_OtherUsersUnaffected() {
+        // Given
+        UserDetails alice = user("alice@example.com");
+        UserDetails bob = user("bob@example.com");
+        login(alice);
+        login(alice);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            login(bob);
+        }
+
+        // Then
+        assertThat(activeTokens("alice@example.com")).hasSize(2);
+        assertThat(activeTokens("bob@example.com")).hasSize(MAX_TOKENS);
+    }
+
+    @Test
+    @DisplayName("Should store only the token hash and hand the plaintext back once")
+    void createRefreshToken_StoresHashOnly() {
+        // When
+        RefreshToken created = login(user("test@example.com"));
+
+        // Then
+        assertThat(created.getToken()).startsWith("rt1.");
+        assertThat(created.getTokenHash()).hasSize(32).isEqualTo(RefreshTokenValues.hash(created.getToken()));
+        assertThat(created.getLegacyToken()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should look a new-format token up by hash in its own partition by the embedded expiry")
+    void findByToken_EmbeddedExpiry_ProbesOnePartition() {
+        // Given
+        RefreshToken created = login(user("test@example.com"));
+        String token = created.getToken();
+        when(refreshTokenRepository.findByTokenHashAndExpiresAt(any(byte[].class), eq(created.getExpiresAt())))
+                .thenReturn(Optional.of(created));
+
+        // When
+        Optional<RefreshToken> found = refreshTokenService.findByToken(token);
+
+        // Then
+        assertThat(RefreshTokenValues.expiryOf(token)).contains(created.getExpiresAt());
+        assertThat(found).contains(created);
+        verify(refreshTokenRepository).findByTokenHashAndExpiresAt(RefreshTokenValues.hash(token),
+                created.getExpiresAt());
+        verify(refreshTokenRepository, never()).findByTokenHash(any());
+        verify(refreshTokenRepository, never()).findByLegacyTokenAndExpiresAt(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to a hash-only lookup, then the plaintext column, for legacy UUID tokens")
+    void findByToken_LegacyToken_FallsBack() {
+        // Given
+        String legacy = "6f1c2a9e-0d7b-4b8e-9a51-3c2f7e8d9b10";
+        RefreshToken row = RefreshToken.builder().legacyToken(legacy).userEmail("test@example.com")
+                .expiresAt(LocalDateTime.now().plusDays(1)).build();
+        when(refreshTokenRepository.findByTokenHash(any(byte[].class))).thenReturn(Optional.empty());
+        when(refreshTokenRepository.findByLegacyToken(legacy)).thenReturn(Optional.of(row));
+
+        // When
+        Optional<RefreshToken> found = refreshTokenService.findByToken(legacy);
+
+        // Then
+        assertThat(found).contains(row);
+        verify(refreshTokenRepository).findByTokenHash(RefreshTokenValues.hash(legacy));
+        verify(refreshTokenRepository, never()).findByTokenHashAndExpiresAt(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should stop probing the plaintext column once the backfill has finished")
+    void findByToken_BackfillComplete_NoPlaintextLookup() {
+        // Given
+        when(hashBackfill.legacyRowsRemain()).thenReturn(false);
+        String token = RefreshTokenValues.newToken(LocalDateTime.now().plusDays(1).withNano(0));
+        when(refreshTokenRepository.findByTokenHashAndExpiresAt(any(byte[].class), any()))
+                .thenReturn(Optional.empty());
+
+        // When
+        Optional<RefreshToken> found = refreshTokenService.findByToken(token);
+
+        // Then
+        assertThat(found).isEmpty();
+        verify(refreshTokenRepository, never()).findByLegacyTokenAndExpiresAt(anyString(), any());
+        verify(refreshTokenRepository, never()).findByLegacyToken(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject a row whose stored hash does not match the presented token")
+    void findByToken_HashMismatch_Rejected() {
+        // Given
+        String token = RefreshTokenValues.newToken(LocalDateTime.now().plusDays(1).withNano(0));
+        RefreshToken other = RefreshToken.builder().tokenHash(RefreshTokenValues.hash("something else"))
+                .userEmail("test@example.com").expiresAt(LocalDateTime.now().plusDays(1)).build();
+        when(refreshTokenRepository.findByTokenHashAndExpiresAt(any(byte[].class), any()))
+                .thenReturn(Optional.of(other));
+
+        // When & Then
+        assertThat(refreshTokenService.findByToken(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject tokens the in-memory filter rules out without a database lookup")
+    void findByToken_FilterRejects_NoDatabaseProbe() {
+        // Given
+        when(revocationFilter.check("garbage")).thenReturn(RefreshTokenRevocationFilter.Verdict.MALFORMED);
+        when(revocationFilter.check("rt1.1.revoked")).thenReturn(RefreshTokenRevocationFilter.Verdict.REVOKED);
+
+        // When & Then
+        assertThat(refreshTokenService.findByToken("garbage")).isEmpty();
+        assertThatThrownBy(() -> refreshTokenService.findByToken("rt1.1.revoked"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("expired or revoked");
+        verify(refreshTokenRepository, never()).findByTokenHash(any());
+        verify(refreshTokenRepository, never()).findByTokenHashAndExpiresAt(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should tell the filter about issued and revoked tokens")
+    void createAndRevoke_UpdateFilter() {
+        // Given
+        RefreshToken created = login(user("test@example.com"));
+
+        // When
+        refreshTokenService.revokeToken(created.getToken());
+
+        // Then
+        verify(revocationFilter).recordIssued(created.getToken());
+        verify(revocationFilter).recordRevoked(RefreshTokenValues.hash(created.getToken()), created.getExpiresAt());
+        verify(refreshTokenRepository).revokeToken(RefreshTokenValues.hash(created.getToken()), created.getToken(),
+                created.getExpiresAt());
+    }
+
+    private RefreshToken login(UserDetails user) {
+        return refreshTokenService.createRefreshToken(user, "device");
+    }
+
+    private List<RefreshToken> activeTokens(String email) {
+        synchronized (table) {
+            return table.stream().filter(t -> t.getUserEmail().equals(email) && !t.isRevoked()).toList();
+        }
+    }
+
+    private UserDetails user(String email) {
+        return User.withUsername(email).password("{noop}").authorities("ROLE_USER").build();
+    }
+}
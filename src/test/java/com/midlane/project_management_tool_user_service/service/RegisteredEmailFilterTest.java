@@ -0,0 +1,111 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.dto.UserSnapshotRecord;
+import com.midlane.project_management_tool_user_service.repository.UserRepository;
+import com.midlane.project_management_tool_user_service.util.BloomFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RegisteredEmailFilter Tests")
+class RegisteredEmailFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        registeredEmailFilter = new RegisteredEmailFilter(userRepository, meterRegistry);
+        ReflectionTestUtils.setField(registeredEmailFilter, "expectedInsertions", 1000L);
+        ReflectionTestUtils.setField(registeredEmailFilter, "falsePositiveProbability", 0.01);
+        ReflectionTestUtils.setField(registeredEmailFilter, "rebuildPageSize", 2);
+        registeredEmailFilter.init();
+    }
+
+    @Test
+    @DisplayName("Should report every email as possibly registered until the first rebuild")
+    void mightExist_BeforeRebuild_ReturnsTrue() {
+        assertThat(registeredEmailFilter.mightExist("new@example.com")).isTrue();
+        assertThat(meterRegistry.get("registration.email.filter.checks").tag("result", "not_ready").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should page through all users on rebuild and match emails case-insensitively")
+    void rebuild_LoadsAllPages() {
+        // Given
+        when(userRepository.findSnapshotPage(eq(0L), any(PageRequest.class)))
+                .thenReturn(List.of(snapshot(1L, "a@example.com"), snapshot(2L, "B@Example.com")));
+        when(userRepository.findSnapshotPage(eq(2L), any(PageRequest.class)))
+                .thenReturn(List.of(snapshot(5L, "c@example.com")));
+
+        // When
+        registeredEmailFilter.rebuild();
+
+        // Then
+        assertThat(registeredEmailFilter.mightExist("a@example.com")).isTrue();
+        assertThat(registeredEmailFilter.mightExist("b@example.com")).isTrue();
+        assertThat(registeredEmailFilter.mightExist("C@EXAMPLE.COM ")).isTrue();
+        assertThat(registeredEmailFilter.mightExist("someone-new@example.com")).isFalse();
+        verify(userRepository, times(2)).findSnapshotPage(anyLong(), any(PageRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should include emails registered locally after the rebuild")
+    void add_AfterRebuild_Visible() {
+        // Given
+        when(userRepository.findSnapshotPage(eq(0L), any(PageRequest.class))).thenReturn(List.of());
+        registeredEmailFilter.rebuild();
+
+        // When
+        registeredEmailFilter.add("fresh@example.com");
+
+        // Then
+        assertThat(registeredEmailFilter.mightExist("fresh@example.com")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep the false-positive rate near the configured probability")
+    void bloomFilter_FalsePositiveRate() {
+        // Given
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("user" + i + "@example.com")).isTrue();
+        }
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    private UserSnapshotRecord snapshot(Long userId, String email) {
+        return new UserSnapshotRecord(userId, email, null, null, null);
+    }
+}
@@ -0,0 +1,67 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SchemaMigrationRunner Tests")
+class SchemaMigrationRunnerTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SchemaMigrationRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:migrations_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        runner = new SchemaMigrationRunner(dataSource);
+        ReflectionTestUtils.setField(runner, "enabled", true);
+        ReflectionTestUtils.setField(runner, "location", "db/test-migration");
+        runner.init();
+    }
+
+    @Test
+    @DisplayName("Should apply shared and vendor scripts in version order and record them")
+    void migrate_AppliesInOrder() {
+        // Then
+        assertThat(jdbcTemplate.queryForList("SELECT version FROM schema_migrations ORDER BY version", Integer.class))
+                .containsExactly(1, 2, 3);
+        assertThat(jdbcTemplate.queryForObject("SELECT description FROM schema_migrations WHERE version = 2",
+                String.class)).isEqualTo("widgets owner index");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES "
+                + "WHERE INDEX_NAME = 'IDX_WIDGETS_OWNER_ID'", Integer.class)).isPositive();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_NAME = 'WIDGETS' AND COLUMN_NAME = 'LABEL'", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not re-run applied scripts on the next start")
+    void migrate_SecondRun_NoOp() {
+        // When - V1 would fail if re-run, since the table already exists
+        runner.migrate();
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schema_migrations", Integer.class))
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should refuse to start when an applied script has been edited")
+    void migrate_ChangedScript_Fails() {
+        // Given
+        jdbcTemplate.update("UPDATE schema_migrations SET checksum = 'edited' WHERE version = 2");
+
+        // When & Then
+        assertThatThrownBy(() -> runner.migrate())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("V2");
+    }
+}
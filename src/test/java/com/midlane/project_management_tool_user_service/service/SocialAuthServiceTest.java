@@ -1,6 +1,10 @@
 package com.midlane.project_management_tool_user_service.service;
 
 import com.midlane.project_management_tool_user_service.dto.SocialUserInfo;
+import com.midlane.project_management_tool_user_service.security.GoogleIdTokenVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,8 +18,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -28,6 +39,9 @@ class SocialAuthServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private GoogleIdTokenVerifier googleIdTokenVerifier;
+
     @InjectMocks
     private SocialAuthService socialAuthService;
 
@@ -35,7 +49,9 @@ class SocialAuthServiceTest {
 
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(socialAuthService, "googleClientId", testGoogleClientId);
+        ReflectionTestUtils.setField(socialAuthService, "userInfoCacheTtlSeconds", 60L);
+        ReflectionTestUtils.setField(socialAuthService, "userInfoCacheMaxEntries", 100);
+        socialAuthService.init();
     }
 
     @Test
@@ -45,17 +61,16 @@ class SocialAuthServiceTest {
         String provider = "google";
         String idToken = "eyJhbGciOiJSUzI1NiIsInR5cCI6IkpXVCJ9.eyJzdWIiOiIxMjM0NTY3ODkwIn0.signature";
         
-        Map<String, Object> tokenInfo = new HashMap<>();
-        tokenInfo.put("sub", "google123");
-        tokenInfo.put("email", "test@gmail.com");
-        tokenInfo.put("given_name", "John");
-        tokenInfo.put("family_name", "Doe");
-        tokenInfo.put("picture", "https://example.com/photo.jpg");
-        tokenInfo.put("email_verified", true);
-        tokenInfo.put("aud", testGoogleClientId);
+        Claims claims = Jwts.claims();
+        claims.setSubject("google123");
+        claims.put("email", "test@gmail.com");
+        claims.put("given_name", "John");
+        claims.put("family_name", "Doe");
+        claims.put("picture", "https://example.com/photo.jpg");
+        claims.put("email_verified", true);
+        claims.setAudience(testGoogleClientId);
 
-        when(restTemplate.getForEntity(anyString(), eq(Map.class)))
-                .thenReturn(ResponseEntity.ok(tokenInfo));
+        when(googleIdTokenVerifier.verify(idToken)).thenReturn(claims);
 
         // When
         SocialUserInfo result = socialAuthService.getUserInfo(provider, idToken);
@@ -70,7 +85,8 @@ class SocialAuthServiceTest {
         assertThat(result.getProvider()).isEqualTo("google");
         assertThat(result.isEmailVerified()).isTrue();
 
-        verify(restTemplate).getForEntity(contains("tokeninfo"), eq(Map.class));
+        verify(googleIdTokenVerifier).verify(idToken);
+        verifyNoInteractions(restTemplate);
     }
 
     @Test
@@ -119,13 +135,8 @@ class SocialAuthServiceTest {
         String provider = "google";
         String idToken = "eyJhbGciOiJSUzI1NiIsInR5cCI6IkpXVCJ9.eyJzdWIiOiIxMjM0NTY3ODkwIn0.signature";
         
-        Map<String, Object> tokenInfo = new HashMap<>();
-        tokenInfo.put("sub", "google123");
-        tokenInfo.put("email", "test@gmail.com");
-        tokenInfo.put("aud", "wrong-client-id");
-
-        when(restTemplate.getForEntity(anyString(), eq(Map.class)))
-                .thenReturn(ResponseEntity.ok(tokenInfo));
+        when(googleIdTokenVerifier.verify(idToken))
+                .thenThrow(new RuntimeException("ID token audience does not match client ID"));
 
         // When & Then
         assertThatThrownBy(() -> socialAuthService.getUserInfo(provider, idToken))
@@ -140,17 +151,13 @@ class SocialAuthServiceTest {
         String provider = "google";
         String idToken = "eyJhbGciOiJSUzI1NiIsInR5cCI6IkpXVCJ9.eyJzdWIiOiIxMjM0NTY3ODkwIn0.signature";
         
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("error", "invalid_token");
-        errorResponse.put("error_description", "Invalid token");
-
-        when(restTemplate.getForEntity(anyString(), eq(Map.class)))
-                .thenReturn(ResponseEntity.ok(errorResponse));
+        when(googleIdTokenVerifier.verify(idToken))
+                .thenThrow(new SignatureException("JWT signature does not match locally computed signature"));
 
         // When & Then
         assertThatThrownBy(() -> socialAuthService.getUserInfo(provider, idToken))
                 .isInstanceOf(RuntimeException.class)
-                .hasMessageContaining("Invalid Google ID token");
+                .hasMessageContaining("Failed to process Google ID token");
     }
 
     @Test
@@ -317,4 +324,63 @@ class SocialAuthServiceTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Failed to get user info from Facebook");
     }
+
+    @Test
+    @DisplayName("Should answer repeated lookups of the same token from the cache")
+    void getUserInfo_SameTokenTwice_CallsProviderOnce() {
+        // Given
+        when(restTemplate.getForEntity(anyString(), eq(Map.class)))
+                .thenReturn(ResponseEntity.ok(facebookUserInfo()));
+
+        // When
+        SocialUserInfo first = socialAuthService.getUserInfo("facebook", "fb-token");
+        SocialUserInfo second = socialAuthService.getUserInfo("facebook", "fb-token");
+
+        // Then
+        assertThat(second).isSameAs(first);
+        verify(restTemplate, times(1)).getForEntity(anyString(), eq(Map.class));
+    }
+
+    @Test
+    @DisplayName("Should share one provider call between concurrent lookups of the same token")
+    void getUserInfo_ConcurrentSameToken_SingleProviderCall() throws Exception {
+        // Given
+        CountDownLatch providerCalled = new CountDownLatch(1);
+        CountDownLatch releaseProvider = new CountDownLatch(1);
+        when(restTemplate.getForEntity(anyString(), eq(Map.class))).thenAnswer(invocation -> {
+            providerCalled.countDown();
+            releaseProvider.await(5, TimeUnit.SECONDS);
+            return ResponseEntity.ok(facebookUserInfo());
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // When
+            List<Future<SocialUserInfo>> results = new ArrayList<>();
+            results.add(executor.submit(() -> socialAuthService.getUserInfo("facebook", "fb-token")));
+            assertThat(providerCalled.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> socialAuthService.getUserInfo("facebook", "fb-token")));
+            }
+            Thread.sleep(100);
+            releaseProvider.countDown();
+
+            // Then
+            for (Future<SocialUserInfo> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getEmail()).isEqualTo("test@facebook.com");
+            }
+            verify(restTemplate, times(1)).getForEntity(anyString(), eq(Map.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Map<String, Object> facebookUserInfo() {
+        Map<String, Object> userInfo = new HashMap<>();
+        userInfo.put("id", "fb123");
+        userInfo.put("email", "test@facebook.com");
+        userInfo.put("first_name", "Jane");
+        userInfo.put("last_name", "Doe");
+        return userInfo;
+    }
 }
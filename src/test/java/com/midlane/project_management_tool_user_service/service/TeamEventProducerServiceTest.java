@@ -0,0 +1,125 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.dto.TeamMemberRemovedEvent;
+import com.midlane.project_management_tool_user_service.dto.UserRegisteredEvent;
+import com.midlane.project_management_tool_user_service.util.EventDeduplicationWindow;
+import com.midlane.project_management_tool_user_service.util.EventIds;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TeamEventProducerService Unit Tests")
+class TeamEventProducerServiceTest {
+
+    private MockProducer<String, Object> mockProducer;
+    private TeamEventProducerService teamEventProducerService;
+
+    @BeforeEach
+    void setUp() {
+        // In-memory broker stand-in; close() is a no-op because the template closes the producer after each send
+        mockProducer = new MockProducer<>(true, new StringSerializer(), new JsonSerializer<>()) {
+            @Override
+            public void close(Duration timeout) {
+            }
+        };
+        KafkaTemplate<String, Object> kafkaTemplate = new KafkaTemplate<>(() -> mockProducer);
+        KafkaProducerMetrics producerMetrics = new KafkaProducerMetrics(new SimpleMeterRegistry(), kafkaTemplate, 0.9);
+        teamEventProducerService = new TeamEventProducerService(kafkaTemplate, producerMetrics);
+    }
+
+    @Test
+    @DisplayName("Should give a re-published membership event the same ID so consumers drop it")
+    void publishTeamMemberRemovedEvent_Retried_SameEventIdDeduped() {
+        // When - the same membership change published twice, as a retry would
+        teamEventProducerService.publishTeamMemberRemovedEvent(10L, 2L, 7L);
+        teamEventProducerService.publishTeamMemberRemovedEvent(10L, 2L, 7L);
+
+        // Then
+        List<ProducerRecord<String, Object>> history = mockProducer.history();
+        assertThat(history).hasSize(2);
+        assertThat(header(history.get(0), EventIds.EVENT_ID_HEADER))
+                .isEqualTo(header(history.get(1), EventIds.EVENT_ID_HEADER))
+                .isEqualTo(EventIds.eventId("TEAM_MEMBER_REMOVED", "team-10", 7L));
+        assertThat(header(history.get(0), EventIds.EVENT_SEQUENCE_HEADER)).isEqualTo("7");
+
+        TeamMemberRemovedEvent event = (TeamMemberRemovedEvent) history.get(0).value();
+        assertThat(event.getSequence()).isEqualTo(7L);
+        assertThat(event.getEventId()).isEqualTo(header(history.get(0), EventIds.EVENT_ID_HEADER));
+
+        EventDeduplicationWindow window = new EventDeduplicationWindow(100);
+        assertThat(window.markIfFirst(toConsumerRecord(history.get(0), 0))).isTrue();
+        assertThat(window.markIfFirst(toConsumerRecord(history.get(1), 1))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should derive creation event IDs from the aggregate key with a fixed sequence")
+    void publishUserRegisteredEvent_DeterministicId() {
+        // When
+        teamEventProducerService.publishUserRegisteredEvent(5L, "a@example.com", "A B", null);
+
+        // Then
+        ProducerRecord<String, Object> record = mockProducer.history().get(0);
+        UserRegisteredEvent event = (UserRegisteredEvent) record.value();
+        assertThat(record.key()).isEqualTo("user-5");
+        assertThat(event.getSequence()).isZero();
+        assertThat(event.getEventId()).isEqualTo(EventIds.eventId("USER_REGISTERED", "user-5", 0L));
+        assertThat(header(record, EventIds.EVENT_TYPE_HEADER)).isEqualTo("USER_REGISTERED");
+    }
+
+    @Test
+    @DisplayName("Should accept a team's events arriving out of sequence order and drop only repeated IDs")
+    void deduplicationWindow_OutOfOrderSequences_Accepted() {
+        // Given - two concurrent removals on one team, the higher change-log sequence published first
+        teamEventProducerService.publishTeamMemberRemovedEvent(10L, 3L, 9L);
+        teamEventProducerService.publishTeamMemberRemovedEvent(10L, 2L, 7L);
+        teamEventProducerService.publishTeamMemberRemovedEvent(10L, 2L, 7L);
+        List<ProducerRecord<String, Object>> history = mockProducer.history();
+        EventDeduplicationWindow window = new EventDeduplicationWindow(100);
+
+        // When / Then
+        assertThat(window.markIfFirst(toConsumerRecord(history.get(0), 0))).isTrue();
+        assertThat(window.markIfFirst(toConsumerRecord(history.get(1), 1))).isTrue();
+        assertThat(window.markIfFirst(toConsumerRecord(history.get(2), 2))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep the ID window bounded")
+    void deduplicationWindow_Bounded() {
+        // Given
+        EventDeduplicationWindow window = new EventDeduplicationWindow(3);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            window.markIfFirst("id-" + i);
+        }
+
+        // Then
+        assertThat(window.size()).isEqualTo(3);
+        assertThat(window.markIfFirst("id-9")).isFalse();
+        assertThat(window.markIfFirst("id-0")).isTrue();
+    }
+
+    private static String header(ProducerRecord<String, Object> record, String name) {
+        return new String(record.headers().lastHeader(name).value(), StandardCharsets.UTF_8);
+    }
+
+    private static ConsumerRecord<String, Object> toConsumerRecord(ProducerRecord<String, Object> record, long offset) {
+        return new ConsumerRecord<>(record.topic(), 0, offset, 0L, TimestampType.CREATE_TIME, 0, 0,
+                record.key(), record.value(), record.headers(), Optional.empty());
+    }
+}
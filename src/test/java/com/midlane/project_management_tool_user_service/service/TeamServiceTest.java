@@ -1,8 +1,11 @@
 package com.midlane.project_management_tool_user_service.service;
 
+import com.midlane.project_management_tool_user_service.dto.BulkMembershipResponse;
+import com.midlane.project_management_tool_user_service.dto.BulkMembershipResult;
 import com.midlane.project_management_tool_user_service.dto.CreateTeamRequest;
 import com.midlane.project_management_tool_user_service.dto.MemberDetailsResponse;
 import com.midlane.project_management_tool_user_service.dto.TeamResponse;
+import com.midlane.project_management_tool_user_service.dto.UserSummaryResponse;
 import com.midlane.project_management_tool_user_service.model.Organization;
 import com.midlane.project_management_tool_user_service.model.Role;
 import com.midlane.project_management_tool_user_service.model.Team;
@@ -17,6 +20,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -44,6 +50,9 @@ class TeamServiceTest {
     @Mock
     private TeamEventProducerService teamEventProducerService;
 
+    @Mock
+    private MembershipChangeService membershipChangeService;
+
     @InjectMocks
     private TeamService teamService;
 
@@ -148,8 +157,8 @@ class TeamServiceTest {
         verify(userRepository).findById(creatorId);
         verify(teamRepository, times(2)).save(any(Team.class)); // Once for team creation, once for adding creator as member
         verify(teamEventProducerService).publishTeamCreatedEvent(anyLong(), anyString(), anyString(), anyLong());
-        verify(teamEventProducerService).publishTeamMemberAddedEvent(anyLong(), anyLong(), anyLong(), anyString(), anyString(), anyString(), anyString());
-        verify(teamEventProducerService).publishMemberAddedToTeamEvent(anyLong(), anyLong(), eq("OWNER"));
+        verify(teamEventProducerService).publishTeamMemberAddedEvent(anyLong(), anyLong(), anyLong(), anyString(), anyString(), anyString(), anyString(), anyLong());
+        verify(teamEventProducerService).publishMemberAddedToTeamEvent(anyLong(), anyLong(), eq("OWNER"), anyLong());
     }
 
     @Test
@@ -298,8 +307,8 @@ class TeamServiceTest {
         verify(userRepository).findById(userId);
         verify(userRepository).findById(requesterId);
         verify(teamRepository).save(testTeam);
-        verify(teamEventProducerService).publishTeamMemberAddedEvent(anyLong(), anyLong(), anyLong(), anyString(), anyString(), anyString(), anyString());
-        verify(teamEventProducerService).publishMemberAddedToTeamEvent(anyLong(), anyLong(), eq("MEMBER"));
+        verify(teamEventProducerService).publishTeamMemberAddedEvent(anyLong(), anyLong(), anyLong(), anyString(), anyString(), anyString(), anyString(), anyLong());
+        verify(teamEventProducerService).publishMemberAddedToTeamEvent(anyLong(), anyLong(), eq("MEMBER"), anyLong());
     }
 
     @Test
@@ -423,7 +432,35 @@ class TeamServiceTest {
         verify(userRepository).findById(userId);
         verify(userRepository).findById(requesterId);
         verify(teamRepository).save(testTeam);
-        verify(teamEventProducerService).publishTeamMemberRemovedEvent(teamId, userId);
+        verify(teamEventProducerService).publishTeamMemberRemovedEvent(eq(teamId), eq(userId), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should publish the removal event only once the transaction has committed")
+    void removeMember_InTransaction_PublishesAfterCommit() {
+        // Given
+        testTeam.getMembers().add(testUser);
+        when(teamRepository.findById(1L)).thenReturn(Optional.of(testTeam));
+        when(userRepository.findById(testUser.getUserId())).thenReturn(Optional.of(testUser));
+        when(userRepository.findById(testOwner.getUserId())).thenReturn(Optional.of(testOwner));
+        when(membershipChangeService.recordTeamMemberRemoved(1L, testUser.getUserId())).thenReturn(31L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            teamService.removeMember(1L, testUser.getUserId(), testOwner.getUserId());
+
+            // Then - nothing is sent while the transaction is open
+            verifyNoInteractions(teamEventProducerService);
+
+            // When
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        verify(teamEventProducerService).publishTeamMemberRemovedEvent(1L, testUser.getUserId(), 31L);
     }
 
     @Test
@@ -449,7 +486,7 @@ class TeamServiceTest {
         verify(userRepository).findById(userId);
         verify(userRepository).findById(requesterId);
         verify(teamRepository).save(testTeam);
-        verify(teamEventProducerService).publishTeamMemberRemovedEvent(teamId, userId);
+        verify(teamEventProducerService).publishTeamMemberRemovedEvent(eq(teamId), eq(userId), anyLong());
     }
 
     @Test
@@ -774,7 +811,7 @@ class TeamServiceTest {
         
         // Mock Kafka failure
         doThrow(new RuntimeException("Kafka connection failed"))
-                .when(teamEventProducerService).publishTeamMemberAddedEvent(anyLong(), anyLong(), anyLong(), anyString(), anyString(), anyString(), anyString());
+                .when(teamEventProducerService).publishTeamMemberAddedEvent(anyLong(), anyLong(), anyLong(), anyString(), anyString(), anyString(), anyString(), anyLong());
 
         // When & Then - Should not throw exception
         assertThatCode(() -> teamService.addMember(teamId, userId, requesterId))
@@ -785,6 +822,111 @@ class TeamServiceTest {
         verify(userRepository).findById(userId);
         verify(userRepository).findById(requesterId);
         verify(teamRepository).save(testTeam);
-        verify(teamEventProducerService).publishTeamMemberAddedEvent(anyLong(), anyLong(), anyLong(), anyString(), anyString(), anyString(), anyString());
+        verify(teamEventProducerService).publishTeamMemberAddedEvent(anyLong(), anyLong(), anyLong(), anyString(), anyString(), anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should add eligible users in bulk and report why the others were skipped")
+    void addMembers_MixedUsers_AddsEligibleAndReportsRest() {
+        // Given
+        ReflectionTestUtils.setField(teamService, "maxBulkSize", 100);
+        UserSummaryResponse summary = new UserSummaryResponse(2L, "user@example.com", "Test", "User", null);
+        when(teamRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testTeam));
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(List.of(2L, 3L, 5L));
+        when(organizationRepository.findMemberIds(eq(1L), anyCollection())).thenReturn(List.of(2L, 5L));
+        when(teamRepository.findMemberIds(eq(1L), anyCollection())).thenReturn(List.of(5L));
+        when(teamRepository.countMembers(1L)).thenReturn(1L);
+        when(membershipChangeService.recordTeamMembersAdded(1L, List.of(2L))).thenReturn(List.of(77L));
+        when(userRepository.findSummariesByIds(List.of(2L))).thenReturn(List.of(summary));
+
+        // When
+        BulkMembershipResponse response = teamService.addMembers(1L, Arrays.asList(2L, 3L, 4L, 5L, 2L, null), 1L);
+
+        // Then
+        assertThat(response.getApplied()).isEqualTo(1);
+        assertThat(response.getSkipped()).isEqualTo(3);
+        assertThat(response.getResults()).containsExactly(
+                new BulkMembershipResult(2L, "ADDED"),
+                new BulkMembershipResult(3L, "NOT_ORGANIZATION_MEMBER"),
+                new BulkMembershipResult(4L, "USER_NOT_FOUND"),
+                new BulkMembershipResult(5L, "ALREADY_MEMBER"));
+        verify(teamRepository).addMembers(1L, List.of(2L));
+        verify(teamEventProducerService).publishTeamMembersAddedEvents(
+                1L, 1L, "Test Team", "Test Organization", List.of(summary), List.of(77L));
+        verify(teamRepository, never()).save(any(Team.class));
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should stop adding once the team is full and report the rest as TEAM_FULL")
+    void addMembers_TeamFull_ReportsOverflow() {
+        // Given
+        ReflectionTestUtils.setField(teamService, "maxBulkSize", 100);
+        testTeam.setMaxMembers(2);
+        when(teamRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testTeam));
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(List.of(2L, 6L));
+        when(organizationRepository.findMemberIds(eq(1L), anyCollection())).thenReturn(List.of(2L, 6L));
+        when(teamRepository.findMemberIds(eq(1L), anyCollection())).thenReturn(List.of());
+        when(teamRepository.countMembers(1L)).thenReturn(1L);
+
+        // When
+        BulkMembershipResponse response = teamService.addMembers(1L, List.of(2L, 6L), 1L);
+
+        // Then
+        assertThat(response.getResults()).extracting(BulkMembershipResult::getStatus)
+                .containsExactly("ADDED", "TEAM_FULL");
+        verify(teamRepository).addMembers(1L, List.of(2L));
+    }
+
+    @Test
+    @DisplayName("Should reject the whole bulk request when the requester cannot manage the team")
+    void addMembers_InsufficientPermissions_ThrowsException() {
+        // Given
+        ReflectionTestUtils.setField(teamService, "maxBulkSize", 100);
+        when(teamRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testTeam));
+
+        // When & Then
+        assertThatThrownBy(() -> teamService.addMembers(1L, List.of(2L), testUser.getUserId()))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Insufficient permissions to add team members");
+        verify(teamRepository, never()).addMembers(anyLong(), anyCollection());
+        verifyNoInteractions(membershipChangeService, teamEventProducerService);
+    }
+
+    @Test
+    @DisplayName("Should reject a bulk request with more users than allowed")
+    void addMembers_TooManyUsers_ThrowsException() {
+        // Given
+        ReflectionTestUtils.setField(teamService, "maxBulkSize", 2);
+        when(teamRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testTeam));
+
+        // When & Then
+        assertThatThrownBy(() -> teamService.addMembers(1L, List.of(2L, 3L, 4L), 1L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("At most 2 users can be changed per request");
+        verify(teamRepository, never()).addMembers(anyLong(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should remove members in bulk, clear a removed team lead and publish one event batch")
+    void removeMembers_RemovesMembersAndClearsLead() {
+        // Given
+        ReflectionTestUtils.setField(teamService, "maxBulkSize", 100);
+        testTeam.getMembers().add(testUser);
+        testTeam.setTeamLead(testUser);
+        when(teamRepository.findById(1L)).thenReturn(Optional.of(testTeam));
+        when(teamRepository.findMemberIds(eq(1L), anyCollection())).thenReturn(List.of(2L));
+        when(membershipChangeService.recordTeamMembersRemoved(1L, List.of(2L))).thenReturn(List.of(88L));
+
+        // When
+        BulkMembershipResponse response = teamService.removeMembers(1L, List.of(2L, 7L), 1L);
+
+        // Then
+        assertThat(response.getResults()).containsExactly(
+                new BulkMembershipResult(2L, "REMOVED"),
+                new BulkMembershipResult(7L, "NOT_MEMBER"));
+        assertThat(testTeam.getTeamLead()).isNull();
+        verify(teamRepository).removeMembers(1L, List.of(2L));
+        verify(teamEventProducerService).publishTeamMembersRemovedEvents(1L, List.of(2L), List.of(88L));
     }
 }
@@ -0,0 +1,125 @@
+package com.midlane.project_management_tool_user_service.service;
+
+import com.midlane.project_management_tool_user_service.dto.BatchUserLookupRequest;
+import com.midlane.project_management_tool_user_service.dto.BatchUserLookupResponse;
+import com.midlane.project_management_tool_user_service.dto.UserSummaryResponse;
+import com.midlane.project_management_tool_user_service.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserLookupService Unit Tests")
+class UserLookupServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserLookupService userLookupService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userLookupService, "maxBatchSize", 5);
+        ReflectionTestUtils.setField(userLookupService, "cacheTtlSeconds", 30L);
+        ReflectionTestUtils.setField(userLookupService, "cacheMaxEntries", 100);
+        userLookupService.init();
+    }
+
+    @Test
+    @DisplayName("Should resolve ids with one query and report unknown ids as missing")
+    void lookup_ByIds_ReturnsFoundAndMissing() {
+        // Given
+        when(userRepository.findSummariesByIds(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(summary(3L, "c@example.com"), summary(1L, "a@example.com")));
+
+        // When
+        BatchUserLookupResponse response = userLookupService.lookup(request(List.of(1L, 2L, 3L, 1L), null));
+
+        // Then
+        assertThat(response.getUsers()).extracting(UserSummaryResponse::getUserId).containsExactly(1L, 3L);
+        assertThat(response.getMissingIds()).containsExactly(2L);
+        assertThat(response.getMissingEmails()).isEmpty();
+        verify(userRepository, times(1)).findSummariesByIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated ids from the cache without querying again")
+    void lookup_RepeatedIds_UsesCache() {
+        // Given
+        when(userRepository.findSummariesByIds(List.of(1L))).thenReturn(List.of(summary(1L, "a@example.com")));
+        userLookupService.lookup(request(List.of(1L), null));
+
+        // When
+        BatchUserLookupResponse response = userLookupService.lookup(request(List.of(1L), null));
+
+        // Then
+        assertThat(response.getUsers()).hasSize(1);
+        verify(userRepository, times(1)).findSummariesByIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should reload a user after the cache entry is evicted")
+    void lookup_AfterEvict_QueriesAgain() {
+        // Given
+        when(userRepository.findSummariesByIds(List.of(1L))).thenReturn(List.of(summary(1L, "a@example.com")));
+        userLookupService.lookup(request(List.of(1L), null));
+
+        // When
+        userLookupService.evict(1L);
+        userLookupService.lookup(request(List.of(1L), null));
+
+        // Then
+        verify(userRepository, times(2)).findSummariesByIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should match emails case-insensitively and list a user once when requested by id and email")
+    void lookup_ByIdAndEmail_DeduplicatesUsers() {
+        // Given
+        when(userRepository.findSummariesByIds(List.of(1L))).thenReturn(List.of(summary(1L, "A@example.com")));
+        when(userRepository.findSummariesByEmails(anyCollection())).thenAnswer(inv -> {
+            Collection<String> emails = inv.getArgument(0);
+            assertThat(emails).containsExactly("a@example.com", "nobody@example.com");
+            return List.of(summary(1L, "A@example.com"));
+        });
+
+        // When
+        BatchUserLookupResponse response = userLookupService.lookup(
+                request(List.of(1L), List.of(" A@Example.com ", "nobody@example.com")));
+
+        // Then
+        assertThat(response.getUsers()).extracting(UserSummaryResponse::getUserId).containsExactly(1L);
+        assertThat(response.getMissingEmails()).containsExactly("nobody@example.com");
+    }
+
+    @Test
+    @DisplayName("Should reject batches above the configured maximum")
+    void lookup_TooManyKeys_Throws() {
+        // When / Then
+        assertThatThrownBy(() -> userLookupService.lookup(request(List.of(1L, 2L, 3L, 4L, 5L, 6L), null)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("at most 5");
+        verifyNoInteractions(userRepository);
+    }
+
+    private BatchUserLookupRequest request(List<Long> ids, List<String> emails) {
+        return BatchUserLookupRequest.builder().ids(ids).emails(emails).build();
+    }
+
+    private UserSummaryResponse summary(Long id, String email) {
+        return new UserSummaryResponse(id, email, "First" + id, "Last" + id, null);
+    }
+}
@@ -15,6 +15,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -23,6 +24,8 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -66,6 +69,12 @@ class UserServiceTest {
     @Mock
     private TeamEventProducerService teamEventProducerService;
 
+    @Mock
+    private UserLookupService userLookupService;
+
+    @Mock
+    private RegisteredEmailFilter registeredEmailFilter;
+
     @InjectMocks
     private UserService userService;
 
@@ -123,11 +132,12 @@ class UserServiceTest {
         String deviceInfo = "test-device";
         UserDetails userDetails = mock(UserDetails.class);
 
+        when(registeredEmailFilter.mightExist(registerRequest.getEmail())).thenReturn(true);
         when(userRepository.existsByEmail(registerRequest.getEmail())).thenReturn(false);
         when(roleRepository.findByName(Role.USER)).thenReturn(Optional.of(userRole));
         when(passwordEncoder.encode(registerRequest.getPassword())).thenReturn("$2a$10$hashedPassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
-        when(userDetailsService.loadUserByUsername(testUser.getEmail())).thenReturn(userDetails);
+        when(userDetailsService.toUserDetails(testUser)).thenReturn(userDetails);
         when(jwtUtil.generateAccessToken(userDetails)).thenReturn("access-token-123");
         when(refreshTokenService.createRefreshToken(userDetails, deviceInfo)).thenReturn(refreshToken);
 
@@ -155,6 +165,7 @@ class UserServiceTest {
     @DisplayName("Should throw exception when email already exists during registration")
     void registerUser_EmailExists_ThrowsException() {
         // Given
+        when(registeredEmailFilter.mightExist(registerRequest.getEmail())).thenReturn(true);
         when(userRepository.existsByEmail(registerRequest.getEmail())).thenReturn(true);
 
         // When & Then
@@ -175,12 +186,13 @@ class UserServiceTest {
         UserDetails userDetails = mock(UserDetails.class);
         Role newRole = Role.builder().name(Role.USER).permissions("USER_PERMISSIONS").build();
 
+        when(registeredEmailFilter.mightExist(registerRequest.getEmail())).thenReturn(true);
         when(userRepository.existsByEmail(registerRequest.getEmail())).thenReturn(false);
         when(roleRepository.findByName(Role.USER)).thenReturn(Optional.empty());
         when(roleRepository.save(any(Role.class))).thenReturn(newRole);
         when(passwordEncoder.encode(registerRequest.getPassword())).thenReturn("$2a$10$hashedPassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
-        when(userDetailsService.loadUserByUsername(testUser.getEmail())).thenReturn(userDetails);
+        when(userDetailsService.toUserDetails(testUser)).thenReturn(userDetails);
         when(jwtUtil.generateAccessToken(userDetails)).thenReturn("access-token-123");
         when(refreshTokenService.createRefreshToken(userDetails, deviceInfo)).thenReturn(refreshToken);
 
@@ -193,6 +205,52 @@ class UserServiceTest {
         verify(roleRepository).save(any(Role.class));
     }
 
+    @Test
+    @DisplayName("Should skip the email existence query when the filter says the email is new")
+    void registerUser_DefinitelyNewEmail_SkipsExistsQuery() {
+        // Given
+        UserDetails userDetails = mock(UserDetails.class);
+
+        when(registeredEmailFilter.mightExist(registerRequest.getEmail())).thenReturn(false);
+        when(roleRepository.findByName(Role.USER)).thenReturn(Optional.of(userRole));
+        when(passwordEncoder.encode(registerRequest.getPassword())).thenReturn("$2a$10$hashedPassword");
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userDetailsService.toUserDetails(testUser)).thenReturn(userDetails);
+        when(jwtUtil.generateAccessToken(userDetails)).thenReturn("access-token-123");
+        when(refreshTokenService.createRefreshToken(userDetails, "device")).thenReturn(refreshToken);
+
+        // When
+        AuthResponse response = userService.registerUser(registerRequest, "device");
+
+        // Then
+        assertThat(response.getAccessToken()).isEqualTo("access-token-123");
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+        verify(registeredEmailFilter).add("test@example.com");
+        verify(registeredEmailFilter).recordRegistration(anyLong(), eq(true));
+    }
+
+    @Test
+    @DisplayName("Should report a unique constraint violation on email as email already in use")
+    void registerUser_ConcurrentDuplicate_ThrowsEmailInUse() {
+        // Given - the filter has not seen the email yet but another request registered it first
+        when(registeredEmailFilter.mightExist(registerRequest.getEmail())).thenReturn(false);
+        when(roleRepository.findByName(Role.USER)).thenReturn(Optional.of(userRole));
+        when(passwordEncoder.encode(registerRequest.getPassword())).thenReturn("$2a$10$hashedPassword");
+        when(userRepository.save(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+        when(userRepository.existsByEmail(registerRequest.getEmail())).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> userService.registerUser(registerRequest, "device"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Email is already in use");
+
+        verify(registeredEmailFilter).recordConflict();
+        verify(registeredEmailFilter).add(registerRequest.getEmail());
+        verifyNoInteractions(refreshTokenService, teamEventProducerService);
+    }
+
     @Test
     @DisplayName("Should login user successfully with valid credentials")
     void loginUser_Success() {
@@ -424,4 +482,87 @@ class UserServiceTest {
 
         verify(userRepository).findByEmail(email);
     }
+
+    @Test
+    @DisplayName("Should reuse the account when a concurrent social login inserted it first")
+    void authenticateWithSocial_ConcurrentInsert_ReusesExistingUser() {
+        // Given
+        SocialLoginRequest request = new SocialLoginRequest();
+        request.setProvider("google");
+        request.setAccessToken("ya29.token");
+        SocialUserInfo socialUserInfo = new SocialUserInfo(
+                "google123", "test@example.com", "John", "Doe", null, "google", true);
+        UserDetails userDetails = mock(UserDetails.class);
+
+        when(socialAuthService.getUserInfo("google", "ya29.token")).thenReturn(socialUserInfo);
+        when(userRepository.findByEmail("test@example.com"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(testUser));
+        when(roleRepository.findByName(Role.USER)).thenReturn(Optional.of(userRole));
+        when(userRepository.save(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+        when(userDetailsService.loadUserByUsername("test@example.com")).thenReturn(userDetails);
+        when(jwtUtil.generateAccessToken(userDetails)).thenReturn("access-token");
+        when(refreshTokenService.createRefreshToken(eq(userDetails), anyString())).thenReturn(refreshToken);
+
+        // When
+        AuthResponse response = userService.authenticateWithSocial(request);
+
+        // Then
+        assertThat(response.getUserId()).isEqualTo(1L);
+        assertThat(response.getAccessToken()).isEqualTo("access-token");
+        verifyNoInteractions(teamEventProducerService, notificationService);
+    }
+
+    @Test
+    @DisplayName("Should evict the cached user summary only once the delete has committed")
+    void deleteUser_InTransaction_EvictsAfterCommit() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            userService.deleteUser(1L);
+
+            // Then - the cache still holds the user while the transaction is open
+            verify(userRepository).delete(testUser);
+            verifyNoInteractions(userLookupService);
+
+            // When
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        verify(userLookupService).evict(1L);
+    }
+
+    @Test
+    @DisplayName("Should evict the cached user summary only once the profile update has committed")
+    void updateUserProfile_InTransaction_EvictsAfterCommit() {
+        // Given
+        UpdateUserProfileRequest request = new UpdateUserProfileRequest();
+        request.setFirstName("Jane");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(testUser)).thenReturn(testUser);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            userService.updateUserProfile(1L, request);
+
+            // Then - a lookup racing the transaction cannot re-cache the old row after an early eviction
+            verifyNoInteractions(userLookupService);
+
+            // When
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        verify(userLookupService).evict(1L);
+    }
 }
@@ -0,0 +1,5 @@
+-- Test fixture for SchemaMigrationRunnerTest
+CREATE TABLE widgets (
+    id       BIGINT PRIMARY KEY,
+    owner_id BIGINT NOT NULL
+);
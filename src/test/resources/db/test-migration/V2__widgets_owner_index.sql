@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_widgets_owner_id ON widgets (owner_id);